@@ -32,6 +32,7 @@ import javax.lang.model.element.TypeElement;
 
 import org.hibernate.validator.ap.util.AnnotationApiHelper;
 import org.hibernate.validator.ap.util.Configuration;
+import org.hibernate.validator.ap.util.ConstraintHelper;
 import org.hibernate.validator.ap.util.MessagerAdapter;
 
 /**
@@ -52,6 +53,20 @@ import org.hibernate.validator.ap.util.MessagerAdapter;
  * set to <code>false</code> in order to allow only getter based property
  * constraints but not method level constraints as supported by Hibernate
  * Validator. Default is <code>true</code>.</li>
+ * <li><code>generateValueAccessors</code>: Whether a value accessor shall be
+ * generated for each type with constrained or cascaded fields or getter
+ * methods or not. Such accessors are used by Hibernate Validator at runtime
+ * to retrieve the values of these members without reflection. Implies the
+ * generation of the meta data index (see below), which tells Hibernate
+ * Validator for which types accessors exist. Must be given as String parsable
+ * by {@link Boolean#parseBoolean}. Default is <code>false</code>.</li>
+ * <li><code>generateMetaDataIndex</code>: Whether an index of the constrained
+ * members of all compiled types shall be written to
+ * <code>META-INF/hibernate-validator/metadata.index</code> or not. Hibernate
+ * Validator uses this index at runtime in order to skip the inspection of
+ * unconstrained members. The index must be regenerated whenever the compiled
+ * types change. Must be given as String parsable by
+ * {@link Boolean#parseBoolean}. Default is <code>false</code>.</li>
  *
  * @author Hardy Ferentschik
  * @author Gunnar Morling
@@ -61,7 +76,9 @@ import org.hibernate.validator.ap.util.MessagerAdapter;
 @SupportedOptions( {
 		Configuration.DIAGNOSTIC_KIND_PROCESSOR_OPTION,
 		Configuration.VERBOSE_PROCESSOR_OPTION,
-		Configuration.METHOD_CONSTRAINTS_SUPPORTED_PROCESSOR_OPTION
+		Configuration.METHOD_CONSTRAINTS_SUPPORTED_PROCESSOR_OPTION,
+		Configuration.GENERATE_VALUE_ACCESSORS_PROCESSOR_OPTION,
+		Configuration.GENERATE_META_DATA_INDEX_PROCESSOR_OPTION
 })
 public class ConstraintValidationProcessor extends AbstractProcessor {
 
@@ -80,6 +97,16 @@ public class ConstraintValidationProcessor extends AbstractProcessor {
 	 */
 	private Configuration configuration;
 
+	/**
+	 * Generates value accessors for constrained types, if enabled.
+	 */
+	private ValueAccessorGenerator valueAccessorGenerator;
+
+	/**
+	 * Generates the constraint meta data index, if enabled.
+	 */
+	private MetaDataIndexGenerator metaDataIndexGenerator;
+
 	@Override
 	public synchronized void init(ProcessingEnvironment processingEnv) {
 
@@ -87,6 +114,31 @@ public class ConstraintValidationProcessor extends AbstractProcessor {
 
 		configuration = new Configuration( processingEnv.getOptions(), processingEnv.getMessager() );
 		messager = new MessagerAdapter( processingEnv.getMessager(), configuration.getDiagnosticKind() );
+
+		AnnotationApiHelper typeHelper = new AnnotationApiHelper(
+				processingEnv.getElementUtils(), processingEnv.getTypeUtils()
+		);
+		ConstraintHelper constraintHelper = new ConstraintHelper(
+				processingEnv.getElementUtils(), processingEnv.getTypeUtils(), typeHelper
+		);
+
+		if ( configuration.generateValueAccessors() ) {
+			valueAccessorGenerator = new ValueAccessorGenerator(
+					processingEnv.getElementUtils(),
+					processingEnv.getFiler(),
+					processingEnv.getMessager(),
+					constraintHelper
+			);
+		}
+
+		if ( configuration.generateMetaDataIndex() || configuration.generateValueAccessors() ) {
+			metaDataIndexGenerator = new MetaDataIndexGenerator(
+					processingEnv.getElementUtils(),
+					processingEnv.getFiler(),
+					processingEnv.getMessager(),
+					constraintHelper
+			);
+		}
 	}
 
 	@Override
@@ -113,9 +165,26 @@ public class ConstraintValidationProcessor extends AbstractProcessor {
 						typeHelper.filterByType( oneAnnotatedElement.getAnnotationMirrors(), oneAnnotation.asType() );
 
 				oneAnnotatedElement.accept( visitor, mirrorsOfCurrentAnnotation );
+
+				if ( valueAccessorGenerator != null ) {
+					valueAccessorGenerator.addAnnotatedElement( oneAnnotatedElement, mirrorsOfCurrentAnnotation );
+				}
 			}
 		}
 
+		if ( metaDataIndexGenerator != null ) {
+			metaDataIndexGenerator.addTypes( roundEnvironment.getRootElements() );
+		}
+
+		if ( valueAccessorGenerator != null ) {
+			Set<String> typesWithValueAccessor = valueAccessorGenerator.generate();
+			metaDataIndexGenerator.addTypesWithValueAccessor( typesWithValueAccessor );
+		}
+
+		if ( metaDataIndexGenerator != null && roundEnvironment.processingOver() ) {
+			metaDataIndexGenerator.generate();
+		}
+
 		return ANNOTATIONS_CLAIMED_EXCLUSIVELY;
 	}
 
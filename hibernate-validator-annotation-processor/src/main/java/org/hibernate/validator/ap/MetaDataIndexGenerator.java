@@ -0,0 +1,291 @@
+/*
+* JBoss, Home of Professional Open Source
+* Copyright 2011, Red Hat, Inc. and/or its affiliates, and individual contributors
+* by the @authors tag. See the copyright.txt in the distribution for a
+* full listing of individual contributors.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+* http://www.apache.org/licenses/LICENSE-2.0
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.hibernate.validator.ap;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintWriter;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import javax.annotation.processing.Filer;
+import javax.annotation.processing.Messager;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.tools.Diagnostic.Kind;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+
+import org.hibernate.validator.ap.util.ConstraintHelper;
+
+/**
+ * Writes the constraint meta data index read by {@code org.hibernate.validator.metadata.MetaDataIndex}. For each type
+ * of the compilation the index lists the names of the fields and methods which host constraint annotations (for
+ * methods also at their parameters) or the {@code @Valid} annotation. Types without any such members are contained
+ * as well, marking them as unconstrained.
+ * <p>
+ * The index is written as properties file, using the binary type names as keys and the white-space separated member
+ * entries as values, e.g. {@code com.acme.Order=hash:1f2e3d4c field:customer method:getTotal}. The {@code hash} entry
+ * covers the members of a type and the annotations given at them and allows to detect index entries not matching the
+ * loaded type at runtime. Types for which a value accessor has been generated are marked with an {@code accessor}
+ * entry.
+ * </p>
+ * <p>
+ * An index already existing in the class output location is merged with the types of the current compilation, so
+ * incremental builds compiling only some of the types of a project keep the entries of all other types.
+ * </p>
+ */
+final class MetaDataIndexGenerator {
+
+	/**
+	 * Must match {@code org.hibernate.validator.metadata.MetaDataIndex#INDEX_RESOURCE_NAME}.
+	 */
+	private static final String INDEX_RESOURCE_NAME = "META-INF/hibernate-validator/metadata.index";
+
+	private static final String HASH_PREFIX = "hash:";
+
+	/**
+	 * Must match {@code org.hibernate.validator.metadata.MetaDataIndex#ACCESSOR_ENTRY}.
+	 */
+	private static final String ACCESSOR_ENTRY = "accessor";
+
+	private static final String FIELD_PREFIX = "field:";
+
+	private static final String METHOD_PREFIX = "method:";
+
+	private final Elements elementUtils;
+
+	private final Filer filer;
+
+	private final Messager messager;
+
+	private final ConstraintHelper constraintHelper;
+
+	/**
+	 * The constrained members of all types of the compilation, keyed by binary type name. Sorted in order to
+	 * create a reproducible index.
+	 */
+	private final Map<String, Set<String>> constrainedMembersByType = new TreeMap<String, Set<String>>();
+
+	MetaDataIndexGenerator(Elements elementUtils, Filer filer, Messager messager, ConstraintHelper constraintHelper) {
+		this.elementUtils = elementUtils;
+		this.filer = filer;
+		this.messager = messager;
+		this.constraintHelper = constraintHelper;
+	}
+
+	/**
+	 * Adds the given types and all their member types to the index.
+	 *
+	 * @param rootElements The root elements of a processing round.
+	 */
+	void addTypes(Set<? extends Element> rootElements) {
+		for ( TypeElement type : ElementFilter.typesIn( rootElements ) ) {
+			addType( type );
+		}
+	}
+
+	/**
+	 * Marks the given types as having a generated value accessor.
+	 *
+	 * @param typeNames The binary names of types added to this index.
+	 */
+	void addTypesWithValueAccessor(Set<String> typeNames) {
+		for ( String typeName : typeNames ) {
+			Set<String> members = constrainedMembersByType.get( typeName );
+			if ( members != null ) {
+				members.add( ACCESSOR_ENTRY );
+			}
+		}
+	}
+
+	/**
+	 * Writes the index for all types added so far, retaining the entries of all other types from an already existing
+	 * index. Must only be invoked once per compilation, i.e. in the last processing round.
+	 */
+	void generate() {
+		if ( constrainedMembersByType.isEmpty() ) {
+			return;
+		}
+
+		Map<String, Set<String>> index = loadExistingIndex();
+		index.putAll( constrainedMembersByType );
+
+		PrintWriter writer = null;
+		try {
+			FileObject resource = filer.createResource( StandardLocation.CLASS_OUTPUT, "", INDEX_RESOURCE_NAME );
+			writer = new PrintWriter( resource.openWriter() );
+
+			writer.println( "# Constraint meta data index, generated by the Hibernate Validator annotation processor" );
+			for ( Map.Entry<String, Set<String>> entry : index.entrySet() ) {
+				writer.print( entry.getKey() );
+				writer.print( "=" );
+				boolean first = true;
+				for ( String member : entry.getValue() ) {
+					if ( !first ) {
+						writer.print( " " );
+					}
+					writer.print( member );
+					first = false;
+				}
+				writer.println();
+			}
+		}
+		catch ( IOException e ) {
+			messager.printMessage( Kind.WARNING, "Unable to write meta data index: " + e.getMessage() );
+		}
+		finally {
+			if ( writer != null ) {
+				writer.close();
+			}
+		}
+	}
+
+	/**
+	 * @return The entries of the index written by a previous compilation into the class output location, keyed by
+	 *         binary type name. An empty map if no such index exists.
+	 */
+	private Map<String, Set<String>> loadExistingIndex() {
+		Map<String, Set<String>> index = new TreeMap<String, Set<String>>();
+
+		Properties properties = new Properties();
+		InputStream in = null;
+		try {
+			FileObject resource = filer.getResource( StandardLocation.CLASS_OUTPUT, "", INDEX_RESOURCE_NAME );
+			in = resource.openInputStream();
+			properties.load( in );
+		}
+		catch ( IOException e ) {
+			// no index has been written before
+			return index;
+		}
+		finally {
+			if ( in != null ) {
+				try {
+					in.close();
+				}
+				catch ( IOException e ) {
+					messager.printMessage( Kind.WARNING, "Unable to close meta data index: " + e.getMessage() );
+				}
+			}
+		}
+
+		for ( String typeName : properties.stringPropertyNames() ) {
+			index.put(
+					typeName, new TreeSet<String>( Arrays.asList( properties.getProperty( typeName ).trim().split( "\\s+" ) ) )
+			);
+		}
+
+		return index;
+	}
+
+	private void addType(TypeElement type) {
+		Set<String> constrainedMembers = new TreeSet<String>();
+		List<String> members = new ArrayList<String>();
+
+		for ( VariableElement field : ElementFilter.fieldsIn( type.getEnclosedElements() ) ) {
+			members.add( FIELD_PREFIX + field.getSimpleName() + getAnnotationNames( field.getAnnotationMirrors() ) );
+			if ( constraintHelper.containsConstraintOrGraphValidationAnnotation( field.getAnnotationMirrors() ) ) {
+				constrainedMembers.add( FIELD_PREFIX + field.getSimpleName() );
+			}
+		}
+
+		for ( ExecutableElement method : ElementFilter.methodsIn( type.getEnclosedElements() ) ) {
+			StringBuilder member = new StringBuilder( METHOD_PREFIX ).append( method.getSimpleName() );
+			member.append( getAnnotationNames( method.getAnnotationMirrors() ) );
+			List<? extends VariableElement> parameters = method.getParameters();
+			for ( int i = 0; i < parameters.size(); i++ ) {
+				String parameterAnnotationNames = getAnnotationNames( parameters.get( i ).getAnnotationMirrors() );
+				if ( parameterAnnotationNames.length() > 0 ) {
+					member.append( '#' ).append( i ).append( parameterAnnotationNames );
+				}
+			}
+			members.add( member.toString() );
+			if ( isConstrained( method ) ) {
+				constrainedMembers.add( METHOD_PREFIX + method.getSimpleName() );
+			}
+		}
+
+		constrainedMembers.add( HASH_PREFIX + getMemberHash( members ) );
+
+		constrainedMembersByType.put( elementUtils.getBinaryName( type ).toString(), constrainedMembers );
+
+		for ( TypeElement memberType : ElementFilter.typesIn( type.getEnclosedElements() ) ) {
+			addType( memberType );
+		}
+	}
+
+	/**
+	 * Must match {@code org.hibernate.validator.metadata.MetaDataIndex#getMemberHash(Class)}.
+	 */
+	private String getMemberHash(List<String> members) {
+		Collections.sort( members );
+		StringBuilder builder = new StringBuilder();
+		for ( String member : members ) {
+			builder.append( member ).append( ' ' );
+		}
+		return Integer.toHexString( builder.toString().hashCode() );
+	}
+
+	/**
+	 * Must match {@code org.hibernate.validator.metadata.MetaDataIndex#getAnnotationNames(Annotation[])}. Only
+	 * annotations with runtime retention are considered, as only those are visible to the runtime calculation.
+	 */
+	private String getAnnotationNames(List<? extends AnnotationMirror> annotationMirrors) {
+		List<String> names = new ArrayList<String>();
+		for ( AnnotationMirror annotationMirror : annotationMirrors ) {
+			TypeElement annotationType = (TypeElement) annotationMirror.getAnnotationType().asElement();
+			Retention retention = annotationType.getAnnotation( Retention.class );
+			if ( retention != null && retention.value() == RetentionPolicy.RUNTIME ) {
+				names.add( elementUtils.getBinaryName( annotationType ).toString() );
+			}
+		}
+		Collections.sort( names );
+		StringBuilder builder = new StringBuilder();
+		for ( String name : names ) {
+			builder.append( '@' ).append( name );
+		}
+		return builder.toString();
+	}
+
+	private boolean isConstrained(ExecutableElement method) {
+		if ( constraintHelper.containsConstraintOrGraphValidationAnnotation( method.getAnnotationMirrors() ) ) {
+			return true;
+		}
+
+		for ( VariableElement parameter : method.getParameters() ) {
+			if ( constraintHelper.containsConstraintOrGraphValidationAnnotation( parameter.getAnnotationMirrors() ) ) {
+				return true;
+			}
+		}
+
+		return false;
+	}
+}
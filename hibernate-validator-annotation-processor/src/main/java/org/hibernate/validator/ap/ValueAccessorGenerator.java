@@ -0,0 +1,238 @@
+/*
+* JBoss, Home of Professional Open Source
+* Copyright 2011, Red Hat, Inc. and/or its affiliates, and individual contributors
+* by the @authors tag. See the copyright.txt in the distribution for a
+* full listing of individual contributors.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+* http://www.apache.org/licenses/LICENSE-2.0
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.hibernate.validator.ap;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import javax.annotation.processing.Filer;
+import javax.annotation.processing.Messager;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.util.Elements;
+import javax.tools.Diagnostic.Kind;
+import javax.tools.JavaFileObject;
+
+import org.hibernate.validator.ap.util.CollectionHelper;
+import org.hibernate.validator.ap.util.ConstraintHelper;
+
+/**
+ * Generates an implementation of {@code org.hibernate.validator.metadata.BeanValueAccessor} for each type hosting
+ * constrained or cascaded fields or getter methods. The generated accessors read the values of these members directly
+ * instead of using reflection. Private and static members as well as members of types which are not accessible from
+ * their package (e.g. private nested types) are not supported and will be accessed reflectively at runtime.
+ */
+final class ValueAccessorGenerator {
+
+	private static final String ACCESSOR_INTERFACE_NAME = "org.hibernate.validator.metadata.BeanValueAccessor";
+
+	/**
+	 * Must match {@code org.hibernate.validator.metadata.BeanValueAccessorResolver#ACCESSOR_CLASS_SUFFIX}.
+	 */
+	private static final String ACCESSOR_CLASS_SUFFIX = "_ValueAccessor";
+
+	private final Elements elementUtils;
+
+	private final Filer filer;
+
+	private final Messager messager;
+
+	private final ConstraintHelper constraintHelper;
+
+	/**
+	 * The supported members per type, collected during the current round.
+	 */
+	private final Map<TypeElement, List<Element>> membersByType = new LinkedHashMap<TypeElement, List<Element>>();
+
+	/**
+	 * The names of all accessor types generated so far.
+	 */
+	private final Set<String> generatedAccessors = CollectionHelper.newHashSet();
+
+	ValueAccessorGenerator(Elements elementUtils, Filer filer, Messager messager, ConstraintHelper constraintHelper) {
+		this.elementUtils = elementUtils;
+		this.filer = filer;
+		this.messager = messager;
+		this.constraintHelper = constraintHelper;
+	}
+
+	/**
+	 * Registers the given element for accessor generation, if it is a supported field or getter method and at least
+	 * one of the given annotations is a constraint annotation or the {@code @Valid} annotation.
+	 *
+	 * @param element The annotated element.
+	 * @param mirrors The annotations given at the element.
+	 */
+	void addAnnotatedElement(Element element, List<AnnotationMirror> mirrors) {
+		if ( !isSupportedMember( element ) || !constraintHelper.containsConstraintOrGraphValidationAnnotation( mirrors ) ) {
+			return;
+		}
+
+		TypeElement hostingType = (TypeElement) element.getEnclosingElement();
+		if ( !isAccessible( hostingType ) ) {
+			return;
+		}
+
+		List<Element> members = membersByType.get( hostingType );
+		if ( members == null ) {
+			members = new ArrayList<Element>();
+			membersByType.put( hostingType, members );
+		}
+		if ( !members.contains( element ) ) {
+			members.add( element );
+		}
+	}
+
+	/**
+	 * Writes the accessors for all types registered during the current round.
+	 *
+	 * @return The binary names of the types for which an accessor has been written.
+	 */
+	Set<String> generate() {
+		Set<String> typesWithAccessor = CollectionHelper.newHashSet();
+
+		for ( Map.Entry<TypeElement, List<Element>> entry : membersByType.entrySet() ) {
+			TypeElement hostingType = entry.getKey();
+			String typeName = elementUtils.getBinaryName( hostingType ).toString();
+			String accessorName = typeName + ACCESSOR_CLASS_SUFFIX;
+			if ( generatedAccessors.add( accessorName ) && writeAccessor( hostingType, accessorName, entry.getValue() ) ) {
+				typesWithAccessor.add( typeName );
+			}
+		}
+		membersByType.clear();
+
+		return typesWithAccessor;
+	}
+
+	private boolean isSupportedMember(Element element) {
+		if ( element.getModifiers().contains( Modifier.PRIVATE ) || element.getModifiers().contains( Modifier.STATIC ) ) {
+			return false;
+		}
+
+		if ( element.getKind() == ElementKind.FIELD ) {
+			return true;
+		}
+		else if ( element.getKind() == ElementKind.METHOD ) {
+			ExecutableElement method = (ExecutableElement) element;
+			return method.getParameters().isEmpty() && method.getReturnType().getKind() != TypeKind.VOID;
+		}
+		return false;
+	}
+
+	/**
+	 * Whether the given type can be referenced from a class in the same package or not.
+	 */
+	private boolean isAccessible(TypeElement type) {
+		Element current = type;
+		while ( current.getKind().isClass() || current.getKind().isInterface() ) {
+			TypeElement currentType = (TypeElement) current;
+			if ( currentType.getModifiers().contains( Modifier.PRIVATE ) ) {
+				return false;
+			}
+			if ( currentType.getNestingKind() != NestingKind.TOP_LEVEL && currentType.getNestingKind() != NestingKind.MEMBER ) {
+				return false;
+			}
+			current = current.getEnclosingElement();
+		}
+		return true;
+	}
+
+	private boolean writeAccessor(TypeElement hostingType, String accessorName, List<Element> members) {
+		PackageElement packageElement = elementUtils.getPackageOf( hostingType );
+		String packageName = packageElement.isUnnamed() ? null : packageElement.getQualifiedName().toString();
+		String simpleName = packageName == null ? accessorName : accessorName.substring( packageName.length() + 1 );
+		String typeName = hostingType.getQualifiedName().toString();
+
+		PrintWriter writer = null;
+		try {
+			JavaFileObject sourceFile = filer.createSourceFile( accessorName, hostingType );
+			writer = new PrintWriter( sourceFile.openWriter() );
+
+			if ( packageName != null ) {
+				writer.println( "package " + packageName + ";" );
+				writer.println();
+			}
+			writer.println( "/**" );
+			writer.println( " * Value accessor for {@link " + typeName + "}, generated by the Hibernate Validator annotation processor." );
+			writer.println( " */" );
+			writer.println( "public final class " + simpleName + " implements " + ACCESSOR_INTERFACE_NAME + " {" );
+			writer.println();
+			writeIndexOf( writer, typeName, members );
+			writer.println();
+			writeGetValue( writer, typeName, members );
+			writer.println( "}" );
+			return true;
+		}
+		catch ( IOException e ) {
+			messager.printMessage(
+					Kind.WARNING, "Unable to generate value accessor " + accessorName + ": " + e.getMessage(), hostingType
+			);
+			return false;
+		}
+		finally {
+			if ( writer != null ) {
+				writer.close();
+			}
+		}
+	}
+
+	private void writeIndexOf(PrintWriter writer, String typeName, List<Element> members) {
+		writer.println( "\tpublic int indexOf(java.lang.reflect.Member member) {" );
+		writer.println( "\t\tif ( member.getDeclaringClass() != " + typeName + ".class ) {" );
+		writer.println( "\t\t\treturn -1;" );
+		writer.println( "\t\t}" );
+		writer.println( "\t\tboolean isField = member instanceof java.lang.reflect.Field;" );
+		writer.println( "\t\tboolean isGetter = member instanceof java.lang.reflect.Method" );
+		writer.println( "\t\t\t\t&& ( (java.lang.reflect.Method) member ).getParameterTypes().length == 0;" );
+		for ( int i = 0; i < members.size(); i++ ) {
+			Element member = members.get( i );
+			String check = member.getKind() == ElementKind.FIELD ? "isField" : "isGetter";
+			writer.println( "\t\tif ( " + check + " && \"" + member.getSimpleName() + "\".equals( member.getName() ) ) {" );
+			writer.println( "\t\t\treturn " + i + ";" );
+			writer.println( "\t\t}" );
+		}
+		writer.println( "\t\treturn -1;" );
+		writer.println( "\t}" );
+	}
+
+	private void writeGetValue(PrintWriter writer, String typeName, List<Element> members) {
+		writer.println( "\tpublic Object getValue(int index, Object bean) {" );
+		writer.println( "\t\t" + typeName + " typedBean = (" + typeName + ") bean;" );
+		writer.println( "\t\tswitch ( index ) {" );
+		for ( int i = 0; i < members.size(); i++ ) {
+			Element member = members.get( i );
+			String access = member.getKind() == ElementKind.FIELD ? member.getSimpleName().toString() : member.getSimpleName() + "()";
+			writer.println( "\t\t\tcase " + i + ":" );
+			writer.println( "\t\t\t\treturn typedBean." + access + ";" );
+		}
+		writer.println( "\t\t\tdefault:" );
+		writer.println( "\t\t\t\tthrow new IllegalArgumentException( \"Unknown member index \" + index );" );
+		writer.println( "\t\t}" );
+		writer.println( "\t}" );
+	}
+}
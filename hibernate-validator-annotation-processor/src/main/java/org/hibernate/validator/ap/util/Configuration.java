@@ -46,6 +46,18 @@ public class Configuration {
 	 */
 	public final static String METHOD_CONSTRAINTS_SUPPORTED_PROCESSOR_OPTION = "methodConstraintsSupported";
 
+	/**
+	 * The name of the processor option for activating the generation of value accessors
+	 * for constrained types.
+	 */
+	public final static String GENERATE_VALUE_ACCESSORS_PROCESSOR_OPTION = "generateValueAccessors";
+
+	/**
+	 * The name of the processor option for activating the generation of the
+	 * constraint meta data index.
+	 */
+	public final static String GENERATE_META_DATA_INDEX_PROCESSOR_OPTION = "generateMetaDataIndex";
+
 	/**
 	 * The diagnostic kind to be used if no or an invalid kind is given as processor option.
 	 */
@@ -57,11 +69,17 @@ public class Configuration {
 
 	private final boolean methodConstraintsSupported;
 
+	private final boolean generateValueAccessors;
+
+	private final boolean generateMetaDataIndex;
+
 	public Configuration(Map<String, String> options, Messager messager) {
 
 		this.diagnosticKind = getDiagnosticKindOption( options, messager );
 		this.verbose = getVerboseOption( options, messager );
 		this.methodConstraintsSupported = getMethodConstraintsSupportedOption( options );
+		this.generateValueAccessors = Boolean.parseBoolean( options.get( GENERATE_VALUE_ACCESSORS_PROCESSOR_OPTION ) );
+		this.generateMetaDataIndex = Boolean.parseBoolean( options.get( GENERATE_META_DATA_INDEX_PROCESSOR_OPTION ) );
 	}
 
 	/**
@@ -86,6 +104,20 @@ public class Configuration {
 		return methodConstraintsSupported;
 	}
 
+	/**
+	 * Whether value accessors shall be generated for constrained types or not.
+	 */
+	public boolean generateValueAccessors() {
+		return generateValueAccessors;
+	}
+
+	/**
+	 * Whether the constraint meta data index shall be generated or not.
+	 */
+	public boolean generateMetaDataIndex() {
+		return generateMetaDataIndex;
+	}
+
 	/**
 	 * Retrieves the diagnostic kind to be used for error messages. If given in
 	 * processor options, it will be taken from there, otherwise the default
@@ -265,6 +265,32 @@ public class ConstraintHelper {
 
 	}
 
+	/**
+	 * Checks, whether the given annotations comprise at least one constraint
+	 * annotation (including multi-valued constraints) or the {@link Valid}
+	 * annotation.
+	 *
+	 * @param annotationMirrors The annotation mirrors of interest.
+	 *
+	 * @return True, if the given annotations comprise a constraint annotation
+	 *         or the {@link Valid} annotation, false otherwise.
+	 */
+	public boolean containsConstraintOrGraphValidationAnnotation(List<? extends AnnotationMirror> annotationMirrors) {
+
+		for ( AnnotationMirror oneAnnotationMirror : annotationMirrors ) {
+
+			AnnotationType annotationType = getAnnotationType( oneAnnotationMirror );
+
+			if ( annotationType == AnnotationType.CONSTRAINT_ANNOTATION
+					|| annotationType == AnnotationType.MULTI_VALUED_CONSTRAINT_ANNOTATION
+					|| annotationType == AnnotationType.GRAPH_VALIDATION_ANNOTATION ) {
+				return true;
+			}
+		}
+
+		return false;
+	}
+
 	/**
 	 * Returns a list with the constraint annotations contained in the given
 	 * array-valued annotation mirror.
@@ -0,0 +1,109 @@
+/*
+* JBoss, Home of Professional Open Source
+* Copyright 2011, Red Hat, Inc. and/or its affiliates, and individual contributors
+* by the @authors tag. See the copyright.txt in the distribution for a
+* full listing of individual contributors.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+* http://www.apache.org/licenses/LICENSE-2.0
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.hibernate.validator.ap;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.InputStream;
+import java.util.Properties;
+
+import org.testng.annotations.Test;
+
+import org.hibernate.validator.ap.testmodel.metadataindex.AnotherModelWithMetaDataIndex;
+import org.hibernate.validator.ap.testmodel.metadataindex.ModelWithMetaDataIndex;
+import org.hibernate.validator.metadata.MetaDataIndex;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Tests for the generation of the constraint meta data index by {@link ConstraintValidationProcessor}.
+ */
+public class MetaDataIndexGenerationTest extends ConstraintValidationProcessorTestBase {
+
+	private final File indexFile = new File( "target", MetaDataIndex.INDEX_RESOURCE_NAME );
+
+	@Test
+	public void testMetaDataIndexIsGenerated() throws Exception {
+		deleteIndex();
+
+		assertTrue( compileWithMetaDataIndex( ModelWithMetaDataIndex.class ) );
+
+		Properties index = loadIndex();
+		assertEquals( index.size(), 2 );
+		assertEquals(
+				index.getProperty( ModelWithMetaDataIndex.class.getName() ),
+				"field:items field:name hash:" + MetaDataIndex.getMemberHash( ModelWithMetaDataIndex.class )
+						+ " method:addItem method:getItemCount"
+		);
+		assertEquals(
+				index.getProperty( ModelWithMetaDataIndex.Item.class.getName() ),
+				"field:code hash:" + MetaDataIndex.getMemberHash( ModelWithMetaDataIndex.Item.class )
+		);
+	}
+
+	@Test
+	public void testExistingMetaDataIndexIsMerged() throws Exception {
+		deleteIndex();
+
+		assertTrue( compileWithMetaDataIndex( ModelWithMetaDataIndex.class ) );
+		assertTrue( compileWithMetaDataIndex( AnotherModelWithMetaDataIndex.class ) );
+
+		// the entries of the first compilation are retained
+		Properties index = loadIndex();
+		assertEquals( index.size(), 3 );
+		assertTrue( index.containsKey( ModelWithMetaDataIndex.class.getName() ) );
+		assertTrue( index.containsKey( ModelWithMetaDataIndex.Item.class.getName() ) );
+		assertEquals(
+				index.getProperty( AnotherModelWithMetaDataIndex.class.getName() ),
+				"field:code hash:" + MetaDataIndex.getMemberHash( AnotherModelWithMetaDataIndex.class )
+		);
+	}
+
+	private boolean compileWithMetaDataIndex(Class<?> type) {
+		return compilerHelper.compile(
+				new ConstraintValidationProcessor(),
+				diagnostics,
+				null,
+				null,
+				null,
+				null,
+				true,
+				compilerHelper.getSourceFile( type )
+		);
+	}
+
+	private void deleteIndex() {
+		if ( indexFile.exists() ) {
+			assertTrue( indexFile.delete(), "Unable to delete meta data index." );
+		}
+	}
+
+	private Properties loadIndex() throws Exception {
+		assertTrue( indexFile.exists(), "Meta data index hasn't been generated." );
+
+		Properties index = new Properties();
+		InputStream in = new FileInputStream( indexFile );
+		try {
+			index.load( in );
+		}
+		finally {
+			in.close();
+		}
+		return index;
+	}
+}
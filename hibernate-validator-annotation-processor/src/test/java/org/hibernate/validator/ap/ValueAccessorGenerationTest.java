@@ -0,0 +1,111 @@
+/*
+* JBoss, Home of Professional Open Source
+* Copyright 2011, Red Hat, Inc. and/or its affiliates, and individual contributors
+* by the @authors tag. See the copyright.txt in the distribution for a
+* full listing of individual contributors.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+* http://www.apache.org/licenses/LICENSE-2.0
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.hibernate.validator.ap;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.InputStream;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.Arrays;
+import java.util.Properties;
+
+import org.testng.annotations.Test;
+
+import org.hibernate.validator.ap.testmodel.valueaccessor.ModelWithValueAccessor;
+import org.hibernate.validator.metadata.BeanValueAccessor;
+import org.hibernate.validator.metadata.BeanValueAccessorResolver;
+import org.hibernate.validator.metadata.MetaDataIndex;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Tests for the generation of value accessors by {@link ConstraintValidationProcessor}.
+ */
+public class ValueAccessorGenerationTest extends ConstraintValidationProcessorTestBase {
+
+	@Test
+	public void testValueAccessorIsGenerated() throws Exception {
+
+		File sourceFile = compilerHelper.getSourceFile( ModelWithValueAccessor.class );
+
+		boolean compilationResult =
+				compilerHelper.compile(
+						new ConstraintValidationProcessor(), diagnostics, null, null, null, true, null, sourceFile
+				);
+
+		assertTrue( compilationResult );
+
+		String accessorName = ModelWithValueAccessor.class.getName() + BeanValueAccessorResolver.ACCESSOR_CLASS_SUFFIX;
+		File accessorFile = new File( "target", accessorName.replace( ".", File.separator ) + ".class" );
+		assertTrue( accessorFile.exists(), "Value accessor hasn't been generated." );
+
+		URLClassLoader classLoader = new URLClassLoader(
+				new URL[] { new File( "target" ).toURI().toURL() }, ModelWithValueAccessor.class.getClassLoader()
+		);
+		BeanValueAccessor accessor = (BeanValueAccessor) classLoader.loadClass( accessorName ).newInstance();
+
+		ModelWithValueAccessor bean = new ModelWithValueAccessor( "foo", "bar" );
+
+		Field name = ModelWithValueAccessor.class.getField( "name" );
+		assertEquals( accessor.getValue( accessor.indexOf( name ), bean ), "foo" );
+
+		Method getDescription = ModelWithValueAccessor.class.getMethod( "getDescription" );
+		assertEquals( accessor.getValue( accessor.indexOf( getDescription ), bean ), "foo-bar" );
+
+		// loaded by another class loader here, so only the index can be checked for non-public members
+		Field code = ModelWithValueAccessor.class.getDeclaredField( "code" );
+		assertTrue( accessor.indexOf( code ) >= 0 );
+
+		Field parent = ModelWithValueAccessor.class.getDeclaredField( "parent" );
+		assertTrue( accessor.indexOf( parent ) >= 0 );
+
+		Field secret = ModelWithValueAccessor.class.getDeclaredField( "secret" );
+		assertEquals( accessor.indexOf( secret ), -1, "Private fields must be accessed reflectively." );
+	}
+
+	@Test
+	public void testTypeWithValueAccessorIsMarkedInIndex() throws Exception {
+
+		File sourceFile = compilerHelper.getSourceFile( ModelWithValueAccessor.class );
+
+		boolean compilationResult =
+				compilerHelper.compile(
+						new ConstraintValidationProcessor(), diagnostics, null, null, null, true, null, sourceFile
+				);
+
+		assertTrue( compilationResult );
+
+		File indexFile = new File( "target", MetaDataIndex.INDEX_RESOURCE_NAME );
+		assertTrue( indexFile.exists(), "Meta data index hasn't been generated." );
+
+		Properties index = new Properties();
+		InputStream in = new FileInputStream( indexFile );
+		try {
+			index.load( in );
+		}
+		finally {
+			in.close();
+		}
+
+		String entry = index.getProperty( ModelWithValueAccessor.class.getName() );
+		assertTrue( Arrays.asList( entry.split( " " ) ).contains( MetaDataIndex.ACCESSOR_ENTRY ), entry );
+	}
+}
@@ -0,0 +1,55 @@
+/*
+* JBoss, Home of Professional Open Source
+* Copyright 2011, Red Hat, Inc. and/or its affiliates, and individual contributors
+* by the @authors tag. See the copyright.txt in the distribution for a
+* full listing of individual contributors.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+* http://www.apache.org/licenses/LICENSE-2.0
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.hibernate.validator.ap.testmodel.metadataindex;
+
+import java.util.List;
+import javax.validation.Valid;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Size;
+
+public class ModelWithMetaDataIndex {
+
+	@NotNull
+	private String name;
+
+	@Valid
+	private List<Item> items;
+
+	private String comment;
+
+	@Min(1)
+	public int getItemCount() {
+		return items.size();
+	}
+
+	public void addItem(@NotNull Item item) {
+		items.add( item );
+	}
+
+	public String getComment() {
+		return comment;
+	}
+
+	public static class Item {
+
+		@Size(min = 3)
+		private String code;
+
+		private int quantity;
+	}
+}
@@ -0,0 +1,49 @@
+/*
+* JBoss, Home of Professional Open Source
+* Copyright 2011, Red Hat, Inc. and/or its affiliates, and individual contributors
+* by the @authors tag. See the copyright.txt in the distribution for a
+* full listing of individual contributors.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+* http://www.apache.org/licenses/LICENSE-2.0
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.hibernate.validator.ap.testmodel.valueaccessor;
+
+import javax.validation.Valid;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Size;
+
+public class ModelWithValueAccessor {
+
+	@NotNull
+	public String name;
+
+	@Size(min = 3)
+	String code;
+
+	/**
+	 * Not supported by the generated accessor (private field).
+	 */
+	@NotNull
+	private String secret;
+
+	@Valid
+	protected ModelWithValueAccessor parent;
+
+	public ModelWithValueAccessor(String name, String code) {
+		this.name = name;
+		this.code = code;
+	}
+
+	@Size(max = 10)
+	public String getDescription() {
+		return name + "-" + code;
+	}
+}
@@ -105,6 +105,15 @@ public class CompilerTestHelper {
 		return compile( annotationProcessor, diagnostics, null, verbose, allowMethodConstraints, sourceFiles );
 	}
 
+	/**
+	 * @see CompilerTestHelper#compile(Processor, DiagnosticCollector, Kind, Boolean, Boolean, Boolean, Boolean, File...)
+	 */
+	public boolean compile(
+			Processor annotationProcessor, DiagnosticCollector<JavaFileObject> diagnostics, Kind diagnosticKind, Boolean verbose, Boolean allowMethodConstraints, File... sourceFiles) {
+
+		return compile( annotationProcessor, diagnostics, diagnosticKind, verbose, allowMethodConstraints, null, null, sourceFiles );
+	}
+
 	/**
 	 * Creates and executes a {@link CompilationTask} using the given input.
 	 *
@@ -112,6 +121,9 @@ public class CompilerTestHelper {
 	 * @param diagnostics An diagnostics listener to be attached to the task.
 	 * @param diagnosticKind A value for the "diagnosticKind" option.
 	 * @param verbose A value for the "verbose" option.
+	 * @param allowMethodConstraints A value for the "methodConstraintsSupported" option.
+	 * @param generateValueAccessors A value for the "generateValueAccessors" option.
+	 * @param generateMetaDataIndex A value for the "generateMetaDataIndex" option.
 	 * @param sourceFiles The source files to be compiled.
 	 *
 	 * @return True, if the source files could be compiled successfully (meaning
@@ -119,7 +131,7 @@ public class CompilerTestHelper {
 	 *         any errors), false otherwise.
 	 */
 	public boolean compile(
-			Processor annotationProcessor, DiagnosticCollector<JavaFileObject> diagnostics, Kind diagnosticKind, Boolean verbose, Boolean allowMethodConstraints, File... sourceFiles) {
+			Processor annotationProcessor, DiagnosticCollector<JavaFileObject> diagnostics, Kind diagnosticKind, Boolean verbose, Boolean allowMethodConstraints, Boolean generateValueAccessors, Boolean generateMetaDataIndex, File... sourceFiles) {
 
 		StandardJavaFileManager fileManager =
 				compiler.getStandardFileManager( null, null, null );
@@ -148,6 +160,26 @@ public class CompilerTestHelper {
 			);
 		}
 
+		if ( generateValueAccessors != null ) {
+			options.add(
+					String.format(
+							"-A%s=%b",
+							Configuration.GENERATE_VALUE_ACCESSORS_PROCESSOR_OPTION,
+							generateValueAccessors
+					)
+			);
+		}
+
+		if ( generateMetaDataIndex != null ) {
+			options.add(
+					String.format(
+							"-A%s=%b",
+							Configuration.GENERATE_META_DATA_INDEX_PROCESSOR_OPTION,
+							generateMetaDataIndex
+					)
+			);
+		}
+
 		CompilationTask task = compiler.getTask( null, fileManager, diagnostics, options, null, compilationUnits );
 		task.setProcessors( Arrays.asList( annotationProcessor ) );
 
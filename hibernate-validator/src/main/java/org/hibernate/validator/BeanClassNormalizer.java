@@ -0,0 +1,41 @@
+/*
+* JBoss, Home of Professional Open Source
+* Copyright 2011, Red Hat, Inc. and/or its affiliates, and individual contributors
+* by the @authors tag. See the copyright.txt in the distribution for a
+* full listing of individual contributors.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+* http://www.apache.org/licenses/LICENSE-2.0
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.hibernate.validator;
+
+/**
+ * Determines the class whose meta data is used when validating instances of a given bean class. Proxy classes
+ * generated at runtime, e.g. by Hibernate ORM for lazy loading or by CGLIB for Spring beans, are subclasses of the
+ * user's bean class which add no constraints. Mapping them to the user's class lets all proxies of a class share
+ * the meta data of this class instead of building meta data for each generated class.
+ * <p>
+ * Implementations must be thread-safe. A normalizer is only asked once per class, as the result is cached together
+ * with the meta data.
+ * </p>
+ * @see HibernateValidatorConfiguration#beanClassNormalizer(BeanClassNormalizer)
+ */
+public interface BeanClassNormalizer {
+
+	/**
+	 * Returns the class whose meta data is used for instances of the given class.
+	 *
+	 * @param beanClass The runtime class of a validated bean.
+	 *
+	 * @return The given class itself or one of its superclasses, e.g. the user class of a proxy class. Never
+	 *         {@code null}.
+	 */
+	Class<?> normalize(Class<?> beanClass);
+}
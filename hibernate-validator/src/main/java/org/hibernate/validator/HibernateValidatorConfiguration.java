@@ -37,6 +37,53 @@ public interface HibernateValidatorConfiguration extends Configuration<Hibernate
 	 */
 	final static String FAIL_FAST = "hibernate.validator.fail_fast";
 
+	/**
+	 * Property for specifying the path of a meta data snapshot file written via
+	 * {@link org.hibernate.validator.HibernateValidatorFactory#writeMetaDataSnapshot(java.io.OutputStream)}. If the
+	 * file exists, it will be loaded when the validator factory is created and used to speed up building the meta
+	 * data of the bean types. A snapshot taken with different XML mappings is ignored.
+	 */
+	final static String METADATA_SNAPSHOT = "hibernate.validator.metadata_snapshot";
+
+	/**
+	 * Property for specifying the maximum number of bean types whose meta data is kept by the validator factory.
+	 * If more types are validated, the meta data of the least recently used types is discarded and re-created when
+	 * required. Meta data configured via XML or the programmatic API doesn't count towards this number. Accepts a
+	 * non-negative integer, {@code 0} means no bound. Defaults to {@code 0}.
+	 */
+	final static String METADATA_CACHE_MAX_SIZE = "hibernate.validator.metadata_cache_max_size";
+
+	/**
+	 * Property for specifying a comma separated list of packages whose types are assumed to host no constraints. The
+	 * members of such types are not inspected when building their meta data, e.g. when cascading to them. Sub-packages
+	 * are included. Types from the {@code java} package and its sub-packages are always treated this way. Types
+	 * extending or implementing a type of another package are still inspected, as they might inherit constraints.
+	 */
+	final static String UNCONSTRAINED_PACKAGES = "hibernate.validator.unconstrained_packages";
+
+	/**
+	 * Property corresponding to the {@link #beanClassNormalizer} method. Accepts the fully qualified name of a
+	 * {@link BeanClassNormalizer} implementation with a public no-arg constructor. Defaults to
+	 * {@link org.hibernate.validator.engine.DefaultBeanClassNormalizer}.
+	 */
+	final static String BEAN_CLASS_NORMALIZER = "hibernate.validator.bean_class_normalizer";
+
+	/**
+	 * Property for specifying the number of threads used for building meta data eagerly, i.e. when warming up types
+	 * via {@link org.hibernate.validator.HibernateValidatorFactory#warmUp(java.util.Collection)} or when building the
+	 * meta data of configured types upon factory creation. Accepts a positive integer. Defaults to the number of
+	 * available processors.
+	 */
+	final static String METADATA_BUILD_THREADS = "hibernate.validator.metadata_build_threads";
+
+	/**
+	 * Property for specifying whether the meta data of the types configured via XML or the programmatic API (and of
+	 * the types reachable from them via cascaded members) is built in parallel when the validator factory is created.
+	 * Otherwise it is built upon the first use of each type. Accepts {@code true} or {@code false}. Defaults to
+	 * {@code false}.
+	 */
+	final static String EAGER_CONFIGURED_METADATA = "hibernate.validator.eager_configured_metadata";
+
 	/**
 	 * <p>
 	 * Returns the {@link ResourceBundleLocator} used by the
@@ -90,4 +137,16 @@ public interface HibernateValidatorConfiguration extends Configuration<Hibernate
 	 * @return {@code this} following the chaining method pattern
 	 */
 	HibernateValidatorConfiguration failFast(boolean failFast);
+
+	/**
+	 * Sets the {@link BeanClassNormalizer} determining the class whose meta data is used when validating instances of
+	 * a given class, e.g. the user class of a proxy class.
+	 *
+	 * @param beanClassNormalizer The normalizer to use.
+	 *
+	 * @return {@code this} following the chaining method pattern
+	 *
+	 * @throws IllegalArgumentException if {@code beanClassNormalizer} is {@code null}
+	 */
+	HibernateValidatorConfiguration beanClassNormalizer(BeanClassNormalizer beanClassNormalizer);
 }
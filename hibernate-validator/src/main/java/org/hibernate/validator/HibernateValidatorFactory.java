@@ -17,6 +17,9 @@
 
 package org.hibernate.validator;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Collection;
 import javax.validation.ValidatorFactory;
 
 /**
@@ -34,4 +37,53 @@ public interface HibernateValidatorFactory extends ValidatorFactory {
 	 * @return A context for validator configuration.
 	 */
 	HibernateValidatorContext usingContext();
+
+	/**
+	 * Writes a snapshot of the meta data of all bean types validated or configured so far. The snapshot can be
+	 * loaded in later runs by specifying its location via {@link HibernateValidatorConfiguration#METADATA_SNAPSHOT}.
+	 *
+	 * @param out The stream to write the snapshot to. Will be flushed but not closed.
+	 *
+	 * @throws IOException in case the snapshot can't be written.
+	 */
+	void writeMetaDataSnapshot(OutputStream out) throws IOException;
+
+	/**
+	 * Eagerly builds the meta data of the given bean types and of all types reachable from them via cascaded
+	 * members, and resolves and initializes the constraint validators of their constraints. The types are processed
+	 * in parallel. Invoking this method after creating the factory avoids that the first validations of these types
+	 * have to build the meta data.
+	 *
+	 * @param beanClasses The bean types to warm up.
+	 *
+	 * @return The number of types which have been warmed up, including the reachable ones.
+	 *
+	 * @throws IllegalArgumentException in case {@code beanClasses} is {@code null}.
+	 * @throws javax.validation.ValidationException in case the meta data of any of the types is invalid, e.g. because
+	 * no validator could be resolved for one of its constraints.
+	 */
+	int warmUp(Collection<Class<?>> beanClasses);
+
+	/**
+	 * Discards the meta data of all bean types loaded by the given class loader or one of its descendants. This
+	 * should be invoked when the class loader is discarded, e.g. when redeploying an application, so its types can be
+	 * unloaded right away. Meta data configured via XML or the programmatic API is not discarded.
+	 *
+	 * @param classLoader The class loader whose types shall be discarded.
+	 *
+	 * @return The number of bean types whose meta data has been discarded.
+	 *
+	 * @throws IllegalArgumentException in case {@code classLoader} is {@code null}.
+	 */
+	int evictMetaData(ClassLoader classLoader);
+
+	/**
+	 * Discards the meta data of all bean types, except the meta data configured via XML or the programmatic API.
+	 */
+	void clearMetaDataCache();
+
+	/**
+	 * @return The statistics of the cache holding the meta data of the bean types at the time of invocation.
+	 */
+	MetaDataCacheStatistics getMetaDataCacheStatistics();
 }
@@ -0,0 +1,46 @@
+/*
+* JBoss, Home of Professional Open Source
+* Copyright 2011, Red Hat, Inc. and/or its affiliates, and individual contributors
+* by the @authors tag. See the copyright.txt in the distribution for a
+* full listing of individual contributors.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+* http://www.apache.org/licenses/LICENSE-2.0
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.hibernate.validator;
+
+/**
+ * Statistics of the cache holding the meta data of the bean types validated by a {@link HibernateValidatorFactory}.
+ * Can be used to find out whether the size of the cache configured via
+ * {@link HibernateValidatorConfiguration#METADATA_CACHE_MAX_SIZE} is sufficient.
+ */
+public interface MetaDataCacheStatistics {
+
+	/**
+	 * @return The number of requests for the meta data of a bean type which could be served from the cache.
+	 */
+	long getHitCount();
+
+	/**
+	 * @return The number of requests for the meta data of a bean type which required the meta data to be created.
+	 */
+	long getMissCount();
+
+	/**
+	 * @return The number of entries removed from the cache, either due to its size bound, because the garbage
+	 *         collector reclaimed them or due to an explicit eviction.
+	 */
+	long getEvictionCount();
+
+	/**
+	 * @return The number of bean types whose meta data is currently contained in the cache.
+	 */
+	int getSize();
+}
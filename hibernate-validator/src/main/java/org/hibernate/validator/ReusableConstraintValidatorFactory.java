@@ -0,0 +1,29 @@
+/*
+* JBoss, Home of Professional Open Source
+* Copyright 2011, Red Hat, Inc. and/or its affiliates, and individual contributors
+* by the @authors tag. See the copyright.txt in the distribution for a
+* full listing of individual contributors.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+* http://www.apache.org/licenses/LICENSE-2.0
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.hibernate.validator;
+
+import javax.validation.ConstraintValidatorFactory;
+
+/**
+ * A {@link ConstraintValidatorFactory} whose validator instances may be reused. By default only the validator
+ * instances created by Hibernate Validator's own factory are cached (see HV-242), while any other factory is asked
+ * for a new instance upon each validation of a constraint. Factories backed by a dependency injection container
+ * can implement this marker interface to signal that the instances they return are thread-safe and may be cached
+ * per constraint and validated type.
+ */
+public interface ReusableConstraintValidatorFactory extends ConstraintValidatorFactory {
+}
@@ -0,0 +1,28 @@
+/*
+* JBoss, Home of Professional Open Source
+* Copyright 2011, Red Hat, Inc. and/or its affiliates, and individual contributors
+* by the @authors tag. See the copyright.txt in the distribution for a
+* full listing of individual contributors.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+* http://www.apache.org/licenses/LICENSE-2.0
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.hibernate.validator;
+
+import javax.validation.ConstraintValidator;
+
+/**
+ * Marker interface for {@link ConstraintValidator} implementations which hold no state depending on the attributes
+ * of the validated constraint annotation. Hibernate Validator's default constraint validator factory creates a single
+ * instance of such a validator class and shares it between all constraints using it. Implementations must therefore
+ * be thread-safe and must not keep any state in {@link ConstraintValidator#initialize(java.lang.annotation.Annotation)}.
+ */
+public interface StatelessConstraintValidator {
+}
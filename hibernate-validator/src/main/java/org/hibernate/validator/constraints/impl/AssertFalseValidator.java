@@ -20,12 +20,14 @@ import javax.validation.ConstraintValidator;
 import javax.validation.ConstraintValidatorContext;
 import javax.validation.constraints.AssertFalse;
 
+import org.hibernate.validator.StatelessConstraintValidator;
+
 /**
  * Validates that the value passed is false
  *
  * @author Alaa Nassef
  */
-public class AssertFalseValidator implements ConstraintValidator<AssertFalse, Boolean> {
+public class AssertFalseValidator implements ConstraintValidator<AssertFalse, Boolean>, StatelessConstraintValidator {
 
 	public void initialize(AssertFalse constraintAnnotation) {
 	}
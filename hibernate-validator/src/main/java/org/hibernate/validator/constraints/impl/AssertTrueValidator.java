@@ -20,12 +20,14 @@ import javax.validation.ConstraintValidator;
 import javax.validation.ConstraintValidatorContext;
 import javax.validation.constraints.AssertTrue;
 
+import org.hibernate.validator.StatelessConstraintValidator;
+
 /**
  * Validates that the value passed is true
  *
  * @author Alaa Nassef
  */
-public class AssertTrueValidator implements ConstraintValidator<AssertTrue, Boolean> {
+public class AssertTrueValidator implements ConstraintValidator<AssertTrue, Boolean>, StatelessConstraintValidator {
 
 	public void initialize(AssertTrue constraintAnnotation) {
 	}
@@ -3,6 +3,7 @@ package org.hibernate.validator.constraints.impl;
 import javax.validation.ConstraintValidator;
 import javax.validation.ConstraintValidatorContext;
 
+import org.hibernate.validator.StatelessConstraintValidator;
 import org.hibernate.validator.constraints.CreditCardNumber;
 
 /**
@@ -11,7 +12,7 @@ import org.hibernate.validator.constraints.CreditCardNumber;
  * @author Emmanuel Bernard
  * @author Hardy Ferentschik
  */
-public class CreditCardNumberValidator implements ConstraintValidator<CreditCardNumber, String> {
+public class CreditCardNumberValidator implements ConstraintValidator<CreditCardNumber, String>, StatelessConstraintValidator {
 	private LuhnValidator luhnValidator;
 
 	public CreditCardNumberValidator() {
@@ -4,6 +4,7 @@ import java.util.regex.Matcher;
 import javax.validation.ConstraintValidator;
 import javax.validation.ConstraintValidatorContext;
 
+import org.hibernate.validator.StatelessConstraintValidator;
 import org.hibernate.validator.constraints.Email;
 
 /**
@@ -21,12 +22,12 @@ import org.hibernate.validator.constraints.Email;
  * @author Emmanuel Bernard
  * @author Hardy Ferentschik
  */
-public class EmailValidator implements ConstraintValidator<Email, String> {
+public class EmailValidator implements ConstraintValidator<Email, String>, StatelessConstraintValidator {
 	private static String ATOM = "[a-z0-9!#$%&'*+/=?^_`{|}~-]";
 	private static String DOMAIN = "(" + ATOM + "+(\\." + ATOM + "+)*";
 	private static String IP_DOMAIN = "\\[[0-9]{1,3}\\.[0-9]{1,3}\\.[0-9]{1,3}\\.[0-9]{1,3}\\]";
 
-	private java.util.regex.Pattern pattern = java.util.regex.Pattern.compile(
+	private static final java.util.regex.Pattern EMAIL_PATTERN = java.util.regex.Pattern.compile(
 			"^" + ATOM + "+(\\." + ATOM + "+)*@"
 					+ DOMAIN
 					+ "|"
@@ -42,7 +43,7 @@ public class EmailValidator implements ConstraintValidator<Email, String> {
 		if ( value == null || value.length() == 0 ) {
 			return true;
 		}
-		Matcher m = pattern.matcher( value );
+		Matcher m = EMAIL_PATTERN.matcher( value );
 		return m.matches();
 	}
 }
@@ -21,13 +21,15 @@ import javax.validation.ConstraintValidator;
 import javax.validation.ConstraintValidatorContext;
 import javax.validation.constraints.Future;
 
+import org.hibernate.validator.StatelessConstraintValidator;
+
 /**
  * Check that the <code>java.util.Calendar</code> passed to be validated is in
  * the future.
  *
  * @author Alaa Nassef
  */
-public class FutureValidatorForCalendar implements ConstraintValidator<Future, Calendar> {
+public class FutureValidatorForCalendar implements ConstraintValidator<Future, Calendar>, StatelessConstraintValidator {
 
 	public void initialize(Future constraintAnnotation) {
 	}
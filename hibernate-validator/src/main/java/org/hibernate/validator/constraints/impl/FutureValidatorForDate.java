@@ -21,13 +21,15 @@ import javax.validation.ConstraintValidator;
 import javax.validation.ConstraintValidatorContext;
 import javax.validation.constraints.Future;
 
+import org.hibernate.validator.StatelessConstraintValidator;
+
 /**
  * Check that the <code>java.util.Date</code> passed to be validated is in the
  * future.
  *
  * @author Alaa Nassef
  */
-public class FutureValidatorForDate implements ConstraintValidator<Future, Date> {
+public class FutureValidatorForDate implements ConstraintValidator<Future, Date>, StatelessConstraintValidator {
 
 	public void initialize(Future constraintAnnotation) {
 	}
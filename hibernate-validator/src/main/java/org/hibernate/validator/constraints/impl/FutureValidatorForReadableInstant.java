@@ -22,6 +22,8 @@ import javax.validation.constraints.Future;
 
 import org.joda.time.ReadableInstant;
 
+import org.hibernate.validator.StatelessConstraintValidator;
+
 /**
  * Check if Joda Time type who implements
  * {@code import org.joda.time.ReadableInstant}
@@ -29,7 +31,7 @@ import org.joda.time.ReadableInstant;
  *
  * @author Kevin Pollet
  */
-public class FutureValidatorForReadableInstant implements ConstraintValidator<Future, ReadableInstant> {
+public class FutureValidatorForReadableInstant implements ConstraintValidator<Future, ReadableInstant>, StatelessConstraintValidator {
 
 	public void initialize(Future constraintAnnotation) {
 	}
@@ -22,6 +22,8 @@ import javax.validation.constraints.Future;
 
 import org.joda.time.ReadablePartial;
 
+import org.hibernate.validator.StatelessConstraintValidator;
+
 /**
  * Check if Joda Time type who implements
  * {@code org.joda.time.ReadablePartial}
@@ -29,7 +31,7 @@ import org.joda.time.ReadablePartial;
  *
  * @author Kevin Pollet
  */
-public class FutureValidatorForReadablePartial implements ConstraintValidator<Future, ReadablePartial> {
+public class FutureValidatorForReadablePartial implements ConstraintValidator<Future, ReadablePartial>, StatelessConstraintValidator {
 
 	public void initialize(Future constraintAnnotation) {
 	}
@@ -20,6 +20,7 @@ package org.hibernate.validator.constraints.impl;
 import javax.validation.ConstraintValidator;
 import javax.validation.ConstraintValidatorContext;
 
+import org.hibernate.validator.StatelessConstraintValidator;
 import org.hibernate.validator.constraints.NotBlank;
 
 /**
@@ -27,7 +28,7 @@ import org.hibernate.validator.constraints.NotBlank;
  *
  * @author Hardy Ferentschik
  */
-public class NotBlankValidator implements ConstraintValidator<NotBlank, String> {
+public class NotBlankValidator implements ConstraintValidator<NotBlank, String>, StatelessConstraintValidator {
 
 	public void initialize(NotBlank annotation) {
 	}
@@ -20,12 +20,14 @@ import javax.validation.ConstraintValidator;
 import javax.validation.ConstraintValidatorContext;
 import javax.validation.constraints.NotNull;
 
+import org.hibernate.validator.StatelessConstraintValidator;
+
 /**
  * Validate that the object is not <code>null</code>.
  *
  * @author Emmanuel Bernard
  */
-public class NotNullValidator implements ConstraintValidator<NotNull, Object> {
+public class NotNullValidator implements ConstraintValidator<NotNull, Object>, StatelessConstraintValidator {
 
 	public void initialize(NotNull parameters) {
 	}
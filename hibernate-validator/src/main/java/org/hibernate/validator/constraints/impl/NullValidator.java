@@ -20,12 +20,14 @@ import javax.validation.ConstraintValidator;
 import javax.validation.ConstraintValidatorContext;
 import javax.validation.constraints.Null;
 
+import org.hibernate.validator.StatelessConstraintValidator;
+
 /**
  * Validate that the object is <code>null</code>
  *
  * @author Alaa Nassef
  */
-public class NullValidator implements ConstraintValidator<Null, Object> {
+public class NullValidator implements ConstraintValidator<Null, Object>, StatelessConstraintValidator {
 
 	public void initialize(Null constraintAnnotation) {
 	}
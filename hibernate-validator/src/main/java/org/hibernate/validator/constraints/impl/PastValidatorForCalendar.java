@@ -21,13 +21,15 @@ import javax.validation.ConstraintValidator;
 import javax.validation.ConstraintValidatorContext;
 import javax.validation.constraints.Past;
 
+import org.hibernate.validator.StatelessConstraintValidator;
+
 /**
  * Check that the <code>java.util.Calendar</code> passed to be validated is in the
  * past.
  *
  * @author Alaa Nassef
  */
-public class PastValidatorForCalendar implements ConstraintValidator<Past, Calendar> {
+public class PastValidatorForCalendar implements ConstraintValidator<Past, Calendar>, StatelessConstraintValidator {
 
 	public void initialize(Past constraintAnnotation) {
 	}
@@ -21,13 +21,15 @@ import javax.validation.ConstraintValidator;
 import javax.validation.ConstraintValidatorContext;
 import javax.validation.constraints.Past;
 
+import org.hibernate.validator.StatelessConstraintValidator;
+
 /**
  * Check that the <code>java.util.Date</code> passed to be validated is in the
  * past.
  *
  * @author Alaa Nassef
  */
-public class PastValidatorForDate implements ConstraintValidator<Past, Date> {
+public class PastValidatorForDate implements ConstraintValidator<Past, Date>, StatelessConstraintValidator {
 
 	public void initialize(Past constraintAnnotation) {
 	}
@@ -22,6 +22,8 @@ import javax.validation.constraints.Past;
 
 import org.joda.time.ReadableInstant;
 
+import org.hibernate.validator.StatelessConstraintValidator;
+
 /**
  * Check if Joda Time type who implements
  * {@code org.joda.time.ReadableInstant}
@@ -29,7 +31,7 @@ import org.joda.time.ReadableInstant;
  *
  * @author Kevin Pollet
  */
-public class PastValidatorForReadableInstant implements ConstraintValidator<Past, ReadableInstant> {
+public class PastValidatorForReadableInstant implements ConstraintValidator<Past, ReadableInstant>, StatelessConstraintValidator {
 
 	public void initialize(Past constraintAnnotation) {
 	}
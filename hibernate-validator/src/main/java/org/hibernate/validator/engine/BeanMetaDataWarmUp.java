@@ -0,0 +1,234 @@
+/*
+* JBoss, Home of Professional Open Source
+* Copyright 2011, Red Hat, Inc. and/or its affiliates, and individual contributors
+* by the @authors tag. See the copyright.txt in the distribution for a
+* full listing of individual contributors.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+* http://www.apache.org/licenses/LICENSE-2.0
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.hibernate.validator.engine;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.validation.ConstraintValidatorFactory;
+import javax.validation.ValidationException;
+
+import org.slf4j.Logger;
+
+import org.hibernate.validator.metadata.AggregatedMethodMetaData;
+import org.hibernate.validator.metadata.BeanMetaConstraint;
+import org.hibernate.validator.metadata.BeanMetaData;
+import org.hibernate.validator.metadata.BeanMetaDataCache;
+import org.hibernate.validator.metadata.ConstraintHelper;
+import org.hibernate.validator.metadata.MetaConstraint;
+import org.hibernate.validator.metadata.ParameterMetaData;
+import org.hibernate.validator.util.LoggerFactory;
+import org.hibernate.validator.util.ReflectionHelper;
+
+import static org.hibernate.validator.util.CollectionHelper.newArrayList;
+import static org.hibernate.validator.util.CollectionHelper.newHashSet;
+
+/**
+ * Eagerly builds the meta data of a set of bean types and of all types reachable from them via cascaded members.
+ * Additionally the constraint validators of all constraints of these types are resolved and initialized. The types
+ * are processed in parallel, a cascaded type is processed as soon as the type referencing it is done.
+ */
+final class BeanMetaDataWarmUp {
+
+	private static final Logger log = LoggerFactory.make();
+
+	private final BeanMetaDataCache beanMetaDataCache;
+
+	private final ConstraintHelper constraintHelper;
+
+	private final ConstraintValidatorFactory constraintValidatorFactory;
+
+	private final int threads;
+
+	BeanMetaDataWarmUp(BeanMetaDataCache beanMetaDataCache, ConstraintHelper constraintHelper, ConstraintValidatorFactory constraintValidatorFactory, int threads) {
+		this.beanMetaDataCache = beanMetaDataCache;
+		this.constraintHelper = constraintHelper;
+		this.constraintValidatorFactory = constraintValidatorFactory;
+		this.threads = threads;
+	}
+
+	/**
+	 * Warms up the given types and all types reachable from them.
+	 *
+	 * @param beanClasses The types to warm up.
+	 *
+	 * @return The number of types which have been warmed up.
+	 */
+	int warmUp(Collection<Class<?>> beanClasses) {
+		Set<Class<?>> processedClasses = newHashSet();
+		List<Class<?>> unprocessedClasses = newArrayList();
+		addUnprocessed( beanClasses, processedClasses, unprocessedClasses );
+
+		ExecutorService executor = Executors.newFixedThreadPool( threads, new WarmUpThreadFactory() );
+		CompletionService<Set<Class<?>>> completionService = new ExecutorCompletionService<Set<Class<?>>>( executor );
+		try {
+			int pendingTasks = 0;
+			do {
+				for ( final Class<?> beanClass : unprocessedClasses ) {
+					completionService.submit(
+							new Callable<Set<Class<?>>>() {
+								public Set<Class<?>> call() {
+									return warmUp( beanClass );
+								}
+							}
+					);
+					pendingTasks++;
+				}
+				unprocessedClasses.clear();
+
+				// cascaded types are submitted as soon as they are known, not only after all other pending types
+				if ( pendingTasks > 0 ) {
+					addUnprocessed( getNextResult( completionService ), processedClasses, unprocessedClasses );
+					pendingTasks--;
+				}
+			} while ( pendingTasks > 0 || !unprocessedClasses.isEmpty() );
+		}
+		finally {
+			executor.shutdownNow();
+		}
+
+		log.debug( "Warmed up meta data of {} types", processedClasses.size() );
+		return processedClasses.size();
+	}
+
+	/**
+	 * Builds the meta data for the given type and initializes the validators of all its constraints.
+	 *
+	 * @return The types referenced by the cascaded members of the given type.
+	 */
+	private Set<Class<?>> warmUp(Class<?> beanClass) {
+		BeanMetaData<?> beanMetaData = beanMetaDataCache.getOrCreateBeanMetaData( beanClass, constraintHelper );
+
+		Set<Class<?>> cascadedClasses = newHashSet();
+
+		for ( BeanMetaConstraint<?, ? extends Annotation> metaConstraint : beanMetaData.getMetaConstraintsAsList() ) {
+			metaConstraint.initializeValidators( constraintValidatorFactory );
+		}
+
+		for ( Member member : beanMetaData.getCascadedMembers() ) {
+			addCascadedClass( ReflectionHelper.typeOf( member ), cascadedClasses );
+		}
+
+		for ( AggregatedMethodMetaData methodMetaData : beanMetaData.getAllMethodMetaData() ) {
+			if ( !methodMetaData.isConstrained() ) {
+				continue;
+			}
+
+			for ( BeanMetaConstraint<?, ? extends Annotation> metaConstraint : methodMetaData ) {
+				metaConstraint.initializeValidators( constraintValidatorFactory );
+			}
+			if ( methodMetaData.isCascading() ) {
+				addCascadedClass( ReflectionHelper.typeOf( methodMetaData.getMethod() ), cascadedClasses );
+			}
+
+			Method method = methodMetaData.getMethod();
+			for ( ParameterMetaData parameterMetaData : methodMetaData.getAllParameterMetaData() ) {
+				for ( MetaConstraint<?, ? extends Annotation> metaConstraint : parameterMetaData ) {
+					metaConstraint.initializeValidators( constraintValidatorFactory );
+				}
+				if ( parameterMetaData.isCascading() ) {
+					addCascadedClass(
+							ReflectionHelper.typeOf( method, parameterMetaData.getIndex() ), cascadedClasses
+					);
+				}
+			}
+		}
+
+		return cascadedClasses;
+	}
+
+	/**
+	 * Adds the class of the given type (or the class of its elements in case of iterables, maps and arrays) to the
+	 * given set, provided it is a type which can be warmed up.
+	 */
+	private void addCascadedClass(Type type, Set<Class<?>> cascadedClasses) {
+		Type indexedType = ReflectionHelper.getIndexedType( type );
+		Class<?> clazz = getRawClass( indexedType != null ? indexedType : type );
+
+		if ( clazz != null && !clazz.isPrimitive() && !clazz.isArray() && !clazz.getName().startsWith( "java." ) ) {
+			cascadedClasses.add( clazz );
+		}
+	}
+
+	private Class<?> getRawClass(Type type) {
+		if ( type instanceof Class ) {
+			return (Class<?>) type;
+		}
+		else if ( type instanceof ParameterizedType ) {
+			return getRawClass( ( (ParameterizedType) type ).getRawType() );
+		}
+		else if ( type instanceof GenericArrayType ) {
+			return getRawClass( ( (GenericArrayType) type ).getGenericComponentType() );
+		}
+		// type variables and wildcards can't be resolved, the actual types are only known at validation time
+		return null;
+	}
+
+	private void addUnprocessed(Collection<Class<?>> classes, Set<Class<?>> processedClasses, List<Class<?>> unprocessedClasses) {
+		for ( Class<?> clazz : classes ) {
+			if ( processedClasses.add( clazz ) ) {
+				unprocessedClasses.add( clazz );
+			}
+		}
+	}
+
+	private <T> T getNextResult(CompletionService<T> completionService) {
+		try {
+			return completionService.take().get();
+		}
+		catch ( InterruptedException e ) {
+			Thread.currentThread().interrupt();
+			throw new ValidationException( "Interrupted while warming up the bean meta data", e );
+		}
+		catch ( ExecutionException e ) {
+			Throwable cause = e.getCause();
+			if ( cause instanceof RuntimeException ) {
+				throw (RuntimeException) cause;
+			}
+			if ( cause instanceof Error ) {
+				throw (Error) cause;
+			}
+			throw new ValidationException( "Unable to warm up the bean meta data", cause );
+		}
+	}
+
+	private static final class WarmUpThreadFactory implements ThreadFactory {
+
+		private final AtomicInteger threadNumber = new AtomicInteger( 1 );
+
+		public Thread newThread(Runnable runnable) {
+			Thread thread = new Thread( runnable, "hibernate-validator-warm-up-" + threadNumber.getAndIncrement() );
+			thread.setDaemon( true );
+			return thread;
+		}
+	}
+}
@@ -34,6 +34,7 @@ import javax.validation.spi.ValidationProvider;
 
 import org.slf4j.Logger;
 
+import org.hibernate.validator.BeanClassNormalizer;
 import org.hibernate.validator.HibernateValidatorConfiguration;
 import org.hibernate.validator.cfg.ConstraintMapping;
 import org.hibernate.validator.engine.resolver.DefaultTraversableResolver;
@@ -76,6 +77,7 @@ public class ConfigurationImpl implements HibernateValidatorConfiguration, Confi
 	private Set<InputStream> configurationStreams = new HashSet<InputStream>();
 	private ConstraintMapping mapping;
 	private boolean failFast;
+	private BeanClassNormalizer beanClassNormalizer;
 
 	public ConfigurationImpl(BootstrapState state) {
 		if ( state.getValidationProviderResolver() == null ) {
@@ -129,6 +131,14 @@ public class ConfigurationImpl implements HibernateValidatorConfiguration, Confi
 		return this;
 	}
 
+	public final HibernateValidatorConfiguration beanClassNormalizer(BeanClassNormalizer beanClassNormalizer) {
+		if ( beanClassNormalizer == null ) {
+			throw new IllegalArgumentException( "The bean class normalizer cannot be null." );
+		}
+		this.beanClassNormalizer = beanClassNormalizer;
+		return this;
+	}
+
 	public final HibernateValidatorConfiguration addMapping(ConstraintMapping mapping) {
 		if ( mapping == null ) {
 			throw new IllegalArgumentException( "The mapping cannot be null." );
@@ -204,6 +214,10 @@ public class ConfigurationImpl implements HibernateValidatorConfiguration, Confi
 		return failFast;
 	}
 
+	public final BeanClassNormalizer getBeanClassNormalizer() {
+		return beanClassNormalizer;
+	}
+
 	public final ConstraintValidatorFactory getConstraintValidatorFactory() {
 		return validationBootstrapParameters.getConstraintValidatorFactory();
 	}
@@ -17,6 +17,9 @@
 package org.hibernate.validator.engine;
 
 import java.lang.annotation.Annotation;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
 import java.lang.reflect.Type;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -25,6 +28,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import javax.validation.ConstraintValidator;
 import javax.validation.ConstraintValidatorFactory;
 import javax.validation.ConstraintViolation;
@@ -35,9 +39,9 @@ import javax.validation.metadata.ConstraintDescriptor;
 import com.googlecode.jtype.TypeUtils;
 import org.slf4j.Logger;
 
+import org.hibernate.validator.ReusableConstraintValidatorFactory;
 import org.hibernate.validator.constraints.CompositionType;
 import org.hibernate.validator.metadata.ConstraintDescriptorImpl;
-import org.hibernate.validator.util.LRUMap;
 import org.hibernate.validator.util.LoggerFactory;
 import org.hibernate.validator.util.ValidatorTypeHelper;
 
@@ -56,7 +60,6 @@ import static org.hibernate.validator.constraints.CompositionType.OR;
 public class ConstraintTree<A extends Annotation> {
 
 	private static final Logger log = LoggerFactory.make();
-	private static final int MAX_TYPE_CACHE_SIZE = 20;
 
 	private final ConstraintTree<?> parent;
 	private final List<ConstraintTree<?>> children;
@@ -66,42 +69,89 @@ public class ConstraintTree<A extends Annotation> {
 	 */
 	private final ConstraintDescriptorImpl<A> descriptor;
 
+	/**
+	 * The tree holding the resolved validators of this constraint. Trees of equal constraint descriptors share
+	 * their validators, so this is either this tree itself or the corresponding tree of an equal descriptor.
+	 */
+	private final ConstraintTree<A> validatorOwner;
+
 	/**
 	 * A maps of all available constraint validator classes for this constraint mapped to their validator types.
 	 */
 	private final Map<Type, Class<? extends ConstraintValidator<?, ?>>> availableValidatorTypes;
 
+	/**
+	 * The validator resolved for the first validated type. Almost all constraints only ever see a single type and
+	 * a single constraint validator factory, so this slot serves the common case without any map lookup.
+	 */
+	private volatile ResolvedValidator<A> resolvedValidator;
+
+	/**
+	 * The validators resolved for further validated types. Only created once this constraint is validated for
+	 * more than one type, e.g. when the tree is shared by constraints on members of different types.
+	 */
+	private volatile ConcurrentMap<Type, ResolvedValidator<A>> resolvedValidatorsByType;
 
-	private final Map<ValidatorCacheKey, ConstraintValidator<A, ?>> constraintValidatorCache;
-	private final Map<Type, Type> suitableTypeMap;
+	/**
+	 * The validators created by further caching constraint validator factories. Only created once this constraint
+	 * is validated for the same type with more than one such factory, e.g. when a validator obtained via
+	 * {@code usingContext()} is used alternately with the one of the validator factory.
+	 */
+	private volatile ValidatorsByFactory<A> validatorsByFactory;
 
 	public ConstraintTree(ConstraintDescriptorImpl<A> descriptor) {
-		this( descriptor, null );
+		this( descriptor, null, null );
+	}
+
+	/**
+	 * Creates a tree for the given descriptor which shares the validators of the given tree. The descriptor of the
+	 * given tree must be equal to the given descriptor, i.e. have the same annotation attributes, groups, element type
+	 * and origin, so that the same validators apply.
+	 *
+	 * @param descriptor The descriptor of the new tree.
+	 * @param validatorOwner The tree whose validators are shared.
+	 */
+	public ConstraintTree(ConstraintDescriptorImpl<A> descriptor, ConstraintTree<A> validatorOwner) {
+		this( descriptor, null, validatorOwner );
 	}
 
-	private ConstraintTree(ConstraintDescriptorImpl<A> descriptor, ConstraintTree<?> parent) {
+	private ConstraintTree(ConstraintDescriptorImpl<A> descriptor, ConstraintTree<?> parent, ConstraintTree<A> validatorOwner) {
 		this.parent = parent;
 		this.descriptor = descriptor;
-		this.constraintValidatorCache = new ConcurrentHashMap<ValidatorCacheKey, ConstraintValidator<A, ?>>();
+		this.validatorOwner = validatorOwner != null ? validatorOwner.validatorOwner : this;
 
-		final Set<ConstraintDescriptorImpl<?>> composingConstraints = new HashSet<ConstraintDescriptorImpl<?>>();
-		for ( ConstraintDescriptor<?> composingConstraint : descriptor.getComposingConstraints() ) {
-			composingConstraints.add( (ConstraintDescriptorImpl<?>) composingConstraint );
+		if ( descriptor.getComposingConstraints().isEmpty() ) {
+			children = Collections.emptyList();
 		}
-
-		children = new ArrayList<ConstraintTree<?>>( composingConstraints.size() );
-
-		for ( ConstraintDescriptorImpl<?> composingDescriptor : composingConstraints ) {
-			ConstraintTree<?> treeNode = createConstraintTree( composingDescriptor );
-			children.add( treeNode );
+		else {
+			children = new ArrayList<ConstraintTree<?>>( descriptor.getComposingConstraints().size() );
+
+			// composing constraints are iterated in declaration order, so the children of the owner match by position
+			int index = 0;
+			for ( ConstraintDescriptor<?> composingConstraint : descriptor.getComposingConstraints() ) {
+				ConstraintTree<?> ownerChild = validatorOwner != null ? validatorOwner.children.get( index ) : null;
+				ConstraintTree<?> treeNode = createConstraintTree(
+						(ConstraintDescriptorImpl<?>) composingConstraint, ownerChild
+				);
+				children.add( treeNode );
+				index++;
+			}
 		}
 
-		availableValidatorTypes = ValidatorTypeHelper.getValidatorsTypes( descriptor.getConstraintValidatorClasses() );
-		suitableTypeMap = Collections.synchronizedMap( new LRUMap<Type, Type>( MAX_TYPE_CACHE_SIZE ) );
+		if ( validatorOwner != null ) {
+			availableValidatorTypes = validatorOwner.availableValidatorTypes;
+		}
+		else if ( descriptor.getConstraintValidatorClasses().isEmpty() ) {
+			availableValidatorTypes = Collections.emptyMap();
+		}
+		else {
+			availableValidatorTypes = ValidatorTypeHelper.getValidatorsTypes( descriptor.getConstraintValidatorClasses() );
+		}
 	}
 
-	private <U extends Annotation> ConstraintTree<U> createConstraintTree(ConstraintDescriptorImpl<U> composingDescriptor) {
-		return new ConstraintTree<U>( composingDescriptor, this );
+	@SuppressWarnings("unchecked")
+	private <U extends Annotation> ConstraintTree<U> createConstraintTree(ConstraintDescriptorImpl<U> composingDescriptor, ConstraintTree<?> ownerChild) {
+		return new ConstraintTree<U>( composingDescriptor, this, (ConstraintTree<U>) ownerChild );
 	}
 
 	public final List<ConstraintTree<?>> getChildren() {
@@ -112,6 +162,23 @@ public class ConstraintTree<A extends Annotation> {
 		return descriptor;
 	}
 
+	/**
+	 * Resolves and initializes the validators of this constraint and all its composing constraints for the given
+	 * type, so that this doesn't need to happen upon the first validation.
+	 *
+	 * @param validatedValueType The type of the value to be validated (the type of the member/class the constraint was placed on).
+	 * @param constraintFactory constraint factory used to instantiate the constraint validators.
+	 */
+	public final void initializeValidators(Type validatedValueType, ConstraintValidatorFactory constraintFactory) {
+		for ( ConstraintTree<?> tree : getChildren() ) {
+			tree.initializeValidators( validatedValueType, constraintFactory );
+		}
+
+		if ( !descriptor.getConstraintValidatorClasses().isEmpty() ) {
+			getInitializedValidator( validatedValueType, constraintFactory );
+		}
+	}
+
 	public final <T, U, V, E extends ConstraintViolation<T>> boolean validateConstraints(ValidationContext<T, E> executionContext, ValueContext<U, V> valueContext) {
 		Set<E> constraintViolations = new HashSet<E>();
 		validateConstraints( executionContext, valueContext, constraintViolations );
@@ -310,26 +377,113 @@ public class ConstraintTree<A extends Annotation> {
 	 */
 	@SuppressWarnings("unchecked")
 	private <V> ConstraintValidator<A, V> getInitializedValidator(Type validatedValueType, ConstraintValidatorFactory constraintFactory) {
-		Class<? extends ConstraintValidator<?, ?>> validatorClass = findMatchingValidatorClass( validatedValueType );
+		ResolvedValidator<A> resolved = getResolvedValidator( validatedValueType );
+		if ( resolved != null && resolved.hasValidatorFor( constraintFactory ) ) {
+			return (ConstraintValidator<A, V>) resolved.getValidator();
+		}
 
-		// check if we have the default validator factory. If not we don't use caching (see HV-242)
-		if ( !( constraintFactory instanceof ConstraintValidatorFactoryImpl ) ) {
-			return createAndInitializeValidator( constraintFactory, validatorClass );
+		// only cache validators of factories declaring them as reusable, e.g. the default factory (see HV-242)
+		boolean reusable = constraintFactory instanceof ReusableConstraintValidatorFactory;
+
+		// the slot is taken by the validator of another factory, so the validator might be kept per factory
+		boolean slotTaken = resolved != null && resolved.getValidator() != null;
+		if ( reusable && slotTaken ) {
+			ValidatorsByFactory<A> byFactory = validatorOwner.validatorsByFactory;
+			ConstraintValidator<A, ?> validator = byFactory != null ?
+					byFactory.get( validatedValueType, constraintFactory ) :
+					null;
+			if ( validator != null ) {
+				return (ConstraintValidator<A, V>) validator;
+			}
 		}
 
-		ConstraintValidator<A, V> constraintValidator;
-		ValidatorCacheKey key = new ValidatorCacheKey( constraintFactory, validatorClass );
-		if ( !constraintValidatorCache.containsKey( key ) ) {
-			constraintValidator = createAndInitializeValidator( constraintFactory, validatorClass );
-			constraintValidatorCache.put( key, constraintValidator );
+		Class<? extends ConstraintValidator<?, ?>> validatorClass = resolved != null ?
+				resolved.getValidatorClass() :
+				findMatchingValidatorClass( validatedValueType );
+
+		ConstraintValidator<A, V> constraintValidator = createAndInitializeValidator( constraintFactory, validatorClass );
+
+		if ( reusable && slotTaken ) {
+			validatorOwner.getValidatorsByFactory().put( validatedValueType, constraintFactory, constraintValidator );
+		}
+		else if ( reusable ) {
+			putResolvedValidator(
+					new ResolvedValidator<A>( validatedValueType, validatorClass, constraintFactory, constraintValidator )
+			);
+		}
+		return constraintValidator;
+	}
+
+	/**
+	 * Resolves the validator classes of this constraint and all its composing constraints for the given type, so
+	 * that the resolution doesn't need to happen upon validation. A type for which no unique validator exists is
+	 * left unresolved and will be reported when the constraint is validated.
+	 *
+	 * @param validatedValueType The type of the value to be validated (the type of the member/class the constraint was placed on).
+	 */
+	public final void resolveValidatorClasses(Type validatedValueType) {
+		for ( ConstraintTree<?> tree : getChildren() ) {
+			tree.resolveValidatorClasses( validatedValueType );
+		}
+
+		if ( !descriptor.getConstraintValidatorClasses().isEmpty() && getResolvedValidator( validatedValueType ) == null ) {
+			try {
+				findMatchingValidatorClass( validatedValueType );
+			}
+			catch ( UnexpectedTypeException e ) {
+				if ( log.isTraceEnabled() ) {
+					log.trace( "Unable to resolve validator for {}: {}", validatedValueType, e.getMessage() );
+				}
+			}
+		}
+	}
+
+	private ResolvedValidator<A> getResolvedValidator(Type validatedValueType) {
+		ResolvedValidator<A> resolved = validatorOwner.resolvedValidator;
+		if ( resolved != null && resolved.getValidatedValueType().equals( validatedValueType ) ) {
+			return resolved;
+		}
+
+		Map<Type, ResolvedValidator<A>> resolvedByType = validatorOwner.resolvedValidatorsByType;
+		return resolvedByType != null ? resolvedByType.get( validatedValueType ) : null;
+	}
+
+	private void putResolvedValidator(ResolvedValidator<A> resolved) {
+		ResolvedValidator<A> current = validatorOwner.resolvedValidator;
+		if ( current == null || current.getValidatedValueType().equals( resolved.getValidatedValueType() ) ) {
+			validatorOwner.resolvedValidator = resolved;
 		}
 		else {
-			if ( log.isTraceEnabled() ) {
-				log.trace( "Constraint validator {} found in cache" );
+			validatorOwner.getResolvedValidatorsByType().put( resolved.getValidatedValueType(), resolved );
+		}
+	}
+
+	private ConcurrentMap<Type, ResolvedValidator<A>> getResolvedValidatorsByType() {
+		ConcurrentMap<Type, ResolvedValidator<A>> resolvedByType = resolvedValidatorsByType;
+		if ( resolvedByType == null ) {
+			synchronized ( this ) {
+				resolvedByType = resolvedValidatorsByType;
+				if ( resolvedByType == null ) {
+					resolvedByType = new ConcurrentHashMap<Type, ResolvedValidator<A>>( 4 );
+					resolvedValidatorsByType = resolvedByType;
+				}
 			}
-			constraintValidator = (ConstraintValidator<A, V>) constraintValidatorCache.get( key );
 		}
-		return constraintValidator;
+		return resolvedByType;
+	}
+
+	private ValidatorsByFactory<A> getValidatorsByFactory() {
+		ValidatorsByFactory<A> byFactory = validatorsByFactory;
+		if ( byFactory == null ) {
+			synchronized ( this ) {
+				byFactory = validatorsByFactory;
+				if ( byFactory == null ) {
+					byFactory = new ValidatorsByFactory<A>();
+					validatorsByFactory = byFactory;
+				}
+			}
+		}
+		return byFactory;
 	}
 
 	@SuppressWarnings("unchecked")
@@ -355,8 +509,9 @@ public class ConstraintTree<A extends Annotation> {
 	 * @return The class of a matching validator.
 	 */
 	private Class<? extends ConstraintValidator<?, ?>> findMatchingValidatorClass(Type validatedValueType) {
-		if ( suitableTypeMap.containsKey( validatedValueType ) ) {
-			return availableValidatorTypes.get( suitableTypeMap.get( validatedValueType ) );
+		ResolvedValidator<A> resolved = getResolvedValidator( validatedValueType );
+		if ( resolved != null ) {
+			return resolved.getValidatorClass();
 		}
 
 		List<Type> discoveredSuitableTypes = findSuitableValidatorTypes( validatedValueType );
@@ -364,8 +519,9 @@ public class ConstraintTree<A extends Annotation> {
 		verifyResolveWasUnique( validatedValueType, discoveredSuitableTypes );
 
 		Type suitableType = discoveredSuitableTypes.get( 0 );
-		suitableTypeMap.put( validatedValueType, suitableType );
-		return availableValidatorTypes.get( suitableType );
+		Class<? extends ConstraintValidator<?, ?>> validatorClass = availableValidatorTypes.get( suitableType );
+		putResolvedValidator( new ResolvedValidator<A>( validatedValueType, validatorClass, null, null ) );
+		return validatorClass;
 	}
 
 	private void verifyResolveWasUnique(Type valueClass, List<Type> assignableClasses) {
@@ -451,46 +607,107 @@ public class ConstraintTree<A extends Annotation> {
 		sb.append( "ConstraintTree" );
 		sb.append( "{ descriptor=" ).append( descriptor );
 		sb.append( ", isRoot=" ).append( parent == null );
-		sb.append( ", constraintValidatorCache=" ).append( constraintValidatorCache );
+		sb.append( ", resolvedValidator=" ).append( validatorOwner.resolvedValidator );
 		sb.append( '}' );
 		return sb.toString();
 	}
 
-	private static final class ValidatorCacheKey {
-		private ConstraintValidatorFactory constraintValidatorFactory;
-		private Class<? extends ConstraintValidator<?, ?>> validatorType;
-
-		private ValidatorCacheKey(ConstraintValidatorFactory constraintValidatorFactory, Class<? extends ConstraintValidator<?, ?>> validatorType) {
+	/**
+	 * An immutable association of a validated type with its matching validator class and - once the constraint
+	 * has been validated for this type using a caching factory - the validator instance created by that factory.
+	 */
+	private static final class ResolvedValidator<A extends Annotation> {
+		private final Type validatedValueType;
+		private final Class<? extends ConstraintValidator<?, ?>> validatorClass;
+		private final ConstraintValidatorFactory constraintValidatorFactory;
+		private final ConstraintValidator<A, ?> validator;
+
+		private ResolvedValidator(Type validatedValueType, Class<? extends ConstraintValidator<?, ?>> validatorClass, ConstraintValidatorFactory constraintValidatorFactory, ConstraintValidator<A, ?> validator) {
+			this.validatedValueType = validatedValueType;
+			this.validatorClass = validatorClass;
 			this.constraintValidatorFactory = constraintValidatorFactory;
-			this.validatorType = validatorType;
+			this.validator = validator;
+		}
+
+		public boolean hasValidatorFor(ConstraintValidatorFactory factory) {
+			return validator != null && constraintValidatorFactory == factory;
+		}
+
+		public Type getValidatedValueType() {
+			return validatedValueType;
+		}
+
+		public Class<? extends ConstraintValidator<?, ?>> getValidatorClass() {
+			return validatorClass;
+		}
+
+		public ConstraintValidatorFactory getConstraintValidatorFactory() {
+			return constraintValidatorFactory;
+		}
+
+		public ConstraintValidator<A, ?> getValidator() {
+			return validator;
 		}
 
 		@Override
-		public boolean equals(Object o) {
-			if ( this == o ) {
-				return true;
-			}
-			if ( o == null || getClass() != o.getClass() ) {
-				return false;
+		public String toString() {
+			final StringBuilder sb = new StringBuilder();
+			sb.append( "ResolvedValidator" );
+			sb.append( "{validatedValueType=" ).append( validatedValueType );
+			sb.append( ", validator=" ).append( validator );
+			sb.append( '}' );
+			return sb.toString();
+		}
+	}
+
+	/**
+	 * The validators of a constraint keyed by validated type and constraint validator factory. The factories are
+	 * referenced weakly, so the validators of a factory which is no longer used are discarded.
+	 */
+	private static final class ValidatorsByFactory<A extends Annotation> {
+		private final ConcurrentMap<FactoryKey, ConstraintValidator<A, ?>> validators =
+				new ConcurrentHashMap<FactoryKey, ConstraintValidator<A, ?>>( 4 );
+		private final ReferenceQueue<ConstraintValidatorFactory> clearedFactories = new ReferenceQueue<ConstraintValidatorFactory>();
+
+		public ConstraintValidator<A, ?> get(Type validatedValueType, ConstraintValidatorFactory factory) {
+			return validators.get( new FactoryKey( validatedValueType, factory, null ) );
+		}
+
+		public void put(Type validatedValueType, ConstraintValidatorFactory factory, ConstraintValidator<A, ?> validator) {
+			Reference<? extends ConstraintValidatorFactory> reference;
+			while ( ( reference = clearedFactories.poll() ) != null ) {
+				validators.remove( reference );
 			}
+			validators.put( new FactoryKey( validatedValueType, factory, clearedFactories ), validator );
+		}
+	}
 
-			ValidatorCacheKey that = (ValidatorCacheKey) o;
+	private static final class FactoryKey extends WeakReference<ConstraintValidatorFactory> {
+		private final Type validatedValueType;
+		private final int hashCode;
 
-			if ( constraintValidatorFactory != null ? !constraintValidatorFactory.equals( that.constraintValidatorFactory ) : that.constraintValidatorFactory != null ) {
-				return false;
+		private FactoryKey(Type validatedValueType, ConstraintValidatorFactory factory, ReferenceQueue<ConstraintValidatorFactory> queue) {
+			super( factory, queue );
+			this.validatedValueType = validatedValueType;
+			this.hashCode = 31 * validatedValueType.hashCode() + System.identityHashCode( factory );
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if ( this == o ) {
+				return true;
 			}
-			if ( validatorType != null ? !validatorType.equals( that.validatorType ) : that.validatorType != null ) {
+			if ( !( o instanceof FactoryKey ) ) {
 				return false;
 			}
-
-			return true;
+			FactoryKey that = (FactoryKey) o;
+			ConstraintValidatorFactory factory = get();
+			return factory != null && factory == that.get() && validatedValueType.equals( that.validatedValueType );
 		}
 
 		@Override
 		public int hashCode() {
-			int result = constraintValidatorFactory != null ? constraintValidatorFactory.hashCode() : 0;
-			result = 31 * result + ( validatorType != null ? validatorType.hashCode() : 0 );
-			return result;
+			return hashCode;
 		}
 	}
 
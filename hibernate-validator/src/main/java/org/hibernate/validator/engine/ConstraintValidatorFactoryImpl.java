@@ -16,20 +16,57 @@
 */
 package org.hibernate.validator.engine;
 
+import java.lang.reflect.Constructor;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import javax.validation.ConstraintValidator;
-import javax.validation.ConstraintValidatorFactory;
 
+import org.hibernate.validator.ReusableConstraintValidatorFactory;
+import org.hibernate.validator.StatelessConstraintValidator;
 import org.hibernate.validator.util.ReflectionHelper;
 
 /**
- * Default <code>ConstraintValidatorFactory</code> using a no-arg constructor.
+ * Default <code>ConstraintValidatorFactory</code> using a no-arg constructor. The constructors are looked up once
+ * per validator class. Validators implementing {@link StatelessConstraintValidator} are only instantiated once and
+ * shared between all requests.
  *
  * @author Emmanuel Bernard
  * @author Hardy Ferentschik
  */
-public class ConstraintValidatorFactoryImpl implements ConstraintValidatorFactory {
+public class ConstraintValidatorFactoryImpl implements ReusableConstraintValidatorFactory {
 
+	private final ConcurrentMap<Class<?>, Constructor<?>> constructors = new ConcurrentHashMap<Class<?>, Constructor<?>>();
+
+	private final ConcurrentMap<Class<?>, ConstraintValidator<?, ?>> statelessValidators = new ConcurrentHashMap<Class<?>, ConstraintValidator<?, ?>>();
+
+	@SuppressWarnings("unchecked")
 	public final <T extends ConstraintValidator<?, ?>> T getInstance(Class<T> key) {
-		return ReflectionHelper.newInstance( key, "ConstraintValidator" );
+		if ( !StatelessConstraintValidator.class.isAssignableFrom( key ) ) {
+			return createInstance( key );
+		}
+
+		T validator = (T) statelessValidators.get( key );
+		if ( validator == null ) {
+			validator = createInstance( key );
+			T cachedValidator = (T) statelessValidators.putIfAbsent( key, validator );
+			if ( cachedValidator != null ) {
+				validator = cachedValidator;
+			}
+		}
+		return validator;
+	}
+
+	@SuppressWarnings("unchecked")
+	private <T extends ConstraintValidator<?, ?>> T createInstance(Class<T> key) {
+		Constructor<T> constructor = (Constructor<T>) constructors.get( key );
+		if ( constructor == null ) {
+			constructor = ReflectionHelper.getConstructor( key );
+			if ( constructor == null ) {
+				// no public no-arg constructor, let the instantiation report the problem
+				return ReflectionHelper.newInstance( key, "ConstraintValidator" );
+			}
+			constructors.putIfAbsent( key, constructor );
+		}
+		return ReflectionHelper.newConstructorInstance( constructor );
 	}
 }
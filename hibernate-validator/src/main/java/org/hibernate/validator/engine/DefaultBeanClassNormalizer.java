@@ -0,0 +1,96 @@
+/*
+* JBoss, Home of Professional Open Source
+* Copyright 2011, Red Hat, Inc. and/or its affiliates, and individual contributors
+* by the @authors tag. See the copyright.txt in the distribution for a
+* full listing of individual contributors.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+* http://www.apache.org/licenses/LICENSE-2.0
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.hibernate.validator.engine;
+
+import java.lang.reflect.Proxy;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.hibernate.validator.BeanClassNormalizer;
+
+/**
+ * The default {@link BeanClassNormalizer}, mapping the proxy classes generated by common proxy libraries to the
+ * user class they extend. Proxy classes are detected by the naming patterns of CGLIB ({@code $$EnhancerByCGLIB$$}),
+ * Spring's repackaged CGLIB ({@code $$EnhancerBySpringCGLIB$$}), Javassist ({@code _$$_javassist}) and Hibernate ORM
+ * with Byte Buddy ({@code $HibernateProxy$}) or by the marker interfaces implemented by the proxies of Hibernate ORM,
+ * Javassist, CGLIB and Spring. The interfaces are compared by name, so none of these libraries needs to be present.
+ * Other classes containing {@code $$} in their name, e.g. classes generated by compilers of other JVM languages, are
+ * not considered proxies.
+ * <p>
+ * Proxies created via {@link Proxy} are not normalized, as they don't extend the proxied class.
+ * </p>
+ */
+public class DefaultBeanClassNormalizer implements BeanClassNormalizer {
+
+	private static final String[] PROXY_CLASS_NAME_MARKERS = {
+			"$$EnhancerByCGLIB$$",
+			"$$EnhancerBySpringCGLIB$$",
+			"_$$_javassist",
+			"$HibernateProxy$"
+	};
+
+	private static final Set<String> PROXY_INTERFACE_NAMES = Collections.unmodifiableSet(
+			new HashSet<String>(
+					Arrays.asList(
+							"org.hibernate.proxy.HibernateProxy",
+							"javassist.util.proxy.ProxyObject",
+							"javassist.util.proxy.Proxy",
+							"net.sf.cglib.proxy.Factory",
+							"org.springframework.cglib.proxy.Factory",
+							"org.springframework.aop.SpringProxy"
+					)
+			)
+	);
+
+	public Class<?> normalize(Class<?> beanClass) {
+		Class<?> normalizedClass = beanClass;
+		while ( isProxyClass( normalizedClass ) ) {
+			normalizedClass = normalizedClass.getSuperclass();
+		}
+		return normalizedClass;
+	}
+
+	/**
+	 * Whether the given class is a proxy class extending the proxied class.
+	 *
+	 * @param clazz The class to check.
+	 *
+	 * @return {@code true} if the given class is a proxy class whose superclass is the proxied class, {@code false}
+	 *         otherwise.
+	 */
+	protected boolean isProxyClass(Class<?> clazz) {
+		Class<?> superclass = clazz.getSuperclass();
+		if ( superclass == null || superclass == Object.class || Proxy.isProxyClass( clazz ) ) {
+			return false;
+		}
+
+		String className = clazz.getName();
+		for ( String marker : PROXY_CLASS_NAME_MARKERS ) {
+			if ( className.contains( marker ) ) {
+				return true;
+			}
+		}
+		for ( Class<?> implementedInterface : clazz.getInterfaces() ) {
+			if ( PROXY_INTERFACE_NAMES.contains( implementedInterface.getName() ) ) {
+				return true;
+			}
+		}
+		return false;
+	}
+}
@@ -0,0 +1,297 @@
+/*
+* JBoss, Home of Professional Open Source
+* Copyright 2011, Red Hat, Inc. and/or its affiliates, and individual contributors
+* by the @authors tag. See the copyright.txt in the distribution for a
+* full listing of individual contributors.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+* http://www.apache.org/licenses/LICENSE-2.0
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.hibernate.validator.engine;
+
+import java.io.Serializable;
+import java.lang.annotation.Annotation;
+import java.lang.annotation.ElementType;
+import java.util.Collections;
+import java.util.Set;
+import javax.validation.ConstraintViolation;
+import javax.validation.Path;
+import javax.validation.metadata.ConstraintDescriptor;
+
+import org.hibernate.validator.metadata.ConstraintDescriptorImpl;
+import org.hibernate.validator.util.Contracts;
+
+import static org.hibernate.validator.util.CollectionHelper.newHashSet;
+
+/**
+ * A compact, detached representation of a constraint violation. Only the property path (in its string
+ * representation), the message template, the interpolated message, the constraint descriptor and optionally a
+ * bounded string representation of the invalid value are retained. In particular no references to the root bean,
+ * the leaf bean or the invalid value itself are kept, which makes instances of this class suitable for being
+ * queued or cached for a long time.
+ * <p>
+ * Instances are obtained via {@link #detach(ConstraintViolation)} or {@link #detach(ConstraintViolation, int)}.
+ * {@link #getRootBean()} and {@link #getLeafBean()} always return {@code null}.
+ * </p>
+ */
+public final class DetachedConstraintViolation<T> implements ConstraintViolation<T>, Serializable {
+
+	private static final long serialVersionUID = 4718466286720637584L;
+
+	/**
+	 * Value for the maximum invalid value length indicating that the invalid value should not be retained at all.
+	 */
+	public static final int NO_INVALID_VALUE = -1;
+
+	private final String propertyPath;
+	private final String messageTemplate;
+	private final String interpolatedMessage;
+	private final ConstraintDescriptor<?> constraintDescriptor;
+	private final ElementType elementType;
+	private final Class<T> rootBeanClass;
+	private final String invalidValue;
+	private final int hashCode;
+
+	/**
+	 * The property path parsed from its string representation, created upon the first request.
+	 */
+	private transient volatile Path parsedPropertyPath;
+
+	private DetachedConstraintViolation(String propertyPath, String messageTemplate, String interpolatedMessage,
+										ConstraintDescriptor<?> constraintDescriptor, Class<T> rootBeanClass,
+										String invalidValue) {
+		this.propertyPath = propertyPath;
+		this.messageTemplate = messageTemplate;
+		this.interpolatedMessage = interpolatedMessage;
+		this.constraintDescriptor = constraintDescriptor;
+		this.elementType = constraintDescriptor instanceof ConstraintDescriptorImpl ?
+				( (ConstraintDescriptorImpl<?>) constraintDescriptor ).getElementType() : null;
+		this.rootBeanClass = rootBeanClass;
+		this.invalidValue = invalidValue;
+		this.hashCode = buildHashCode();
+	}
+
+	/**
+	 * Creates a detached copy of the given violation which does not retain the invalid value.
+	 *
+	 * @param violation the violation to detach.
+	 *
+	 * @return a detached copy of the given violation.
+	 */
+	public static <T> DetachedConstraintViolation<T> detach(ConstraintViolation<T> violation) {
+		return detach( violation, NO_INVALID_VALUE );
+	}
+
+	/**
+	 * Creates a detached copy of the given violation.
+	 *
+	 * @param violation the violation to detach.
+	 * @param maxInvalidValueLength the maximum length of the retained string representation of the invalid value.
+	 * If {@link #NO_INVALID_VALUE} is passed the invalid value is not retained at all.
+	 *
+	 * @return a detached copy of the given violation.
+	 */
+	public static <T> DetachedConstraintViolation<T> detach(ConstraintViolation<T> violation, int maxInvalidValueLength) {
+		Contracts.assertNotNull( violation, "The violation to detach cannot be null." );
+		if ( violation instanceof DetachedConstraintViolation ) {
+			return (DetachedConstraintViolation<T>) violation;
+		}
+
+		return new DetachedConstraintViolation<T>(
+				violation.getPropertyPath() != null ? violation.getPropertyPath().toString() : null,
+				violation.getMessageTemplate(),
+				violation.getMessage(),
+				violation.getConstraintDescriptor(),
+				violation.getRootBeanClass(),
+				boundedStringValue( violation.getInvalidValue(), maxInvalidValueLength )
+		);
+	}
+
+	/**
+	 * Creates detached copies of all given violations.
+	 *
+	 * @param violations the violations to detach.
+	 * @param maxInvalidValueLength the maximum length of the retained string representation of the invalid values.
+	 * If {@link #NO_INVALID_VALUE} is passed the invalid values are not retained at all.
+	 *
+	 * @return an unmodifiable set with the detached copies of the given violations.
+	 */
+	public static <T> Set<ConstraintViolation<T>> detachAll(Set<? extends ConstraintViolation<T>> violations, int maxInvalidValueLength) {
+		Contracts.assertNotNull( violations, "The violations to detach cannot be null." );
+
+		Set<ConstraintViolation<T>> detachedViolations = newHashSet( violations.size() );
+		for ( ConstraintViolation<T> violation : violations ) {
+			detachedViolations.add( detach( violation, maxInvalidValueLength ) );
+		}
+		return Collections.unmodifiableSet( detachedViolations );
+	}
+
+	private static String boundedStringValue(Object value, int maxLength) {
+		if ( value == null || maxLength < 0 ) {
+			return null;
+		}
+		String stringValue = String.valueOf( value );
+		if ( stringValue.length() > maxLength ) {
+			stringValue = stringValue.substring( 0, maxLength );
+		}
+		return stringValue;
+	}
+
+	public String getMessage() {
+		return interpolatedMessage;
+	}
+
+	public String getMessageTemplate() {
+		return messageTemplate;
+	}
+
+	/**
+	 * @return Always {@code null}, detached violations don't retain the root bean.
+	 */
+	public T getRootBean() {
+		return null;
+	}
+
+	public Class<T> getRootBeanClass() {
+		return rootBeanClass;
+	}
+
+	/**
+	 * @return Always {@code null}, detached violations don't retain the leaf bean.
+	 */
+	public Object getLeafBean() {
+		return null;
+	}
+
+	/**
+	 * @return The bounded string representation of the invalid value or {@code null} if the invalid value was not
+	 *         retained.
+	 */
+	public Object getInvalidValue() {
+		return invalidValue;
+	}
+
+	/**
+	 * Returns the property path of this violation. The path is created from its string representation
+	 * upon the first invocation. If the string representation can't be parsed (e.g. in case of method level
+	 * violations), a path with a single node named after the complete string representation is returned.
+	 *
+	 * @return The property path of this violation.
+	 */
+	public Path getPropertyPath() {
+		if ( propertyPath == null ) {
+			return null;
+		}
+		Path path = parsedPropertyPath;
+		if ( path == null ) {
+			path = parsePropertyPath();
+			parsedPropertyPath = path;
+		}
+		return path;
+	}
+
+	private Path parsePropertyPath() {
+		try {
+			return PathImpl.createPathFromString( propertyPath );
+		}
+		catch ( IllegalArgumentException e ) {
+			PathImpl path = PathImpl.createRootPath();
+			path.addNode( propertyPath );
+			return path;
+		}
+	}
+
+	/**
+	 * @return The string representation of the property path of this violation.
+	 */
+	public String getPropertyPathAsString() {
+		return propertyPath;
+	}
+
+	public ConstraintDescriptor<?> getConstraintDescriptor() {
+		return constraintDescriptor;
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if ( this == o ) {
+			return true;
+		}
+		if ( !( o instanceof DetachedConstraintViolation ) ) {
+			return false;
+		}
+
+		DetachedConstraintViolation<?> that = (DetachedConstraintViolation<?>) o;
+
+		if ( hashCode != that.hashCode ) {
+			return false;
+		}
+		if ( propertyPath != null ? !propertyPath.equals( that.propertyPath ) : that.propertyPath != null ) {
+			return false;
+		}
+		if ( interpolatedMessage != null ? !interpolatedMessage.equals( that.interpolatedMessage ) : that.interpolatedMessage != null ) {
+			return false;
+		}
+		if ( messageTemplate != null ? !messageTemplate.equals( that.messageTemplate ) : that.messageTemplate != null ) {
+			return false;
+		}
+		if ( rootBeanClass != null ? !rootBeanClass.equals( that.rootBeanClass ) : that.rootBeanClass != null ) {
+			return false;
+		}
+		if ( invalidValue != null ? !invalidValue.equals( that.invalidValue ) : that.invalidValue != null ) {
+			return false;
+		}
+		if ( elementType != null ? !elementType.equals( that.elementType ) : that.elementType != null ) {
+			return false;
+		}
+		// annotations are compared by their attributes, so copies deserialized with their descriptors are equal
+		Annotation annotation = getAnnotation();
+		Annotation thatAnnotation = that.getAnnotation();
+		if ( annotation != null ? !annotation.equals( thatAnnotation ) : thatAnnotation != null ) {
+			return false;
+		}
+
+		return true;
+	}
+
+	@Override
+	public int hashCode() {
+		return hashCode;
+	}
+
+	private int buildHashCode() {
+		int result = propertyPath != null ? propertyPath.hashCode() : 0;
+		result = 31 * result + ( interpolatedMessage != null ? interpolatedMessage.hashCode() : 0 );
+		result = 31 * result + ( messageTemplate != null ? messageTemplate.hashCode() : 0 );
+		// names instead of classes and enum constants, as the hash code is serialized
+		result = 31 * result + ( rootBeanClass != null ? rootBeanClass.getName().hashCode() : 0 );
+		result = 31 * result + ( invalidValue != null ? invalidValue.hashCode() : 0 );
+		result = 31 * result + ( elementType != null ? elementType.name().hashCode() : 0 );
+		Annotation annotation = getAnnotation();
+		result = 31 * result + ( annotation != null ? annotation.annotationType().getName().hashCode() : 0 );
+		return result;
+	}
+
+	private Annotation getAnnotation() {
+		return constraintDescriptor != null ? constraintDescriptor.getAnnotation() : null;
+	}
+
+	@Override
+	public String toString() {
+		final StringBuilder sb = new StringBuilder();
+		sb.append( "DetachedConstraintViolation" );
+		sb.append( "{interpolatedMessage='" ).append( interpolatedMessage ).append( '\'' );
+		sb.append( ", propertyPath=" ).append( propertyPath );
+		sb.append( ", rootBeanClass=" ).append( rootBeanClass );
+		sb.append( ", messageTemplate='" ).append( messageTemplate ).append( '\'' );
+		sb.append( '}' );
+		return sb.toString();
+	}
+}
@@ -45,4 +45,15 @@ public class MethodParameterNodeImpl extends NodeImpl {
 				parent, false, null, null
 		);
 	}
+
+	/**
+	 * Creates a new {@link MethodParameterNodeImpl} with the given name. Used when re-creating a path
+	 * from its serialized form.
+	 *
+	 * @param name The name of the node.
+	 * @param parent The parent node.
+	 */
+	MethodParameterNodeImpl(String name, NodeImpl parent) {
+		super( name, parent, false, null, null );
+	}
 }
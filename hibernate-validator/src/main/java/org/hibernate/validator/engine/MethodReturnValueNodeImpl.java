@@ -43,4 +43,15 @@ public class MethodReturnValueNodeImpl extends NodeImpl {
 		);
 	}
 
+	/**
+	 * Creates a new {@link MethodReturnValueNodeImpl} with the given name. Used when re-creating a path
+	 * from its serialized form.
+	 *
+	 * @param name The name of the node.
+	 * @param parent The parent node.
+	 */
+	MethodReturnValueNodeImpl(String name, NodeImpl parent) {
+		super( name, parent, false, null, null );
+	}
+
 }
@@ -92,6 +92,20 @@ public class NodeImpl implements Path.Node, Serializable {
 		return parent;
 	}
 
+	/**
+	 * @return The index of this node itself (as opposed to {@link #getIndex()}, which returns the index of the parent).
+	 */
+	final Integer getOwnIndex() {
+		return index;
+	}
+
+	/**
+	 * @return The key of this node itself (as opposed to {@link #getKey()}, which returns the key of the parent).
+	 */
+	final Object getOwnKey() {
+		return key;
+	}
+
 	@Override
 	public String toString() {
 		return asString();
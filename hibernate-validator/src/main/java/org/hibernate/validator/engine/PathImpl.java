@@ -16,6 +16,10 @@
 */
 package org.hibernate.validator.engine;
 
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.io.Serializable;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
@@ -58,6 +62,11 @@ public final class PathImpl implements Path, Serializable {
 	private NodeImpl currentLeafNode;
 	private int hashCode;
 
+	/**
+	 * Cached string representation of this path. Reset whenever the path gets modified.
+	 */
+	private transient String asString;
+
 	/**
 	 * Returns a {@code Path} instance representing the path described by the
 	 * given string. To create a root node the empty string should be passed.
@@ -139,6 +148,7 @@ public final class PathImpl implements Path, Serializable {
 		currentLeafNode = new NodeImpl( nodeName, parent, false, null, null );
 		nodeList.add( currentLeafNode );
 		hashCode = -1;
+		asString = null;
 		return currentLeafNode;
 	}
 
@@ -147,6 +157,7 @@ public final class PathImpl implements Path, Serializable {
 		currentLeafNode = new MethodParameterNodeImpl( method, parameterName, parent );
 		nodeList.add( currentLeafNode );
 		hashCode = -1;
+		asString = null;
 		return currentLeafNode;
 	}
 
@@ -155,6 +166,7 @@ public final class PathImpl implements Path, Serializable {
 		currentLeafNode = new MethodReturnValueNodeImpl( method, parent );
 		nodeList.add( currentLeafNode );
 		hashCode = -1;
+		asString = null;
 		return currentLeafNode;
 	}
 
@@ -164,6 +176,7 @@ public final class PathImpl implements Path, Serializable {
 		nodeList.remove( leafNode );
 		nodeList.add( currentLeafNode );
 		hashCode = -1;
+		asString = null;
 		return currentLeafNode;
 	}
 
@@ -173,6 +186,7 @@ public final class PathImpl implements Path, Serializable {
 		nodeList.remove( leafNode );
 		nodeList.add( currentLeafNode );
 		hashCode = -1;
+		asString = null;
 		return currentLeafNode;
 	}
 
@@ -182,6 +196,7 @@ public final class PathImpl implements Path, Serializable {
 		nodeList.remove( leafNode );
 		nodeList.add( currentLeafNode );
 		hashCode = -1;
+		asString = null;
 		return currentLeafNode;
 	}
 
@@ -200,6 +215,13 @@ public final class PathImpl implements Path, Serializable {
 	}
 
 	public final String asString() {
+		if ( asString == null ) {
+			asString = buildToString();
+		}
+		return asString;
+	}
+
+	private String buildToString() {
 		StringBuilder builder = new StringBuilder();
 		boolean first = true;
 		for ( int i = 1; i < nodeList.size(); i++ ) {
@@ -253,6 +275,19 @@ public final class PathImpl implements Path, Serializable {
 		hashCode = nodeList != null ? nodeList.hashCode() : 0;
 	}
 
+	/**
+	 * Replaces this path with its compact serialized form when being serialized.
+	 *
+	 * @return the serialized form of this path.
+	 */
+	private Object writeReplace() {
+		return new SerializedForm( this );
+	}
+
+	private void readObject(ObjectInputStream stream) throws InvalidObjectException {
+		throw new InvalidObjectException( "PathImpl instances must be deserialized from their serialized form." );
+	}
+
 	/**
 	 * Copy constructor.
 	 *
@@ -354,4 +389,111 @@ public final class PathImpl implements Path, Serializable {
 		return true;
 	}
 
+	/**
+	 * Compact serialized form of a path. Instead of serializing the node list with its parent references
+	 * the nodes are written as flat list of name, type, iterability and index or key. The node hierarchy is
+	 * re-created upon deserialization.
+	 */
+	private static final class SerializedForm implements Serializable {
+
+		private static final long serialVersionUID = -3081358733839151413L;
+
+		private static final byte BEAN_NODE = 0;
+		private static final byte METHOD_PARAMETER_NODE = 1;
+		private static final byte METHOD_RETURN_VALUE_NODE = 2;
+
+		private static final int HAS_NAME = 1;
+		private static final int ITERABLE = 1 << 1;
+		private static final int HAS_INDEX = 1 << 2;
+		private static final int HAS_KEY = 1 << 3;
+
+		private transient PathImpl path;
+
+		SerializedForm(PathImpl path) {
+			this.path = path;
+		}
+
+		private void writeObject(ObjectOutputStream out) throws IOException {
+			out.defaultWriteObject();
+			out.writeInt( path.nodeList.size() );
+			for ( Node node : path.nodeList ) {
+				NodeImpl nodeImpl = (NodeImpl) node;
+				Integer index = nodeImpl.getOwnIndex();
+				Object key = nodeImpl.getOwnKey();
+
+				int flags = 0;
+				if ( nodeImpl.getName() != null ) {
+					flags |= HAS_NAME;
+				}
+				if ( nodeImpl.isIterable() ) {
+					flags |= ITERABLE;
+				}
+				if ( index != null ) {
+					flags |= HAS_INDEX;
+				}
+				if ( key != null ) {
+					flags |= HAS_KEY;
+				}
+
+				out.writeByte( nodeType( nodeImpl ) );
+				out.writeByte( flags );
+				if ( nodeImpl.getName() != null ) {
+					out.writeUTF( nodeImpl.getName() );
+				}
+				if ( index != null ) {
+					out.writeInt( index );
+				}
+				if ( key != null ) {
+					out.writeObject( key );
+				}
+			}
+		}
+
+		private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+			in.defaultReadObject();
+			int size = in.readInt();
+			path = new PathImpl();
+			NodeImpl parent = null;
+			for ( int i = 0; i < size; i++ ) {
+				byte type = in.readByte();
+				byte flags = in.readByte();
+				String name = ( flags & HAS_NAME ) != 0 ? in.readUTF() : null;
+				Integer index = ( flags & HAS_INDEX ) != 0 ? in.readInt() : null;
+				Object key = ( flags & HAS_KEY ) != 0 ? in.readObject() : null;
+
+				NodeImpl node;
+				switch ( type ) {
+					case BEAN_NODE:
+						node = new NodeImpl( name, parent, ( flags & ITERABLE ) != 0, index, key );
+						break;
+					case METHOD_PARAMETER_NODE:
+						node = new MethodParameterNodeImpl( name, parent );
+						break;
+					case METHOD_RETURN_VALUE_NODE:
+						node = new MethodReturnValueNodeImpl( name, parent );
+						break;
+					default:
+						throw new InvalidObjectException( "Unknown node type " + type );
+				}
+				path.nodeList.add( node );
+				parent = node;
+			}
+			path.currentLeafNode = parent;
+			path.hashCode = -1;
+		}
+
+		private Object readResolve() {
+			return path;
+		}
+
+		private static byte nodeType(NodeImpl node) {
+			if ( node instanceof MethodParameterNodeImpl ) {
+				return METHOD_PARAMETER_NODE;
+			}
+			else if ( node instanceof MethodReturnValueNodeImpl ) {
+				return METHOD_RETURN_VALUE_NODE;
+			}
+			return BEAN_NODE;
+		}
+	}
 }
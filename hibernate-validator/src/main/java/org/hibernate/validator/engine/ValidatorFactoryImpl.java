@@ -16,14 +16,24 @@
 */
 package org.hibernate.validator.engine;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Member;
+import java.lang.reflect.Method;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
 import javax.validation.ConstraintValidatorFactory;
 import javax.validation.MessageInterpolator;
 import javax.validation.TraversableResolver;
@@ -31,9 +41,13 @@ import javax.validation.ValidationException;
 import javax.validation.Validator;
 import javax.validation.spi.ConfigurationState;
 
+import org.slf4j.Logger;
+
+import org.hibernate.validator.BeanClassNormalizer;
 import org.hibernate.validator.HibernateValidatorConfiguration;
 import org.hibernate.validator.HibernateValidatorContext;
 import org.hibernate.validator.HibernateValidatorFactory;
+import org.hibernate.validator.MetaDataCacheStatistics;
 import org.hibernate.validator.cfg.CascadeDef;
 import org.hibernate.validator.cfg.ConstraintDefAccessor;
 import org.hibernate.validator.cfg.ConstraintMapping;
@@ -45,11 +59,15 @@ import org.hibernate.validator.metadata.ConstraintDescriptorImpl;
 import org.hibernate.validator.metadata.ConstraintHelper;
 import org.hibernate.validator.metadata.ConstraintOrigin;
 import org.hibernate.validator.metadata.MetaConstraint;
+import org.hibernate.validator.metadata.MetaDataSnapshot;
+import org.hibernate.validator.util.Contracts;
+import org.hibernate.validator.util.LoggerFactory;
 import org.hibernate.validator.util.ReflectionHelper;
 import org.hibernate.validator.util.annotationfactory.AnnotationDescriptor;
 import org.hibernate.validator.util.annotationfactory.AnnotationFactory;
 import org.hibernate.validator.xml.XmlMappingParser;
 
+import static org.hibernate.validator.util.CollectionHelper.newArrayList;
 import static org.hibernate.validator.util.CollectionHelper.newHashMap;
 
 /**
@@ -63,11 +81,19 @@ import static org.hibernate.validator.util.CollectionHelper.newHashMap;
  */
 public class ValidatorFactoryImpl implements HibernateValidatorFactory {
 
+	private static final Logger log = LoggerFactory.make();
+
 	private final MessageInterpolator messageInterpolator;
 	private final TraversableResolver traversableResolver;
 	private final ConstraintValidatorFactory constraintValidatorFactory;
 	private final ConstraintHelper constraintHelper;
 	private final boolean failFast;
+	private final int metaDataBuildThreads;
+
+	/**
+	 * A hash of the XML mappings, used to detect meta data snapshots taken with another configuration.
+	 */
+	private final long configurationHash;
 
 	/**
 	 * Used to cache the constraint meta data for validated entities
@@ -80,13 +106,27 @@ public class ValidatorFactoryImpl implements HibernateValidatorFactory {
 		this.constraintValidatorFactory = configurationState.getConstraintValidatorFactory();
 		this.traversableResolver = configurationState.getTraversableResolver();
 		this.constraintHelper = new ConstraintHelper();
-		this.beanMetaDataCache = new BeanMetaDataCache();
+
+		// the mappings are read upfront in order to determine the configuration hash
+		List<byte[]> mappings = readMappings( configurationState.getMappingStreams() );
+		this.configurationHash = MetaDataSnapshot.getConfigurationHash( mappings );
+
+		this.beanMetaDataCache = new BeanMetaDataCache(
+				loadMetaDataSnapshot( configurationState ),
+				getMetaDataCacheMaxSize( configurationState ),
+				getUnconstrainedPackages( configurationState ),
+				getBeanClassNormalizer( configurationState )
+		);
 
 		boolean tmpFailFast = false;
 
 		// HV-302; don't load XmlMappingParser if not necessary
-		if ( !configurationState.getMappingStreams().isEmpty() ) {
-			initXmlConfiguration( configurationState.getMappingStreams() );
+		if ( !mappings.isEmpty() ) {
+			Set<InputStream> mappingStreams = new LinkedHashSet<InputStream>();
+			for ( byte[] mapping : mappings ) {
+				mappingStreams.add( new ByteArrayInputStream( mapping ) );
+			}
+			initXmlConfiguration( mappingStreams );
 		}
 
 		if ( configurationState instanceof ConfigurationImpl ) {
@@ -102,6 +142,11 @@ public class ValidatorFactoryImpl implements HibernateValidatorFactory {
 		);
 
 		this.failFast = tmpFailFast;
+
+		this.metaDataBuildThreads = getMetaDataBuildThreads( configurationState );
+		if ( isEagerConfiguredMetaData( configurationState ) ) {
+			warmUp( beanMetaDataCache.getConfiguredTypes() );
+		}
 	}
 
 	public Validator getValidator() {
@@ -127,6 +172,32 @@ public class ValidatorFactoryImpl implements HibernateValidatorFactory {
 		throw new ValidationException( "Type " + type + " not supported" );
 	}
 
+	public void writeMetaDataSnapshot(OutputStream out) throws IOException {
+		MetaDataSnapshot.write( beanMetaDataCache, configurationHash, out );
+	}
+
+	public int warmUp(Collection<Class<?>> beanClasses) {
+		Contracts.assertNotNull( beanClasses, "The bean classes to warm up cannot be null" );
+		return new BeanMetaDataWarmUp(
+				beanMetaDataCache, constraintHelper, constraintValidatorFactory, metaDataBuildThreads
+		).warmUp( beanClasses );
+	}
+
+	public int evictMetaData(ClassLoader classLoader) {
+		Contracts.assertNotNull( classLoader, "The class loader cannot be null" );
+		// the shared descriptor parts of the evicted types are referenced weakly, so they needn't be discarded here
+		return beanMetaDataCache.evict( classLoader );
+	}
+
+	public void clearMetaDataCache() {
+		constraintHelper.clearSharedDescriptorParts();
+		beanMetaDataCache.clear();
+	}
+
+	public MetaDataCacheStatistics getMetaDataCacheStatistics() {
+		return beanMetaDataCache.getStatistics();
+	}
+
 	public HibernateValidatorContext usingContext() {
 		return new ValidatorContextImpl(
 				constraintValidatorFactory,
@@ -139,99 +210,122 @@ public class ValidatorFactoryImpl implements HibernateValidatorFactory {
 	}
 
 	/**
-	 * Reads the configuration from {@code mapping} and creates the appropriate meta-data structures.
+	 * Reads the configuration from {@code mapping} and registers the configured types with the meta data cache. The
+	 * meta data of each configured type is created upon its first use.
 	 *
 	 * @param mapping The constraint configuration created via the programmatic API.
 	 */
-	private <T> void initProgrammaticConfiguration(ConstraintMapping mapping) {
+	private void initProgrammaticConfiguration(final ConstraintMapping mapping) {
+		// annotations are created lazily as well, but missing constraint attributes are reported right away
+		for ( List<ConstraintDefAccessor<?>> definitions : mapping.getConstraintConfig().values() ) {
+			for ( ConstraintDefAccessor<?> definition : definitions ) {
+				assertAllAttributesProvided( definition );
+			}
+		}
 
+		for ( final Class<?> beanClass : mapping.getConfiguredClasses() ) {
+			beanMetaDataCache.addBeanMetaDataFactory(
+					beanClass, new Callable<BeanMetaDataImpl<?>>() {
+						public BeanMetaDataImpl<?> call() {
+							return createProgrammaticMetaData( mapping, beanClass );
+						}
+					}
+			);
+		}
+	}
+
+	private <T> BeanMetaDataImpl<T> createProgrammaticMetaData(ConstraintMapping mapping, Class<T> beanClass) {
 		final Map<Class<?>, List<ConstraintDefAccessor<?>>> constraintsByType = mapping.getConstraintConfig();
 		final Map<Class<?>, List<CascadeDef>> cascadeConfigByType = mapping.getCascadeConfig();
 
-		for ( Class<?> clazz : mapping.getConfiguredClasses() ) {
-			@SuppressWarnings("unchecked")
-			Class<T> beanClass = (Class<T>) clazz;
-
-			// for each configured entity we have to check whether any of the interfaces or super classes is configured
-			// via the programmatic api as well
-			List<Class<?>> classes = ReflectionHelper.computeClassHierarchy( beanClass );
+		// for each configured entity we have to check whether any of the interfaces or super classes is configured
+		// via the programmatic api as well
+		List<Class<?>> classes = ReflectionHelper.computeClassHierarchy( beanClass );
 
-			Map<Class<?>, List<BeanMetaConstraint<T, ?>>> constraints = newHashMap();
-			Set<Member> cascadedMembers = new HashSet<Member>();
+		Map<Class<?>, List<BeanMetaConstraint<T, ?>>> constraints = newHashMap();
+		Set<Member> cascadedMembers = new HashSet<Member>();
 
-			for ( Class<?> classInHierarchy : classes ) {
+		for ( Class<?> classInHierarchy : classes ) {
 
-				// if the programmatic config contains constraints for the class in the hierarchy create equivalent meta constraints
-				List<ConstraintDefAccessor<?>> constraintsOfType = constraintsByType.get( classInHierarchy );
-				if ( constraintsOfType != null ) {
-					addProgrammaticConfiguredConstraints(
-							constraintsOfType,
-							beanClass,
-							classInHierarchy,
-							constraints
-					);
-				}
-
-				// retrieve the cascading members of the current class if applicable
-				List<CascadeDef> cascadesOfType = cascadeConfigByType.get( classInHierarchy );
-				if ( cascadesOfType != null ) {
-					addProgrammaticConfiguredCascade( cascadesOfType, cascadedMembers );
-				}
+			// if the programmatic config contains constraints for the class in the hierarchy create equivalent meta constraints
+			List<ConstraintDefAccessor<?>> constraintsOfType = constraintsByType.get( classInHierarchy );
+			if ( constraintsOfType != null ) {
+				addProgrammaticConfiguredConstraints(
+						constraintsOfType,
+						beanClass,
+						classInHierarchy,
+						constraints
+				);
 			}
 
-			BeanMetaDataImpl<T> metaData = new BeanMetaDataImpl<T>(
-					beanClass,
-					constraintHelper,
-					mapping.getDefaultSequence( beanClass ),
-					mapping.getDefaultGroupSequenceProvider( beanClass ),
-					constraints,
-					cascadedMembers,
-					new AnnotationIgnores(),
-					beanMetaDataCache
-			);
-
-			beanMetaDataCache.addBeanMetaData( beanClass, metaData );
+			// retrieve the cascading members of the current class if applicable
+			List<CascadeDef> cascadesOfType = cascadeConfigByType.get( classInHierarchy );
+			if ( cascadesOfType != null ) {
+				addProgrammaticConfiguredCascade( cascadesOfType, cascadedMembers );
+			}
 		}
+
+		return new BeanMetaDataImpl<T>(
+				beanClass,
+				constraintHelper,
+				mapping.getDefaultSequence( beanClass ),
+				mapping.getDefaultGroupSequenceProvider( beanClass ),
+				constraints,
+				cascadedMembers,
+				new AnnotationIgnores(),
+				beanMetaDataCache
+		);
 	}
 
-	private <T> void initXmlConfiguration(Set<InputStream> mappingStreams) {
+	/**
+	 * Parses the given XML mappings and registers the configured types with the meta data cache. The meta data of
+	 * each configured type is created upon its first use.
+	 *
+	 * @param mappingStreams The XML mappings.
+	 */
+	private void initXmlConfiguration(Set<InputStream> mappingStreams) {
 
-		XmlMappingParser mappingParser = new XmlMappingParser( constraintHelper );
+		final XmlMappingParser mappingParser = new XmlMappingParser( constraintHelper );
 		mappingParser.parse( mappingStreams );
 
-		Set<Class<?>> xmlConfiguredClasses = mappingParser.getXmlConfiguredClasses();
-		AnnotationIgnores annotationIgnores = mappingParser.getAnnotationIgnores();
-		for ( Class<?> clazz : xmlConfiguredClasses ) {
-			@SuppressWarnings("unchecked")
-			Class<T> beanClass = (Class<T>) clazz;
-
-			List<Class<?>> classes = ReflectionHelper.computeClassHierarchy( beanClass );
-			Map<Class<?>, List<BeanMetaConstraint<T, ?>>> constraints = newHashMap();
-			Set<Member> cascadedMembers = new HashSet<Member>();
-			// we need to collect all constraints which apply for a single class. Due to constraint inheritance
-			// some constraints might be configured in super classes or interfaces. The xml configuration does not
-			// imply any order so we have to check whether any of the super classes or interfaces of a given bean has
-			// as well been configured via xml
-			for ( Class<?> classInHierarchy : classes ) {
-				if ( xmlConfiguredClasses.contains( classInHierarchy ) ) {
-					addXmlConfiguredConstraints( mappingParser, beanClass, classInHierarchy, constraints );
-					addXmlCascadedMember( mappingParser, classInHierarchy, cascadedMembers );
-				}
-			}
-
-			BeanMetaDataImpl<T> metaData = new BeanMetaDataImpl<T>(
-					beanClass,
-					constraintHelper,
-					mappingParser.getDefaultSequenceForClass( beanClass ),
-					null,
-					constraints,
-					cascadedMembers,
-					annotationIgnores,
-					beanMetaDataCache
+		for ( final Class<?> beanClass : mappingParser.getXmlConfiguredClasses() ) {
+			beanMetaDataCache.addBeanMetaDataFactory(
+					beanClass, new Callable<BeanMetaDataImpl<?>>() {
+						public BeanMetaDataImpl<?> call() {
+							return createXmlMetaData( mappingParser, beanClass );
+						}
+					}
 			);
+		}
+	}
+
+	private <T> BeanMetaDataImpl<T> createXmlMetaData(XmlMappingParser mappingParser, Class<T> beanClass) {
+		Set<Class<?>> xmlConfiguredClasses = mappingParser.getXmlConfiguredClasses();
 
-			beanMetaDataCache.addBeanMetaData( beanClass, metaData );
+		List<Class<?>> classes = ReflectionHelper.computeClassHierarchy( beanClass );
+		Map<Class<?>, List<BeanMetaConstraint<T, ?>>> constraints = newHashMap();
+		Set<Member> cascadedMembers = new HashSet<Member>();
+		// we need to collect all constraints which apply for a single class. Due to constraint inheritance
+		// some constraints might be configured in super classes or interfaces. The xml configuration does not
+		// imply any order so we have to check whether any of the super classes or interfaces of a given bean has
+		// as well been configured via xml
+		for ( Class<?> classInHierarchy : classes ) {
+			if ( xmlConfiguredClasses.contains( classInHierarchy ) ) {
+				addXmlConfiguredConstraints( mappingParser, beanClass, classInHierarchy, constraints );
+				addXmlCascadedMember( mappingParser, classInHierarchy, cascadedMembers );
+			}
 		}
+
+		return new BeanMetaDataImpl<T>(
+				beanClass,
+				constraintHelper,
+				mappingParser.getDefaultSequenceForClass( beanClass ),
+				null,
+				constraints,
+				cascadedMembers,
+				mappingParser.getAnnotationIgnores(),
+				beanMetaDataCache
+		);
 	}
 
 	@SuppressWarnings("unchecked")
@@ -351,6 +445,169 @@ public class ValidatorFactoryImpl implements HibernateValidatorFactory {
 		return annotation;
 	}
 
+	/**
+	 * Makes sure that all attributes without default value are given for the constraint defined by the given
+	 * definition, which otherwise would only be detected when creating the annotation.
+	 */
+	private void assertAllAttributesProvided(ConstraintDefAccessor<?> definition) {
+		for ( Method attribute : ReflectionHelper.getDeclaredMethods( definition.getConstraintType() ) ) {
+			if ( attribute.getDefaultValue() == null && !definition.getParameters().containsKey( attribute.getName() ) ) {
+				throw new ValidationException(
+						"Unable to create annotation for configured constraint: No value provided for " + attribute.getName()
+				);
+			}
+		}
+	}
+
+	private MetaDataSnapshot loadMetaDataSnapshot(ConfigurationState configurationState) {
+		String snapshotPath = configurationState.getProperties().get( HibernateValidatorConfiguration.METADATA_SNAPSHOT );
+		if ( snapshotPath == null ) {
+			return null;
+		}
+
+		File snapshotFile = new File( snapshotPath );
+		if ( !snapshotFile.exists() ) {
+			log.debug( "Meta data snapshot {} does not exist", snapshotPath );
+			return null;
+		}
+
+		// the snapshot is an optimization only, so any problem with it just causes it to be ignored
+		InputStream in = null;
+		try {
+			in = new FileInputStream( snapshotFile );
+			MetaDataSnapshot snapshot = MetaDataSnapshot.read( in );
+			if ( snapshot.getConfigurationHash() != configurationHash ) {
+				log.warn( "Ignoring meta data snapshot {} as it has been taken with another XML configuration", snapshotPath );
+				return null;
+			}
+			log.debug( "Loaded meta data snapshot {} containing {} types", snapshotPath, snapshot.size() );
+			return snapshot;
+		}
+		catch ( IOException e ) {
+			log.warn( "Unable to load meta data snapshot {}: {}", snapshotPath, e.getMessage() );
+			return null;
+		}
+		finally {
+			if ( in != null ) {
+				try {
+					in.close();
+				}
+				catch ( IOException e ) {
+					log.warn( "Unable to close meta data snapshot {}", snapshotPath );
+				}
+			}
+		}
+	}
+
+	private List<byte[]> readMappings(Set<InputStream> mappingStreams) {
+		List<byte[]> mappings = newArrayList();
+		for ( InputStream in : mappingStreams ) {
+			try {
+				ByteArrayOutputStream out = new ByteArrayOutputStream();
+				byte[] buffer = new byte[4096];
+				int length;
+				while ( ( length = in.read( buffer ) ) != -1 ) {
+					out.write( buffer, 0, length );
+				}
+				mappings.add( out.toByteArray() );
+			}
+			catch ( IOException e ) {
+				throw new ValidationException( "Unable to read mapping file", e );
+			}
+		}
+		return mappings;
+	}
+
+	private int getMetaDataCacheMaxSize(ConfigurationState configurationState) {
+		String maxSizePropValue = configurationState.getProperties()
+				.get( HibernateValidatorConfiguration.METADATA_CACHE_MAX_SIZE );
+		if ( maxSizePropValue == null ) {
+			return 0;
+		}
+
+		int maxSize;
+		try {
+			maxSize = Integer.parseInt( maxSizePropValue.trim() );
+		}
+		catch ( NumberFormatException e ) {
+			throw new ValidationException(
+					"Invalid maximum size of the meta data cache: " + maxSizePropValue, e
+			);
+		}
+		if ( maxSize < 0 ) {
+			throw new ValidationException( "The maximum size of the meta data cache must not be negative: " + maxSize );
+		}
+		return maxSize;
+	}
+
+	private int getMetaDataBuildThreads(ConfigurationState configurationState) {
+		String threadsPropValue = configurationState.getProperties()
+				.get( HibernateValidatorConfiguration.METADATA_BUILD_THREADS );
+		if ( threadsPropValue == null ) {
+			return Runtime.getRuntime().availableProcessors();
+		}
+
+		int threads;
+		try {
+			threads = Integer.parseInt( threadsPropValue.trim() );
+		}
+		catch ( NumberFormatException e ) {
+			throw new ValidationException(
+					"Invalid number of threads for building meta data: " + threadsPropValue, e
+			);
+		}
+		if ( threads < 1 ) {
+			throw new ValidationException( "The number of threads for building meta data must be positive: " + threads );
+		}
+		return threads;
+	}
+
+	private boolean isEagerConfiguredMetaData(ConfigurationState configurationState) {
+		return Boolean.valueOf(
+				configurationState.getProperties().get( HibernateValidatorConfiguration.EAGER_CONFIGURED_METADATA )
+		);
+	}
+
+	private List<String> getUnconstrainedPackages(ConfigurationState configurationState) {
+		List<String> packages = newArrayList();
+		String packagesPropValue = configurationState.getProperties()
+				.get( HibernateValidatorConfiguration.UNCONSTRAINED_PACKAGES );
+		if ( packagesPropValue == null ) {
+			return packages;
+		}
+
+		for ( String packageName : packagesPropValue.split( "," ) ) {
+			packageName = packageName.trim();
+			if ( packageName.length() > 0 ) {
+				packages.add( packageName );
+			}
+		}
+		return packages;
+	}
+
+	private BeanClassNormalizer getBeanClassNormalizer(ConfigurationState configurationState) {
+		if ( configurationState instanceof ConfigurationImpl ) {
+			BeanClassNormalizer beanClassNormalizer = ( (ConfigurationImpl) configurationState ).getBeanClassNormalizer();
+			if ( beanClassNormalizer != null ) {
+				return beanClassNormalizer;
+			}
+		}
+
+		String normalizerPropValue = configurationState.getProperties()
+				.get( HibernateValidatorConfiguration.BEAN_CLASS_NORMALIZER );
+		if ( normalizerPropValue == null ) {
+			return new DefaultBeanClassNormalizer();
+		}
+
+		Class<?> clazz = ReflectionHelper.loadClass( normalizerPropValue.trim(), this.getClass() );
+		if ( !BeanClassNormalizer.class.isAssignableFrom( clazz ) ) {
+			throw new ValidationException(
+					clazz.getName() + " does not implement " + BeanClassNormalizer.class.getName()
+			);
+		}
+		return (BeanClassNormalizer) ReflectionHelper.newInstance( clazz, "bean class normalizer" );
+	}
+
 	private boolean checkPropertiesForFailFast(ConfigurationState configurationState, boolean programmaticConfiguredFailFast) {
 		boolean failFast = programmaticConfiguredFailFast;
 		String failFastPropValue = configurationState.getProperties().get( HibernateValidatorConfiguration.FAIL_FAST );
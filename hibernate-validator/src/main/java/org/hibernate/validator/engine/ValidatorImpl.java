@@ -52,7 +52,6 @@ import org.hibernate.validator.metadata.AggregatedMethodMetaData;
 import org.hibernate.validator.metadata.BeanMetaConstraint;
 import org.hibernate.validator.metadata.BeanMetaData;
 import org.hibernate.validator.metadata.BeanMetaDataCache;
-import org.hibernate.validator.metadata.BeanMetaDataImpl;
 import org.hibernate.validator.metadata.ConstraintHelper;
 import org.hibernate.validator.metadata.MetaConstraint;
 import org.hibernate.validator.metadata.ParameterMetaData;
@@ -66,7 +65,6 @@ import org.hibernate.validator.util.ReflectionHelper;
  * The main Bean Validation class. This is the core processing class of Hibernate Validator.
  *
  * @author Emmanuel Bernard
- * @author Hardy Ferentschik
  * @author Gunnar Morling
  * @author Kevin Pollet - SERLI - (kevin.pollet@serli.com)
  */
@@ -136,9 +134,11 @@ public class ValidatorImpl implements Validator, MethodValidator {
 				object, messageInterpolator, constraintValidatorFactory, getCachingTraversableResolver(), failFast
 		);
 
-		ValueContext<?, T> valueContext = ValueContext.getLocalExecutionContext( object, PathImpl.createRootPath() );
+		ValueContext<T, ?> valueContext = ValueContext.getLocalExecutionContext( object, PathImpl.createRootPath() );
 
-		return validateInContext( valueContext, validationContext, groupChain );
+		return validateInContext(
+				valueContext, validationContext, groupChain, getBeanMetaData( valueContext.getCurrentBeanType() )
+		);
 	}
 
 	public final <T> Set<ConstraintViolation<T>> validateProperty(T object, String propertyName, Class<?>... groups) {
@@ -291,17 +291,17 @@ public class ValidatorImpl implements Validator, MethodValidator {
 	 * @param valueContext the current validation context
 	 * @param context the global validation context
 	 * @param groupChain Contains the information which and in which order groups have to be executed
+	 * @param beanMetaData The meta data of the type of the current bean
 	 * @param <T> The root bean type
 	 * @param <V> The type of the current object on the validation stack
 	 *
 	 * @return Set of constraint violations or the empty set if there were no violations.
 	 */
-	private <T, U, V, E extends ConstraintViolation<T>> Set<E> validateInContext(ValueContext<U, V> valueContext, ValidationContext<T, E> context, GroupChain groupChain) {
+	private <T, U, V, E extends ConstraintViolation<T>> Set<E> validateInContext(ValueContext<U, V> valueContext, ValidationContext<T, E> context, GroupChain groupChain, BeanMetaData<U> beanMetaData) {
 		if ( valueContext.getCurrentBean() == null ) {
 			return Collections.emptySet();
 		}
 
-		BeanMetaData<U> beanMetaData = getBeanMetaData( valueContext.getCurrentBeanType() );
 		if ( beanMetaData.defaultGroupSequenceIsRedefined() ) {
 			groupChain.assertDefaultGroupSequenceIsExpandable( beanMetaData.getDefaultGroupSequence( valueContext.getCurrentBean() ) );
 		}
@@ -312,7 +312,7 @@ public class ValidatorImpl implements Validator, MethodValidator {
 		while ( groupIterator.hasNext() ) {
 			Group group = groupIterator.next();
 			valueContext.setCurrentGroup( group.getGroup() );
-			validateConstraintsForCurrentGroup( context, valueContext );
+			validateConstraintsForCurrentGroup( context, valueContext, beanMetaData );
 			if ( context.shouldFailFast() ) {
 				return context.getFailingConstraints();
 			}
@@ -321,7 +321,7 @@ public class ValidatorImpl implements Validator, MethodValidator {
 		while ( groupIterator.hasNext() ) {
 			Group group = groupIterator.next();
 			valueContext.setCurrentGroup( group.getGroup() );
-			validateCascadedConstraints( context, valueContext );
+			validateCascadedConstraints( context, valueContext, beanMetaData );
 			if ( context.shouldFailFast() ) {
 				return context.getFailingConstraints();
 			}
@@ -335,12 +335,12 @@ public class ValidatorImpl implements Validator, MethodValidator {
 				int numberOfViolations = context.getFailingConstraints().size();
 				valueContext.setCurrentGroup( group.getGroup() );
 
-				validateConstraintsForCurrentGroup( context, valueContext );
+				validateConstraintsForCurrentGroup( context, valueContext, beanMetaData );
 				if ( context.shouldFailFast() ) {
 					return context.getFailingConstraints();
 				}
 
-				validateCascadedConstraints( context, valueContext );
+				validateCascadedConstraints( context, valueContext, beanMetaData );
 				if ( context.shouldFailFast() ) {
 					return context.getFailingConstraints();
 				}
@@ -353,14 +353,13 @@ public class ValidatorImpl implements Validator, MethodValidator {
 		return context.getFailingConstraints();
 	}
 
-	private <T, U, V, E extends ConstraintViolation<T>> void validateConstraintsForCurrentGroup(ValidationContext<T, E> validationContext, ValueContext<U, V> valueContext) {
-		BeanMetaData<U> beanMetaData = getBeanMetaData( valueContext.getCurrentBeanType() );
+	private <T, U, V, E extends ConstraintViolation<T>> void validateConstraintsForCurrentGroup(ValidationContext<T, E> validationContext, ValueContext<U, V> valueContext, BeanMetaData<U> beanMetaData) {
 		boolean validatingDefault = valueContext.validatingDefault();
 		boolean validatedBeanRedefinesDefault = beanMetaData.defaultGroupSequenceIsRedefined();
 
 		// if we are not validating the default group there is nothing special to consider
 		if ( !validatingDefault ) {
-			validateConstraintsForNonDefaultGroup( validationContext, valueContext );
+			validateConstraintsForNonDefaultGroup( validationContext, valueContext, beanMetaData );
 			return;
 		}
 
@@ -378,11 +377,9 @@ public class ValidatorImpl implements Validator, MethodValidator {
 	}
 
 	private <T, U, V, E extends ConstraintViolation<T>> void validateConstraintsForDefaultGroup(ValidationContext<T, E> validationContext, ValueContext<U, V> valueContext, BeanMetaData<U> beanMetaData) {
-		for ( Map.Entry<Class<?>, List<BeanMetaConstraint<U, ? extends Annotation>>> entry : beanMetaData.getMetaConstraintsAsMap()
-				.entrySet() ) {
+		for ( Class<?> hostingClass : beanMetaData.getMetaConstraintsAsMap().keySet() ) {
 			@SuppressWarnings("unchecked")
-			Class<U> hostingBeanClass = (Class<U>) entry.getKey();
-			List<BeanMetaConstraint<U, ? extends Annotation>> constraints = entry.getValue();
+			Class<U> hostingBeanClass = (Class<U>) hostingClass;
 
 			BeanMetaData<U> hostingBeanMetaData = getBeanMetaData( hostingBeanClass );
 			List<Class<?>> defaultGroupSequence = hostingBeanMetaData.getDefaultGroupSequence( valueContext.getCurrentBean() );
@@ -391,7 +388,9 @@ public class ValidatorImpl implements Validator, MethodValidator {
 			for ( Class<?> defaultSequenceMember : defaultGroupSequence ) {
 				valueContext.setCurrentGroup( defaultSequenceMember );
 				boolean validationSuccessful = true;
-				for ( BeanMetaConstraint<U, ? extends Annotation> metaConstraint : constraints ) {
+				for ( BeanMetaConstraint<U, ? extends Annotation> metaConstraint : beanMetaData.getMetaConstraintsForGroup(
+						hostingBeanClass, defaultSequenceMember
+				) ) {
 					boolean tmp = validateConstraint(
 							validationContext, valueContext, metaConstraint
 					);
@@ -421,7 +420,9 @@ public class ValidatorImpl implements Validator, MethodValidator {
 		for ( Class<?> defaultSequenceMember : defaultGroupSequence ) {
 			valueContext.setCurrentGroup( defaultSequenceMember );
 			boolean validationSuccessful = true;
-			for ( BeanMetaConstraint<U, ? extends Annotation> metaConstraint : beanMetaData.getMetaConstraintsAsList() ) {
+			for ( BeanMetaConstraint<U, ? extends Annotation> metaConstraint : beanMetaData.getMetaConstraintsForGroup(
+					defaultSequenceMember
+			) ) {
 				boolean tmp = validateConstraint( validationContext, valueContext, metaConstraint );
 				if ( validationContext.shouldFailFast() ) {
 					return;
@@ -441,10 +442,11 @@ public class ValidatorImpl implements Validator, MethodValidator {
 		);
 	}
 
-	private <T, U, V> void validateConstraintsForNonDefaultGroup(ValidationContext<T, ?> validationContext, ValueContext<U, V> valueContext) {
-		BeanMetaData<U> beanMetaData = getBeanMetaData( valueContext.getCurrentBeanType() );
+	private <T, U, V> void validateConstraintsForNonDefaultGroup(ValidationContext<T, ?> validationContext, ValueContext<U, V> valueContext, BeanMetaData<U> beanMetaData) {
 		PathImpl currentPath = valueContext.getPropertyPath();
-		for ( BeanMetaConstraint<U, ? extends Annotation> metaConstraint : beanMetaData.getMetaConstraintsAsList() ) {
+		for ( BeanMetaConstraint<U, ? extends Annotation> metaConstraint : beanMetaData.getMetaConstraintsForGroup(
+				valueContext.getCurrentGroup()
+		) ) {
 			validateConstraint( validationContext, valueContext, metaConstraint );
 			if ( validationContext.shouldFailFast() ) {
 				return;
@@ -482,16 +484,18 @@ public class ValidatorImpl implements Validator, MethodValidator {
 	 *
 	 * @param validationContext The execution context
 	 * @param valueContext Collected information for single validation
+	 * @param beanMetaData The meta data of the type of the current bean
 	 */
-	private <T, U, V> void validateCascadedConstraints(ValidationContext<T, ?> validationContext, ValueContext<U, V> valueContext) {
-		Set<Member> cascadedMembers = getBeanMetaData( valueContext.getCurrentBeanType() ).getCascadedMembers();
+	private <T, U, V> void validateCascadedConstraints(ValidationContext<T, ?> validationContext, ValueContext<U, V> valueContext, BeanMetaData<U> beanMetaData) {
+		Set<Member> cascadedMembers = beanMetaData.getCascadedMembers();
 		PathImpl currentPath = valueContext.getPropertyPath();
 		for ( Member member : cascadedMembers ) {
 			Type type = ReflectionHelper.typeOf( member );
 			String newNode = ReflectionHelper.getPropertyName( member );
 			valueContext.appendNode( newNode );
 
-			if ( isCascadeRequired( validationContext, valueContext, member ) ) {
+			if ( isCascadeRequired( validationContext, valueContext, member )
+					&& isValidationOfCascadedTypeRequired( type, valueContext.getCurrentGroup() ) ) {
 				Object value = ReflectionHelper.getValue( member, valueContext.getCurrentBean() );
 				if ( value != null ) {
 					Iterator<?> iter = createIteratorForCascadedValue( type, value, valueContext );
@@ -608,22 +612,20 @@ public class ValidatorImpl implements Validator, MethodValidator {
 				valueContext.setIndex( i );
 			}
 
-			if ( !context.isAlreadyValidated(
+			// null elements host no constraints, so there is nothing to validate for them
+			BeanMetaData<Object> beanMetaData = value != null ?
+					getBeanMetaDataIfValidationRequired( value.getClass(), valueContext.getCurrentGroup() ) : null;
+
+			if ( beanMetaData != null && !context.isAlreadyValidated(
 					value, valueContext.getCurrentGroup(), valueContext.getPropertyPath()
 			) ) {
 				GroupChain groupChain = groupChainGenerator.getGroupChainFor(
 						Arrays.<Class<?>>asList( valueContext.getCurrentGroup() )
 				);
 
-				ValueContext<?, T> newValueContext;
-				if ( value != null ) {
-					newValueContext = ValueContext.getLocalExecutionContext( value, valueContext.getPropertyPath() );
-				}
-				else {
-					newValueContext = ValueContext.getLocalExecutionContext(
-							valueContext.getCurrentBeanType(), valueContext.getPropertyPath()
-					);
-				}
+				ValueContext<Object, T> newValueContext = ValueContext.getLocalExecutionContext(
+						value, valueContext.getPropertyPath()
+				);
 
 				//propagate parameter index/name if required
 				if ( valueContext.getParameterIndex() != null ) {
@@ -631,7 +633,7 @@ public class ValidatorImpl implements Validator, MethodValidator {
 					newValueContext.setParameterName( valueContext.getParameterName() );
 				}
 
-				validateInContext( newValueContext, context, groupChain );
+				validateInContext( newValueContext, context, groupChain, beanMetaData );
 				if ( context.shouldFailFast() ) {
 					return;
 				}
@@ -640,6 +642,37 @@ public class ValidatorImpl implements Validator, MethodValidator {
 		}
 	}
 
+	/**
+	 * Allows to skip a cascaded member before its value is retrieved. This is only possible if the type of all the
+	 * values of the member is known in advance, i.e. if the declared (element) type is final or an enum; for any
+	 * other member {@code true} is returned and the values are checked one by one via
+	 * {@link #getBeanMetaDataIfValidationRequired(Class, Class)}.
+	 *
+	 * @param type The declared type of a cascaded member.
+	 * @param group The validated group.
+	 *
+	 * @return {@code false} if none of the values of the given member can host constraints to be validated for the
+	 *         given group, {@code true} otherwise.
+	 */
+	private boolean isValidationOfCascadedTypeRequired(Type type, Class<?> group) {
+		Class<?> cascadedClass = ReflectionHelper.getFinalCascadedClass( type );
+		return cascadedClass == null || beanMetaDataCache.isValidationRequired( cascadedClass, group, constraintHelper );
+	}
+
+	/**
+	 * @param beanClass The type of a cascaded value.
+	 * @param group The validated group.
+	 *
+	 * @return The meta data of the given type, which is to be used for validating the cascaded value, or {@code null}
+	 *         if values of the given type don't host constraints to be validated for the given group.
+	 */
+	@SuppressWarnings("unchecked")
+	private BeanMetaData<Object> getBeanMetaDataIfValidationRequired(Class<?> beanClass, Class<?> group) {
+		return ( BeanMetaData<Object> ) beanMetaDataCache.getBeanMetaDataIfValidationRequired(
+				beanClass, group, constraintHelper
+		);
+	}
+
 	private <T, U, V> Set<ConstraintViolation<T>> validatePropertyInContext(ValidationContext<T, ConstraintViolation<T>> context, PathImpl propertyPath, GroupChain groupChain) {
 		Map<Class<?>, List<BeanMetaConstraint<T, ?>>> metaConstraintsMap = new HashMap<Class<?>, List<BeanMetaConstraint<T, ?>>>();
 		Iterator<Path.Node> propertyIter = propertyPath.iterator();
@@ -1046,7 +1079,7 @@ public class ValidatorImpl implements Validator, MethodValidator {
 		for ( MetaConstraint<?, ? extends Annotation> metaConstraint : parameterMetaData ) {
 
 			//ignore constraints not part of the evaluated group
-			if ( !metaConstraint.getGroupList().contains( valueContext.getCurrentGroup() ) ) {
+			if ( !metaConstraint.isPartOfGroup( valueContext.getCurrentGroup(), valueContext.getCurrentGroupId() ) ) {
 				continue;
 			}
 
@@ -1166,7 +1199,7 @@ public class ValidatorImpl implements Validator, MethodValidator {
 
 		for ( MetaConstraint<?, ? extends Annotation> metaConstraint : methodMetaData ) {
 
-			if ( !metaConstraint.getGroupList().contains( valueContext.getCurrentGroup() ) ) {
+			if ( !metaConstraint.isPartOfGroup( valueContext.getCurrentGroup(), valueContext.getCurrentGroupId() ) ) {
 				continue;
 			}
 			metaConstraint.validateConstraint( validationContext, valueContext );
@@ -1206,18 +1239,11 @@ public class ValidatorImpl implements Validator, MethodValidator {
 		}
 
 		if ( !propertyIter.hasNext() ) {
-			for ( Entry<Class<?>, List<BeanMetaConstraint<T, ? extends Annotation>>> entry : metaData.getMetaConstraintsAsMap()
-					.entrySet() ) {
-				List<BeanMetaConstraint<T, ?>> propertyMetaConstraints = new ArrayList<BeanMetaConstraint<T, ?>>();
-				List<BeanMetaConstraint<T, ? extends Annotation>> constraints = entry.getValue();
-				for ( BeanMetaConstraint<T, ?> metaConstraint : constraints ) {
-					if ( elem.getName() != null && elem.getName()
-							.equals( metaConstraint.getLocation().getPropertyName() ) ) {
-						propertyMetaConstraints.add( metaConstraint );
-					}
-				}
-				if ( !propertyMetaConstraints.isEmpty() ) {
-					metaConstraintsMap.put( entry.getKey(), propertyMetaConstraints );
+			if ( elem.getName() != null ) {
+				for ( Entry<Class<?>, List<BeanMetaConstraint<T, ? extends Annotation>>> entry : metaData.getMetaConstraintsForProperty(
+						elem.getName()
+				).entrySet() ) {
+					metaConstraintsMap.put( entry.getKey(), new ArrayList<BeanMetaConstraint<T, ?>>( entry.getValue() ) );
 				}
 			}
 		}
@@ -1263,14 +1289,7 @@ public class ValidatorImpl implements Validator, MethodValidator {
 	}
 
 	private <U> BeanMetaData<U> getBeanMetaData(Class<U> beanClass) {
-		BeanMetaDataImpl<U> beanMetaData = beanMetaDataCache.getBeanMetaData( beanClass );
-		if ( beanMetaData == null ) {
-			beanMetaData = new BeanMetaDataImpl<U>(
-					beanClass, constraintHelper, beanMetaDataCache
-			);
-			beanMetaDataCache.addBeanMetaData( beanClass, beanMetaData );
-		}
-		return beanMetaData;
+		return beanMetaDataCache.getOrCreateBeanMetaData( beanClass, constraintHelper );
 	}
 
 	/**
@@ -1284,7 +1303,7 @@ public class ValidatorImpl implements Validator, MethodValidator {
 	}
 
 	private boolean isValidationRequired(ValidationContext<?, ?> validationContext, ValueContext<?, ?> valueContext, MetaConstraint<?, ?> metaConstraint) {
-		if ( !metaConstraint.getGroupList().contains( valueContext.getCurrentGroup() ) ) {
+		if ( !metaConstraint.isPartOfGroup( valueContext.getCurrentGroup(), valueContext.getCurrentGroupId() ) ) {
 			return false;
 		}
 
@@ -20,6 +20,8 @@ import java.lang.annotation.ElementType;
 import java.lang.reflect.Type;
 import javax.validation.groups.Default;
 
+import org.hibernate.validator.engine.groups.GroupIds;
+
 /**
  * An instance of this class is used to collect all the relevant information for validating a single class, property or
  * method invocation.
@@ -61,6 +63,16 @@ public class ValueContext<T, V> {
 	 */
 	private Class<?> currentGroup;
 
+	/**
+	 * The id of the current group as assigned by {@link GroupIds}.
+	 */
+	private int currentGroupId;
+
+	/**
+	 * Whether the current group is the default group.
+	 */
+	private boolean validatingDefault;
+
 	/**
 	 * The value which gets currently evaluated.
 	 */
@@ -117,6 +129,10 @@ public class ValueContext<T, V> {
 		return currentGroup;
 	}
 
+	public final int getCurrentGroupId() {
+		return currentGroupId;
+	}
+
 	public final T getCurrentBean() {
 		return currentBean;
 	}
@@ -184,6 +200,8 @@ public class ValueContext<T, V> {
 
 	public final void setCurrentGroup(Class<?> currentGroup) {
 		this.currentGroup = currentGroup;
+		this.currentGroupId = currentGroup != null ? GroupIds.getId( currentGroup ) : -1;
+		this.validatingDefault = currentGroup != null && currentGroup.getName().equals( Default.class.getName() );
 	}
 
 	public final void setCurrentValidatedValue(V currentValue) {
@@ -191,7 +209,7 @@ public class ValueContext<T, V> {
 	}
 
 	public final boolean validatingDefault() {
-		return getCurrentGroup() != null && getCurrentGroup().getName().equals( Default.class.getName() );
+		return validatingDefault;
 	}
 
 	public final ElementType getElementType() {
@@ -34,6 +34,8 @@ public class Group {
 	 */
 	private Class<?> sequence;
 
+	private final boolean defaultGroup;
+
 	public Group(Class<?> group) {
 		this( group, null );
 	}
@@ -41,6 +43,7 @@ public class Group {
 	public Group(Class<?> group, Class<?> sequence) {
 		this.group = group;
 		this.sequence = sequence;
+		this.defaultGroup = group.getName().equals( Default.class.getName() );
 	}
 
 	public Class<?> getGroup() {
@@ -69,7 +72,7 @@ public class Group {
 	}
 
 	public boolean isDefaultGroup() {
-		return getGroup().getName().equals( Default.class.getName() );
+		return defaultGroup;
 	}
 
 	@Override
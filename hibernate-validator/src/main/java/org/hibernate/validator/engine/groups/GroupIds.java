@@ -0,0 +1,171 @@
+/*
+* JBoss, Home of Professional Open Source
+* Copyright 2011, Red Hat, Inc. and/or its affiliates, and individual contributors
+* by the @authors tag. See the copyright.txt in the distribution for a
+* full listing of individual contributors.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+* http://www.apache.org/licenses/LICENSE-2.0
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.hibernate.validator.engine.groups;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Assigns dense integer ids to groups, allowing to represent the groups of a constraint as bit mask. Group membership
+ * can then be checked via a bit operation instead of a set look-up.
+ * <p>
+ * Ids are assigned per group type, so two group types with the same name loaded by different class loaders get
+ * different ids. The group types are referenced weakly, so the registry doesn't prevent them from being unloaded. The
+ * id of an unloaded group type is re-assigned to the next new group type, keeping the ids dense when applications are
+ * redeployed. This is safe as the constraints whose masks contain the id reference the unloaded type strongly, i.e.
+ * they are unreachable as well.
+ * </p>
+ */
+public final class GroupIds {
+
+	/**
+	 * The number of group ids which can be represented in a bit mask. Groups with a higher id are not contained in
+	 * any mask.
+	 */
+	public static final int MASK_SIZE = 64;
+
+	/**
+	 * The ids keyed by group type. The keys are {@link GroupKey}s, look-ups are done via {@link LookupKey}s.
+	 */
+	private static final ConcurrentMap<Object, Integer> ids = new ConcurrentHashMap<Object, Integer>();
+
+	private static final ReferenceQueue<Class<?>> unloadedGroups = new ReferenceQueue<Class<?>>();
+
+	/**
+	 * The ids of unloaded group types, guarded by the lock of this class.
+	 */
+	private static final SortedSet<Integer> freeIds = new TreeSet<Integer>();
+
+	/**
+	 * The next id never assigned so far, guarded by the lock of this class.
+	 */
+	private static int nextId;
+
+	private GroupIds() {
+	}
+
+	/**
+	 * @param group The group of interest.
+	 *
+	 * @return The id of the given group.
+	 */
+	public static int getId(Class<?> group) {
+		Integer id = ids.get( new LookupKey( group ) );
+		return id != null ? id : assignId( group );
+	}
+
+	/**
+	 * @param groups The groups of interest.
+	 *
+	 * @return A bit mask with the bits representing the ids of the given groups set.
+	 */
+	public static long getMask(Set<Class<?>> groups) {
+		long mask = 0;
+		for ( Class<?> group : groups ) {
+			int id = getId( group );
+			if ( id < MASK_SIZE ) {
+				mask |= 1L << id;
+			}
+		}
+		return mask;
+	}
+
+	private static synchronized int assignId(Class<?> group) {
+		Reference<? extends Class<?>> reference;
+		while ( ( reference = unloadedGroups.poll() ) != null ) {
+			ids.remove( reference );
+			freeIds.add( ( (GroupKey) reference ).id );
+		}
+
+		Integer id = ids.get( new LookupKey( group ) );
+		if ( id == null ) {
+			if ( freeIds.isEmpty() ) {
+				id = nextId++;
+			}
+			else {
+				id = freeIds.first();
+				freeIds.remove( id );
+			}
+			ids.put( new GroupKey( group, id, unloadedGroups ), id );
+		}
+		return id;
+	}
+
+	private interface Key {
+		Class<?> get();
+	}
+
+	private static boolean keysEqual(Key key, Object o) {
+		if ( key == o ) {
+			return true;
+		}
+		if ( !( o instanceof Key ) ) {
+			return false;
+		}
+		Class<?> group = key.get();
+		return group != null && group == ( (Key) o ).get();
+	}
+
+	private static final class GroupKey extends WeakReference<Class<?>> implements Key {
+		private final int id;
+		private final int hashCode;
+
+		private GroupKey(Class<?> group, int id, ReferenceQueue<Class<?>> queue) {
+			super( group, queue );
+			this.id = id;
+			this.hashCode = System.identityHashCode( group );
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			return keysEqual( this, o );
+		}
+
+		@Override
+		public int hashCode() {
+			return hashCode;
+		}
+	}
+
+	private static final class LookupKey implements Key {
+		private final Class<?> group;
+
+		private LookupKey(Class<?> group) {
+			this.group = group;
+		}
+
+		public Class<?> get() {
+			return group;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			return keysEqual( this, o );
+		}
+
+		@Override
+		public int hashCode() {
+			return System.identityHashCode( group );
+		}
+	}
+}
@@ -0,0 +1,46 @@
+/*
+* JBoss, Home of Professional Open Source
+* Copyright 2011, Red Hat, Inc. and/or its affiliates, and individual contributors
+* by the @authors tag. See the copyright.txt in the distribution for a
+* full listing of individual contributors.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+* http://www.apache.org/licenses/LICENSE-2.0
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.hibernate.validator.messageinterpolation;
+
+/**
+ * Statistics of the cache holding the messages resolved from the resource bundles by a
+ * {@link ResourceBundleMessageInterpolator}. Can be used to find out whether the configured maximum number of cached
+ * messages is sufficient.
+ */
+public interface MessageCacheStatistics {
+
+	/**
+	 * @return The number of interpolations whose message template could be resolved from the cache.
+	 */
+	long getHitCount();
+
+	/**
+	 * @return The number of interpolations which required the message template to be resolved from the resource
+	 *         bundles.
+	 */
+	long getMissCount();
+
+	/**
+	 * @return The number of messages removed from the cache due to its size bound.
+	 */
+	long getEvictionCount();
+
+	/**
+	 * @return The number of messages currently contained in the cache.
+	 */
+	int getSize();
+}
@@ -16,11 +16,18 @@
  */
 package org.hibernate.validator.messageinterpolation;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.MissingResourceException;
 import java.util.ResourceBundle;
-import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import javax.validation.MessageInterpolator;
@@ -48,6 +55,11 @@ public class ResourceBundleMessageInterpolator implements MessageInterpolator {
 	 */
 	public static final String USER_VALIDATION_MESSAGES = "ValidationMessages";
 
+	/**
+	 * The default maximum number of messages kept in the cache of resolved messages.
+	 */
+	public static final int DEFAULT_MAX_CACHED_MESSAGES = 10000;
+
 	/**
 	 * Regular expression used to do message interpolation.
 	 */
@@ -69,15 +81,32 @@ public class ResourceBundleMessageInterpolator implements MessageInterpolator {
 	private final ResourceBundleLocator defaultResourceBundleLocator;
 
 	/**
-	 * Step 1-3 of message interpolation can be cached. We do this in this map.
+	 * Step 1-3 of message interpolation can be cached. We do this in this map, keyed by message template and locale.
 	 */
-	private final Map<LocalisedMessage, String> resolvedMessages = new WeakHashMap<LocalisedMessage, String>();
+	private final ConcurrentMap<LocalisedMessage, CachedMessage> resolvedMessages = new ConcurrentHashMap<LocalisedMessage, CachedMessage>();
 
 	/**
 	 * Flag indicating whether this interpolator should chance some of the interpolation steps.
 	 */
 	private final boolean cacheMessages;
 
+	/**
+	 * The maximum number of cached messages. If exceeded, the least recently used messages are discarded. {@code 0}
+	 * means no bound.
+	 */
+	private final int maxCachedMessages;
+
+	private final AtomicLong hitCount = new AtomicLong();
+
+	private final AtomicLong missCount = new AtomicLong();
+
+	private final AtomicLong evictionCount = new AtomicLong();
+
+	/**
+	 * Set while a thread evicts messages from the cache, so that concurrent additions don't wait for the eviction.
+	 */
+	private final AtomicBoolean evicting = new AtomicBoolean();
+
 	public ResourceBundleMessageInterpolator() {
 		this( null );
 	}
@@ -87,6 +116,19 @@ public class ResourceBundleMessageInterpolator implements MessageInterpolator {
 	}
 
 	public ResourceBundleMessageInterpolator(ResourceBundleLocator userResourceBundleLocator, boolean cacheMessages) {
+		this( userResourceBundleLocator, cacheMessages, DEFAULT_MAX_CACHED_MESSAGES );
+	}
+
+	/**
+	 * @param userResourceBundleLocator Loads the user-provided resource bundles, may be {@code null}.
+	 * @param cacheMessages Whether the messages resolved from the resource bundles should be cached.
+	 * @param maxCachedMessages The maximum number of cached messages. If exceeded, the least recently used messages
+	 * are discarded. {@code 0} means no bound.
+	 */
+	public ResourceBundleMessageInterpolator(ResourceBundleLocator userResourceBundleLocator, boolean cacheMessages, int maxCachedMessages) {
+		if ( maxCachedMessages < 0 ) {
+			throw new IllegalArgumentException( "The maximum number of cached messages must not be negative" );
+		}
 
 		defaultLocale = Locale.getDefault();
 
@@ -99,6 +141,7 @@ public class ResourceBundleMessageInterpolator implements MessageInterpolator {
 
 		this.defaultResourceBundleLocator = new PlatformResourceBundleLocator( DEFAULT_VALIDATION_MESSAGES );
 		this.cacheMessages = cacheMessages;
+		this.maxCachedMessages = maxCachedMessages;
 	}
 
 	public String interpolate(String message, Context context) {
@@ -111,6 +154,13 @@ public class ResourceBundleMessageInterpolator implements MessageInterpolator {
 		return interpolateMessage( message, context.getConstraintDescriptor().getAttributes(), locale );
 	}
 
+	/**
+	 * @return A snapshot of the statistics of the cache of resolved messages.
+	 */
+	public MessageCacheStatistics getCacheStatistics() {
+		return new Statistics( hitCount.get(), missCount.get(), evictionCount.get(), resolvedMessages.size() );
+	}
+
 	/**
 	 * Runs the message interpolation according to algorithm specified in JSR 303.
 	 * <br/>
@@ -129,7 +179,17 @@ public class ResourceBundleMessageInterpolator implements MessageInterpolator {
 		String resolvedMessage = null;
 
 		if ( cacheMessages ) {
-			resolvedMessage = resolvedMessages.get( localisedMessage );
+			CachedMessage cachedMessage = resolvedMessages.get( localisedMessage );
+			if ( cachedMessage != null ) {
+				hitCount.incrementAndGet();
+				if ( maxCachedMessages > 0 ) {
+					cachedMessage.lastAccess = System.nanoTime();
+				}
+				resolvedMessage = cachedMessage.message;
+			}
+			else {
+				missCount.incrementAndGet();
+			}
 		}
 
 		// if the message is not already in the cache we have to run step 1-3 of the message resolution 
@@ -158,10 +218,11 @@ public class ResourceBundleMessageInterpolator implements MessageInterpolator {
 				// search the default bundle non recursive (step2)
 				resolvedMessage = replaceVariables( userBundleResolvedMessage, defaultResourceBundle, locale, false );
 				evaluatedDefaultBundleOnce = true;
-				if ( cacheMessages ) {
-					resolvedMessages.put( localisedMessage, resolvedMessage );
-				}
 			} while ( true );
+
+			if ( cacheMessages ) {
+				addResolvedMessage( localisedMessage, resolvedMessage );
+			}
 		}
 
 		// resolve annotation attributes (step 4)
@@ -174,6 +235,56 @@ public class ResourceBundleMessageInterpolator implements MessageInterpolator {
 		return resolvedMessage;
 	}
 
+	private void addResolvedMessage(LocalisedMessage localisedMessage, String resolvedMessage) {
+		CachedMessage cachedMessage = new CachedMessage( resolvedMessage );
+		if ( resolvedMessages.putIfAbsent( localisedMessage, cachedMessage ) == null
+				&& maxCachedMessages > 0 && resolvedMessages.size() > maxCachedMessages ) {
+			evictLeastRecentlyUsed( cachedMessage );
+		}
+	}
+
+	/**
+	 * Removes the least recently used messages, so that the cache is shrunk to 90% of its maximum size. Evicting a
+	 * batch of messages at once amortizes the sorting of the access times over the following additions. Only one
+	 * thread evicts at a time, other threads add their messages meanwhile without waiting, so the cache may exceed
+	 * its maximum size until the eviction is done. The given message which just has been added is never removed.
+	 */
+	private void evictLeastRecentlyUsed(CachedMessage newMessage) {
+		if ( !evicting.compareAndSet( false, true ) ) {
+			return;
+		}
+
+		try {
+			int targetSize = maxCachedMessages - maxCachedMessages / 10;
+			List<CachedMessage> messages = new ArrayList<CachedMessage>( resolvedMessages.values() );
+			int excess = messages.size() - targetSize;
+			if ( excess <= 0 ) {
+				return;
+			}
+
+			// the access times are copied, as they change while sorting
+			long[] accessTimes = new long[messages.size()];
+			for ( int i = 0; i < accessTimes.length; i++ ) {
+				accessTimes[i] = messages.get( i ).lastAccess;
+			}
+			Arrays.sort( accessTimes );
+			long latestEvictedAccess = accessTimes[excess - 1];
+
+			Iterator<Map.Entry<LocalisedMessage, CachedMessage>> iterator = resolvedMessages.entrySet().iterator();
+			while ( resolvedMessages.size() > targetSize && iterator.hasNext() ) {
+				Map.Entry<LocalisedMessage, CachedMessage> entry = iterator.next();
+				CachedMessage message = entry.getValue();
+				if ( message != newMessage && message.lastAccess <= latestEvictedAccess
+						&& resolvedMessages.remove( entry.getKey(), message ) ) {
+					evictionCount.incrementAndGet();
+				}
+			}
+		}
+		finally {
+			evicting.set( false );
+		}
+	}
+
 	private boolean hasReplacementTakenPlace(String origMessage, String newMessage) {
 		return !origMessage.equals( newMessage );
 	}
@@ -275,4 +386,55 @@ public class ResourceBundleMessageInterpolator implements MessageInterpolator {
 			return result;
 		}
 	}
+
+	private static class CachedMessage {
+		private final String message;
+		private volatile long lastAccess = System.nanoTime();
+
+		CachedMessage(String message) {
+			this.message = message;
+		}
+	}
+
+	private static final class Statistics implements MessageCacheStatistics {
+		private final long hitCount;
+		private final long missCount;
+		private final long evictionCount;
+		private final int size;
+
+		private Statistics(long hitCount, long missCount, long evictionCount, int size) {
+			this.hitCount = hitCount;
+			this.missCount = missCount;
+			this.evictionCount = evictionCount;
+			this.size = size;
+		}
+
+		public long getHitCount() {
+			return hitCount;
+		}
+
+		public long getMissCount() {
+			return missCount;
+		}
+
+		public long getEvictionCount() {
+			return evictionCount;
+		}
+
+		public int getSize() {
+			return size;
+		}
+
+		@Override
+		public String toString() {
+			final StringBuilder sb = new StringBuilder();
+			sb.append( "MessageCacheStatistics" );
+			sb.append( "{hitCount=" ).append( hitCount );
+			sb.append( ", missCount=" ).append( missCount );
+			sb.append( ", evictionCount=" ).append( evictionCount );
+			sb.append( ", size=" ).append( size );
+			sb.append( '}' );
+			return sb.toString();
+		}
+	}
 }
@@ -108,6 +108,18 @@ public class AnnotationIgnores {
 		ignoreAnnotationOnClass.put( clazz, b );
 	}
 
+	/**
+	 * @param clazz The class of interest.
+	 *
+	 * @return {@code true} if ignoring annotations has been configured for the given class or any of its members,
+	 *         {@code false} otherwise.
+	 */
+	public boolean hasIgnoresFor(Class<?> clazz) {
+		return ignoreAnnotationDefaults.containsKey( clazz )
+				|| ignoreAnnotationOnMember.containsKey( clazz )
+				|| ignoreAnnotationOnClass.containsKey( clazz );
+	}
+
 	public boolean isIgnoreAnnotations(Class<?> clazz) {
 		boolean ignoreAnnotation;
 		if ( ignoreAnnotationOnClass.containsKey( clazz ) ) {
@@ -17,7 +17,10 @@
 package org.hibernate.validator.metadata;
 
 import java.lang.annotation.Annotation;
+import java.lang.reflect.Field;
 import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import javax.validation.ValidationException;
 
 import org.hibernate.validator.metadata.location.BeanConstraintLocation;
 import org.hibernate.validator.util.ReflectionHelper;
@@ -31,6 +34,27 @@ import org.hibernate.validator.util.ReflectionHelper;
  */
 public class BeanMetaConstraint<T, A extends Annotation> extends MetaConstraint<T, A> {
 
+	/**
+	 * The field hosting this constraint, if this is a field constraint. Kept separately from the location's member in
+	 * order to read the value without having to determine the member type on each access.
+	 */
+	private final Field field;
+
+	/**
+	 * The getter method hosting this constraint, if this is a property constraint.
+	 */
+	private final Method getter;
+
+	/**
+	 * The generated accessor for the hosting member, if one is available.
+	 */
+	private final BeanValueAccessor valueAccessor;
+
+	/**
+	 * The index of the hosting member within the generated accessor, -1 if there is no generated accessor.
+	 */
+	private final int valueAccessorIndex;
+
 	/**
 	 * Creates a new {@link BeanMetaConstraint}.
 	 *
@@ -41,6 +65,12 @@ public class BeanMetaConstraint<T, A extends Annotation> extends MetaConstraint<
 	 */
 	public BeanMetaConstraint(ConstraintDescriptorImpl<A> constraintDescriptor, Class<?> beanClass, Member member) {
 		super( constraintDescriptor, new BeanConstraintLocation( beanClass, member ) );
+		this.field = member instanceof Field ? (Field) member : null;
+		this.getter = member instanceof Method ? (Method) member : null;
+
+		BeanValueAccessor accessor = member != null ? BeanValueAccessorResolver.getAccessor( member.getDeclaringClass() ) : null;
+		this.valueAccessorIndex = accessor != null ? accessor.indexOf( member ) : -1;
+		this.valueAccessor = valueAccessorIndex != -1 ? accessor : null;
 	}
 
 	/**
@@ -53,16 +83,28 @@ public class BeanMetaConstraint<T, A extends Annotation> extends MetaConstraint<
 	/**
 	 * @param o the object from which to retrieve the value.
 	 *
-	 * @return Returns the value for this constraint from the specified object. Depending on the type either the value itself
-	 *         is returned of method or field access is used to access the value.
+	 * @return Returns the value for this constraint from the specified object. For field and property constraints
+	 *         the value is read via the generated value accessor if there is one and via reflection otherwise. For
+	 *         class level constraints the object itself is returned.
 	 */
 	public Object getValue(Object o) {
 
-		if ( getLocation().getMember() == null ) {
-			return o;
+		if ( valueAccessor != null ) {
+			try {
+				return valueAccessor.getValue( valueAccessorIndex, o );
+			}
+			catch ( RuntimeException e ) {
+				throw new ValidationException( "Unable to access " + getLocation().getMember().getName(), e );
+			}
+		}
+		else if ( field != null ) {
+			return ReflectionHelper.getValue( field, o );
+		}
+		else if ( getter != null ) {
+			return ReflectionHelper.getValue( getter, o );
 		}
 		else {
-			return ReflectionHelper.getValue( getLocation().getMember(), o );
+			return o;
 		}
 	}
 
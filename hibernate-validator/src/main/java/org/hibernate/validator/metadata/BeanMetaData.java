@@ -86,6 +86,33 @@ public interface BeanMetaData<T> {
 	 */
 	List<BeanMetaConstraint<T, ? extends Annotation>> getMetaConstraintsAsList();
 
+	/**
+	 * @param group The group of interest.
+	 *
+	 * @return A list of {@code MetaConstraint} instances encapsulating the information of all the constraints
+	 *         defined on the bean which are part of the given group.
+	 */
+	List<BeanMetaConstraint<T, ? extends Annotation>> getMetaConstraintsForGroup(Class<?> group);
+
+	/**
+	 * @param hostingClass The class (eg super class or interface) in which the constraints are defined.
+	 * @param group The group of interest.
+	 *
+	 * @return A list of {@code MetaConstraint} instances encapsulating the information of all the constraints
+	 *         defined in the given class which are part of the given group.
+	 */
+	List<BeanMetaConstraint<T, ? extends Annotation>> getMetaConstraintsForGroup(Class<?> hostingClass, Class<?> group);
+
+	/**
+	 * Returns the constraints of the given property.
+	 *
+	 * @param propertyName The name of the property of interest.
+	 *
+	 * @return The constraints of the given property, keyed by the class in which they are defined. May be empty, but
+	 *         will never be null.
+	 */
+	Map<Class<?>, List<BeanMetaConstraint<T, ? extends Annotation>>> getMetaConstraintsForProperty(String propertyName);
+
 	/**
 	 * Returns the constraint-related meta data for the given method of the
 	 * class represented by this bean meta data.
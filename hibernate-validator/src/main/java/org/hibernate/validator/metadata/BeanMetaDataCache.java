@@ -16,32 +16,890 @@
 */
 package org.hibernate.validator.metadata;
 
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.SoftReference;
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Member;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import javax.validation.GroupSequence;
+import javax.validation.ValidationException;
+import javax.validation.groups.Default;
+
+import org.hibernate.validator.BeanClassNormalizer;
+import org.hibernate.validator.MetaDataCacheStatistics;
+import org.hibernate.validator.engine.DefaultBeanClassNormalizer;
+import org.hibernate.validator.util.Contracts;
+import org.hibernate.validator.util.ReflectionHelper;
+
+import static org.hibernate.validator.util.CollectionHelper.newArrayList;
+import static org.hibernate.validator.util.CollectionHelper.newHashSet;
 
 /**
- * Cache for created instances of <code>BeanMetaData</code>.
- *
- * @author Hardy Ferentschik
+ * Cache for created instances of <code>BeanMetaData</code>. The meta data of a given type is created only once, threads
+ * requesting the meta data of a type which is currently being created wait for the creation to complete and obtain
+ * the same instance.
+ * <p>
+ * The cache doesn't prevent bean types from being unloaded: meta data created on demand is referenced softly and
+ * its type is referenced weakly only, so it is discarded once the class loader of the type is no longer used.
+ * Optionally the number of these entries can be bounded, in which case the least recently used entries are evicted.
+ * Meta data configured via XML or the programmatic API is never evicted as it can't be re-created from the
+ * annotations of the type.
+ * </p>
+ * <p>
+ * The constraints declared by each type of a hierarchy are kept as {@link TypeFragment}, so the annotations of a
+ * super type shared by many bean types are inspected only once.
+ * </p>
  */
 public class BeanMetaDataCache {
 	/**
-	 * A map for the meta data for each entity. The key is the class and the value the bean meta data for this
-	 * entity.
+	 * A map for the meta data of the entities configured via XML or the programmatic API. The key is the class and the
+	 * value the bean meta data for this entity.
+	 */
+	private final ConcurrentMap<Class<?>, BeanMetaDataImpl<?>> configuredMetaData = new ConcurrentHashMap<Class<?>, BeanMetaDataImpl<?>>(
+			10
+	);
+
+	/**
+	 * The factories for the meta data of the entities configured via XML or the programmatic API whose meta data
+	 * hasn't been requested yet. Once created, the meta data is moved to {@link #configuredMetaData}.
 	 */
-	private Map<Class<?>, BeanMetaDataImpl<?>> metadataProviders = new ConcurrentHashMap<Class<?>, BeanMetaDataImpl<?>>(
+	private final ConcurrentMap<Class<?>, ConfiguredMetaDataFactory> configuredMetaDataFactories = new ConcurrentHashMap<Class<?>, ConfiguredMetaDataFactory>(
 			10
 	);
 
+	/**
+	 * A map for the meta data created on demand for each entity. The key references the class weakly, the value
+	 * references the bean meta data for this entity softly.
+	 */
+	private final ConcurrentMap<Object, CacheEntry> metadataProviders = new ConcurrentHashMap<Object, CacheEntry>( 10 );
+
+	/**
+	 * The fragments of the types contained in the hierarchies of the bean types, shared by the meta data of all bean
+	 * types with a common super type. The key references the type weakly, the value references the fragment softly.
+	 */
+	private final ConcurrentMap<Object, FragmentEntry> typeFragments = new ConcurrentHashMap<Object, FragmentEntry>( 10 );
+
+	/**
+	 * Receives the keys and values of {@link #metadataProviders} and {@link #typeFragments} cleared by the garbage
+	 * collector.
+	 */
+	private final ReferenceQueue<Object> clearedReferences = new ReferenceQueue<Object>();
+
+	/**
+	 * The meta data creations currently in progress. An entry is removed once the created meta data has been added
+	 * to {@link #metadataProviders} or the creation has failed.
+	 */
+	private final ConcurrentMap<Class<?>, FutureTask<BeanMetaDataImpl<?>>> metaDataCreations = new ConcurrentHashMap<Class<?>, FutureTask<BeanMetaDataImpl<?>>>();
+
+	/**
+	 * An optional snapshot of the constrained members of the bean types, taken in an earlier run.
+	 */
+	private final MetaDataSnapshot metaDataSnapshot;
+
+	/**
+	 * The maximum number of entries in {@link #metadataProviders}, {@code 0} if the number is not bounded.
+	 */
+	private final int maxSize;
+
+	/**
+	 * Prefixes of the names of the types assumed to host no constraints, e.g. {@code java.}.
+	 */
+	private final List<String> unconstrainedTypePrefixes;
+
+	/**
+	 * Determines the class whose meta data is used for a given bean class, e.g. the user class of a proxy class.
+	 */
+	private final BeanClassNormalizer beanClassNormalizer;
+
+	/**
+	 * Counts the cache hits. Striped as it is incremented upon each look-up of existing meta data.
+	 */
+	private final StripedCounter hitCount = new StripedCounter();
+
+	private final AtomicLong missCount = new AtomicLong();
+
+	private final AtomicLong evictionCount = new AtomicLong();
+
+	/**
+	 * A logical clock for determining the least recently used entry if the size of this cache is bounded. It only
+	 * advances when an entry is added, so a look-up only needs to update the access time of an entry once between two
+	 * additions.
+	 */
+	private final AtomicLong accessClock = new AtomicLong();
+
+	public BeanMetaDataCache() {
+		this( null );
+	}
+
+	/**
+	 * @param metaDataSnapshot A snapshot to be used when building the meta data of bean types, may be {@code null}.
+	 */
+	public BeanMetaDataCache(MetaDataSnapshot metaDataSnapshot) {
+		this( metaDataSnapshot, 0 );
+	}
+
+	/**
+	 * @param metaDataSnapshot A snapshot to be used when building the meta data of bean types, may be {@code null}.
+	 * @param maxSize The maximum number of bean types whose meta data is created on demand and kept by this cache.
+	 * {@code 0} if the number shall not be bounded.
+	 */
+	public BeanMetaDataCache(MetaDataSnapshot metaDataSnapshot, int maxSize) {
+		this( metaDataSnapshot, maxSize, Collections.<String>emptyList() );
+	}
+
+	/**
+	 * @param metaDataSnapshot A snapshot to be used when building the meta data of bean types, may be {@code null}.
+	 * @param maxSize The maximum number of bean types whose meta data is created on demand and kept by this cache.
+	 * {@code 0} if the number shall not be bounded.
+	 * @param unconstrainedPackages The names of packages whose types (including the types of sub-packages) are
+	 * assumed to host no constraints, in addition to {@code java}.
+	 */
+	public BeanMetaDataCache(MetaDataSnapshot metaDataSnapshot, int maxSize, Collection<String> unconstrainedPackages) {
+		this( metaDataSnapshot, maxSize, unconstrainedPackages, new DefaultBeanClassNormalizer() );
+	}
+
+	/**
+	 * @param metaDataSnapshot A snapshot to be used when building the meta data of bean types, may be {@code null}.
+	 * @param maxSize The maximum number of bean types whose meta data is created on demand and kept by this cache.
+	 * {@code 0} if the number shall not be bounded.
+	 * @param unconstrainedPackages The names of packages whose types (including the types of sub-packages) are
+	 * assumed to host no constraints, in addition to {@code java}.
+	 * @param beanClassNormalizer Determines the class whose meta data is used for a given bean class.
+	 */
+	public BeanMetaDataCache(MetaDataSnapshot metaDataSnapshot, int maxSize, Collection<String> unconstrainedPackages, BeanClassNormalizer beanClassNormalizer) {
+		Contracts.assertNotNull( beanClassNormalizer, "The bean class normalizer cannot be null" );
+		if ( maxSize < 0 ) {
+			throw new IllegalArgumentException( "The maximum size of the meta data cache must not be negative" );
+		}
+		this.metaDataSnapshot = metaDataSnapshot;
+		this.maxSize = maxSize;
+		this.unconstrainedTypePrefixes = newArrayList();
+		this.unconstrainedTypePrefixes.add( "java." );
+		for ( String unconstrainedPackage : unconstrainedPackages ) {
+			this.unconstrainedTypePrefixes.add( unconstrainedPackage + "." );
+		}
+		this.beanClassNormalizer = beanClassNormalizer;
+	}
+
 	@SuppressWarnings("unchecked")
 	public <T> BeanMetaDataImpl<T> getBeanMetaData(Class<T> beanClass) {
 		if ( beanClass == null ) {
 			throw new IllegalArgumentException( "Class cannot be null" );
 		}
-		return ( BeanMetaDataImpl<T> ) metadataProviders.get( beanClass );
+
+		BeanMetaDataImpl<?> beanMetaData = getConfiguredMetaData( beanClass );
+		if ( beanMetaData == null ) {
+			CacheEntry entry = metadataProviders.get( new LookupKey( beanClass ) );
+			if ( entry != null ) {
+				beanMetaData = entry.get();
+				if ( maxSize > 0 ) {
+					long now = accessClock.get();
+					if ( entry.lastAccess != now ) {
+						entry.lastAccess = now;
+					}
+				}
+			}
+		}
+		return ( BeanMetaDataImpl<T> ) beanMetaData;
+	}
+
+	/**
+	 * Returns the meta data for the given type, creating it if it is not yet contained in this cache. If the meta data
+	 * is currently created by another thread, the calling thread waits for this creation to complete.
+	 *
+	 * @param beanClass The type of interest.
+	 * @param constraintHelper The constraint helper to be used for creating the meta data.
+	 *
+	 * @return The meta data for the given type.
+	 */
+	@SuppressWarnings("unchecked")
+	public <T> BeanMetaDataImpl<T> getOrCreateBeanMetaData(final Class<T> beanClass, final ConstraintHelper constraintHelper) {
+		BeanMetaDataImpl<T> beanMetaData = getBeanMetaData( beanClass );
+		if ( beanMetaData != null ) {
+			hitCount.increment();
+			return beanMetaData;
+		}
+		missCount.incrementAndGet();
+
+		// proxy classes share the meta data of their user class, it is cached under the proxy class as well
+		Class<?> normalizedClass = beanClassNormalizer.normalize( beanClass );
+		if ( normalizedClass != beanClass ) {
+			if ( normalizedClass == null || !normalizedClass.isAssignableFrom( beanClass ) ) {
+				throw new ValidationException(
+						beanClass.getName() + " has been normalized to " + normalizedClass + ", which is no supertype"
+				);
+			}
+			BeanMetaDataImpl<?> normalizedMetaData = getOrCreateBeanMetaData( normalizedClass, constraintHelper );
+			return putCreatedMetaData( beanClass, ( BeanMetaDataImpl<T> ) normalizedMetaData );
+		}
+
+		FutureTask<BeanMetaDataImpl<?>> creation = new FutureTask<BeanMetaDataImpl<?>>(
+				new Callable<BeanMetaDataImpl<?>>() {
+					public BeanMetaDataImpl<?> call() {
+						return new BeanMetaDataImpl<T>( beanClass, constraintHelper, BeanMetaDataCache.this );
+					}
+				}
+		);
+		FutureTask<BeanMetaDataImpl<?>> existingCreation = metaDataCreations.putIfAbsent( beanClass, creation );
+		if ( existingCreation != null ) {
+			return ( BeanMetaDataImpl<T> ) getCreatedMetaData( existingCreation );
+		}
+
+		// another thread might have completed the creation after our first look-up
+		beanMetaData = getBeanMetaData( beanClass );
+		if ( beanMetaData != null ) {
+			metaDataCreations.remove( beanClass, creation );
+			return beanMetaData;
+		}
+
+		try {
+			creation.run();
+			beanMetaData = ( BeanMetaDataImpl<T> ) getCreatedMetaData( creation );
+			return putCreatedMetaData( beanClass, beanMetaData );
+		}
+		finally {
+			metaDataCreations.remove( beanClass, creation );
+		}
 	}
 
 	public <T> void addBeanMetaData(Class<T> beanClass, BeanMetaDataImpl<T> metaData) {
-		metadataProviders.put( beanClass, metaData );
+		configuredMetaData.put( beanClass, metaData );
+		configuredMetaDataFactories.remove( beanClass );
+	}
+
+	/**
+	 * Registers the factory for the meta data of a type configured via XML or the programmatic API. The meta data is
+	 * created when it is requested for the first time and is never evicted afterwards.
+	 *
+	 * @param beanClass The configured type.
+	 * @param metaDataFactory Creates the meta data for the given type.
+	 */
+	public void addBeanMetaDataFactory(Class<?> beanClass, Callable<? extends BeanMetaDataImpl<?>> metaDataFactory) {
+		configuredMetaData.remove( beanClass );
+		configuredMetaDataFactories.put( beanClass, new ConfiguredMetaDataFactory( metaDataFactory ) );
+	}
+
+	/**
+	 * @return The types configured via XML or the programmatic API, regardless of whether their meta data has been
+	 *         created yet.
+	 */
+	public Set<Class<?>> getConfiguredTypes() {
+		Set<Class<?>> configuredTypes = newHashSet();
+		configuredTypes.addAll( configuredMetaData.keySet() );
+		configuredTypes.addAll( configuredMetaDataFactories.keySet() );
+		return configuredTypes;
+	}
+
+	/**
+	 * @return The meta data of all bean types contained in this cache.
+	 */
+	public Collection<BeanMetaDataImpl<?>> getAllBeanMetaData() {
+		for ( Class<?> configuredClass : configuredMetaDataFactories.keySet() ) {
+			getConfiguredMetaData( configuredClass );
+		}
+
+		List<BeanMetaDataImpl<?>> allMetaData = newArrayList();
+		allMetaData.addAll( configuredMetaData.values() );
+		for ( CacheEntry entry : metadataProviders.values() ) {
+			BeanMetaDataImpl<?> beanMetaData = entry.get();
+			// skip the entries of normalized classes, sharing the meta data of another class
+			if ( beanMetaData != null && beanMetaData.getBeanClass() == entry.key.get() ) {
+				allMetaData.add( beanMetaData );
+			}
+		}
+		return allMetaData;
+	}
+
+	/**
+	 * Removes the meta data of all types loaded by the given class loader or one of its descendants from this cache.
+	 * Meta data configured via XML or the programmatic API is not removed.
+	 *
+	 * @param classLoader The class loader of interest.
+	 *
+	 * @return The number of removed entries.
+	 */
+	public int evict(ClassLoader classLoader) {
+		int evicted = 0;
+		for ( Iterator<Map.Entry<Object, CacheEntry>> i = metadataProviders.entrySet().iterator(); i.hasNext(); ) {
+			Class<?> beanClass = ( ( ClassKey ) i.next().getKey() ).get();
+			if ( beanClass == null || isLoadedBy( beanClass, classLoader ) ) {
+				i.remove();
+				evicted++;
+			}
+		}
+		for ( Iterator<Object> i = typeFragments.keySet().iterator(); i.hasNext(); ) {
+			Class<?> type = ( ( ClassKey ) i.next() ).get();
+			if ( type == null || isLoadedBy( type, classLoader ) ) {
+				i.remove();
+			}
+		}
+		evictionCount.addAndGet( evicted );
+		return evicted;
+	}
+
+	/**
+	 * Removes the meta data of all types from this cache, except the meta data configured via XML or the programmatic
+	 * API.
+	 */
+	public void clear() {
+		evictionCount.addAndGet( metadataProviders.size() );
+		metadataProviders.clear();
+		typeFragments.clear();
+	}
+
+	/**
+	 * @return The statistics of this cache at the time of invocation.
+	 */
+	public MetaDataCacheStatistics getStatistics() {
+		expungeClearedEntries();
+		return new Statistics(
+				hitCount.sum(),
+				missCount.get(),
+				evictionCount.get(),
+				configuredMetaData.size() + metadataProviders.size()
+		);
+	}
+
+	/**
+	 * Whether the given type is assumed to host no constraints, so that its members don't need to be inspected
+	 * when building meta data. This applies to primitive and array types, to the types of the JDK and to the types
+	 * of the packages configured as unconstrained, unless meta data for the type was configured via XML or the
+	 * programmatic API. Only the given type itself is considered; the members of a bean type are only skipped if
+	 * all types of its hierarchy are unconstrained, so constraints inherited from other packages still apply.
+	 *
+	 * @param clazz The type of interest.
+	 *
+	 * @return {@code true} if the given type is assumed to host no constraints, {@code false} otherwise.
+	 */
+	public boolean isUnconstrainedType(Class<?> clazz) {
+		if ( clazz.isPrimitive() || clazz.isArray() ) {
+			return true;
+		}
+		if ( isConfiguredType( clazz ) ) {
+			return false;
+		}
+
+		String className = clazz.getName();
+		for ( String prefix : unconstrainedTypePrefixes ) {
+			if ( className.startsWith( prefix ) ) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Determines whether validating an instance of the given type for the given group may require the evaluation of
+	 * any constraint, either hosted by the type itself or by a type reachable via its cascaded members. Cascaded
+	 * members whose values might be of a sub-type of the declared type are considered to require validation, as the
+	 * constraints of such sub-types are not known in advance.
+	 *
+	 * @param beanClass The type of interest.
+	 * @param group The validated group.
+	 * @param constraintHelper The constraint helper to be used for creating meta data.
+	 *
+	 * @return {@code false} if it is safe to skip the validation of instances of the given type for the given group,
+	 *         {@code true} otherwise.
+	 */
+	public boolean isValidationRequired(Class<?> beanClass, Class<?> group, ConstraintHelper constraintHelper) {
+		return getBeanMetaDataIfValidationRequired( beanClass, group, constraintHelper ) != null;
+	}
+
+	/**
+	 * Returns the meta data of the given type if validating an instance of the type for the given group may require
+	 * the evaluation of any constraint, as determined by {@link #isValidationRequired(Class, Class, ConstraintHelper)}.
+	 * This allows callers to check whether a value must be validated and to retrieve the meta data for doing so with
+	 * a single lookup.
+	 *
+	 * @param beanClass The type of interest.
+	 * @param group The validated group.
+	 * @param constraintHelper The constraint helper to be used for creating meta data.
+	 * @param <T> The type of interest.
+	 *
+	 * @return The meta data of the given type or {@code null} if it is safe to skip the validation of instances of
+	 *         the given type for the given group.
+	 */
+	public <T> BeanMetaDataImpl<T> getBeanMetaDataIfValidationRequired(Class<T> beanClass, Class<?> group, ConstraintHelper constraintHelper) {
+		BeanMetaDataImpl<T> beanMetaData = getOrCreateBeanMetaData( beanClass, constraintHelper );
+		Boolean validationRequired = beanMetaData.isValidationRequired( group );
+		if ( validationRequired == null ) {
+			validationRequired = determineValidationRequired( beanClass, group, constraintHelper );
+			beanMetaData.setValidationRequired( group, validationRequired );
+		}
+		return validationRequired ? beanMetaData : null;
+	}
+
+	/**
+	 * Returns the fragment with the constraints declared by the given type, creating it if it is not yet contained in
+	 * this cache. Fragments created concurrently for the same type are equivalent, so the fragment created last is
+	 * kept.
+	 *
+	 * @param type The type of interest.
+	 * @param constraintHelper The constraint helper to be used for creating the fragment.
+	 *
+	 * @return The fragment of the given type.
+	 */
+	TypeFragment getTypeFragment(Class<?> type, ConstraintHelper constraintHelper) {
+		FragmentEntry entry = typeFragments.get( new LookupKey( type ) );
+		TypeFragment fragment = entry != null ? entry.get() : null;
+		if ( fragment == null ) {
+			fragment = TypeFragment.create( type, getIndexEntry( type ), constraintHelper );
+
+			expungeClearedEntries();
+			ClassKey key = new ClassKey( type, clearedReferences );
+			typeFragments.put( key, new FragmentEntry( key, fragment, clearedReferences ) );
+		}
+		return fragment;
+	}
+
+	/**
+	 * @param clazz The type of interest.
+	 *
+	 * @return {@code true} if meta data for the given type has been configured via XML or the programmatic API,
+	 *         {@code false} otherwise.
+	 */
+	boolean isConfiguredType(Class<?> clazz) {
+		return configuredMetaData.containsKey( clazz ) || configuredMetaDataFactories.containsKey( clazz );
+	}
+
+	/**
+	 * Returns the entry describing the constrained members of the given type, either from the meta data snapshot
+	 * of this cache or from the build-time meta data index.
+	 *
+	 * @param clazz The type of interest.
+	 *
+	 * @return The entry for the given type or {@code null} if the type is neither contained in the snapshot nor in
+	 *         the index.
+	 */
+	public MetaDataIndex.TypeEntry getIndexEntry(Class<?> clazz) {
+		MetaDataIndex.TypeEntry entry = null;
+		if ( metaDataSnapshot != null ) {
+			entry = metaDataSnapshot.getEntry( clazz );
+		}
+		return entry != null ? entry : MetaDataIndex.getEntry( clazz );
+	}
+
+	private boolean determineValidationRequired(Class<?> beanClass, Class<?> group, ConstraintHelper constraintHelper) {
+		Set<Class<?>> processedTypes = newHashSet();
+		List<Class<?>> typesToProcess = newArrayList();
+		typesToProcess.add( beanClass );
+
+		while ( !typesToProcess.isEmpty() ) {
+			Class<?> type = typesToProcess.remove( typesToProcess.size() - 1 );
+			if ( !processedTypes.add( type ) ) {
+				continue;
+			}
+
+			BeanMetaDataImpl<?> beanMetaData = getOrCreateBeanMetaData( type, constraintHelper );
+			Boolean validationRequired = beanMetaData.isValidationRequired( group );
+			if ( validationRequired != null ) {
+				if ( validationRequired ) {
+					return true;
+				}
+				continue;
+			}
+
+			if ( hasConstraintsForGroup( beanMetaData, group, constraintHelper ) ) {
+				return true;
+			}
+
+			for ( Member member : beanMetaData.getCascadedMembers() ) {
+				Class<?> cascadedClass = ReflectionHelper.getFinalCascadedClass( ReflectionHelper.typeOf( member ) );
+				if ( cascadedClass == null ) {
+					return true;
+				}
+				typesToProcess.add( cascadedClass );
+			}
+		}
+		return false;
+	}
+
+	private boolean hasConstraintsForGroup(BeanMetaDataImpl<?> beanMetaData, Class<?> group, ConstraintHelper constraintHelper) {
+		if ( beanMetaData.getMetaConstraintsAsList().isEmpty() ) {
+			return false;
+		}
+
+		if ( group == Default.class ) {
+			for ( Class<?> hostingClass : beanMetaData.getMetaConstraintsAsMap().keySet() ) {
+				// the groups of a redefined default group sequence might depend on the validated bean
+				if ( getOrCreateBeanMetaData( hostingClass, constraintHelper ).defaultGroupSequenceIsRedefined() ) {
+					return true;
+				}
+			}
+		}
+
+		// inherited groups are validated as well
+		List<Class<?>> groups = newArrayList();
+		groups.add( group );
+		for ( int i = 0; i < groups.size(); i++ ) {
+			Class<?> currentGroup = groups.get( i );
+			if ( currentGroup.getAnnotation( GroupSequence.class ) != null
+					|| !beanMetaData.getMetaConstraintsForGroup( currentGroup ).isEmpty() ) {
+				return true;
+			}
+			groups.addAll( Arrays.asList( currentGroup.getInterfaces() ) );
+		}
+		return false;
+	}
+
+	/**
+	 * Returns the meta data of the given type if it has been configured via XML or the programmatic API, creating it
+	 * upon the first request.
+	 */
+	private BeanMetaDataImpl<?> getConfiguredMetaData(Class<?> beanClass) {
+		BeanMetaDataImpl<?> beanMetaData = configuredMetaData.get( beanClass );
+		if ( beanMetaData != null || configuredMetaDataFactories.isEmpty() ) {
+			return beanMetaData;
+		}
+
+		ConfiguredMetaDataFactory metaDataFactory = configuredMetaDataFactories.get( beanClass );
+		if ( metaDataFactory == null ) {
+			return null;
+		}
+
+		// the hierarchy of a type is free of cycles, so nested creations of super types can't deadlock
+		synchronized ( metaDataFactory ) {
+			beanMetaData = configuredMetaData.get( beanClass );
+			// the meta data under creation looks itself up, which must not start another creation
+			if ( beanMetaData == null && !metaDataFactory.creating ) {
+				metaDataFactory.creating = true;
+				try {
+					beanMetaData = metaDataFactory.delegate.call();
+				}
+				catch ( RuntimeException e ) {
+					throw e;
+				}
+				catch ( Exception e ) {
+					throw new ValidationException( "Unable to create meta data for " + beanClass.getName(), e );
+				}
+				finally {
+					metaDataFactory.creating = false;
+				}
+				configuredMetaData.put( beanClass, beanMetaData );
+				configuredMetaDataFactories.remove( beanClass, metaDataFactory );
+			}
+		}
+		return beanMetaData;
+	}
+
+	@SuppressWarnings("unchecked")
+	private <T> BeanMetaDataImpl<T> putCreatedMetaData(Class<T> beanClass, BeanMetaDataImpl<T> beanMetaData) {
+		expungeClearedEntries();
+
+		ClassKey key = new ClassKey( beanClass, clearedReferences );
+		CacheEntry newEntry = new CacheEntry( key, beanMetaData, clearedReferences, accessClock.getAndIncrement() );
+		while ( true ) {
+			CacheEntry existingEntry = metadataProviders.putIfAbsent( key, newEntry );
+			if ( existingEntry == null ) {
+				break;
+			}
+			BeanMetaDataImpl<?> existingMetaData = existingEntry.get();
+			if ( existingMetaData != null ) {
+				return ( BeanMetaDataImpl<T> ) existingMetaData;
+			}
+			// the existing meta data has been cleared by the garbage collector
+			if ( metadataProviders.replace( existingEntry.key, existingEntry, newEntry ) ) {
+				break;
+			}
+		}
+
+		if ( maxSize > 0 ) {
+			evictLeastRecentlyUsed( newEntry );
+		}
+		return beanMetaData;
+	}
+
+	/**
+	 * Evicts the least recently used entries until the size bound of this cache is met. Finding these entries
+	 * requires a scan of the cache, but as entries are only added when creating the meta data of a type, this is
+	 * cheap compared to the creation itself. Entries accessed between the same two additions are considered equally
+	 * recent.
+	 *
+	 * @param newEntry The entry just added, which is never evicted.
+	 */
+	private synchronized void evictLeastRecentlyUsed(CacheEntry newEntry) {
+		while ( metadataProviders.size() > maxSize ) {
+			CacheEntry leastRecentlyUsed = null;
+			for ( CacheEntry entry : metadataProviders.values() ) {
+				if ( entry != newEntry && ( leastRecentlyUsed == null || entry.lastAccess - leastRecentlyUsed.lastAccess < 0 ) ) {
+					leastRecentlyUsed = entry;
+				}
+			}
+			if ( leastRecentlyUsed == null ) {
+				return;
+			}
+			if ( metadataProviders.remove( leastRecentlyUsed.key, leastRecentlyUsed ) ) {
+				evictionCount.incrementAndGet();
+			}
+		}
+	}
+
+	/**
+	 * Removes all entries whose key or value has been cleared by the garbage collector.
+	 */
+	private void expungeClearedEntries() {
+		Reference<?> reference;
+		while ( ( reference = clearedReferences.poll() ) != null ) {
+			boolean removed;
+			if ( reference instanceof CacheEntry ) {
+				CacheEntry entry = ( CacheEntry ) reference;
+				removed = metadataProviders.remove( entry.key, entry );
+			}
+			else if ( reference instanceof FragmentEntry ) {
+				FragmentEntry entry = ( FragmentEntry ) reference;
+				typeFragments.remove( entry.key, entry );
+				removed = false;
+			}
+			else {
+				removed = metadataProviders.remove( reference ) != null;
+				typeFragments.remove( reference );
+			}
+			if ( removed ) {
+				evictionCount.incrementAndGet();
+			}
+		}
+	}
+
+	private boolean isLoadedBy(Class<?> beanClass, ClassLoader classLoader) {
+		ClassLoader beanClassLoader = beanClass.getClassLoader();
+		while ( beanClassLoader != null ) {
+			if ( beanClassLoader == classLoader ) {
+				return true;
+			}
+			beanClassLoader = beanClassLoader.getParent();
+		}
+		return false;
+	}
+
+	/**
+	 * Waits for the given creation to complete. Interruptions while waiting are deferred until the creation is
+	 * complete, exceptions raised during creation are propagated to the caller.
+	 */
+	private BeanMetaDataImpl<?> getCreatedMetaData(FutureTask<BeanMetaDataImpl<?>> creation) {
+		boolean interrupted = false;
+		try {
+			while ( true ) {
+				try {
+					return creation.get();
+				}
+				catch ( InterruptedException e ) {
+					interrupted = true;
+				}
+				catch ( ExecutionException e ) {
+					Throwable cause = e.getCause();
+					if ( cause instanceof RuntimeException ) {
+						throw ( RuntimeException ) cause;
+					}
+					if ( cause instanceof Error ) {
+						throw ( Error ) cause;
+					}
+					throw new ValidationException( "Unable to create meta data", cause );
+				}
+			}
+		}
+		finally {
+			if ( interrupted ) {
+				Thread.currentThread().interrupt();
+			}
+		}
+	}
+
+	/**
+	 * Key of {@link #metadataProviders}, referencing a bean type weakly. Once the type has been cleared, the key is
+	 * only equal to itself.
+	 */
+	private static final class ClassKey extends WeakReference<Class<?>> {
+		private final int hashCode;
+
+		private ClassKey(Class<?> beanClass, ReferenceQueue<Object> queue) {
+			super( beanClass, queue );
+			this.hashCode = System.identityHashCode( beanClass );
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if ( this == o ) {
+				return true;
+			}
+			Class<?> beanClass = get();
+			if ( beanClass == null ) {
+				return false;
+			}
+			if ( o instanceof ClassKey ) {
+				return beanClass == ( ( ClassKey ) o ).get();
+			}
+			return o instanceof LookupKey && beanClass == ( ( LookupKey ) o ).beanClass;
+		}
+
+		@Override
+		public int hashCode() {
+			return hashCode;
+		}
+	}
+
+	/**
+	 * Key used for look-ups in {@link #metadataProviders}, avoiding the creation of a weak reference for each look-up.
+	 */
+	private static final class LookupKey {
+		private final Class<?> beanClass;
+
+		private LookupKey(Class<?> beanClass) {
+			this.beanClass = beanClass;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if ( this == o ) {
+				return true;
+			}
+			if ( o instanceof ClassKey ) {
+				return beanClass == ( ( ClassKey ) o ).get();
+			}
+			return o instanceof LookupKey && beanClass == ( ( LookupKey ) o ).beanClass;
+		}
+
+		@Override
+		public int hashCode() {
+			return System.identityHashCode( beanClass );
+		}
+	}
+
+	/**
+	 * Value of {@link #metadataProviders}, referencing the bean meta data softly. The meta data references its bean
+	 * type, so it must not be referenced strongly for the type to be unloadable.
+	 */
+	private static final class CacheEntry extends SoftReference<BeanMetaDataImpl<?>> {
+		private final ClassKey key;
+
+		/**
+		 * The value of the access clock at the last access, only maintained if the size of the cache is bounded.
+		 */
+		private volatile long lastAccess;
+
+		private CacheEntry(ClassKey key, BeanMetaDataImpl<?> beanMetaData, ReferenceQueue<Object> queue, long lastAccess) {
+			super( beanMetaData, queue );
+			this.key = key;
+			this.lastAccess = lastAccess;
+		}
+	}
+
+	/**
+	 * A counter distributing its increments over several cells, selected by the id of the incrementing thread, so
+	 * that threads incrementing concurrently rarely contend for the same cell. The cells are spaced apart in order to
+	 * place them on different cache lines.
+	 */
+	private static final class StripedCounter {
+		private static final int CELL_SPACING = 16;
+		private static final int MAX_CELLS = 64;
+
+		private final int mask;
+		private final AtomicLongArray cells;
+
+		private StripedCounter() {
+			int numberOfCells = 1;
+			while ( numberOfCells < MAX_CELLS && numberOfCells < Runtime.getRuntime().availableProcessors() * 2 ) {
+				numberOfCells <<= 1;
+			}
+			this.mask = numberOfCells - 1;
+			this.cells = new AtomicLongArray( numberOfCells * CELL_SPACING );
+		}
+
+		private void increment() {
+			int cell = (int) Thread.currentThread().getId() & mask;
+			cells.incrementAndGet( cell * CELL_SPACING );
+		}
+
+		private long sum() {
+			long sum = 0;
+			for ( int i = 0; i < cells.length(); i += CELL_SPACING ) {
+				sum += cells.get( i );
+			}
+			return sum;
+		}
+	}
+
+	/**
+	 * Value of {@link #configuredMetaDataFactories}. The factory is invoked while holding the lock of this object.
+	 */
+	private static final class ConfiguredMetaDataFactory {
+		private final Callable<? extends BeanMetaDataImpl<?>> delegate;
+
+		/**
+		 * Whether the meta data is currently created, guarded by the lock of this object.
+		 */
+		private boolean creating;
+
+		private ConfiguredMetaDataFactory(Callable<? extends BeanMetaDataImpl<?>> delegate) {
+			this.delegate = delegate;
+		}
+	}
+
+	/**
+	 * Value of {@link #typeFragments}, referencing the fragment softly. The fragment references its type, so it must
+	 * not be referenced strongly for the type to be unloadable.
+	 */
+	private static final class FragmentEntry extends SoftReference<TypeFragment> {
+		private final ClassKey key;
+
+		private FragmentEntry(ClassKey key, TypeFragment fragment, ReferenceQueue<Object> queue) {
+			super( fragment, queue );
+			this.key = key;
+		}
+	}
+
+	private static final class Statistics implements MetaDataCacheStatistics {
+		private final long hitCount;
+		private final long missCount;
+		private final long evictionCount;
+		private final int size;
+
+		private Statistics(long hitCount, long missCount, long evictionCount, int size) {
+			this.hitCount = hitCount;
+			this.missCount = missCount;
+			this.evictionCount = evictionCount;
+			this.size = size;
+		}
+
+		public long getHitCount() {
+			return hitCount;
+		}
+
+		public long getMissCount() {
+			return missCount;
+		}
+
+		public long getEvictionCount() {
+			return evictionCount;
+		}
+
+		public int getSize() {
+			return size;
+		}
+
+		@Override
+		public String toString() {
+			final StringBuilder sb = new StringBuilder();
+			sb.append( "MetaDataCacheStatistics" );
+			sb.append( "{hitCount=" ).append( hitCount );
+			sb.append( ", missCount=" ).append( missCount );
+			sb.append( ", evictionCount=" ).append( evictionCount );
+			sb.append( ", size=" ).append( size );
+			sb.append( '}' );
+			return sb.toString();
+		}
 	}
 }
@@ -32,6 +32,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import javax.validation.GroupDefinitionException;
 import javax.validation.GroupSequence;
 import javax.validation.Valid;
@@ -79,37 +81,74 @@ public final class BeanMetaDataImpl<T> implements BeanMetaData<T> {
 	/**
 	 * The main element descriptor for {@link #beanClass}.
 	 */
-	private BeanDescriptorImpl<T> beanDescriptor;
+	private final BeanDescriptorImpl<T> beanDescriptor;
 
 	/**
 	 * Map of all direct constraints which belong to the entity {@code beanClass}. The constraints are mapped to the class
 	 * (eg super class or interface) in which they are defined.
 	 */
-	private Map<Class<?>, List<BeanMetaConstraint<T, ? extends Annotation>>> metaConstraints = newHashMap();
+	private final Map<Class<?>, List<BeanMetaConstraint<T, ? extends Annotation>>> metaConstraints = newHashMap();
+
+	/**
+	 * All constraints of {@link #metaConstraints} as list. Created once the meta data is completely built.
+	 */
+	private final List<BeanMetaConstraint<T, ? extends Annotation>> metaConstraintsAsList;
+
+	/**
+	 * The constraints of {@link #metaConstraintsAsList} keyed by the groups they are part of. Created once the meta
+	 * data is completely built.
+	 */
+	private final Map<Class<?>, List<BeanMetaConstraint<T, ? extends Annotation>>> metaConstraintsByGroup;
+
+	/**
+	 * The constraints of {@link #metaConstraints} keyed by the groups they are part of and the class in which they
+	 * are defined. Created once the meta data is completely built.
+	 */
+	private final Map<Class<?>, Map<Class<?>, List<BeanMetaConstraint<T, ? extends Annotation>>>> metaConstraintsByGroupAndHostingClass;
 
 	/**
 	 * Contains constrained related meta data for all methods of the type
 	 * represented by this bean meta data. Keyed by method, values are an
 	 * aggregated view on each method together with all the methods from the
-	 * inheritance hierarchy with the same signature.
+	 * inheritance hierarchy with the same signature. Built upon the first
+	 * request for method meta data.
+	 */
+	private volatile Map<Method, AggregatedMethodMetaData> methodMetaData;
+
+	/**
+	 * The distinct values of {@link #methodMetaData}.
+	 */
+	private volatile Set<AggregatedMethodMetaData> allMethodMetaData;
+
+	/**
+	 * The method meta data gathered during construction in the order of the type hierarchy, used for building
+	 * {@link #methodMetaData}. Discarded afterwards.
 	 */
-	private Map<Method, AggregatedMethodMetaData> methodMetaData;
+	private List<PendingMethodMetaData> pendingMethodMetaData = newArrayList();
 
 	/**
-	 * Builders used for gathering method meta data. Used only at construction
-	 * time.
+	 * The constraints of single properties keyed by property name, each determined upon the first request for the
+	 * property.
 	 */
-	private Set<AggregatedMethodMetaData.Builder> methodMetaDataBuilders = newHashSet();
+	private final ConcurrentMap<String, Map<Class<?>, List<BeanMetaConstraint<T, ? extends Annotation>>>> metaConstraintsByProperty = new ConcurrentHashMap<String, Map<Class<?>, List<BeanMetaConstraint<T, ? extends Annotation>>>>();
 
 	/**
 	 * List of cascaded members.
 	 */
-	private Set<Member> cascadedMembers = newHashSet();
+	private final Set<Member> cascadedMembers = newHashSet();
+
+	/**
+	 * Whether validating an instance of this type for a given group may require the evaluation of any constraint,
+	 * keyed by group. Determined lazily by {@link BeanMetaDataCache#isValidationRequired(Class, Class, ConstraintHelper)}.
+	 */
+	private final ConcurrentMap<Class<?>, Boolean> validationRequiredByGroup = new ConcurrentHashMap<Class<?>, Boolean>(
+			4
+	);
 
 	/**
 	 * Maps field and method names to their {@code ElementDescriptorImpl}.
 	 */
-	private Map<String, PropertyDescriptor> propertyDescriptors = newHashMap();
+	private final Map<String, PropertyDescriptor> propertyDescriptors = newHashMap();
 
 	/**
 	 * The default groups sequence for this bean class.
@@ -125,7 +164,8 @@ public final class BeanMetaDataImpl<T> implements BeanMetaData<T> {
 	private DefaultGroupSequenceProvider<T> defaultGroupSequenceProvider;
 
 	/**
-	 * Object used to determine whether a given annotation is a constraint. Only used during initialization.
+	 * Object used to determine whether a given annotation is a constraint. Only used during initialization,
+	 * including the deferred initialization of {@link #methodMetaData}.
 	 */
 	private ConstraintHelper constraintHelper;
 
@@ -135,6 +175,17 @@ public final class BeanMetaDataImpl<T> implements BeanMetaData<T> {
 	// Used to avoid ReflectionHelper#containsMember which is slow
 	private final Set<String> propertyNames = newHashSet( 30 );
 
+	/**
+	 * The classes of the hierarchy which were not inspected as the bean type is assumed to host no constraints.
+	 */
+	private final List<Class<?>> unconstrainedClasses = newArrayList();
+
+	/**
+	 * The property names of {@link #unconstrainedClasses}, determined lazily upon the first request for a property
+	 * not contained in {@link #propertyNames}.
+	 */
+	private volatile Set<String> unconstrainedPropertyNames;
+
 	/**
 	 * Constructor used for creating the bean meta data using annotations only
 	 *
@@ -179,6 +230,7 @@ public final class BeanMetaDataImpl<T> implements BeanMetaData<T> {
 		this.beanClass = beanClass;
 		this.constraintHelper = constraintHelper;
 		this.defaultGroupSequenceProvider = null;
+		this.beanDescriptor = new BeanDescriptorImpl<T>( this );
 		for ( Member member : cascadedMembers ) {
 			addCascadedMember( member );
 		}
@@ -246,18 +298,47 @@ public final class BeanMetaDataImpl<T> implements BeanMetaData<T> {
 
 		}
 
-		methodMetaData = Collections.unmodifiableMap( buildMethodMetaData() );
+		metaConstraintsAsList = Collections.unmodifiableList( buildMetaConstraintsAsList() );
+		metaConstraintsByGroup = newHashMap();
+		metaConstraintsByGroupAndHostingClass = newHashMap();
+		buildGroupIndex();
+	}
 
-		// reset class members we don't need any longer
-		methodMetaDataBuilders = null;
-		this.constraintHelper = null;
+	/**
+	 * Returns the method meta data of this type, building it upon the first invocation. Building the method meta
+	 * data is deferred, as it isn't required when validating beans or single properties, but may be expensive for
+	 * types with many methods.
+	 */
+	private Map<Method, AggregatedMethodMetaData> getMethodMetaData() {
+		Map<Method, AggregatedMethodMetaData> theValue = methodMetaData;
+		if ( theValue == null ) {
+			synchronized ( this ) {
+				theValue = methodMetaData;
+				if ( theValue == null ) {
+					Set<AggregatedMethodMetaData.Builder> methodMetaDataBuilders = newHashSet();
+					for ( PendingMethodMetaData pending : pendingMethodMetaData ) {
+						addToBuilder( methodMetaDataBuilders, pending.getMethodMetaData() );
+					}
+
+					theValue = Collections.unmodifiableMap( buildMethodMetaData( methodMetaDataBuilders ) );
+					allMethodMetaData = Collections.unmodifiableSet(
+							new HashSet<AggregatedMethodMetaData>( theValue.values() )
+					);
+					methodMetaData = theValue;
+
+					// reset class members we don't need any longer
+					pendingMethodMetaData = null;
+					constraintHelper = null;
+				}
+			}
+		}
+		return theValue;
 	}
 
 	/**
-	 * Builds up the method meta data for this type by invoking each builder in
-	 * {@link #methodMetaDataBuilders}.
+	 * Builds up the method meta data for this type by invoking each of the given builders.
 	 */
-	private Map<Method, AggregatedMethodMetaData> buildMethodMetaData() {
+	private Map<Method, AggregatedMethodMetaData> buildMethodMetaData(Set<AggregatedMethodMetaData.Builder> methodMetaDataBuilders) {
 
 		Map<Method, AggregatedMethodMetaData> theValue = newHashMap();
 
@@ -275,6 +356,49 @@ public final class BeanMetaDataImpl<T> implements BeanMetaData<T> {
 		return theValue;
 	}
 
+	private List<BeanMetaConstraint<T, ? extends Annotation>> buildMetaConstraintsAsList() {
+		List<BeanMetaConstraint<T, ? extends Annotation>> constraintList = new ArrayList<BeanMetaConstraint<T, ? extends Annotation>>();
+		for ( List<BeanMetaConstraint<T, ? extends Annotation>> list : metaConstraints.values() ) {
+			constraintList.addAll( list );
+		}
+		return constraintList;
+	}
+
+	/**
+	 * Populates {@link #metaConstraintsByGroup} and {@link #metaConstraintsByGroupAndHostingClass}, preserving the
+	 * order of {@link #metaConstraintsAsList} within each group. Groups inherited by other groups need no special
+	 * treatment, as the group chain contains each inherited group on its own.
+	 */
+	private void buildGroupIndex() {
+		for ( Map.Entry<Class<?>, List<BeanMetaConstraint<T, ? extends Annotation>>> entry : metaConstraints.entrySet() ) {
+			for ( BeanMetaConstraint<T, ? extends Annotation> metaConstraint : entry.getValue() ) {
+				for ( Class<?> group : metaConstraint.getGroupList() ) {
+					List<BeanMetaConstraint<T, ? extends Annotation>> constraints = metaConstraintsByGroup.get( group );
+					if ( constraints == null ) {
+						constraints = newArrayList();
+						metaConstraintsByGroup.put( group, constraints );
+					}
+					constraints.add( metaConstraint );
+
+					Map<Class<?>, List<BeanMetaConstraint<T, ? extends Annotation>>> constraintsByHostingClass = metaConstraintsByGroupAndHostingClass
+							.get( group );
+					if ( constraintsByHostingClass == null ) {
+						constraintsByHostingClass = newHashMap();
+						metaConstraintsByGroupAndHostingClass.put( group, constraintsByHostingClass );
+					}
+					List<BeanMetaConstraint<T, ? extends Annotation>> hostedConstraints = constraintsByHostingClass.get(
+							entry.getKey()
+					);
+					if ( hostedConstraints == null ) {
+						hostedConstraints = newArrayList();
+						constraintsByHostingClass.put( entry.getKey(), hostedConstraints );
+					}
+					hostedConstraints.add( metaConstraint );
+				}
+			}
+		}
+	}
+
 	public Class<T> getBeanClass() {
 		return beanClass;
 	}
@@ -296,19 +420,58 @@ public final class BeanMetaDataImpl<T> implements BeanMetaData<T> {
 	}
 
 	public List<BeanMetaConstraint<T, ? extends Annotation>> getMetaConstraintsAsList() {
-		List<BeanMetaConstraint<T, ? extends Annotation>> constraintList = new ArrayList<BeanMetaConstraint<T, ? extends Annotation>>();
-		for ( List<BeanMetaConstraint<T, ? extends Annotation>> list : metaConstraints.values() ) {
-			constraintList.addAll( list );
+		return metaConstraintsAsList;
+	}
+
+	public List<BeanMetaConstraint<T, ? extends Annotation>> getMetaConstraintsForGroup(Class<?> group) {
+		List<BeanMetaConstraint<T, ? extends Annotation>> constraints = metaConstraintsByGroup.get( group );
+		if ( constraints == null ) {
+			return Collections.emptyList();
+		}
+		return constraints;
+	}
+
+	public List<BeanMetaConstraint<T, ? extends Annotation>> getMetaConstraintsForGroup(Class<?> hostingClass, Class<?> group) {
+		Map<Class<?>, List<BeanMetaConstraint<T, ? extends Annotation>>> constraintsByHostingClass = metaConstraintsByGroupAndHostingClass
+				.get( group );
+		List<BeanMetaConstraint<T, ? extends Annotation>> constraints = constraintsByHostingClass == null ? null : constraintsByHostingClass
+				.get( hostingClass );
+		if ( constraints == null ) {
+			return Collections.emptyList();
+		}
+		return constraints;
+	}
+
+	public Map<Class<?>, List<BeanMetaConstraint<T, ? extends Annotation>>> getMetaConstraintsForProperty(String propertyName) {
+		Map<Class<?>, List<BeanMetaConstraint<T, ? extends Annotation>>> constraints = metaConstraintsByProperty.get(
+				propertyName
+		);
+		if ( constraints == null ) {
+			constraints = newHashMap();
+			for ( Map.Entry<Class<?>, List<BeanMetaConstraint<T, ? extends Annotation>>> entry : metaConstraints.entrySet() ) {
+				List<BeanMetaConstraint<T, ? extends Annotation>> propertyConstraints = newArrayList();
+				for ( BeanMetaConstraint<T, ? extends Annotation> metaConstraint : entry.getValue() ) {
+					if ( propertyName.equals( metaConstraint.getLocation().getPropertyName() ) ) {
+						propertyConstraints.add( metaConstraint );
+					}
+				}
+				if ( !propertyConstraints.isEmpty() ) {
+					constraints.put( entry.getKey(), Collections.unmodifiableList( propertyConstraints ) );
+				}
+			}
+			constraints = Collections.unmodifiableMap( constraints );
+			metaConstraintsByProperty.putIfAbsent( propertyName, constraints );
 		}
-		return Collections.unmodifiableList( constraintList );
+		return constraints;
 	}
 
 	public AggregatedMethodMetaData getMetaDataFor(Method method) {
-		return methodMetaData.get( method );
+		return getMethodMetaData().get( method );
 	}
 
 	public Set<AggregatedMethodMetaData> getAllMethodMetaData() {
-		return new HashSet<AggregatedMethodMetaData>( methodMetaData.values() );
+		getMethodMetaData();
+		return allMethodMetaData;
 	}
 
 	public PropertyDescriptor getPropertyDescriptor(String property) {
@@ -316,7 +479,10 @@ public final class BeanMetaDataImpl<T> implements BeanMetaData<T> {
 	}
 
 	public boolean isPropertyPresent(String name) {
-		return propertyNames.contains( name );
+		if ( propertyNames.contains( name ) ) {
+			return true;
+		}
+		return !unconstrainedClasses.isEmpty() && getUnconstrainedPropertyNames().contains( name );
 	}
 
 	public List<Class<?>> getDefaultGroupSequence(T beanState) {
@@ -325,7 +491,7 @@ public final class BeanMetaDataImpl<T> implements BeanMetaData<T> {
 			return getValidDefaultGroupSequence( providerDefaultGroupSequence );
 		}
 
-		return Collections.unmodifiableList( defaultGroupSequence );
+		return defaultGroupSequence;
 	}
 
 	public boolean defaultGroupSequenceIsRedefined() {
@@ -340,8 +506,16 @@ public final class BeanMetaDataImpl<T> implements BeanMetaData<T> {
 		return Collections.unmodifiableSet( new HashSet<PropertyDescriptor>( propertyDescriptors.values() ) );
 	}
 
+	Boolean isValidationRequired(Class<?> group) {
+		return validationRequiredByGroup.get( group );
+	}
+
+	void setValidationRequired(Class<?> group, boolean validationRequired) {
+		validationRequiredByGroup.put( group, validationRequired );
+	}
+
 	private void setDefaultGroupSequence(List<Class<?>> groupSequence) {
-		defaultGroupSequence = getValidDefaultGroupSequence( groupSequence );
+		defaultGroupSequence = Collections.unmodifiableList( getValidDefaultGroupSequence( groupSequence ) );
 	}
 
 	private List<Class<?>> getValidDefaultGroupSequence(List<Class<?>> groupSequence) {
@@ -406,7 +580,7 @@ public final class BeanMetaDataImpl<T> implements BeanMetaData<T> {
 
 	private void addMethodMetaConstraint(Class<?> clazz, MethodMetaData methodMetaData) {
 
-		addToBuilder( methodMetaData );
+		pendingMethodMetaData.add( new PendingMethodMetaData( methodMetaData ) );
 
 		if ( ReflectionHelper.isGetterMethod( methodMetaData.getMethod() ) ) {
 
@@ -437,9 +611,10 @@ public final class BeanMetaDataImpl<T> implements BeanMetaData<T> {
 	 * the hierarchy.
 	 * </p>
 	 *
+	 * @param methodMetaDataBuilders The builders gathered so far.
 	 * @param metaData The method meta data to add.
 	 */
-	private void addToBuilder(MethodMetaData metaData) {
+	private void addToBuilder(Set<AggregatedMethodMetaData.Builder> methodMetaDataBuilders, MethodMetaData metaData) {
 
 		// add the given meta data to an existing aggregation builder ...
 		for ( Builder oneBuilder : methodMetaDataBuilders ) {
@@ -469,18 +644,145 @@ public final class BeanMetaDataImpl<T> implements BeanMetaData<T> {
 	 * @param beanMetaDataCache The bean meta data cache
 	 */
 	private void createMetaData(AnnotationIgnores annotationIgnores, BeanMetaDataCache beanMetaDataCache) {
-		beanDescriptor = new BeanDescriptorImpl<T>( this );
 		initDefaultGroupSequence();
 		List<Class<?>> classes = ReflectionHelper.computeClassHierarchy( beanClass );
+
+		// the members of types such as String or Long aren't inspected when cascading to them, unless a type of
+		// an unconstrained package extends or implements a type which might be constrained
+		if ( isUnconstrainedHierarchy( classes, beanMetaDataCache ) ) {
+			unconstrainedClasses.addAll( classes );
+			return;
+		}
+
 		for ( Class<?> current : classes ) {
 			initClass( current, annotationIgnores, beanMetaDataCache );
 		}
 	}
 
+	private boolean isUnconstrainedHierarchy(List<Class<?>> classes, BeanMetaDataCache beanMetaDataCache) {
+		for ( Class<?> clazz : classes ) {
+			if ( !beanMetaDataCache.isUnconstrainedType( clazz ) ) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private Set<String> getUnconstrainedPropertyNames() {
+		Set<String> names = unconstrainedPropertyNames;
+		if ( names == null ) {
+			names = newHashSet();
+			for ( Class<?> clazz : unconstrainedClasses ) {
+				for ( Field field : ReflectionHelper.getDeclaredFields( clazz ) ) {
+					names.add( ReflectionHelper.getPropertyName( field ) );
+				}
+				for ( Method method : ReflectionHelper.getDeclaredMethods( clazz ) ) {
+					if ( Modifier.isStatic( method.getModifiers() ) || method.isSynthetic() ) {
+						continue;
+					}
+					String name = ReflectionHelper.getPropertyName( method );
+					if ( name != null ) {
+						names.add( name );
+					}
+				}
+			}
+			unconstrainedPropertyNames = names;
+		}
+		return names;
+	}
+
 	private void initClass(Class<?> clazz, AnnotationIgnores annotationIgnores, BeanMetaDataCache beanMetaDataCache) {
+		// the constraints declared by types without XML or programmatic configuration are taken from the fragment
+		// shared with all other bean types having this type in their hierarchy
+		if ( !annotationIgnores.hasIgnoresFor( clazz ) && !beanMetaDataCache.isConfiguredType( clazz ) ) {
+			initClass( clazz, beanMetaDataCache.getTypeFragment( clazz, constraintHelper ) );
+			return;
+		}
+
+		MetaDataIndex.TypeEntry indexEntry = beanMetaDataCache.getIndexEntry( clazz );
 		initClassConstraints( clazz, annotationIgnores, beanMetaDataCache );
-		initMethodConstraints( clazz, annotationIgnores, beanMetaDataCache );
-		initFieldConstraints( clazz, annotationIgnores, beanMetaDataCache );
+		initMethodConstraints( clazz, indexEntry, annotationIgnores, beanMetaDataCache );
+		initFieldConstraints( clazz, indexEntry, annotationIgnores, beanMetaDataCache );
+	}
+
+	private void initClass(Class<?> clazz, TypeFragment fragment) {
+		for ( ConstraintDescriptorImpl<?> descriptor : fragment.getClassConstraints() ) {
+			addMetaConstraint( clazz, createBeanMetaConstraint( null, rebindDescriptor( clazz, descriptor ) ) );
+		}
+
+		for ( TypeFragment.MethodFragment methodFragment : fragment.getMethods() ) {
+			// getters contribute to the property meta data, the meta data of other methods is only created if required
+			if ( ReflectionHelper.isGetterMethod( methodFragment.getMethod() ) ) {
+				addMethodMetaConstraint( clazz, createMethodMetaData( clazz, methodFragment ) );
+			}
+			else {
+				pendingMethodMetaData.add( new PendingMethodMetaData( clazz, methodFragment ) );
+			}
+		}
+
+		for ( TypeFragment.FieldFragment fieldFragment : fragment.getFields() ) {
+			Field field = fieldFragment.getField();
+			addToPropertyNameList( field );
+
+			for ( ConstraintDescriptorImpl<?> descriptor : fieldFragment.getConstraints() ) {
+				ReflectionHelper.setAccessibility( field );
+				addMetaConstraint( clazz, createBeanMetaConstraint( field, rebindDescriptor( clazz, descriptor ) ) );
+			}
+
+			if ( fieldFragment.isCascading() ) {
+				addCascadedMember( field );
+			}
+		}
+	}
+
+	private MethodMetaData createMethodMetaData(Class<?> clazz, TypeFragment.MethodFragment methodFragment) {
+		Method method = methodFragment.getMethod();
+
+		List<ParameterMetaData> parameterMetaData = newArrayList();
+		Class<?>[] parameterTypes = method.getParameterTypes();
+		for ( int i = 0; i < parameterTypes.length; i++ ) {
+			List<MetaConstraint<?, ? extends Annotation>> parameterConstraints = newArrayList();
+			for ( ConstraintDescriptorImpl<?> descriptor : methodFragment.getParameterConstraints( i ) ) {
+				parameterConstraints.add(
+						createParameterMetaConstraint( method, i, rebindDescriptor( clazz, descriptor ) )
+				);
+			}
+			parameterMetaData.add(
+					new ParameterMetaData(
+							i,
+							parameterTypes[i],
+							DEFAULT_PARAMETER_NAME_PREFIX + i,
+							parameterConstraints,
+							methodFragment.isCascadingParameter( i )
+					)
+			);
+		}
+
+		List<ConstraintDescriptorImpl<?>> descriptors = newArrayList();
+		for ( ConstraintDescriptorImpl<?> descriptor : methodFragment.getConstraints() ) {
+			descriptors.add( rebindDescriptor( clazz, descriptor ) );
+		}
+
+		return new MethodMetaData(
+				method,
+				parameterMetaData,
+				convertToMetaConstraints( descriptors, method ),
+				methodFragment.isCascading() || cascadedMembers.contains( method )
+		);
+	}
+
+	/**
+	 * Returns the descriptor to be used for a constraint taken from the fragment of the given class. Fragments
+	 * contain descriptors as seen from sub-types, so the descriptors of the bean class itself have to be rebound to
+	 * the origin {@link ConstraintOrigin#DEFINED_LOCALLY} and lose the implicit group of an interface.
+	 */
+	private <A extends Annotation> ConstraintDescriptorImpl<A> rebindDescriptor(Class<?> clazz, ConstraintDescriptorImpl<A> descriptor) {
+		if ( !clazz.equals( beanClass ) ) {
+			return descriptor;
+		}
+		return new ConstraintDescriptorImpl<A>(
+				descriptor.getAnnotation(), constraintHelper, descriptor.getElementType(), ConstraintOrigin.DEFINED_LOCALLY
+		);
 	}
 
 	/**
@@ -511,7 +813,11 @@ public final class BeanMetaDataImpl<T> implements BeanMetaData<T> {
 		}
 	}
 
-	private void initFieldConstraints(Class<?> clazz, AnnotationIgnores annotationIgnores, BeanMetaDataCache beanMetaDataCache) {
+	/**
+	 * @param indexEntry The meta data index or snapshot entry for the given class, {@code null} if the class is not
+	 * indexed. In the former case the annotations of fields which are not listed in the entry are not inspected.
+	 */
+	private void initFieldConstraints(Class<?> clazz, MetaDataIndex.TypeEntry indexEntry, AnnotationIgnores annotationIgnores, BeanMetaDataCache beanMetaDataCache) {
 		final Field[] fields = ReflectionHelper.getDeclaredFields( clazz );
 		for ( Field field : fields ) {
 			addToPropertyNameList( field );
@@ -542,6 +848,9 @@ public final class BeanMetaDataImpl<T> implements BeanMetaData<T> {
 					}
 				}
 			}
+			else if ( indexEntry != null && !indexEntry.isFieldConstrained( field.getName() ) ) {
+				fieldMetaData = Collections.emptyList();
+			}
 			else {
 				fieldMetaData = findConstraints( field, ElementType.FIELD );
 			}
@@ -555,7 +864,8 @@ public final class BeanMetaDataImpl<T> implements BeanMetaData<T> {
 			// HV-433 Make sure the field is marked as cascaded in case it was configured via xml/programmatic API or
 			// it hosts the @Valid annotation
 			boolean isCascadedField = metaDataCached && cachedMetaData.getCascadedMembers().contains( field );
-			if ( isCascadedField || field.isAnnotationPresent( Valid.class ) ) {
+			boolean mayHostValid = indexEntry == null || indexEntry.isFieldConstrained( field.getName() );
+			if ( isCascadedField || ( mayHostValid && field.isAnnotationPresent( Valid.class ) ) ) {
 				addCascadedMember( field );
 			}
 		}
@@ -568,7 +878,11 @@ public final class BeanMetaDataImpl<T> implements BeanMetaData<T> {
 		}
 	}
 
-	private void initMethodConstraints(Class<?> clazz, AnnotationIgnores annotationIgnores, BeanMetaDataCache beanMetaDataCache) {
+	/**
+	 * @param indexEntry The meta data index or snapshot entry for the given class, {@code null} if the class is not
+	 * indexed. In the former case the annotations of methods which are not listed in the entry are not inspected.
+	 */
+	private void initMethodConstraints(Class<?> clazz, MetaDataIndex.TypeEntry indexEntry, AnnotationIgnores annotationIgnores, BeanMetaDataCache beanMetaDataCache) {
 		final Method[] declaredMethods = ReflectionHelper.getDeclaredMethods( clazz );
 
 		for ( Method method : declaredMethods ) {
@@ -584,7 +898,12 @@ public final class BeanMetaDataImpl<T> implements BeanMetaData<T> {
 			MethodMetaData methodMetaData = getFromCache( clazz, method, beanMetaDataCache );
 
 			if ( methodMetaData == null ) {
-				methodMetaData = findMethodMetaData( method );
+				if ( indexEntry != null && !indexEntry.isMethodConstrained( method.getName() ) ) {
+					methodMetaData = getUnconstrainedMethodMetaData( method );
+				}
+				else {
+					methodMetaData = findMethodMetaData( method );
+				}
 			}
 
 			addMethodMetaConstraint( clazz, methodMetaData );
@@ -673,18 +992,7 @@ public final class BeanMetaDataImpl<T> implements BeanMetaData<T> {
 	 */
 	private <A extends Annotation> List<ConstraintDescriptorImpl<?>> findConstraintAnnotations(Class<?> clazz, A annotation, ElementType type) {
 		List<ConstraintDescriptorImpl<?>> constraintDescriptors = new ArrayList<ConstraintDescriptorImpl<?>>();
-
-		List<Annotation> constraints = new ArrayList<Annotation>();
-		Class<? extends Annotation> annotationType = annotation.annotationType();
-		if ( constraintHelper.isConstraintAnnotation( annotationType )
-				|| constraintHelper.isBuiltinConstraint( annotationType ) ) {
-			constraints.add( annotation );
-		}
-		else if ( constraintHelper.isMultiValueConstraint( annotationType ) ) {
-			constraints.addAll( constraintHelper.getMultiValueConstraints( annotation ) );
-		}
-
-		for ( Annotation constraint : constraints ) {
+		for ( Annotation constraint : constraintHelper.getConstraints( annotation ) ) {
 			final ConstraintDescriptorImpl<?> constraintDescriptor = buildConstraintDescriptor(
 					clazz, constraint, type
 			);
@@ -761,6 +1069,37 @@ public final class BeanMetaDataImpl<T> implements BeanMetaData<T> {
 		return new MethodMetaData( method, parameterConstraints, constraints, isCascading );
 	}
 
+	/**
+	 * Creates the meta data for a method which is known to host neither constraints nor the {@code @Valid}
+	 * annotation, without inspecting the method's annotations.
+	 *
+	 * @param method The method of interest.
+	 *
+	 * @return A meta data object for the given method.
+	 */
+	private MethodMetaData getUnconstrainedMethodMetaData(Method method) {
+		List<ParameterMetaData> parameterMetaData = newArrayList();
+		Class<?>[] parameterTypes = method.getParameterTypes();
+		for ( int i = 0; i < parameterTypes.length; i++ ) {
+			parameterMetaData.add(
+					new ParameterMetaData(
+							i,
+							parameterTypes[i],
+							DEFAULT_PARAMETER_NAME_PREFIX + i,
+							Collections.<MetaConstraint<?, ? extends Annotation>>emptyList(),
+							false
+					)
+			);
+		}
+
+		return new MethodMetaData(
+				method,
+				parameterMetaData,
+				Collections.<BeanMetaConstraint<?, ? extends Annotation>>emptyList(),
+				cascadedMembers.contains( method )
+		);
+	}
+
 	private List<BeanMetaConstraint<?, ? extends Annotation>> convertToMetaConstraints(List<ConstraintDescriptorImpl<?>> constraintsDescriptors, Method method) {
 
 		List<BeanMetaConstraint<?, ? extends Annotation>> constraints = new ArrayList<BeanMetaConstraint<?, ? extends Annotation>>();
@@ -851,6 +1190,35 @@ public final class BeanMetaDataImpl<T> implements BeanMetaData<T> {
 		);
 	}
 
+	/**
+	 * An entry of {@link #pendingMethodMetaData}, either holding created method meta data or the fragment of a method
+	 * whose meta data is created when building {@link #methodMetaData}.
+	 */
+	private final class PendingMethodMetaData {
+		private final MethodMetaData methodMetaData;
+		private final Class<?> clazz;
+		private final TypeFragment.MethodFragment methodFragment;
+
+		private PendingMethodMetaData(MethodMetaData methodMetaData) {
+			this.methodMetaData = methodMetaData;
+			this.clazz = null;
+			this.methodFragment = null;
+		}
+
+		private PendingMethodMetaData(Class<?> clazz, TypeFragment.MethodFragment methodFragment) {
+			this.methodMetaData = null;
+			this.clazz = clazz;
+			this.methodFragment = methodFragment;
+		}
+
+		private MethodMetaData getMethodMetaData() {
+			if ( methodMetaData != null ) {
+				return methodMetaData;
+			}
+			return createMethodMetaData( clazz, methodFragment );
+		}
+	}
+
 	@Override
 	public String toString() {
 		final StringBuilder sb = new StringBuilder();
@@ -858,7 +1226,9 @@ public final class BeanMetaDataImpl<T> implements BeanMetaData<T> {
 		sb.append( "{beanClass=" ).append( beanClass );
 		sb.append( ", beanDescriptor=" ).append( beanDescriptor );
 		sb.append( ", metaConstraints=" ).append( metaConstraints );
-		sb.append( ", methodMetaData=" ).append( methodMetaData );
+		// method meta data is only printed if built already, as toString() may be invoked e.g. for logging
+		Map<Method, AggregatedMethodMetaData> theMethodMetaData = methodMetaData;
+		sb.append( ", methodMetaData=" ).append( theMethodMetaData != null ? theMethodMetaData : "<not built>" );
 		sb.append( ", cascadedMembers=" ).append( cascadedMembers );
 		sb.append( ", propertyDescriptors=" ).append( propertyDescriptors );
 		sb.append( ", defaultGroupSequence=" ).append( getDefaultGroupSequence( null ) );
@@ -0,0 +1,48 @@
+/*
+* JBoss, Home of Professional Open Source
+* Copyright 2011, Red Hat, Inc. and/or its affiliates, and individual contributors
+* by the @authors tag. See the copyright.txt in the distribution for a
+* full listing of individual contributors.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+* http://www.apache.org/licenses/LICENSE-2.0
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.hibernate.validator.metadata;
+
+import java.lang.reflect.Member;
+
+/**
+ * Provides direct (non-reflective) access to the values of the constrained fields and getter methods of a given bean
+ * type. Implementations are generated at compile time by the Hibernate Validator annotation processor if the
+ * {@code generateValueAccessors} processor option is enabled. Generated implementations are named after the bean
+ * type with the suffix {@link BeanValueAccessorResolver#ACCESSOR_CLASS_SUFFIX} and reside in the package of the bean
+ * type.
+ */
+public interface BeanValueAccessor {
+
+	/**
+	 * Returns the index under which the value of the given member can be retrieved via {@link #getValue(int, Object)}.
+	 *
+	 * @param member A field or getter method.
+	 *
+	 * @return The index of the given member or -1 if this accessor does not provide access to the given member.
+	 */
+	int indexOf(Member member);
+
+	/**
+	 * Returns the value of the member with the given index.
+	 *
+	 * @param index The member index as returned by {@link #indexOf(Member)}.
+	 * @param bean The bean from which to retrieve the value.
+	 *
+	 * @return The value of the specified member.
+	 */
+	Object getValue(int index, Object bean);
+}
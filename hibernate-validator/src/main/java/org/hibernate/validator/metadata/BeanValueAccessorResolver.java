@@ -0,0 +1,92 @@
+/*
+* JBoss, Home of Professional Open Source
+* Copyright 2011, Red Hat, Inc. and/or its affiliates, and individual contributors
+* by the @authors tag. See the copyright.txt in the distribution for a
+* full listing of individual contributors.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+* http://www.apache.org/licenses/LICENSE-2.0
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.hibernate.validator.metadata;
+
+import java.lang.ref.WeakReference;
+
+import org.slf4j.Logger;
+
+import org.hibernate.validator.util.LoggerFactory;
+import org.hibernate.validator.util.ReflectionHelper;
+
+/**
+ * Discovers the {@link BeanValueAccessor} implementations generated by the annotation processor. Only types marked
+ * in the {@link MetaDataIndex} of their code source are considered, so no accessor lookup happens for other types.
+ */
+public final class BeanValueAccessorResolver {
+
+	private static final Logger log = LoggerFactory.make();
+
+	/**
+	 * The suffix appended to the binary name of a bean type in order to determine the name of its generated accessor.
+	 */
+	public static final String ACCESSOR_CLASS_SUFFIX = "_ValueAccessor";
+
+	/**
+	 * Weak keys and values in order not to prevent the unloading of bean types (the accessors reference the
+	 * bean type's class loader).
+	 */
+	private static final WeakKeyConcurrentMap<Class<?>, WeakReference<BeanValueAccessor>> accessors =
+			new WeakKeyConcurrentMap<Class<?>, WeakReference<BeanValueAccessor>>();
+
+	private BeanValueAccessorResolver() {
+	}
+
+	/**
+	 * @param beanClass A bean type.
+	 *
+	 * @return The generated accessor for the given type or {@code null} if there is no such accessor.
+	 */
+	public static BeanValueAccessor getAccessor(Class<?> beanClass) {
+		WeakReference<BeanValueAccessor> reference = accessors.get( beanClass );
+		BeanValueAccessor accessor = reference != null ? reference.get() : null;
+		if ( accessor == null ) {
+			MetaDataIndex.TypeEntry indexEntry = MetaDataIndex.getEntry( beanClass );
+			if ( indexEntry == null || !indexEntry.hasValueAccessor() ) {
+				return null;
+			}
+
+			accessor = loadAccessor( beanClass );
+			if ( accessor != null ) {
+				accessors.put( beanClass, new WeakReference<BeanValueAccessor>( accessor ) );
+			}
+		}
+		return accessor;
+	}
+
+	private static BeanValueAccessor loadAccessor(Class<?> beanClass) {
+		ClassLoader classLoader = ReflectionHelper.getClassLoaderFromClass( beanClass );
+
+		String accessorClassName = beanClass.getName() + ACCESSOR_CLASS_SUFFIX;
+		Class<?> accessorClass;
+		try {
+			accessorClass = Class.forName( accessorClassName, true, classLoader );
+		}
+		catch ( ClassNotFoundException e ) {
+			log.warn( "Unable to load value accessor {} listed in the meta data index.", accessorClassName );
+			return null;
+		}
+
+		if ( !BeanValueAccessor.class.isAssignableFrom( accessorClass ) ) {
+			log.warn( "{} does not implement {}, ignoring it.", accessorClassName, BeanValueAccessor.class.getName() );
+			return null;
+		}
+
+		log.debug( "Using generated value accessor {}", accessorClassName );
+		return (BeanValueAccessor) ReflectionHelper.newInstance( accessorClass, "value accessor" );
+	}
+}
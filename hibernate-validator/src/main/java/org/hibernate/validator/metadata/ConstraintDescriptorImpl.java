@@ -30,6 +30,7 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -47,6 +48,7 @@ import org.slf4j.Logger;
 
 import org.hibernate.validator.constraints.CompositionType;
 import org.hibernate.validator.constraints.ConstraintComposition;
+import org.hibernate.validator.engine.ConstraintTree;
 
 import static org.hibernate.validator.constraints.CompositionType.AND;
 
@@ -149,6 +151,16 @@ public class ConstraintDescriptorImpl<T extends Annotation> implements Constrain
 	//TODO Can be made transient since it is only used during object construction. It would be better if we would not have to pass it at all
 	private final transient ConstraintHelper constraintHelper;
 
+	/**
+	 * The parts of this descriptor shared with the descriptors of all equal constraint declarations.
+	 */
+	private final transient ConstraintHelper.SharedDescriptorParts<T> sharedParts;
+
+	/**
+	 * The constraint tree for this descriptor, sharing its validators with all equal descriptors. Retrieved lazily.
+	 */
+	private transient volatile ConstraintTree<T> constraintTree;
+
 	public ConstraintDescriptorImpl(T annotation, ConstraintHelper constraintHelper, Class<?> implicitGroup, ElementType type, ConstraintOrigin definedOn) {
 		this.annotation = annotation;
 		this.annotationType = ( Class<T> ) this.annotation.annotationType();
@@ -159,13 +171,36 @@ public class ConstraintDescriptorImpl<T extends Annotation> implements Constrain
 				ReportAsSingleViolation.class
 		);
 
-		// HV-181 - To avoid and thread visibility issues we are building the different data structures in tmp variables and
-		// then assign them to the final variables
-		this.attributes = buildAnnotationParameterMap( annotation );
-		this.groups = buildGroupSet( implicitGroup );
-		this.payloads = buildPayloadSet( annotation );
-		this.constraintValidatorDefinitionClasses = findConstraintValidatorClasses();
-		this.composingConstraints = parseComposingConstraints();
+		// the immutable parts are shared by all equal constraint declarations, so they are only built for the first one
+		Map<String, Object> attributes = buildAnnotationParameterMap( annotation );
+		ConstraintHelper.DescriptorKey key = new ConstraintHelper.DescriptorKey(
+				annotationType, attributes, implicitGroup, type, definedOn
+		);
+		ConstraintHelper.SharedDescriptorParts<T> parts = constraintHelper.getSharedDescriptorParts( key );
+		if ( parts == null ) {
+			// HV-181 - To avoid and thread visibility issues we are building the different data structures in tmp variables and
+			// then assign them to the final variables
+			Set<Class<?>> groups = buildGroupSet( implicitGroup );
+			Set<Class<? extends Payload>> payloads = buildPayloadSet( annotation );
+			parts = constraintHelper.putSharedDescriptorParts(
+					new ConstraintHelper.SharedDescriptorParts<T>(
+							key,
+							attributes,
+							groups,
+							payloads,
+							findConstraintValidatorClasses(),
+							parseComposingConstraints( groups, payloads ),
+							compositionType
+					)
+			);
+		}
+		this.sharedParts = parts;
+		this.attributes = parts.attributes;
+		this.groups = parts.groups;
+		this.payloads = parts.payloads;
+		this.constraintValidatorDefinitionClasses = parts.constraintValidatorClasses;
+		this.composingConstraints = parts.composingConstraints;
+		this.compositionType = parts.compositionType;
 	}
 
 	public ConstraintDescriptorImpl(T annotation, ConstraintHelper constraintHelper, ElementType type, ConstraintOrigin definedOn) {
@@ -241,6 +276,25 @@ public class ConstraintDescriptorImpl<T extends Annotation> implements Constrain
 		return Collections.unmodifiableList( constraintValidatorClasses );
 	}
 
+	/**
+	 * @return The constraint tree for this descriptor. The trees of descriptors with equal attributes, implicit group,
+	 *         element type and origin share their initialized validators.
+	 */
+	public ConstraintTree<T> getConstraintTree() {
+		ConstraintTree<T> tree = constraintTree;
+		if ( tree == null ) {
+			synchronized ( this ) {
+				tree = constraintTree;
+				if ( tree == null ) {
+					// the shared parts are not available after deserialization
+					tree = sharedParts != null ? sharedParts.getConstraintTree( this ) : new ConstraintTree<T>( this );
+					constraintTree = tree;
+				}
+			}
+		}
+		return tree;
+	}
+
 	public T getAnnotation() {
 		return annotation;
 	}
@@ -378,8 +432,9 @@ public class ConstraintDescriptorImpl<T extends Annotation> implements Constrain
 		}
 	}
 
-	private Set<ConstraintDescriptor<?>> parseComposingConstraints() {
-		Set<ConstraintDescriptor<?>> composingConstraintsSet = new HashSet<ConstraintDescriptor<?>>();
+	private Set<ConstraintDescriptor<?>> parseComposingConstraints(Set<Class<?>> groups, Set<Class<? extends Payload>> payloads) {
+		// keep the declaration order, so that the composing constraints of equal descriptors are iterated in the same order
+		Set<ConstraintDescriptor<?>> composingConstraintsSet = new LinkedHashSet<ConstraintDescriptor<?>>();
 		Map<ClassIndexWrapper, Map<String, Object>> overrideParameters = parseOverrideParameters();
 
 		for ( Annotation declaredAnnotation : annotationType.getDeclaredAnnotations() ) {
@@ -401,7 +456,7 @@ public class ConstraintDescriptorImpl<T extends Annotation> implements Constrain
 			if ( constraintHelper.isConstraintAnnotation( declaredAnnotationType )
 					|| constraintHelper.isBuiltinConstraint( declaredAnnotationType ) ) {
 				ConstraintDescriptorImpl<?> descriptor = createComposingConstraintDescriptor(
-						declaredAnnotation, overrideParameters, OVERRIDES_PARAMETER_DEFAULT_INDEX
+						declaredAnnotation, overrideParameters, OVERRIDES_PARAMETER_DEFAULT_INDEX, groups, payloads
 				);
 				composingConstraintsSet.add( descriptor );
 				if ( log.isDebugEnabled() ) {
@@ -413,7 +468,7 @@ public class ConstraintDescriptorImpl<T extends Annotation> implements Constrain
 				int index = 0;
 				for ( Annotation constraintAnnotation : multiValueConstraints ) {
 					ConstraintDescriptorImpl<?> descriptor = createComposingConstraintDescriptor(
-							constraintAnnotation, overrideParameters, index
+							constraintAnnotation, overrideParameters, index, groups, payloads
 					);
 					composingConstraintsSet.add( descriptor );
 					if ( log.isDebugEnabled() ) {
@@ -426,18 +481,20 @@ public class ConstraintDescriptorImpl<T extends Annotation> implements Constrain
 		return Collections.unmodifiableSet( composingConstraintsSet );
 	}
 
-	private <U extends Annotation> ConstraintDescriptorImpl<U> createComposingConstraintDescriptor(U declaredAnnotation, Map<ClassIndexWrapper, Map<String, Object>> overrideParameters, int index) {
+	private <U extends Annotation> ConstraintDescriptorImpl<U> createComposingConstraintDescriptor(U declaredAnnotation, Map<ClassIndexWrapper, Map<String, Object>> overrideParameters, int index, Set<Class<?>> groups, Set<Class<? extends Payload>> payloads) {
 		@SuppressWarnings("unchecked")
 		final Class<U> annotationType = ( Class<U> ) declaredAnnotation.annotationType();
 		return createComposingConstraintDescriptor(
 				overrideParameters,
 				index,
 				declaredAnnotation,
-				annotationType
+				annotationType,
+				groups,
+				payloads
 		);
 	}
 
-	private <U extends Annotation> ConstraintDescriptorImpl<U> createComposingConstraintDescriptor(Map<ClassIndexWrapper, Map<String, Object>> overrideParameters, int index, U constraintAnnotation, Class<U> annotationType) {
+	private <U extends Annotation> ConstraintDescriptorImpl<U> createComposingConstraintDescriptor(Map<ClassIndexWrapper, Map<String, Object>> overrideParameters, int index, U constraintAnnotation, Class<U> annotationType, Set<Class<?>> groups, Set<Class<? extends Payload>> payloads) {
 		// use a annotation proxy
 		AnnotationDescriptor<U> annotationDescriptor = new AnnotationDescriptor<U>(
 				annotationType, buildAnnotationParameterMap( constraintAnnotation )
@@ -17,14 +17,24 @@
 package org.hibernate.validator.metadata;
 
 import java.lang.annotation.Annotation;
+import java.lang.annotation.ElementType;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
 import java.util.concurrent.ConcurrentHashMap;
 import javax.validation.Constraint;
 import javax.validation.ConstraintDefinitionException;
 import javax.validation.ConstraintValidator;
+import javax.validation.Payload;
 import javax.validation.ValidationException;
 import javax.validation.constraints.AssertFalse;
 import javax.validation.constraints.AssertTrue;
@@ -39,7 +49,9 @@ import javax.validation.constraints.Null;
 import javax.validation.constraints.Past;
 import javax.validation.constraints.Pattern;
 import javax.validation.constraints.Size;
+import javax.validation.metadata.ConstraintDescriptor;
 
+import org.hibernate.validator.constraints.CompositionType;
 import org.hibernate.validator.constraints.ConstraintComposition;
 import org.hibernate.validator.constraints.impl.AssertFalseValidator;
 import org.hibernate.validator.constraints.impl.AssertTrueValidator;
@@ -75,6 +87,7 @@ import org.hibernate.validator.constraints.impl.SizeValidatorForArraysOfLong;
 import org.hibernate.validator.constraints.impl.SizeValidatorForCollection;
 import org.hibernate.validator.constraints.impl.SizeValidatorForMap;
 import org.hibernate.validator.constraints.impl.SizeValidatorForString;
+import org.hibernate.validator.engine.ConstraintTree;
 import org.hibernate.validator.util.ReflectionHelper;
 
 /**
@@ -93,6 +106,17 @@ public class ConstraintHelper {
 	private final ConcurrentHashMap<Class<? extends Annotation>, List<Class<? extends ConstraintValidator<? extends Annotation, ?>>>> constraintValidatorDefinitions =
 			new ConcurrentHashMap<Class<? extends Annotation>, List<Class<? extends ConstraintValidator<? extends Annotation, ?>>>>();
 
+	/**
+	 * The immutable parts of the constraint descriptors, shared by the descriptors of equal constraint declarations.
+	 * The parts are referenced weakly only, and the keys of this map are the references themselves, which don't
+	 * reference any classes. This way neither keys nor values prevent the class loaders of the constraint
+	 * annotations, groups or payloads from being unloaded, even if no further descriptor is created.
+	 */
+	private final ConcurrentHashMap<Object, SharedDescriptorPartsReference> sharedDescriptorParts =
+			new ConcurrentHashMap<Object, SharedDescriptorPartsReference>();
+
+	private final ReferenceQueue<SharedDescriptorParts<?>> clearedDescriptorParts = new ReferenceQueue<SharedDescriptorParts<?>>();
+
 	public ConstraintHelper() {
 		List<Class<? extends ConstraintValidator<?, ?>>> constraintList =
 				new ArrayList<Class<? extends ConstraintValidator<?, ?>>>();
@@ -258,6 +282,25 @@ public class ConstraintHelper {
 		return annotationList;
 	}
 
+	/**
+	 * Returns the constraints represented by the given annotation.
+	 *
+	 * @param annotation The annotation to examine.
+	 *
+	 * @return A list containing the given annotation if it is a constraint annotation, the contained constraints if
+	 *         it is a multi value constraint annotation or the empty list otherwise.
+	 */
+	public List<Annotation> getConstraints(Annotation annotation) {
+		Class<? extends Annotation> annotationType = annotation.annotationType();
+		if ( isConstraintAnnotation( annotationType ) || isBuiltinConstraint( annotationType ) ) {
+			return Collections.singletonList( annotation );
+		}
+		else if ( isMultiValueConstraint( annotationType ) ) {
+			return getMultiValueConstraints( annotation );
+		}
+		return Collections.emptyList();
+	}
+
 	/**
 	 * Checks whether the specified annotation is a valid constraint annotation. A constraint annotations has to
 	 * fulfill the following conditions:
@@ -393,6 +436,59 @@ public class ConstraintHelper {
 		return constraintValidatorDefinitions.containsKey( annotationClass );
 	}
 
+	/**
+	 * @param key Identifies a constraint declaration.
+	 *
+	 * @return The descriptor parts shared by the declarations equal to the given one or {@code null} if there are no
+	 *         such parts yet.
+	 */
+	@SuppressWarnings("unchecked")
+	<A extends Annotation> SharedDescriptorParts<A> getSharedDescriptorParts(DescriptorKey key) {
+		SharedDescriptorPartsReference reference = sharedDescriptorParts.get( key );
+		return reference != null ? ( SharedDescriptorParts<A> ) reference.get() : null;
+	}
+
+	/**
+	 * Registers the given descriptor parts, unless there are already parts for an equal constraint declaration.
+	 *
+	 * @param parts The parts of a newly created descriptor.
+	 *
+	 * @return The parts to be used by the descriptor, either the given or the already registered ones.
+	 */
+	@SuppressWarnings("unchecked")
+	<A extends Annotation> SharedDescriptorParts<A> putSharedDescriptorParts(SharedDescriptorParts<A> parts) {
+		expungeClearedDescriptorParts();
+
+		SharedDescriptorPartsReference newReference = new SharedDescriptorPartsReference( parts, clearedDescriptorParts );
+		while ( true ) {
+			SharedDescriptorPartsReference reference = sharedDescriptorParts.putIfAbsent( newReference, newReference );
+			if ( reference == null ) {
+				return parts;
+			}
+			SharedDescriptorParts<?> existingParts = reference.get();
+			if ( existingParts != null ) {
+				return ( SharedDescriptorParts<A> ) existingParts;
+			}
+			// the existing parts have been cleared by the garbage collector in the meantime
+			sharedDescriptorParts.remove( reference, reference );
+		}
+	}
+
+	/**
+	 * Discards all descriptor parts registered so far. Descriptors created afterwards share neither their parts nor
+	 * their validators with the existing descriptors.
+	 */
+	public void clearSharedDescriptorParts() {
+		sharedDescriptorParts.clear();
+	}
+
+	private void expungeClearedDescriptorParts() {
+		Reference<? extends SharedDescriptorParts<?>> reference;
+		while ( ( reference = clearedDescriptorParts.poll() ) != null ) {
+			sharedDescriptorParts.remove( reference, reference );
+		}
+	}
+
 	public boolean isConstraintComposition(Class<? extends Annotation> annotationType) {
 		return annotationType == ConstraintComposition.class;
 	}
@@ -408,4 +504,144 @@ public class ConstraintHelper {
 		}
 		return isInClasspath;
 	}
+
+	/**
+	 * Identifies a constraint declaration by the annotation type and attribute values, the implicit group, the
+	 * element type and the origin of its descriptor. Annotation proxies don't implement {@code equals()}, and array
+	 * valued attributes must be compared by content, so the attribute values are compared via
+	 * {@link Arrays#deepEquals(Object[], Object[])}.
+	 */
+	static final class DescriptorKey {
+		private final Class<? extends Annotation> annotationType;
+		private final Object[] attributeValues;
+		private final Class<?> implicitGroup;
+		private final ElementType elementType;
+		private final ConstraintOrigin definedOn;
+		private final int hashCode;
+
+		/**
+		 * @param annotationType The constraint annotation type.
+		 * @param attributes The annotation attributes, keyed by name.
+		 * @param implicitGroup The implicit group of the declaration, may be {@code null}.
+		 * @param elementType The element type of the declaration.
+		 * @param definedOn The origin of the declaration.
+		 */
+		DescriptorKey(Class<? extends Annotation> annotationType, Map<String, Object> attributes, Class<?> implicitGroup, ElementType elementType, ConstraintOrigin definedOn) {
+			this.annotationType = annotationType;
+			this.attributeValues = new TreeMap<String, Object>( attributes ).values().toArray();
+			this.implicitGroup = implicitGroup;
+			this.elementType = elementType;
+			this.definedOn = definedOn;
+
+			int result = annotationType.hashCode();
+			result = 31 * result + Arrays.deepHashCode( attributeValues );
+			result = 31 * result + ( implicitGroup != null ? implicitGroup.hashCode() : 0 );
+			result = 31 * result + ( elementType != null ? elementType.hashCode() : 0 );
+			result = 31 * result + ( definedOn != null ? definedOn.hashCode() : 0 );
+			this.hashCode = result;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if ( this == o ) {
+				return true;
+			}
+			DescriptorKey that;
+			if ( o instanceof DescriptorKey ) {
+				that = ( DescriptorKey ) o;
+			}
+			else if ( o instanceof SharedDescriptorPartsReference ) {
+				SharedDescriptorParts<?> parts = ( ( SharedDescriptorPartsReference ) o ).get();
+				if ( parts == null ) {
+					return false;
+				}
+				that = parts.key;
+			}
+			else {
+				return false;
+			}
+
+			return annotationType == that.annotationType
+					&& implicitGroup == that.implicitGroup
+					&& elementType == that.elementType
+					&& definedOn == that.definedOn
+					&& Arrays.deepEquals( attributeValues, that.attributeValues );
+		}
+
+		@Override
+		public int hashCode() {
+			return hashCode;
+		}
+	}
+
+	/**
+	 * The immutable parts of a constraint descriptor, shared by the descriptors of equal constraint declarations.
+	 * Also provides the tree owning the validators shared by these descriptors.
+	 */
+	static final class SharedDescriptorParts<A extends Annotation> {
+		private final DescriptorKey key;
+		final Map<String, Object> attributes;
+		final Set<Class<?>> groups;
+		final Set<Class<? extends Payload>> payloads;
+		final List<Class<? extends ConstraintValidator<A, ?>>> constraintValidatorClasses;
+		final Set<ConstraintDescriptor<?>> composingConstraints;
+		final CompositionType compositionType;
+
+		/**
+		 * The tree owning the validators shared by all descriptors with these parts, created by the first descriptor
+		 * requesting a tree. Guarded by the lock of this object.
+		 */
+		private ConstraintTree<A> validatorOwner;
+
+		SharedDescriptorParts(DescriptorKey key, Map<String, Object> attributes, Set<Class<?>> groups, Set<Class<? extends Payload>> payloads, List<Class<? extends ConstraintValidator<A, ?>>> constraintValidatorClasses, Set<ConstraintDescriptor<?>> composingConstraints, CompositionType compositionType) {
+			this.key = key;
+			this.attributes = attributes;
+			this.groups = groups;
+			this.payloads = payloads;
+			this.constraintValidatorClasses = constraintValidatorClasses;
+			this.composingConstraints = composingConstraints;
+			this.compositionType = compositionType;
+		}
+
+		/**
+		 * @param descriptor A descriptor with these parts.
+		 *
+		 * @return A constraint tree for the given descriptor, sharing its validators with the trees of all other
+		 *         descriptors with these parts.
+		 */
+		synchronized ConstraintTree<A> getConstraintTree(ConstraintDescriptorImpl<A> descriptor) {
+			if ( validatorOwner == null ) {
+				validatorOwner = new ConstraintTree<A>( descriptor );
+				return validatorOwner;
+			}
+			return new ConstraintTree<A>( descriptor, validatorOwner );
+		}
+	}
+
+	/**
+	 * Key and value of {@link #sharedDescriptorParts}. Only the hash code of the declaration is kept besides the
+	 * weak reference, so a cleared entry doesn't reference any classes.
+	 */
+	private static final class SharedDescriptorPartsReference extends WeakReference<SharedDescriptorParts<?>> {
+		private final int hashCode;
+
+		private SharedDescriptorPartsReference(SharedDescriptorParts<?> parts, ReferenceQueue<? super SharedDescriptorParts<?>> queue) {
+			super( parts, queue );
+			this.hashCode = parts.key.hashCode;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if ( this == o ) {
+				return true;
+			}
+			SharedDescriptorParts<?> parts = get();
+			return parts != null && parts.key.equals( o );
+		}
+
+		@Override
+		public int hashCode() {
+			return hashCode;
+		}
+	}
 }
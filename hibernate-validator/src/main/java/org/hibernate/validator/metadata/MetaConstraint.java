@@ -20,10 +20,12 @@ import java.lang.annotation.Annotation;
 import java.lang.annotation.ElementType;
 import java.lang.reflect.Type;
 import java.util.Set;
+import javax.validation.ConstraintValidatorFactory;
 
 import org.hibernate.validator.engine.ConstraintTree;
 import org.hibernate.validator.engine.ValidationContext;
 import org.hibernate.validator.engine.ValueContext;
+import org.hibernate.validator.engine.groups.GroupIds;
 import org.hibernate.validator.metadata.location.ConstraintLocation;
 
 /**
@@ -45,6 +47,11 @@ public abstract class MetaConstraint<T, A extends Annotation> {
 	 */
 	private final ConstraintDescriptorImpl<A> constraintDescriptor;
 
+	/**
+	 * The groups of this constraint as bit mask of their ids.
+	 */
+	private final long groupMask;
+
 	/**
 	 * The location at which this constraint is defined.
 	 */
@@ -56,9 +63,13 @@ public abstract class MetaConstraint<T, A extends Annotation> {
 	 */
 	public MetaConstraint(ConstraintDescriptorImpl<A> constraintDescriptor, ConstraintLocation location) {
 
-		this.constraintTree = new ConstraintTree<A>( constraintDescriptor );
+		this.constraintTree = constraintDescriptor.getConstraintTree();
 		this.constraintDescriptor = constraintDescriptor;
 		this.location = location;
+		this.groupMask = GroupIds.getMask( constraintDescriptor.getGroups() );
+
+		// the validated type of a constraint is fixed, so its validators can already be resolved here
+		constraintTree.resolveValidatorClasses( location.typeOfAnnotatedElement() );
 	}
 
 	/**
@@ -69,6 +80,19 @@ public abstract class MetaConstraint<T, A extends Annotation> {
 		return constraintDescriptor.getGroups();
 	}
 
+	/**
+	 * @param group The group of interest.
+	 * @param groupId The id of the given group as assigned by {@link GroupIds}.
+	 *
+	 * @return {@code true} if this constraint is part of the given group, {@code false} otherwise.
+	 */
+	public final boolean isPartOfGroup(Class<?> group, int groupId) {
+		if ( groupId >= 0 && groupId < GroupIds.MASK_SIZE ) {
+			return ( groupMask & ( 1L << groupId ) ) != 0;
+		}
+		return getGroupList().contains( group );
+	}
+
 	public final ConstraintDescriptorImpl<A> getDescriptor() {
 		return constraintDescriptor;
 	}
@@ -84,6 +108,15 @@ public abstract class MetaConstraint<T, A extends Annotation> {
 		return constraintTree.validateConstraints( executionContext, valueContext );
 	}
 
+	/**
+	 * Resolves and initializes the validators for this constraint ahead of its first validation.
+	 *
+	 * @param constraintValidatorFactory The factory to be used for instantiating the validators.
+	 */
+	public void initializeValidators(ConstraintValidatorFactory constraintValidatorFactory) {
+		constraintTree.initializeValidators( typeOfAnnotatedElement(), constraintValidatorFactory );
+	}
+
 	public ConstraintLocation getLocation() {
 		return location;
 	}
@@ -0,0 +1,350 @@
+/*
+* JBoss, Home of Professional Open Source
+* Copyright 2011, Red Hat, Inc. and/or its affiliates, and individual contributors
+* by the @authors tag. See the copyright.txt in the distribution for a
+* full listing of individual contributors.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+* http://www.apache.org/licenses/LICENSE-2.0
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.hibernate.validator.metadata;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.slf4j.Logger;
+
+import org.hibernate.validator.util.LoggerFactory;
+import org.hibernate.validator.util.ReflectionHelper;
+
+import static org.hibernate.validator.util.CollectionHelper.newArrayList;
+import static org.hibernate.validator.util.CollectionHelper.newHashSet;
+
+/**
+ * Provides access to the constraint meta data index written by the annotation processor (see the
+ * {@code generateMetaDataIndex} processor option).
+ * <p>
+ * For each type of a compilation the index lists the names of those fields and methods which host constraint
+ * annotations (at the member itself or, for methods, at one of its parameters) or the {@code @Valid} annotation. All
+ * other members of an indexed type are known to be unconstrained, so their annotations need not to be inspected when
+ * building the meta data of the type. Types not contained in the index are processed reflectively as usual. Types for
+ * which the annotation processor generated a {@link BeanValueAccessor} are marked with an {@code accessor} entry.
+ * </p>
+ * <p>
+ * An index is only applied to the types defined by the code source (JAR file or directory) containing it. In
+ * addition each entry carries a hash of the members of the indexed type and the annotation types given at them (see
+ * {@link #getMemberHash(Class)}). Entries whose hash doesn't match the loaded type, e.g. because the index is outdated,
+ * are ignored.
+ * </p>
+ */
+public final class MetaDataIndex {
+
+	private static final Logger log = LoggerFactory.make();
+
+	/**
+	 * The name of the index resource.
+	 */
+	public static final String INDEX_RESOURCE_NAME = "META-INF/hibernate-validator/metadata.index";
+
+	/**
+	 * The prefix of the member hash entry within the index.
+	 */
+	public static final String HASH_PREFIX = "hash:";
+
+	/**
+	 * The entry marking types with a generated {@link BeanValueAccessor}.
+	 */
+	public static final String ACCESSOR_ENTRY = "accessor";
+
+	/**
+	 * The prefix of field entries within the index.
+	 */
+	public static final String FIELD_PREFIX = "field:";
+
+	/**
+	 * The prefix of method entries within the index.
+	 */
+	public static final String METHOD_PREFIX = "method:";
+
+	/**
+	 * The loaded indexes, keyed by class loader and the location of the code source containing the index. Each index
+	 * is keyed by the binary type name.
+	 */
+	private static final WeakKeyConcurrentMap<ClassLoader, ConcurrentMap<String, ConcurrentMap<String, TypeEntry>>> indexes =
+			new WeakKeyConcurrentMap<ClassLoader, ConcurrentMap<String, ConcurrentMap<String, TypeEntry>>>();
+
+	private MetaDataIndex() {
+	}
+
+	/**
+	 * @param clazz The type of interest.
+	 *
+	 * @return The index entry for the given type or {@code null} if the type is not contained in the index of its
+	 *         code source or the entry doesn't match the type.
+	 */
+	public static TypeEntry getEntry(Class<?> clazz) {
+		ClassLoader classLoader = ReflectionHelper.getClassLoaderFromClass( clazz );
+		if ( classLoader == null ) {
+			return null;
+		}
+		URL location = ReflectionHelper.getCodeSourceLocation( clazz );
+		if ( location == null ) {
+			return null;
+		}
+
+		ConcurrentMap<String, ConcurrentMap<String, TypeEntry>> indexesByLocation = indexes.get( classLoader );
+		if ( indexesByLocation == null ) {
+			indexesByLocation = indexes.putIfAbsent(
+					classLoader, new ConcurrentHashMap<String, ConcurrentMap<String, TypeEntry>>()
+			);
+		}
+
+		String locationName = location.toExternalForm();
+		ConcurrentMap<String, TypeEntry> index = indexesByLocation.get( locationName );
+		if ( index == null ) {
+			index = loadIndex( location );
+			ConcurrentMap<String, TypeEntry> cachedIndex = indexesByLocation.putIfAbsent( locationName, index );
+			if ( cachedIndex != null ) {
+				index = cachedIndex;
+			}
+		}
+
+		TypeEntry entry = index.get( clazz.getName() );
+		return entry != null && entry.matches( clazz ) ? entry : null;
+	}
+
+	/**
+	 * Returns a hash of the fields and methods declared by the given type, covering their names and the names of the
+	 * annotation types given at them (for methods also at their parameters). Used to detect index entries not matching
+	 * the actually loaded type, e.g. because a constraint has been added to a member after the index was written. Must
+	 * be kept in sync with the calculation done by the annotation processor, which considers all annotations with
+	 * runtime retention. Annotations whose type can't be loaded are not visible here, so the hash won't match in this
+	 * case and the type is processed reflectively.
+	 *
+	 * @param clazz The type of interest.
+	 *
+	 * @return A hash of the members of the given type.
+	 */
+	public static String getMemberHash(Class<?> clazz) {
+		List<String> members = newArrayList();
+		for ( Field field : ReflectionHelper.getDeclaredFields( clazz ) ) {
+			if ( !field.isSynthetic() ) {
+				members.add( FIELD_PREFIX + field.getName() + getAnnotationNames( field.getDeclaredAnnotations() ) );
+			}
+		}
+		for ( Method method : ReflectionHelper.getDeclaredMethods( clazz ) ) {
+			if ( !method.isSynthetic() && !method.isBridge() ) {
+				StringBuilder member = new StringBuilder( METHOD_PREFIX ).append( method.getName() );
+				member.append( getAnnotationNames( method.getDeclaredAnnotations() ) );
+				Annotation[][] parameterAnnotations = method.getParameterAnnotations();
+				for ( int i = 0; i < parameterAnnotations.length; i++ ) {
+					if ( parameterAnnotations[i].length > 0 ) {
+						member.append( '#' ).append( i ).append( getAnnotationNames( parameterAnnotations[i] ) );
+					}
+				}
+				members.add( member.toString() );
+			}
+		}
+		return getMemberHash( members );
+	}
+
+	/**
+	 * @param members The member entries of a type in the form {@code field:<name>} or {@code method:<name>}, each
+	 * followed by the annotation names as returned by {@link #getAnnotationNames(Annotation[])}.
+	 *
+	 * @return A hash of the given member entries.
+	 */
+	static String getMemberHash(List<String> members) {
+		Collections.sort( members );
+		StringBuilder builder = new StringBuilder();
+		for ( String member : members ) {
+			builder.append( member ).append( ' ' );
+		}
+		return Integer.toHexString( builder.toString().hashCode() );
+	}
+
+	/**
+	 * @param annotations The annotations of a member or parameter.
+	 *
+	 * @return The sorted binary names of the given annotations' types, each prefixed with {@code @}.
+	 */
+	private static String getAnnotationNames(Annotation[] annotations) {
+		List<String> names = newArrayList();
+		for ( Annotation annotation : annotations ) {
+			names.add( annotation.annotationType().getName() );
+		}
+		Collections.sort( names );
+		StringBuilder builder = new StringBuilder();
+		for ( String name : names ) {
+			builder.append( '@' ).append( name );
+		}
+		return builder.toString();
+	}
+
+	private static ConcurrentMap<String, TypeEntry> loadIndex(URL location) {
+		ConcurrentMap<String, TypeEntry> index = new ConcurrentHashMap<String, TypeEntry>();
+
+		URL resource;
+		try {
+			resource = getIndexResource( location );
+		}
+		catch ( MalformedURLException e ) {
+			log.debug( "Unable to determine meta data index for {}: {}", location, e.getMessage() );
+			return index;
+		}
+
+		Properties properties = new Properties();
+		InputStream in = null;
+		try {
+			in = resource.openStream();
+			properties.load( in );
+			log.debug( "Loaded meta data index {}", resource );
+		}
+		catch ( FileNotFoundException e ) {
+			// the code source doesn't contain an index
+			return index;
+		}
+		catch ( IOException e ) {
+			log.debug( "Unable to load meta data index {}: {}", resource, e.getMessage() );
+			return index;
+		}
+		finally {
+			if ( in != null ) {
+				try {
+					in.close();
+				}
+				catch ( IOException e ) {
+					log.warn( "Unable to close input stream for {}", resource );
+				}
+			}
+		}
+
+		for ( String typeName : properties.stringPropertyNames() ) {
+			TypeEntry entry = new TypeEntry();
+			entry.addMembers( properties.getProperty( typeName ) );
+			index.put( typeName, entry );
+		}
+
+		return index;
+	}
+
+	private static URL getIndexResource(URL location) throws MalformedURLException {
+		String locationName = location.toExternalForm();
+		if ( locationName.endsWith( "/" ) ) {
+			return new URL( location, INDEX_RESOURCE_NAME );
+		}
+		else {
+			return new URL( "jar:" + locationName + "!/" + INDEX_RESOURCE_NAME );
+		}
+	}
+
+	/**
+	 * The index entry for a single type.
+	 */
+	public static final class TypeEntry {
+
+		private final Set<String> constrainedFields = newHashSet();
+
+		private final Set<String> constrainedMethods = newHashSet();
+
+		private boolean valueAccessor;
+
+		/**
+		 * The member hash of the indexed type, {@code null} for entries not read from an index.
+		 */
+		private String memberHash;
+
+		/**
+		 * Whether the member hash matches the loaded type; determined upon first access.
+		 */
+		private volatile Boolean matching;
+
+		TypeEntry() {
+		}
+
+		private void addMembers(String members) {
+			for ( String member : members.trim().split( "\\s+" ) ) {
+				if ( member.startsWith( HASH_PREFIX ) ) {
+					memberHash = member.substring( HASH_PREFIX.length() );
+				}
+				else if ( member.equals( ACCESSOR_ENTRY ) ) {
+					valueAccessor = true;
+				}
+				else {
+					addMember( member );
+				}
+			}
+		}
+
+		/**
+		 * @param member A member entry in the form {@code field:<name>} or {@code method:<name>}.
+		 */
+		void addMember(String member) {
+			if ( member.startsWith( FIELD_PREFIX ) ) {
+				constrainedFields.add( member.substring( FIELD_PREFIX.length() ) );
+			}
+			else if ( member.startsWith( METHOD_PREFIX ) ) {
+				constrainedMethods.add( member.substring( METHOD_PREFIX.length() ) );
+			}
+		}
+
+		private boolean matches(Class<?> clazz) {
+			Boolean result = matching;
+			if ( result == null ) {
+				result = memberHash != null && memberHash.equals( getMemberHash( clazz ) );
+				if ( !result ) {
+					log.warn( "Ignoring meta data index entry for {} as it doesn't match the loaded type.", clazz.getName() );
+				}
+				matching = result;
+			}
+			return result;
+		}
+
+		/**
+		 * @return {@code true} if a {@link BeanValueAccessor} has been generated for the indexed type, {@code false}
+		 *         otherwise.
+		 */
+		public boolean hasValueAccessor() {
+			return valueAccessor;
+		}
+
+		/**
+		 * @param name A field name.
+		 *
+		 * @return {@code true} if the field with the given name may host constraints or the {@code @Valid}
+		 *         annotation, {@code false} if it definitely doesn't.
+		 */
+		public boolean isFieldConstrained(String name) {
+			return constrainedFields.contains( name );
+		}
+
+		/**
+		 * @param name A method name.
+		 *
+		 * @return {@code true} if any method with the given name may host constraints (at the method itself or its
+		 *         parameters) or the {@code @Valid} annotation, {@code false} if none of them does.
+		 */
+		public boolean isMethodConstrained(String name) {
+			return constrainedMethods.contains( name );
+		}
+	}
+}
@@ -0,0 +1,473 @@
+/*
+* JBoss, Home of Professional Open Source
+* Copyright 2011, Red Hat, Inc. and/or its affiliates, and individual contributors
+* by the @authors tag. See the copyright.txt in the distribution for a
+* full listing of individual contributors.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+* http://www.apache.org/licenses/LICENSE-2.0
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.hibernate.validator.metadata;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Field;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.CRC32;
+
+import org.slf4j.Logger;
+
+import org.hibernate.validator.util.LoggerFactory;
+import org.hibernate.validator.util.ReflectionHelper;
+
+import static org.hibernate.validator.util.CollectionHelper.newArrayList;
+import static org.hibernate.validator.util.CollectionHelper.newHashMap;
+
+/**
+ * A binary snapshot of the constrained members of the bean types known to a {@link BeanMetaDataCache}. Loading such a
+ * snapshot allows to skip the inspection of unconstrained members when building the meta data after a restart, the
+ * same way as the build-time {@link MetaDataIndex} does.
+ * <p>
+ * Each type is stored together with the files it depends on: the JAR file or class file it has been loaded from and
+ * those of the annotation types used at its members. The entry of a type is only used if the last modification time
+ * and size of all these files are unchanged, otherwise the type is processed reflectively. This check requires no
+ * class file to be read. Entries are decoded lazily upon first access.
+ * </p>
+ * <p>
+ * The snapshot also stores a hash of the XML mappings it has been taken with (see
+ * {@link #getConfigurationHash(List)}), as members whose annotations are ignored via XML are not recorded as
+ * constrained. A snapshot must only be used if this hash matches the current configuration.
+ * </p>
+ */
+public final class MetaDataSnapshot {
+
+	private static final Logger log = LoggerFactory.make();
+
+	private static final int MAGIC_NUMBER = 0x48564d53;
+
+	private static final int FORMAT_VERSION = 2;
+
+	/**
+	 * Marks types which have been changed since the snapshot was taken.
+	 */
+	private static final MetaDataIndex.TypeEntry OUTDATED = new MetaDataIndex.TypeEntry();
+
+	private final long configurationHash;
+
+	/**
+	 * The paths of the files the entries depend on.
+	 */
+	private final String[] filePaths;
+
+	/**
+	 * The stamps of the files the entries depend on at the time the snapshot was taken.
+	 */
+	private final long[] fileStamps;
+
+	/**
+	 * Whether the stamp of a given file still matches, {@code null} if not determined yet.
+	 */
+	private final Boolean[] fileStates;
+
+	/**
+	 * The raw entries read from the snapshot, keyed by type name.
+	 */
+	private final Map<String, RawEntry> rawEntries;
+
+	/**
+	 * The entries which have been decoded and verified so far. Types whose files have been changed are mapped to
+	 * {@link #OUTDATED}.
+	 */
+	private final ConcurrentHashMap<String, MetaDataIndex.TypeEntry> entries = new ConcurrentHashMap<String, MetaDataIndex.TypeEntry>();
+
+	private MetaDataSnapshot(long configurationHash, String[] filePaths, long[] fileStamps, Map<String, RawEntry> rawEntries) {
+		this.configurationHash = configurationHash;
+		this.filePaths = filePaths;
+		this.fileStamps = fileStamps;
+		this.fileStates = new Boolean[filePaths.length];
+		this.rawEntries = rawEntries;
+	}
+
+	/**
+	 * Reads a snapshot written by {@link #write(BeanMetaDataCache, long, OutputStream)}.
+	 *
+	 * @param in The stream to read from. Will not be closed.
+	 *
+	 * @return The snapshot.
+	 *
+	 * @throws IOException in case the stream can't be read or contains no valid snapshot.
+	 */
+	public static MetaDataSnapshot read(InputStream in) throws IOException {
+		DataInputStream dataIn = new DataInputStream( new BufferedInputStream( in ) );
+
+		if ( dataIn.readInt() != MAGIC_NUMBER ) {
+			throw new IOException( "Not a meta data snapshot" );
+		}
+		int version = dataIn.readInt();
+		if ( version != FORMAT_VERSION ) {
+			throw new IOException( "Unsupported meta data snapshot version " + version );
+		}
+		long configurationHash = dataIn.readLong();
+
+		int fileCount = dataIn.readInt();
+		String[] filePaths = new String[fileCount];
+		long[] fileStamps = new long[fileCount];
+		for ( int i = 0; i < fileCount; i++ ) {
+			filePaths[i] = dataIn.readUTF();
+			fileStamps[i] = dataIn.readLong();
+		}
+
+		int typeCount = dataIn.readInt();
+		Map<String, RawEntry> rawEntries = newHashMap( typeCount );
+		for ( int i = 0; i < typeCount; i++ ) {
+			String typeName = dataIn.readUTF();
+			int[] files = new int[dataIn.readInt()];
+			for ( int j = 0; j < files.length; j++ ) {
+				files[j] = dataIn.readInt();
+				if ( files[j] < 0 || files[j] >= fileCount ) {
+					throw new IOException( "Invalid file reference " + files[j] );
+				}
+			}
+			if ( files.length == 0 ) {
+				throw new IOException( "Missing file reference for " + typeName );
+			}
+			String[] members = new String[dataIn.readInt()];
+			for ( int j = 0; j < members.length; j++ ) {
+				members[j] = dataIn.readUTF();
+			}
+			rawEntries.put( typeName, new RawEntry( files, members ) );
+		}
+
+		return new MetaDataSnapshot( configurationHash, filePaths, fileStamps, rawEntries );
+	}
+
+	/**
+	 * Writes a snapshot of the constrained members of all types contained in the given cache, including the types
+	 * of their hierarchies.
+	 *
+	 * @param beanMetaDataCache The cache to take the snapshot from.
+	 * @param configurationHash The hash of the configuration the meta data has been created with.
+	 * @param out The stream to write to. Will be flushed but not closed.
+	 *
+	 * @throws IOException in case the snapshot can't be written.
+	 */
+	public static void write(BeanMetaDataCache beanMetaDataCache, long configurationHash, OutputStream out) throws IOException {
+		Map<Class<?>, Set<String>> constrainedMembersByType = newHashMap();
+		for ( BeanMetaDataImpl<?> beanMetaData : beanMetaDataCache.getAllBeanMetaData() ) {
+			collectConstrainedMembers( beanMetaData, constrainedMembersByType );
+		}
+
+		// sorted in order to create a reproducible snapshot
+		Map<String, Class<?>> typesByName = new TreeMap<String, Class<?>>();
+		for ( Class<?> clazz : constrainedMembersByType.keySet() ) {
+			typesByName.put( clazz.getName(), clazz );
+		}
+
+		Map<String, Integer> fileIndexes = newHashMap();
+		List<File> files = newArrayList();
+		Map<String, RawEntry> rawEntries = new TreeMap<String, RawEntry>();
+		for ( Class<?> clazz : typesByName.values() ) {
+			Set<String> constrainedMembers = constrainedMembersByType.get( clazz );
+			File typeFile = getFile( clazz );
+			if ( typeFile == null ) {
+				continue;
+			}
+
+			Set<Integer> typeFiles = new TreeSet<Integer>();
+			int typeFileIndex = getFileIndex( typeFile, fileIndexes, files );
+			for ( Class<? extends Annotation> annotationType : getAnnotationTypes( clazz ) ) {
+				File annotationFile = getFile( annotationType );
+				if ( annotationFile != null ) {
+					typeFiles.add( getFileIndex( annotationFile, fileIndexes, files ) );
+				}
+			}
+			typeFiles.remove( typeFileIndex );
+
+			// the file of the type itself always comes first
+			int[] fileReferences = new int[typeFiles.size() + 1];
+			fileReferences[0] = typeFileIndex;
+			int i = 1;
+			for ( Integer fileIndex : typeFiles ) {
+				fileReferences[i++] = fileIndex;
+			}
+
+			rawEntries.put(
+					clazz.getName(),
+					new RawEntry( fileReferences, constrainedMembers.toArray( new String[constrainedMembers.size()] ) )
+			);
+		}
+
+		DataOutputStream dataOut = new DataOutputStream( out );
+		dataOut.writeInt( MAGIC_NUMBER );
+		dataOut.writeInt( FORMAT_VERSION );
+		dataOut.writeLong( configurationHash );
+		dataOut.writeInt( files.size() );
+		for ( File file : files ) {
+			dataOut.writeUTF( file.getPath() );
+			dataOut.writeLong( getStamp( file ) );
+		}
+		dataOut.writeInt( rawEntries.size() );
+		for ( Map.Entry<String, RawEntry> entry : rawEntries.entrySet() ) {
+			dataOut.writeUTF( entry.getKey() );
+			dataOut.writeInt( entry.getValue().files.length );
+			for ( int file : entry.getValue().files ) {
+				dataOut.writeInt( file );
+			}
+			dataOut.writeInt( entry.getValue().members.length );
+			for ( String member : entry.getValue().members ) {
+				dataOut.writeUTF( member );
+			}
+		}
+		dataOut.flush();
+	}
+
+	/**
+	 * Returns a hash of the given XML mappings, independent of their order.
+	 *
+	 * @param mappings The contents of the XML mappings.
+	 *
+	 * @return A hash of the given mappings.
+	 */
+	public static long getConfigurationHash(List<byte[]> mappings) {
+		long[] checksums = new long[mappings.size()];
+		for ( int i = 0; i < checksums.length; i++ ) {
+			CRC32 checksum = new CRC32();
+			checksum.update( mappings.get( i ) );
+			checksums[i] = checksum.getValue();
+		}
+		Arrays.sort( checksums );
+
+		CRC32 hash = new CRC32();
+		for ( long checksum : checksums ) {
+			for ( int shift = 0; shift < 32; shift += 8 ) {
+				hash.update( (int) ( checksum >>> shift ) );
+			}
+		}
+		return hash.getValue();
+	}
+
+	/**
+	 * @return The hash of the configuration this snapshot has been taken with.
+	 */
+	public long getConfigurationHash() {
+		return configurationHash;
+	}
+
+	/**
+	 * @param clazz The type of interest.
+	 *
+	 * @return The snapshot entry for the given type or {@code null} if the snapshot contains no entry for the type or
+	 *         the type has been changed since the snapshot was taken.
+	 */
+	public MetaDataIndex.TypeEntry getEntry(Class<?> clazz) {
+		MetaDataIndex.TypeEntry entry = entries.get( clazz.getName() );
+
+		if ( entry == null ) {
+			RawEntry rawEntry = rawEntries.get( clazz.getName() );
+			if ( rawEntry == null ) {
+				return null;
+			}
+
+			if ( !isUnchanged( clazz, rawEntry ) ) {
+				log.debug( "{} has been changed since the meta data snapshot was taken", clazz.getName() );
+				entry = OUTDATED;
+			}
+			else {
+				entry = new MetaDataIndex.TypeEntry();
+				for ( String member : rawEntry.members ) {
+					entry.addMember( member );
+				}
+			}
+
+			MetaDataIndex.TypeEntry cachedEntry = entries.putIfAbsent( clazz.getName(), entry );
+			if ( cachedEntry != null ) {
+				entry = cachedEntry;
+			}
+		}
+
+		return entry == OUTDATED ? null : entry;
+	}
+
+	/**
+	 * @return The number of types contained in this snapshot.
+	 */
+	public int size() {
+		return rawEntries.size();
+	}
+
+	private boolean isUnchanged(Class<?> clazz, RawEntry rawEntry) {
+		// the type must still be loaded from the same file
+		File typeFile = getFile( clazz );
+		if ( typeFile == null || !typeFile.getPath().equals( filePaths[rawEntry.files[0]] ) ) {
+			return false;
+		}
+
+		for ( int file : rawEntry.files ) {
+			Boolean unchanged = fileStates[file];
+			if ( unchanged == null ) {
+				unchanged = getStamp( new File( filePaths[file] ) ) == fileStamps[file];
+				fileStates[file] = unchanged;
+			}
+			if ( !unchanged ) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static int getFileIndex(File file, Map<String, Integer> fileIndexes, List<File> files) {
+		Integer index = fileIndexes.get( file.getPath() );
+		if ( index == null ) {
+			index = files.size();
+			files.add( file );
+			fileIndexes.put( file.getPath(), index );
+		}
+		return index;
+	}
+
+	/**
+	 * @param clazz The type of interest.
+	 *
+	 * @return The types of all annotations given at the type itself, its fields and methods and their parameters.
+	 */
+	private static Collection<Class<? extends Annotation>> getAnnotationTypes(Class<?> clazz) {
+		// sorted in order to create a reproducible snapshot
+		Map<String, Class<? extends Annotation>> annotationTypes = new TreeMap<String, Class<? extends Annotation>>();
+		addAnnotationTypes( clazz.getDeclaredAnnotations(), annotationTypes );
+		for ( Field field : ReflectionHelper.getDeclaredFields( clazz ) ) {
+			addAnnotationTypes( field.getDeclaredAnnotations(), annotationTypes );
+		}
+		for ( Method method : ReflectionHelper.getDeclaredMethods( clazz ) ) {
+			addAnnotationTypes( method.getDeclaredAnnotations(), annotationTypes );
+			for ( Annotation[] parameterAnnotations : method.getParameterAnnotations() ) {
+				addAnnotationTypes( parameterAnnotations, annotationTypes );
+			}
+		}
+		return annotationTypes.values();
+	}
+
+	private static void addAnnotationTypes(Annotation[] annotations, Map<String, Class<? extends Annotation>> annotationTypes) {
+		for ( Annotation annotation : annotations ) {
+			annotationTypes.put( annotation.annotationType().getName(), annotation.annotationType() );
+		}
+	}
+
+	/**
+	 * @param clazz The type of interest.
+	 *
+	 * @return The JAR file or class file the given type has been loaded from or {@code null} if it can't be determined
+	 *         (e.g. for types loaded by the bootstrap class loader or generated at runtime).
+	 */
+	private static File getFile(Class<?> clazz) {
+		URL location = ReflectionHelper.getCodeSourceLocation( clazz );
+		if ( location == null || !"file".equals( location.getProtocol() ) ) {
+			return null;
+		}
+
+		File file;
+		try {
+			file = new File( location.toURI() );
+		}
+		catch ( URISyntaxException e ) {
+			return null;
+		}
+		catch ( IllegalArgumentException e ) {
+			return null;
+		}
+
+		if ( file.isDirectory() ) {
+			file = new File( file, clazz.getName().replace( '.', '/' ) + ".class" );
+		}
+		return file.isFile() ? file : null;
+	}
+
+	/**
+	 * @return A stamp of the given file, based on its last modification time and size.
+	 */
+	private static long getStamp(File file) {
+		return 31 * file.lastModified() + file.length();
+	}
+
+	private static void collectConstrainedMembers(BeanMetaDataImpl<?> beanMetaData, Map<Class<?>, Set<String>> constrainedMembersByType) {
+		for ( Class<?> clazz : ReflectionHelper.computeClassHierarchy( beanMetaData.getBeanClass() ) ) {
+			getConstrainedMembers( clazz, constrainedMembersByType );
+		}
+
+		for ( List<? extends BeanMetaConstraint<?, ? extends Annotation>> constraints : beanMetaData.getMetaConstraintsAsMap()
+				.values() ) {
+			for ( BeanMetaConstraint<?, ? extends Annotation> constraint : constraints ) {
+				addMember( constraint.getLocation().getMember(), constrainedMembersByType );
+			}
+		}
+
+		for ( Member member : beanMetaData.getCascadedMembers() ) {
+			addMember( member, constrainedMembersByType );
+		}
+
+		for ( AggregatedMethodMetaData aggregatedMethodMetaData : beanMetaData.getAllMethodMetaData() ) {
+			for ( MethodMetaData methodMetaData : aggregatedMethodMetaData.getAllMethodMetaData() ) {
+				if ( methodMetaData.isConstrained() ) {
+					addMember( methodMetaData.getMethod(), constrainedMembersByType );
+				}
+			}
+		}
+	}
+
+	private static void addMember(Member member, Map<Class<?>, Set<String>> constrainedMembersByType) {
+		// class-level constraints have no member
+		if ( member == null ) {
+			return;
+		}
+
+		Set<String> constrainedMembers = getConstrainedMembers( member.getDeclaringClass(), constrainedMembersByType );
+		if ( member instanceof Field ) {
+			constrainedMembers.add( MetaDataIndex.FIELD_PREFIX + member.getName() );
+		}
+		else if ( member instanceof Method ) {
+			constrainedMembers.add( MetaDataIndex.METHOD_PREFIX + member.getName() );
+		}
+	}
+
+	private static Set<String> getConstrainedMembers(Class<?> clazz, Map<Class<?>, Set<String>> constrainedMembersByType) {
+		Set<String> constrainedMembers = constrainedMembersByType.get( clazz );
+		if ( constrainedMembers == null ) {
+			constrainedMembers = new TreeSet<String>();
+			constrainedMembersByType.put( clazz, constrainedMembers );
+		}
+		return constrainedMembers;
+	}
+
+	private static final class RawEntry {
+		private final int[] files;
+		private final String[] members;
+
+		private RawEntry(int[] files, String[] members) {
+			this.files = files;
+			this.members = members;
+		}
+	}
+}
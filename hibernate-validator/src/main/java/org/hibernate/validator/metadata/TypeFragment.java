@@ -0,0 +1,266 @@
+/*
+* JBoss, Home of Professional Open Source
+* Copyright 2011, Red Hat, Inc. and/or its affiliates, and individual contributors
+* by the @authors tag. See the copyright.txt in the distribution for a
+* full listing of individual contributors.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+* http://www.apache.org/licenses/LICENSE-2.0
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.hibernate.validator.metadata;
+
+import java.lang.annotation.Annotation;
+import java.lang.annotation.ElementType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Collections;
+import java.util.List;
+import javax.validation.Valid;
+
+import org.hibernate.validator.util.ReflectionHelper;
+
+import static org.hibernate.validator.util.CollectionHelper.newArrayList;
+
+/**
+ * The constraint related meta data declared by a single type of a hierarchy, i.e. its class-level constraints and the
+ * constraints and {@code @Valid} annotations of its declared fields and methods. A fragment is created once per
+ * type and shared by the meta data of all bean types having this type in their hierarchy, so the annotations of a
+ * common super type are inspected only once.
+ * <p>
+ * The contained constraint descriptors have the origin {@link ConstraintOrigin#DEFINED_IN_HIERARCHY} and, if the
+ * type is an interface, the interface as implicit group. When building the meta data of the type itself, they have
+ * to be rebound to {@link ConstraintOrigin#DEFINED_LOCALLY}.
+ * </p>
+ */
+final class TypeFragment {
+
+	private final Class<?> type;
+
+	private final List<ConstraintDescriptorImpl<?>> classConstraints;
+
+	private final List<FieldFragment> fields;
+
+	private final List<MethodFragment> methods;
+
+	private TypeFragment(Class<?> type, List<ConstraintDescriptorImpl<?>> classConstraints, List<FieldFragment> fields, List<MethodFragment> methods) {
+		this.type = type;
+		this.classConstraints = classConstraints;
+		this.fields = fields;
+		this.methods = methods;
+	}
+
+	/**
+	 * Creates the fragment for the given type by inspecting its annotations and the annotations of its declared
+	 * members.
+	 *
+	 * @param type The type of interest.
+	 * @param indexEntry The meta data index or snapshot entry for the given type, {@code null} if the type is not
+	 * indexed. In the former case the annotations of members which are not listed in the entry are not inspected.
+	 * @param constraintHelper The constraint helper used to create the constraint descriptors.
+	 *
+	 * @return The fragment for the given type.
+	 */
+	static TypeFragment create(Class<?> type, MetaDataIndex.TypeEntry indexEntry, ConstraintHelper constraintHelper) {
+		Class<?> implicitGroup = type.isInterface() ? type : null;
+
+		List<ConstraintDescriptorImpl<?>> classConstraints = findConstraints(
+				type.getAnnotations(), implicitGroup, ElementType.TYPE, constraintHelper
+		);
+
+		List<FieldFragment> fields = newArrayList();
+		for ( Field field : ReflectionHelper.getDeclaredFields( type ) ) {
+			// HV-172
+			if ( Modifier.isStatic( field.getModifiers() )
+					|| ( indexEntry != null && !indexEntry.isFieldConstrained( field.getName() ) ) ) {
+				fields.add( new FieldFragment( field, Collections.<ConstraintDescriptorImpl<?>>emptyList(), false ) );
+			}
+			else {
+				fields.add(
+						new FieldFragment(
+								field,
+								findConstraints( field.getAnnotations(), implicitGroup, ElementType.FIELD, constraintHelper ),
+								field.isAnnotationPresent( Valid.class )
+						)
+				);
+			}
+		}
+
+		List<MethodFragment> methods = newArrayList();
+		for ( Method method : ReflectionHelper.getDeclaredMethods( type ) ) {
+			// HV-172; ignoring synthetic methods (inserted by the compiler), as they can't have any constraints
+			// anyway and possibly hide the actual method with the same signature in the built meta model
+			if ( Modifier.isStatic( method.getModifiers() ) || method.isSynthetic() ) {
+				continue;
+			}
+
+			if ( indexEntry != null && !indexEntry.isMethodConstrained( method.getName() ) ) {
+				methods.add( MethodFragment.unconstrained( method ) );
+			}
+			else {
+				methods.add( MethodFragment.create( method, implicitGroup, constraintHelper ) );
+			}
+		}
+
+		return new TypeFragment( type, classConstraints, fields, methods );
+	}
+
+	private static List<ConstraintDescriptorImpl<?>> findConstraints(Annotation[] annotations, Class<?> implicitGroup, ElementType elementType, ConstraintHelper constraintHelper) {
+		List<ConstraintDescriptorImpl<?>> descriptors = null;
+		for ( Annotation annotation : annotations ) {
+			for ( Annotation constraint : constraintHelper.getConstraints( annotation ) ) {
+				if ( descriptors == null ) {
+					descriptors = newArrayList();
+				}
+				descriptors.add(
+						new ConstraintDescriptorImpl<Annotation>(
+								constraint, constraintHelper, implicitGroup, elementType, ConstraintOrigin.DEFINED_IN_HIERARCHY
+						)
+				);
+			}
+		}
+
+		if ( descriptors == null ) {
+			return Collections.emptyList();
+		}
+		return Collections.unmodifiableList( descriptors );
+	}
+
+	Class<?> getType() {
+		return type;
+	}
+
+	List<ConstraintDescriptorImpl<?>> getClassConstraints() {
+		return classConstraints;
+	}
+
+	List<FieldFragment> getFields() {
+		return fields;
+	}
+
+	List<MethodFragment> getMethods() {
+		return methods;
+	}
+
+	/**
+	 * The constraints of a declared field. Static fields are contained as well, as they contribute to the property
+	 * names of a type, but never have any constraints.
+	 */
+	static final class FieldFragment {
+
+		private final Field field;
+
+		private final List<ConstraintDescriptorImpl<?>> constraints;
+
+		private final boolean cascading;
+
+		private FieldFragment(Field field, List<ConstraintDescriptorImpl<?>> constraints, boolean cascading) {
+			this.field = field;
+			this.constraints = constraints;
+			this.cascading = cascading;
+		}
+
+		Field getField() {
+			return field;
+		}
+
+		List<ConstraintDescriptorImpl<?>> getConstraints() {
+			return constraints;
+		}
+
+		boolean isCascading() {
+			return cascading;
+		}
+	}
+
+	/**
+	 * The return value and parameter constraints of a declared, non-static method.
+	 */
+	static final class MethodFragment {
+
+		private final Method method;
+
+		private final List<ConstraintDescriptorImpl<?>> constraints;
+
+		private final List<List<ConstraintDescriptorImpl<?>>> parameterConstraints;
+
+		private final boolean[] cascadingParameters;
+
+		private final boolean cascading;
+
+		private MethodFragment(Method method, List<ConstraintDescriptorImpl<?>> constraints, List<List<ConstraintDescriptorImpl<?>>> parameterConstraints, boolean[] cascadingParameters, boolean cascading) {
+			this.method = method;
+			this.constraints = constraints;
+			this.parameterConstraints = parameterConstraints;
+			this.cascadingParameters = cascadingParameters;
+			this.cascading = cascading;
+		}
+
+		private static MethodFragment create(Method method, Class<?> implicitGroup, ConstraintHelper constraintHelper) {
+			Annotation[][] parameterAnnotations = method.getParameterAnnotations();
+			List<List<ConstraintDescriptorImpl<?>>> parameterConstraints = newArrayList( parameterAnnotations.length );
+			boolean[] cascadingParameters = new boolean[parameterAnnotations.length];
+			for ( int i = 0; i < parameterAnnotations.length; i++ ) {
+				parameterConstraints.add(
+						findConstraints( parameterAnnotations[i], implicitGroup, ElementType.PARAMETER, constraintHelper )
+				);
+				for ( Annotation annotation : parameterAnnotations[i] ) {
+					if ( annotation.annotationType().equals( Valid.class ) ) {
+						cascadingParameters[i] = true;
+					}
+				}
+			}
+
+			return new MethodFragment(
+					method,
+					findConstraints( method.getAnnotations(), implicitGroup, ElementType.METHOD, constraintHelper ),
+					parameterConstraints,
+					cascadingParameters,
+					method.isAnnotationPresent( Valid.class )
+			);
+		}
+
+		private static MethodFragment unconstrained(Method method) {
+			int parameterCount = method.getParameterTypes().length;
+			List<List<ConstraintDescriptorImpl<?>>> parameterConstraints = newArrayList( parameterCount );
+			for ( int i = 0; i < parameterCount; i++ ) {
+				parameterConstraints.add( Collections.<ConstraintDescriptorImpl<?>>emptyList() );
+			}
+
+			return new MethodFragment(
+					method,
+					Collections.<ConstraintDescriptorImpl<?>>emptyList(),
+					parameterConstraints,
+					new boolean[parameterCount],
+					false
+			);
+		}
+
+		Method getMethod() {
+			return method;
+		}
+
+		List<ConstraintDescriptorImpl<?>> getConstraints() {
+			return constraints;
+		}
+
+		List<ConstraintDescriptorImpl<?>> getParameterConstraints(int parameterIndex) {
+			return parameterConstraints.get( parameterIndex );
+		}
+
+		boolean isCascadingParameter(int parameterIndex) {
+			return cascadingParameters[parameterIndex];
+		}
+
+		boolean isCascading() {
+			return cascading;
+		}
+	}
+}
@@ -0,0 +1,137 @@
+/*
+* JBoss, Home of Professional Open Source
+* Copyright 2011, Red Hat, Inc. and/or its affiliates, and individual contributors
+* by the @authors tag. See the copyright.txt in the distribution for a
+* full listing of individual contributors.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+* http://www.apache.org/licenses/LICENSE-2.0
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.hibernate.validator.metadata;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * A concurrent map which references its keys weakly, comparing them by identity. Used for caches keyed by classes or
+ * class loaders, which must not prevent the unloading of these classes. Values must not reference their keys
+ * strongly, otherwise the entries will never be removed.
+ */
+final class WeakKeyConcurrentMap<K, V> {
+
+	private final ConcurrentMap<Object, V> map = new ConcurrentHashMap<Object, V>();
+
+	private final ReferenceQueue<K> clearedKeys = new ReferenceQueue<K>();
+
+	/**
+	 * @param key The key of interest.
+	 *
+	 * @return The value for the given key or {@code null} if there is no such value.
+	 */
+	V get(K key) {
+		return map.get( new LookupKey( key ) );
+	}
+
+	/**
+	 * Adds the given value unless there is already a value for the given key.
+	 *
+	 * @param key The key.
+	 * @param value The value to add.
+	 *
+	 * @return The value contained in this map for the given key after this invocation.
+	 */
+	V putIfAbsent(K key, V value) {
+		expungeClearedKeys();
+		V existingValue = map.putIfAbsent( new WeakKey<K>( key, clearedKeys ), value );
+		return existingValue != null ? existingValue : value;
+	}
+
+	/**
+	 * Replaces the value for the given key.
+	 *
+	 * @param key The key.
+	 * @param value The new value.
+	 */
+	void put(K key, V value) {
+		expungeClearedKeys();
+		map.put( new WeakKey<K>( key, clearedKeys ), value );
+	}
+
+	int size() {
+		expungeClearedKeys();
+		return map.size();
+	}
+
+	private void expungeClearedKeys() {
+		Reference<? extends K> reference;
+		while ( ( reference = clearedKeys.poll() ) != null ) {
+			map.remove( reference );
+		}
+	}
+
+	private interface Key {
+		Object get();
+	}
+
+	private static boolean keysEqual(Key key, Object o) {
+		if ( key == o ) {
+			return true;
+		}
+		if ( !( o instanceof Key ) ) {
+			return false;
+		}
+		Object referent = key.get();
+		return referent != null && referent == ( (Key) o ).get();
+	}
+
+	private static final class WeakKey<K> extends WeakReference<K> implements Key {
+		private final int hashCode;
+
+		private WeakKey(K key, ReferenceQueue<K> queue) {
+			super( key, queue );
+			this.hashCode = System.identityHashCode( key );
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			return keysEqual( this, o );
+		}
+
+		@Override
+		public int hashCode() {
+			return hashCode;
+		}
+	}
+
+	private static final class LookupKey implements Key {
+		private final Object key;
+
+		private LookupKey(Object key) {
+			this.key = key;
+		}
+
+		public Object get() {
+			return key;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			return keysEqual( this, o );
+		}
+
+		@Override
+		public int hashCode() {
+			return System.identityHashCode( key );
+		}
+	}
+}
@@ -46,6 +46,11 @@ public class BeanConstraintLocation implements ConstraintLocation {
 	 */
 	private final Class<?> beanClass;
 
+	/**
+	 * The type to be used for validator resolution for the constraint.
+	 */
+	private final Type typeOfAnnotatedElement;
+
 	/**
 	 * @param beanClass The class in which the constraint is defined on
 	 * @param member The member on which the constraint is defined on, {@code null} if it is a class constraint}
@@ -61,6 +66,7 @@ public class BeanConstraintLocation implements ConstraintLocation {
 			this.propertyName = null;
 		}
 		this.beanClass = beanClass;
+		this.typeOfAnnotatedElement = determineTypeOfAnnotatedElement();
 	}
 
 	public Class<?> getBeanClass() {
@@ -80,6 +86,10 @@ public class BeanConstraintLocation implements ConstraintLocation {
 	}
 
 	public Type typeOfAnnotatedElement() {
+		return typeOfAnnotatedElement;
+	}
+
+	private Type determineTypeOfAnnotatedElement() {
 		Type t;
 
 		if ( member == null ) {
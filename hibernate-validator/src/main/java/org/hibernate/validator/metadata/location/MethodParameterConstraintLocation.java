@@ -33,6 +33,8 @@ public class MethodParameterConstraintLocation implements ConstraintLocation {
 
 	private final int parameterIndex;
 
+	private final Type typeOfAnnotatedElement;
+
 	/**
 	 * Creates a new {@link MethodParameterConstraintLocation}.
 	 *
@@ -45,9 +47,14 @@ public class MethodParameterConstraintLocation implements ConstraintLocation {
 
 		this.method = method;
 		this.parameterIndex = parameterIndex;
+		this.typeOfAnnotatedElement = determineTypeOfAnnotatedElement();
 	}
 
 	public Type typeOfAnnotatedElement() {
+		return typeOfAnnotatedElement;
+	}
+
+	private Type determineTypeOfAnnotatedElement() {
 		Type t = null;
 
 		t = ReflectionHelper.typeOf( method, parameterIndex );
@@ -0,0 +1,306 @@
+/*
+* JBoss, Home of Professional Open Source
+* Copyright 2011, Red Hat, Inc. and/or its affiliates, and individual contributors
+* by the @authors tag. See the copyright.txt in the distribution for a
+* full listing of individual contributors.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+* http://www.apache.org/licenses/LICENSE-2.0
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.hibernate.validator.serialization;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.lang.reflect.Array;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import javax.validation.ValidationException;
+import javax.validation.Validator;
+import javax.validation.metadata.BeanDescriptor;
+import javax.validation.metadata.ConstraintDescriptor;
+import javax.validation.metadata.ElementDescriptor;
+import javax.validation.metadata.PropertyDescriptor;
+
+import org.hibernate.validator.metadata.ConstraintDescriptorImpl;
+import org.hibernate.validator.method.MethodValidator;
+import org.hibernate.validator.method.metadata.MethodDescriptor;
+import org.hibernate.validator.method.metadata.ParameterDescriptor;
+import org.hibernate.validator.util.Contracts;
+
+/**
+ * A registry of constraint descriptors which allows to serialize constraint descriptors by reference instead of
+ * serializing the complete descriptor graph (including annotation proxies and composing constraints).
+ * <p>
+ * Each registered descriptor is identified by a key derived from its constraint type, attributes, effective groups
+ * (which include the implicit group of constraints declared on interfaces), element type and origin. The key is
+ * independent of the JVM the registry lives in, so two registries into which the same bean types have been
+ * registered resolve a given key to equivalent descriptors. Object streams created via
+ * {@link #createObjectOutputStream(OutputStream)} write registered descriptors as key only, streams created via
+ * {@link #createObjectInputStream(InputStream)} resolve the keys against this registry. Descriptors which are not
+ * registered are serialized in their complete form.
+ * </p>
+ */
+public class ConstraintDescriptorRegistry {
+
+	private final Validator validator;
+	private final ConcurrentMap<String, ConstraintDescriptor<?>> descriptorsByKey = new ConcurrentHashMap<String, ConstraintDescriptor<?>>();
+	private final ConcurrentMap<ConstraintDescriptor<?>, String> keysByDescriptor = new ConcurrentHashMap<ConstraintDescriptor<?>, String>();
+
+	/**
+	 * @param validator The validator used to retrieve the constraint descriptors of registered bean types.
+	 */
+	public ConstraintDescriptorRegistry(Validator validator) {
+		Contracts.assertNotNull( validator, "The validator cannot be null." );
+		this.validator = validator;
+	}
+
+	/**
+	 * Registers all class, property, method parameter and method return value constraints of the given bean types.
+	 *
+	 * @param beanClasses The bean types to register.
+	 */
+	public void register(Class<?>... beanClasses) {
+		MethodValidator methodValidator = getMethodValidator();
+		for ( Class<?> beanClass : beanClasses ) {
+			BeanDescriptor beanDescriptor = validator.getConstraintsForClass( beanClass );
+			register( beanDescriptor );
+			for ( PropertyDescriptor propertyDescriptor : beanDescriptor.getConstrainedProperties() ) {
+				register( propertyDescriptor );
+			}
+
+			if ( methodValidator != null ) {
+				for ( MethodDescriptor methodDescriptor : methodValidator.getConstraintsForType( beanClass )
+						.getConstrainedMethods() ) {
+					register( methodDescriptor );
+					for ( ParameterDescriptor parameterDescriptor : methodDescriptor.getParameterConstraints() ) {
+						register( parameterDescriptor );
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Registers the given constraint descriptor and all its composing constraint descriptors.
+	 *
+	 * @param descriptor The descriptor to register.
+	 *
+	 * @return The key of the given descriptor.
+	 */
+	public String register(ConstraintDescriptor<?> descriptor) {
+		Contracts.assertNotNull( descriptor, "The constraint descriptor cannot be null." );
+
+		String key = keysByDescriptor.get( descriptor );
+		if ( key != null ) {
+			return key;
+		}
+
+		key = createKey( descriptor );
+		ConstraintDescriptor<?> existingDescriptor = descriptorsByKey.putIfAbsent( key, descriptor );
+		keysByDescriptor.put( descriptor, key );
+		if ( existingDescriptor == null ) {
+			for ( ConstraintDescriptor<?> composingDescriptor : descriptor.getComposingConstraints() ) {
+				register( composingDescriptor );
+			}
+		}
+		return key;
+	}
+
+	/**
+	 * @param descriptor A constraint descriptor.
+	 *
+	 * @return The key of the given descriptor or {@code null} if the descriptor is not registered.
+	 */
+	public String getKey(ConstraintDescriptor<?> descriptor) {
+		return keysByDescriptor.get( descriptor );
+	}
+
+	/**
+	 * @param key A descriptor key.
+	 *
+	 * @return The descriptor registered for the given key or {@code null} if there is no such descriptor.
+	 */
+	public ConstraintDescriptor<?> getDescriptor(String key) {
+		return descriptorsByKey.get( key );
+	}
+
+	/**
+	 * Creates an object output stream which writes registered constraint descriptors by reference.
+	 *
+	 * @param out The underlying stream.
+	 *
+	 * @return An object output stream writing to the given stream.
+	 *
+	 * @throws IOException in case the stream header cannot be written.
+	 */
+	public ObjectOutputStream createObjectOutputStream(OutputStream out) throws IOException {
+		return new DescriptorReplacingObjectOutputStream( out );
+	}
+
+	/**
+	 * Creates an object input stream which resolves constraint descriptor references against this registry.
+	 *
+	 * @param in The underlying stream.
+	 *
+	 * @return An object input stream reading from the given stream.
+	 *
+	 * @throws IOException in case the stream header cannot be read.
+	 */
+	public ObjectInputStream createObjectInputStream(InputStream in) throws IOException {
+		return new DescriptorResolvingObjectInputStream( in );
+	}
+
+	private void register(ElementDescriptor elementDescriptor) {
+		for ( ConstraintDescriptor<?> descriptor : elementDescriptor.getConstraintDescriptors() ) {
+			register( descriptor );
+		}
+	}
+
+	private MethodValidator getMethodValidator() {
+		try {
+			return validator.unwrap( MethodValidator.class );
+		}
+		catch ( ValidationException e ) {
+			return null;
+		}
+	}
+
+	/**
+	 * Creates the key for the given descriptor. Attribute values and group names are written with a length prefix,
+	 * so values containing separator characters can't make the keys of different descriptors collide.
+	 */
+	private String createKey(ConstraintDescriptor<?> descriptor) {
+		StringBuilder builder = new StringBuilder();
+		builder.append( descriptor.getAnnotation().annotationType().getName() );
+		builder.append( '(' );
+		boolean first = true;
+		for ( Map.Entry<String, Object> entry : new TreeMap<String, Object>( descriptor.getAttributes() ).entrySet() ) {
+			if ( !first ) {
+				builder.append( ',' );
+			}
+			builder.append( entry.getKey() ).append( '=' );
+			appendValue( entry.getValue(), builder );
+			first = false;
+		}
+		builder.append( ')' );
+
+		// the effective groups differ from the groups attribute for constraints declared on interfaces
+		Set<String> groupNames = new TreeSet<String>();
+		for ( Class<?> group : descriptor.getGroups() ) {
+			groupNames.add( group.getName() );
+		}
+		builder.append( ":[" );
+		first = true;
+		for ( String groupName : groupNames ) {
+			if ( !first ) {
+				builder.append( ',' );
+			}
+			appendString( groupName, builder );
+			first = false;
+		}
+		builder.append( ']' );
+
+		if ( descriptor instanceof ConstraintDescriptorImpl ) {
+			ConstraintDescriptorImpl<?> descriptorImpl = (ConstraintDescriptorImpl<?>) descriptor;
+			builder.append( ':' ).append( descriptorImpl.getElementType() );
+			builder.append( ':' ).append( descriptorImpl.getDefinedOn() );
+		}
+		return builder.toString();
+	}
+
+	private void appendValue(Object value, StringBuilder builder) {
+		if ( value == null ) {
+			builder.append( "null" );
+		}
+		else if ( value instanceof Class ) {
+			appendString( ( (Class<?>) value ).getName(), builder );
+		}
+		else if ( value.getClass().isArray() ) {
+			builder.append( '[' );
+			int length = Array.getLength( value );
+			for ( int i = 0; i < length; i++ ) {
+				if ( i > 0 ) {
+					builder.append( ',' );
+				}
+				appendValue( Array.get( value, i ), builder );
+			}
+			builder.append( ']' );
+		}
+		else {
+			appendString( value.toString(), builder );
+		}
+	}
+
+	private void appendString(String value, StringBuilder builder) {
+		builder.append( value.length() ).append( ':' ).append( value );
+	}
+
+	/**
+	 * The serialized reference to a registered descriptor.
+	 */
+	private static final class DescriptorReference implements Serializable {
+		private static final long serialVersionUID = 6457832143270941218L;
+
+		private final String key;
+
+		private DescriptorReference(String key) {
+			this.key = key;
+		}
+	}
+
+	private final class DescriptorReplacingObjectOutputStream extends ObjectOutputStream {
+
+		private DescriptorReplacingObjectOutputStream(OutputStream out) throws IOException {
+			super( out );
+			enableReplaceObject( true );
+		}
+
+		@Override
+		protected Object replaceObject(Object obj) throws IOException {
+			if ( obj instanceof ConstraintDescriptor ) {
+				String key = keysByDescriptor.get( obj );
+				if ( key != null ) {
+					return new DescriptorReference( key );
+				}
+			}
+			return obj;
+		}
+	}
+
+	private final class DescriptorResolvingObjectInputStream extends ObjectInputStream {
+
+		private DescriptorResolvingObjectInputStream(InputStream in) throws IOException {
+			super( in );
+			enableResolveObject( true );
+		}
+
+		@Override
+		protected Object resolveObject(Object obj) throws IOException {
+			if ( obj instanceof DescriptorReference ) {
+				String key = ( (DescriptorReference) obj ).key;
+				ConstraintDescriptor<?> descriptor = descriptorsByKey.get( key );
+				if ( descriptor == null ) {
+					throw new InvalidObjectException( "No constraint descriptor registered for key " + key );
+				}
+				return descriptor;
+			}
+			return obj;
+		}
+	}
+}
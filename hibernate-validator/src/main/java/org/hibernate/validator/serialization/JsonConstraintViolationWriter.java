@@ -0,0 +1,294 @@
+/*
+* JBoss, Home of Professional Open Source
+* Copyright 2011, Red Hat, Inc. and/or its affiliates, and individual contributors
+* by the @authors tag. See the copyright.txt in the distribution for a
+* full listing of individual contributors.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+* http://www.apache.org/licenses/LICENSE-2.0
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.hibernate.validator.serialization;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Array;
+import java.nio.charset.Charset;
+import java.util.Map;
+import javax.validation.ConstraintViolation;
+import javax.validation.Path;
+import javax.validation.metadata.ConstraintDescriptor;
+
+import org.hibernate.validator.engine.DetachedConstraintViolation;
+import org.hibernate.validator.engine.PathImpl;
+import org.hibernate.validator.method.MethodConstraintViolation;
+import org.hibernate.validator.util.Contracts;
+
+/**
+ * Writes constraint violations as JSON directly to a {@code Writer} or {@code OutputStream}. For each violation
+ * the property path (as string and as list of nodes), the message template, the interpolated message and the
+ * constraint type and attributes are written. For method constraint violations additionally the method,
+ * the kind and - if applicable - the parameter index and name are written.
+ * <p>
+ * Instances of this class are stateless and thus thread-safe, they are intended to be shared.
+ * </p>
+ */
+public class JsonConstraintViolationWriter {
+
+	private static final Charset UTF_8 = Charset.forName( "UTF-8" );
+	private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+	/**
+	 * Writes the given violations as JSON array to the given stream using UTF-8 encoding. The stream is flushed,
+	 * but not closed.
+	 *
+	 * @param violations the violations to write.
+	 * @param out the stream to write to.
+	 *
+	 * @throws IOException in case writing to the stream fails.
+	 */
+	public void write(Iterable<? extends ConstraintViolation<?>> violations, OutputStream out) throws IOException {
+		Contracts.assertNotNull( out, "The output stream cannot be null." );
+
+		Writer writer = new BufferedWriter( new OutputStreamWriter( out, UTF_8 ) );
+		write( violations, writer );
+		writer.flush();
+	}
+
+	/**
+	 * Writes the given violations as JSON array to the given writer. The writer is neither flushed nor closed.
+	 *
+	 * @param violations the violations to write.
+	 * @param writer the writer to write to.
+	 *
+	 * @throws IOException in case writing to the writer fails.
+	 */
+	public void write(Iterable<? extends ConstraintViolation<?>> violations, Writer writer) throws IOException {
+		Contracts.assertNotNull( violations, "The violations cannot be null." );
+		Contracts.assertNotNull( writer, "The writer cannot be null." );
+
+		writer.write( '[' );
+		boolean first = true;
+		for ( ConstraintViolation<?> violation : violations ) {
+			if ( !first ) {
+				writer.write( ',' );
+			}
+			writeViolation( violation, writer );
+			first = false;
+		}
+		writer.write( ']' );
+	}
+
+	/**
+	 * Writes a single violation as JSON object to the given writer. The writer is neither flushed nor closed.
+	 *
+	 * @param violation the violation to write.
+	 * @param writer the writer to write to.
+	 *
+	 * @throws IOException in case writing to the writer fails.
+	 */
+	public void writeViolation(ConstraintViolation<?> violation, Writer writer) throws IOException {
+		Contracts.assertNotNull( violation, "The violation cannot be null." );
+		Contracts.assertNotNull( writer, "The writer cannot be null." );
+
+		writer.write( "{\"path\":" );
+		writeString( pathAsString( violation ), writer );
+
+		writer.write( ",\"nodes\":" );
+		writeNodes( violation.getPropertyPath(), writer );
+
+		if ( violation instanceof MethodConstraintViolation ) {
+			writeMethodDetails( (MethodConstraintViolation<?>) violation, writer );
+		}
+
+		writer.write( ",\"messageTemplate\":" );
+		writeString( violation.getMessageTemplate(), writer );
+
+		writer.write( ",\"message\":" );
+		writeString( violation.getMessage(), writer );
+
+		if ( violation.getConstraintDescriptor() != null ) {
+			writer.write( ",\"constraint\":" );
+			writeConstraint( violation.getConstraintDescriptor(), writer );
+		}
+		writer.write( '}' );
+	}
+
+	private String pathAsString(ConstraintViolation<?> violation) {
+		if ( violation instanceof DetachedConstraintViolation ) {
+			return ( (DetachedConstraintViolation<?>) violation ).getPropertyPathAsString();
+		}
+
+		Path path = violation.getPropertyPath();
+		if ( path == null ) {
+			return null;
+		}
+		// PathImpl caches its string representation
+		return path instanceof PathImpl ? ( (PathImpl) path ).asString() : path.toString();
+	}
+
+	private void writeNodes(Path path, Writer writer) throws IOException {
+		writer.write( '[' );
+		if ( path != null ) {
+			boolean first = true;
+			for ( Path.Node node : path ) {
+				if ( !first ) {
+					writer.write( ',' );
+				}
+				writer.write( "{\"name\":" );
+				writeString( node.getName(), writer );
+				if ( node.isInIterable() ) {
+					writer.write( ",\"inIterable\":true" );
+				}
+				if ( node.getIndex() != null ) {
+					writer.write( ",\"index\":" );
+					writer.write( node.getIndex().toString() );
+				}
+				if ( node.getKey() != null ) {
+					writer.write( ",\"key\":" );
+					writeString( node.getKey().toString(), writer );
+				}
+				writer.write( '}' );
+				first = false;
+			}
+		}
+		writer.write( ']' );
+	}
+
+	private void writeMethodDetails(MethodConstraintViolation<?> violation, Writer writer) throws IOException {
+		writer.write( ",\"kind\":" );
+		writeString( violation.getKind() != null ? violation.getKind().name() : null, writer );
+		if ( violation.getMethod() != null ) {
+			writer.write( ",\"method\":" );
+			writeString( violation.getMethod().toString(), writer );
+		}
+		if ( violation.getParameterIndex() != null ) {
+			writer.write( ",\"parameterIndex\":" );
+			writer.write( violation.getParameterIndex().toString() );
+		}
+		if ( violation.getParameterName() != null ) {
+			writer.write( ",\"parameterName\":" );
+			writeString( violation.getParameterName(), writer );
+		}
+	}
+
+	private void writeConstraint(ConstraintDescriptor<?> descriptor, Writer writer) throws IOException {
+		writer.write( "{\"type\":" );
+		writeString( descriptor.getAnnotation().annotationType().getName(), writer );
+		writer.write( ",\"attributes\":{" );
+		boolean first = true;
+		for ( Map.Entry<String, Object> entry : descriptor.getAttributes().entrySet() ) {
+			if ( !first ) {
+				writer.write( ',' );
+			}
+			writeString( entry.getKey(), writer );
+			writer.write( ':' );
+			writeValue( entry.getValue(), writer );
+			first = false;
+		}
+		writer.write( "}}" );
+	}
+
+	private void writeValue(Object value, Writer writer) throws IOException {
+		if ( value == null ) {
+			writer.write( "null" );
+		}
+		else if ( value instanceof Boolean || value instanceof Integer || value instanceof Long
+				|| value instanceof Short || value instanceof Byte ) {
+			writer.write( value.toString() );
+		}
+		else if ( value instanceof Number && isFinite( (Number) value ) ) {
+			writer.write( value.toString() );
+		}
+		else if ( value instanceof Class ) {
+			writeString( ( (Class<?>) value ).getName(), writer );
+		}
+		else if ( value instanceof Enum ) {
+			writeString( ( (Enum<?>) value ).name(), writer );
+		}
+		else if ( value instanceof Annotation ) {
+			writeString( ( (Annotation) value ).annotationType().getName(), writer );
+		}
+		else if ( value.getClass().isArray() ) {
+			writer.write( '[' );
+			int length = Array.getLength( value );
+			for ( int i = 0; i < length; i++ ) {
+				if ( i > 0 ) {
+					writer.write( ',' );
+				}
+				writeValue( Array.get( value, i ), writer );
+			}
+			writer.write( ']' );
+		}
+		else {
+			writeString( value.toString(), writer );
+		}
+	}
+
+	private boolean isFinite(Number number) {
+		if ( number instanceof Double ) {
+			return !( (Double) number ).isNaN() && !( (Double) number ).isInfinite();
+		}
+		if ( number instanceof Float ) {
+			return !( (Float) number ).isNaN() && !( (Float) number ).isInfinite();
+		}
+		return true;
+	}
+
+	private void writeString(String value, Writer writer) throws IOException {
+		if ( value == null ) {
+			writer.write( "null" );
+			return;
+		}
+
+		writer.write( '"' );
+		int start = 0;
+		int length = value.length();
+		for ( int i = 0; i < length; i++ ) {
+			char c = value.charAt( i );
+			if ( c >= 0x20 && c != '"' && c != '\\' ) {
+				continue;
+			}
+			// write the unescaped characters in one go
+			if ( i > start ) {
+				writer.write( value, start, i - start );
+			}
+			start = i + 1;
+			switch ( c ) {
+				case '"':
+					writer.write( "\\\"" );
+					break;
+				case '\\':
+					writer.write( "\\\\" );
+					break;
+				case '\n':
+					writer.write( "\\n" );
+					break;
+				case '\r':
+					writer.write( "\\r" );
+					break;
+				case '\t':
+					writer.write( "\\t" );
+					break;
+				default:
+					writer.write( "\\u00" );
+					writer.write( HEX_DIGITS[c >> 4] );
+					writer.write( HEX_DIGITS[c & 0xF] );
+			}
+		}
+		if ( length > start ) {
+			writer.write( value, start, length - start );
+		}
+		writer.write( '"' );
+	}
+}
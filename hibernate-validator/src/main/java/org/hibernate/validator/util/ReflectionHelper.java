@@ -24,10 +24,12 @@ import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Member;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.lang.reflect.TypeVariable;
 import java.lang.reflect.WildcardType;
+import java.net.URL;
 import java.security.AccessController;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -41,6 +43,7 @@ import com.googlecode.jtype.TypeUtils;
 import org.hibernate.validator.util.privilegedactions.ConstructorInstance;
 import org.hibernate.validator.util.privilegedactions.GetAnnotationParameter;
 import org.hibernate.validator.util.privilegedactions.GetClassLoader;
+import org.hibernate.validator.util.privilegedactions.GetCodeSourceLocation;
 import org.hibernate.validator.util.privilegedactions.GetConstructor;
 import org.hibernate.validator.util.privilegedactions.GetDeclaredField;
 import org.hibernate.validator.util.privilegedactions.GetDeclaredFields;
@@ -320,29 +323,51 @@ public final class ReflectionHelper {
 		Object value = null;
 
 		if ( member instanceof Method ) {
-			Method method = (Method) member;
-			try {
-				value = method.invoke( object );
-			}
-			catch ( IllegalAccessException e ) {
-				throw new ValidationException( "Unable to access " + method.getName(), e );
-			}
-			catch ( InvocationTargetException e ) {
-				throw new ValidationException( "Unable to access " + method.getName(), e );
-			}
+			value = getValue( (Method) member, object );
 		}
 		else if ( member instanceof Field ) {
-			Field field = (Field) member;
-			try {
-				value = field.get( object );
-			}
-			catch ( IllegalAccessException e ) {
-				throw new ValidationException( "Unable to access " + field.getName(), e );
-			}
+			value = getValue( (Field) member, object );
 		}
 		return value;
 	}
 
+	/**
+	 * Returns the value of the given getter method for the given object.
+	 *
+	 * @param method The getter method.
+	 * @param object The object on which to invoke the getter.
+	 *
+	 * @return The value returned by the getter.
+	 */
+	public static Object getValue(Method method, Object object) {
+		try {
+			return method.invoke( object );
+		}
+		catch ( IllegalAccessException e ) {
+			throw new ValidationException( "Unable to access " + method.getName(), e );
+		}
+		catch ( InvocationTargetException e ) {
+			throw new ValidationException( "Unable to access " + method.getName(), e );
+		}
+	}
+
+	/**
+	 * Returns the value of the given field for the given object.
+	 *
+	 * @param field The field.
+	 * @param object The object from which to read the field.
+	 *
+	 * @return The field value.
+	 */
+	public static Object getValue(Field field, Object object) {
+		try {
+			return field.get( object );
+		}
+		catch ( IllegalAccessException e ) {
+			throw new ValidationException( "Unable to access " + field.getName(), e );
+		}
+	}
+
 	public static void setAccessibility(Member member) {
 		SetAccessibility action = SetAccessibility.action( member );
 		if ( System.getSecurityManager() != null ) {
@@ -377,6 +402,35 @@ public final class ReflectionHelper {
 		return indexedType;
 	}
 
+	/**
+	 * Returns the class of the values validated when cascading to an element of the given type, that is the type
+	 * of the elements of iterables, maps and arrays and the type itself otherwise.
+	 *
+	 * @param type the type of the cascaded element.
+	 *
+	 * @return The class of the validated values or <code>null</code> if values of other classes might be validated
+	 *         as well, e.g. because the class is not final.
+	 */
+	public static Class<?> getFinalCascadedClass(Type type) {
+		Type cascadedType = type;
+		if ( isIterable( type ) || isMap( type ) || TypeUtils.isArray( type ) ) {
+			cascadedType = getIndexedType( type );
+		}
+
+		if ( !( cascadedType instanceof Class ) ) {
+			return null;
+		}
+
+		Class<?> cascadedClass = (Class<?>) cascadedType;
+		if ( cascadedClass.isPrimitive() ) {
+			return null;
+		}
+		if ( Modifier.isFinal( cascadedClass.getModifiers() ) || cascadedClass.isEnum() ) {
+			return cascadedClass;
+		}
+		return null;
+	}
+
 	/**
 	 * @param type the type to check.
 	 *
@@ -526,6 +580,24 @@ public final class ReflectionHelper {
 		return getDeclaredField( clazz, fieldName ) != null;
 	}
 
+	/**
+	 * Returns the location of the code source of the specified class.
+	 *
+	 * @param clazz The class for which to retrieve the code source location.
+	 *
+	 * @return Returns the location (e.g. the JAR file or directory) the given class has been loaded from or
+	 *         {@code null} if the location can't be determined.
+	 */
+	public static URL getCodeSourceLocation(Class<?> clazz) {
+		GetCodeSourceLocation action = GetCodeSourceLocation.action( clazz );
+		if ( System.getSecurityManager() != null ) {
+			return AccessController.doPrivileged( action );
+		}
+		else {
+			return action.run();
+		}
+	}
+
 	/**
 	 * Returns the fields of the specified class.
 	 *
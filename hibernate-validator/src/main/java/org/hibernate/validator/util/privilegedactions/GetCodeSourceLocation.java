@@ -0,0 +1,43 @@
+/*
+* JBoss, Home of Professional Open Source
+* Copyright 2011, Red Hat, Inc. and/or its affiliates, and individual contributors
+* by the @authors tag. See the copyright.txt in the distribution for a
+* full listing of individual contributors.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+* http://www.apache.org/licenses/LICENSE-2.0
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.hibernate.validator.util.privilegedactions;
+
+import java.net.URL;
+import java.security.CodeSource;
+import java.security.PrivilegedAction;
+import java.security.ProtectionDomain;
+
+/**
+ * Returns the location of the code source of a given class, e.g. the JAR file or directory it has been loaded from.
+ */
+public final class GetCodeSourceLocation implements PrivilegedAction<URL> {
+	private final Class<?> clazz;
+
+	public static GetCodeSourceLocation action(Class<?> clazz) {
+		return new GetCodeSourceLocation( clazz );
+	}
+
+	private GetCodeSourceLocation(Class<?> clazz) {
+		this.clazz = clazz;
+	}
+
+	public URL run() {
+		ProtectionDomain protectionDomain = clazz.getProtectionDomain();
+		CodeSource codeSource = protectionDomain != null ? protectionDomain.getCodeSource() : null;
+		return codeSource != null ? codeSource.getLocation() : null;
+	}
+}
@@ -22,6 +22,7 @@ import java.util.List;
 import java.util.Set;
 import javax.validation.ConstraintViolation;
 import javax.validation.Validator;
+import javax.validation.constraints.Size;
 
 import org.testng.annotations.Test;
 
@@ -162,6 +163,26 @@ public class ValidatorResolutionTest {
 		assertNumberOfViolations( constraintViolations, 0 );
 	}
 
+	@Test
+	public void testIdenticalConstraintsOnMembersOfDifferentTypes() {
+		Validator validator = TestUtil.getValidator();
+
+		List<String> tags = new ArrayList<String>();
+		tags.add( "a" );
+		tags.add( "b" );
+		Labels labels = new Labels( "ab", tags, new String[] { "a", "b", "c" } );
+		assertNumberOfViolations( validator.validate( labels ), 2 );
+
+		tags.add( "c" );
+		String[] aliases = new String[] { "a", "b" };
+		labels = new Labels( "abc", tags, aliases );
+		Set<ConstraintViolation<Labels>> constraintViolations = validator.validate( labels );
+		assertNumberOfViolations( constraintViolations, 1 );
+		assertConstraintViolation(
+				constraintViolations.iterator().next(), "size must be between 3 and 3", Labels.class, aliases, "aliases"
+		);
+	}
+
 	public class Foo {
 		@org.hibernate.validator.test.constraints.Object
 		private org.hibernate.validator.test.constraints.Object[] objectArray;
@@ -209,4 +230,21 @@ public class ValidatorResolutionTest {
 			this.subTypeArray = subTypeArray;
 		}
 	}
+
+	public class Labels {
+		@Size(min = 3, max = 3, message = "size must be between {min} and {max}")
+		private String name;
+
+		@Size(min = 3, max = 3, message = "size must be between {min} and {max}")
+		private List<String> tags;
+
+		@Size(min = 3, max = 3, message = "size must be between {min} and {max}")
+		private String[] aliases;
+
+		public Labels(String name, List<String> tags, String[] aliases) {
+			this.name = name;
+			this.tags = tags;
+			this.aliases = aliases;
+		}
+	}
 }
@@ -0,0 +1,157 @@
+/*
+* JBoss, Home of Professional Open Source
+* Copyright 2011, Red Hat, Inc. and/or its affiliates, and individual contributors
+* by the @authors tag. See the copyright.txt in the distribution for a
+* full listing of individual contributors.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+* http://www.apache.org/licenses/LICENSE-2.0
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.hibernate.validator.test.engine;
+
+import java.util.List;
+import java.util.Set;
+import javax.validation.ConstraintViolation;
+import javax.validation.Valid;
+import javax.validation.Validator;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Size;
+
+import org.testng.annotations.Test;
+
+import org.hibernate.validator.engine.DetachedConstraintViolation;
+import org.hibernate.validator.test.util.TestUtil;
+
+import static java.util.Arrays.asList;
+import static org.hibernate.validator.test.util.TestUtil.assertCorrectPropertyPaths;
+import static org.hibernate.validator.test.util.TestUtil.assertNumberOfViolations;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+public class DetachedConstraintViolationTest {
+
+	@Test
+	public void testDetachedViolationDoesNotRetainBeans() {
+		Validator validator = TestUtil.getValidator();
+		Order order = new Order( "ABCDEFGHIJ" );
+		Set<ConstraintViolation<Order>> constraintViolations = validator.validate( order );
+		assertNumberOfViolations( constraintViolations, 1 );
+
+		ConstraintViolation<Order> violation = constraintViolations.iterator().next();
+		DetachedConstraintViolation<Order> detached = DetachedConstraintViolation.detach( violation );
+
+		assertNull( detached.getRootBean() );
+		assertNull( detached.getLeafBean() );
+		assertNull( detached.getInvalidValue() );
+		assertEquals( detached.getRootBeanClass(), Order.class );
+		assertEquals( detached.getMessage(), violation.getMessage() );
+		assertEquals( detached.getMessageTemplate(), violation.getMessageTemplate() );
+		assertSame( detached.getConstraintDescriptor(), violation.getConstraintDescriptor() );
+		assertEquals( detached.getPropertyPathAsString(), "number" );
+		assertEquals( detached.getPropertyPath(), violation.getPropertyPath() );
+	}
+
+	@Test
+	public void testInvalidValueIsBounded() {
+		Validator validator = TestUtil.getValidator();
+		Set<ConstraintViolation<Order>> constraintViolations = validator.validate( new Order( "ABCDEFGHIJ" ) );
+		ConstraintViolation<Order> violation = constraintViolations.iterator().next();
+
+		assertEquals( DetachedConstraintViolation.detach( violation, 4 ).getInvalidValue(), "ABCD" );
+		assertEquals( DetachedConstraintViolation.detach( violation, 100 ).getInvalidValue(), "ABCDEFGHIJ" );
+		assertEquals( DetachedConstraintViolation.detach( violation, 0 ).getInvalidValue(), "" );
+	}
+
+	@Test
+	public void testDetachAllKeepsPropertyPaths() {
+		Validator validator = TestUtil.getValidator();
+		Customer customer = new Customer( asList( new Order( "ABCDEFGHIJ" ), new Order( null ) ) );
+		Set<ConstraintViolation<Customer>> constraintViolations = validator.validate( customer );
+		assertNumberOfViolations( constraintViolations, 3 );
+
+		Set<ConstraintViolation<Customer>> detachedViolations = DetachedConstraintViolation.detachAll(
+				constraintViolations, DetachedConstraintViolation.NO_INVALID_VALUE
+		);
+		assertNumberOfViolations( detachedViolations, 3 );
+		assertCorrectPropertyPaths( detachedViolations, "name", "orders[0].number", "orders[1].number" );
+	}
+
+	@Test
+	public void testEqualsAndHashCode() {
+		Validator validator = TestUtil.getValidator();
+		ConstraintViolation<Order> violation1 = validator.validate( new Order( "ABCDEFGHIJ" ) ).iterator().next();
+		ConstraintViolation<Order> violation2 = validator.validate( new Order( "ABCDEFGHIJ" ) ).iterator().next();
+
+		DetachedConstraintViolation<Order> detached1 = DetachedConstraintViolation.detach( violation1 );
+		DetachedConstraintViolation<Order> detached2 = DetachedConstraintViolation.detach( violation2 );
+		assertNotSame( detached1, detached2 );
+		assertEquals( detached1, detached2 );
+		assertEquals( detached1.hashCode(), detached2.hashCode() );
+		assertSame( DetachedConstraintViolation.detach( detached1 ), detached1 );
+		assertTrue( !detached1.equals( DetachedConstraintViolation.detach( violation1, 5 ) ) );
+	}
+
+	@Test
+	public void testDetachAllKeepsViolationsOfDistinctConstraints() {
+		Validator validator = TestUtil.getValidator();
+		Set<ConstraintViolation<Product>> constraintViolations = validator.validate( new Product() );
+		assertNumberOfViolations( constraintViolations, 2 );
+
+		// same path and message, but the constraints are declared on the field respectively the getter
+		Set<ConstraintViolation<Product>> detachedViolations = DetachedConstraintViolation.detachAll(
+				constraintViolations, DetachedConstraintViolation.NO_INVALID_VALUE
+		);
+		assertNumberOfViolations( detachedViolations, 2 );
+	}
+
+	@Test
+	public void testPropertyPathIsParsedOnce() {
+		Validator validator = TestUtil.getValidator();
+		ConstraintViolation<Order> violation = validator.validate( new Order( "ABCDEFGHIJ" ) ).iterator().next();
+		DetachedConstraintViolation<Order> detached = DetachedConstraintViolation.detach( violation );
+
+		assertSame( detached.getPropertyPath(), detached.getPropertyPath() );
+	}
+
+	public class Order {
+		@NotNull
+		@Size(max = 5)
+		private final String number;
+
+		public Order(String number) {
+			this.number = number;
+		}
+	}
+
+	public class Product {
+		@NotNull(message = "invalid")
+		private String code;
+
+		@NotNull(message = "invalid")
+		public String getCode() {
+			return code;
+		}
+	}
+
+	public class Customer {
+		@NotNull
+		private String name;
+
+		@Valid
+		private final List<Order> orders;
+
+		public Customer(List<Order> orders) {
+			this.orders = orders;
+		}
+	}
+}
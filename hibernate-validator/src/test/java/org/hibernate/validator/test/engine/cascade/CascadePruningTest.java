@@ -0,0 +1,90 @@
+/*
+* JBoss, Home of Professional Open Source
+* Copyright 2011, Red Hat, Inc. and/or its affiliates, and individual contributors
+* by the @authors tag. See the copyright.txt in the distribution for a
+* full listing of individual contributors.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+* http://www.apache.org/licenses/LICENSE-2.0
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.hibernate.validator.test.engine.cascade;
+
+import java.util.ArrayList;
+import java.util.List;
+import javax.validation.Valid;
+import javax.validation.Validator;
+import javax.validation.constraints.NotNull;
+
+import org.testng.annotations.Test;
+
+import org.hibernate.validator.test.util.TestUtil;
+
+import static org.hibernate.validator.test.util.TestUtil.assertNumberOfViolations;
+import static org.testng.Assert.assertEquals;
+
+/**
+ * Tests that cascades are skipped if the cascaded values don't host any constraints for the validated group.
+ */
+public class CascadePruningTest {
+
+	@Test
+	public void testCascadeWithoutConstraintsInValidatedGroupIsSkipped() {
+		Validator validator = TestUtil.getValidator();
+		Order order = new Order();
+
+		assertNumberOfViolations( validator.validate( order ), 0 );
+		assertEquals( order.historyRequests, 0, "The cascaded member should not have been accessed" );
+
+		assertNumberOfViolations( validator.validate( order, Audit.class ), 1 );
+		assertEquals( order.historyRequests, 1 );
+	}
+
+	@Test
+	public void testCascadedValuesOfSubTypesAreValidated() {
+		Validator validator = TestUtil.getValidator();
+		Order order = new Order();
+		order.items.add( new Item() );
+		order.items.add( new ConstrainedItem() );
+
+		assertNumberOfViolations( validator.validate( order ), 1 );
+	}
+
+	public static class Order {
+		private final History history = new History();
+
+		@Valid
+		private final List<Item> items = new ArrayList<Item>();
+
+		private int historyRequests;
+
+		@Valid
+		public History getHistory() {
+			historyRequests++;
+			return history;
+		}
+	}
+
+	public static final class History {
+		@NotNull(groups = Audit.class)
+		private String changedBy;
+	}
+
+	public static class Item {
+		private String name;
+	}
+
+	public static class ConstrainedItem extends Item {
+		@NotNull
+		private String description;
+	}
+
+	public interface Audit {
+	}
+}
@@ -0,0 +1,52 @@
+/*
+* JBoss, Home of Professional Open Source
+* Copyright 2011, Red Hat, Inc. and/or its affiliates, and individual contributors
+* by the @authors tag. See the copyright.txt in the distribution for a
+* full listing of individual contributors.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+* http://www.apache.org/licenses/LICENSE-2.0
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.hibernate.validator.test.engine.constraintvalidatorfactory;
+
+import javax.validation.ConstraintValidatorFactory;
+
+import org.testng.annotations.Test;
+
+import org.hibernate.validator.constraints.impl.EmailValidator;
+import org.hibernate.validator.constraints.impl.NotNullValidator;
+import org.hibernate.validator.constraints.impl.SizeValidatorForString;
+import org.hibernate.validator.engine.ConstraintValidatorFactoryImpl;
+
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertSame;
+
+/**
+ * Tests for {@link ConstraintValidatorFactoryImpl}.
+ */
+public class ConstraintValidatorFactoryImplTest {
+
+	@Test
+	public void testStatelessValidatorsAreShared() {
+		ConstraintValidatorFactory factory = new ConstraintValidatorFactoryImpl();
+
+		assertSame( factory.getInstance( NotNullValidator.class ), factory.getInstance( NotNullValidator.class ) );
+		assertSame( factory.getInstance( EmailValidator.class ), factory.getInstance( EmailValidator.class ) );
+	}
+
+	@Test
+	public void testValidatorsDependingOnAnnotationAttributesAreNotShared() {
+		ConstraintValidatorFactory factory = new ConstraintValidatorFactoryImpl();
+
+		assertNotSame(
+				factory.getInstance( SizeValidatorForString.class ), factory.getInstance( SizeValidatorForString.class )
+		);
+	}
+}
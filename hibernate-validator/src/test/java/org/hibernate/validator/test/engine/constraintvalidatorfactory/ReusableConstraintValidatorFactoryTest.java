@@ -0,0 +1,142 @@
+/*
+* JBoss, Home of Professional Open Source
+* Copyright 2011, Red Hat, Inc. and/or its affiliates, and individual contributors
+* by the @authors tag. See the copyright.txt in the distribution for a
+* full listing of individual contributors.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+* http://www.apache.org/licenses/LICENSE-2.0
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.hibernate.validator.test.engine.constraintvalidatorfactory;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.validation.Constraint;
+import javax.validation.ConstraintValidator;
+import javax.validation.ConstraintValidatorContext;
+import javax.validation.ConstraintValidatorFactory;
+import javax.validation.Payload;
+import javax.validation.Validator;
+import javax.validation.ValidatorFactory;
+
+import org.testng.annotations.Test;
+
+import org.hibernate.validator.HibernateValidator;
+import org.hibernate.validator.ReusableConstraintValidatorFactory;
+import org.hibernate.validator.engine.ConstraintValidatorFactoryImpl;
+import org.hibernate.validator.test.util.TestUtil;
+
+import static java.lang.annotation.ElementType.FIELD;
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+import static org.hibernate.validator.test.util.TestUtil.assertNumberOfViolations;
+import static org.testng.Assert.assertEquals;
+
+/**
+ * Tests for the caching of validator instances created by custom constraint validator factories.
+ */
+public class ReusableConstraintValidatorFactoryTest {
+
+	@Test
+	public void testValidatorsOfReusableFactoryAreCached() {
+		CountingConstraintValidatorFactory factory = new ReusableCountingConstraintValidatorFactory();
+		Validator validator = getValidator( factory );
+
+		assertNumberOfViolations( validator.validate( new Foo( "bar" ) ), 1 );
+		assertNumberOfViolations( validator.validate( new Foo( "baz" ) ), 1 );
+		assertEquals( factory.instances.get(), 1, "The validator instance should have been reused" );
+	}
+
+	@Test
+	public void testValidatorsOfOtherFactoriesAreNotCached() {
+		CountingConstraintValidatorFactory factory = new CountingConstraintValidatorFactory();
+		Validator validator = getValidator( factory );
+
+		assertNumberOfViolations( validator.validate( new Foo( "bar" ) ), 1 );
+		assertNumberOfViolations( validator.validate( new Foo( "baz" ) ), 1 );
+		assertEquals( factory.instances.get(), 2, "A new validator instance should have been requested" );
+	}
+
+	@Test
+	public void testValidatorsAreCachedPerFactoryWhenFactoriesAlternate() {
+		CountingConstraintValidatorFactory firstFactory = new ReusableCountingConstraintValidatorFactory();
+		CountingConstraintValidatorFactory secondFactory = new ReusableCountingConstraintValidatorFactory();
+		ValidatorFactory validatorFactory = TestUtil.getConfiguration( HibernateValidator.class )
+				.constraintValidatorFactory( firstFactory )
+				.buildValidatorFactory();
+		Validator firstValidator = validatorFactory.getValidator();
+		Validator secondValidator = validatorFactory.usingContext()
+				.constraintValidatorFactory( secondFactory )
+				.getValidator();
+
+		for ( int i = 0; i < 3; i++ ) {
+			assertNumberOfViolations( firstValidator.validate( new Foo( "bar" ) ), 1 );
+			assertNumberOfViolations( secondValidator.validate( new Foo( "bar" ) ), 1 );
+		}
+		assertEquals( firstFactory.instances.get(), 1, "The validator instance of the first factory should have been reused" );
+		assertEquals( secondFactory.instances.get(), 1, "The validator instance of the second factory should have been reused" );
+	}
+
+	private Validator getValidator(ConstraintValidatorFactory factory) {
+		return TestUtil.getConfiguration( HibernateValidator.class )
+				.constraintValidatorFactory( factory )
+				.buildValidatorFactory()
+				.getValidator();
+	}
+
+	public static class Foo {
+		@Invalid
+		String name;
+
+		public Foo(String name) {
+			this.name = name;
+		}
+	}
+
+	@Target({ METHOD, FIELD })
+	@Retention(RUNTIME)
+	@Documented
+	@Constraint(validatedBy = InvalidValidator.class)
+	public @interface Invalid {
+		String message() default "invalid";
+
+		Class<?>[] groups() default { };
+
+		Class<? extends Payload>[] payload() default { };
+	}
+
+	public static class InvalidValidator implements ConstraintValidator<Invalid, String> {
+
+		public void initialize(Invalid constraintAnnotation) {
+		}
+
+		public boolean isValid(String value, ConstraintValidatorContext context) {
+			return false;
+		}
+	}
+
+	public static class CountingConstraintValidatorFactory implements ConstraintValidatorFactory {
+
+		private final ConstraintValidatorFactory delegate = new ConstraintValidatorFactoryImpl();
+
+		final AtomicInteger instances = new AtomicInteger();
+
+		public <T extends ConstraintValidator<?, ?>> T getInstance(Class<T> key) {
+			instances.incrementAndGet();
+			return delegate.getInstance( key );
+		}
+	}
+
+	public static class ReusableCountingConstraintValidatorFactory extends CountingConstraintValidatorFactory
+			implements ReusableConstraintValidatorFactory {
+	}
+}
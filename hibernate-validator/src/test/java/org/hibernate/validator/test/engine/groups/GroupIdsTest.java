@@ -0,0 +1,81 @@
+/*
+* JBoss, Home of Professional Open Source
+* Copyright 2011, Red Hat, Inc. and/or its affiliates, and individual contributors
+* by the @authors tag. See the copyright.txt in the distribution for a
+* full listing of individual contributors.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+* http://www.apache.org/licenses/LICENSE-2.0
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.hibernate.validator.test.engine.groups;
+
+import java.util.HashSet;
+import java.util.Set;
+import javax.validation.groups.Default;
+
+import org.testng.annotations.Test;
+
+import org.hibernate.validator.engine.groups.GroupIds;
+import org.hibernate.validator.test.util.IndexedClassLoader;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Tests for {@link GroupIds}.
+ */
+public class GroupIdsTest {
+	@Test
+	public void testIdsAreStableAndDistinct() {
+		int firstId = GroupIds.getId( First.class );
+
+		assertEquals( GroupIds.getId( First.class ), firstId );
+		assertFalse( GroupIds.getId( Second.class ) == firstId );
+		assertFalse( GroupIds.getId( Default.class ) == firstId );
+	}
+
+	@Test
+	public void testMaskContainsBitsOfAllGroups() {
+		Set<Class<?>> groups = new HashSet<Class<?>>();
+		groups.add( First.class );
+		groups.add( Last.class );
+
+		long mask = GroupIds.getMask( groups );
+
+		assertTrue( isSet( mask, GroupIds.getId( First.class ) ) );
+		assertTrue( isSet( mask, GroupIds.getId( Last.class ) ) );
+		assertFalse( isSet( mask, GroupIds.getId( Second.class ) ) );
+	}
+
+	@Test
+	public void testGroupTypesWithSameNameGetDistinctIds() throws Exception {
+		IndexedClassLoader classLoader = IndexedClassLoader.create( new String[0], Second.class );
+		Class<?> otherSecond = classLoader.loadIndexed( Second.class );
+		assertFalse( otherSecond == Second.class );
+
+		int secondId = GroupIds.getId( Second.class );
+		int otherSecondId = GroupIds.getId( otherSecond );
+
+		assertFalse( otherSecondId == secondId );
+		assertEquals( GroupIds.getId( Second.class ), secondId );
+		assertEquals( GroupIds.getId( otherSecond ), otherSecondId );
+
+		Set<Class<?>> groups = new HashSet<Class<?>>();
+		groups.add( Second.class );
+		long mask = GroupIds.getMask( groups );
+		assertTrue( isSet( mask, secondId ) );
+		assertFalse( isSet( mask, otherSecondId ) );
+	}
+
+	private boolean isSet(long mask, int id) {
+		return id < GroupIds.MASK_SIZE && ( mask & ( 1L << id ) ) != 0;
+	}
+}
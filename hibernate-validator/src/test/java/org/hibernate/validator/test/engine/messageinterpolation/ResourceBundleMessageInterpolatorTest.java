@@ -32,6 +32,7 @@ import org.testng.annotations.BeforeTest;
 import org.testng.annotations.Test;
 
 import org.hibernate.validator.engine.MessageInterpolatorContext;
+import org.hibernate.validator.messageinterpolation.MessageCacheStatistics;
 import org.hibernate.validator.messageinterpolation.ResourceBundleMessageInterpolator;
 import org.hibernate.validator.metadata.ConstraintDescriptorImpl;
 import org.hibernate.validator.metadata.ConstraintHelper;
@@ -309,6 +310,64 @@ public class ResourceBundleMessageInterpolatorTest {
 		);
 	}
 
+	@Test
+	public void testMessageCacheStatistics() {
+		interpolator = new ResourceBundleMessageInterpolator( new TestResourceBundleLocator() );
+		MessageInterpolator.Context context = new MessageInterpolatorContext( notNullDescriptor, null );
+
+		interpolator.interpolate( "{simple.key}", context );
+		interpolator.interpolate( "{simple.key}", context );
+		interpolator.interpolate( "{simple.key}", context, Locale.GERMAN );
+
+		MessageCacheStatistics statistics = interpolator.getCacheStatistics();
+		assertEquals( statistics.getHitCount(), 1L );
+		assertEquals( statistics.getMissCount(), 2L );
+		assertEquals( statistics.getEvictionCount(), 0L );
+		assertEquals( statistics.getSize(), 2 );
+	}
+
+	@Test
+	public void testMessageCacheIsBounded() {
+		interpolator = new ResourceBundleMessageInterpolator( new TestResourceBundleLocator(), true, 2 );
+		MessageInterpolator.Context context = new MessageInterpolatorContext( notNullDescriptor, null );
+
+		interpolator.interpolate( "{simple.key}", context );
+		interpolator.interpolate( "The {simple.key} completed", context );
+		interpolator.interpolate( "{simple.key} {simple.key}", context );
+
+		MessageCacheStatistics statistics = interpolator.getCacheStatistics();
+		assertEquals( statistics.getEvictionCount(), 1L );
+		assertEquals( statistics.getSize(), 2 );
+
+		// the evicted message is resolved again
+		assertEquals( interpolator.interpolate( "{simple.key}", context ), "message interpolation successful" );
+		assertEquals( interpolator.getCacheStatistics().getMissCount(), 4L );
+	}
+
+	@Test
+	public void testMessageCacheIsShrunkInBatches() {
+		interpolator = new ResourceBundleMessageInterpolator( new TestResourceBundleLocator(), true, 20 );
+		MessageInterpolator.Context context = new MessageInterpolatorContext( notNullDescriptor, null );
+
+		for ( int i = 0; i <= 20; i++ ) {
+			interpolator.interpolate( "{simple.key} " + i, context );
+		}
+
+		// exceeding the bound evicts the least recently used messages down to 90% of the bound
+		MessageCacheStatistics statistics = interpolator.getCacheStatistics();
+		assertEquals( statistics.getEvictionCount(), 3L );
+		assertEquals( statistics.getSize(), 18 );
+
+		// the most recently used message is still cached
+		interpolator.interpolate( "{simple.key} 20", context );
+		assertEquals( interpolator.getCacheStatistics().getHitCount(), 1L );
+	}
+
+	@Test(expectedExceptions = IllegalArgumentException.class)
+	public void testNegativeMaximumNumberOfCachedMessages() {
+		new ResourceBundleMessageInterpolator( new TestResourceBundleLocator(), true, -1 );
+	}
+
 	/**
 	 * A dummy locator always returning a {@link TestResourceBundle}.
 	 */
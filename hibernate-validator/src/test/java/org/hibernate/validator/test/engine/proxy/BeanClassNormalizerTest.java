@@ -0,0 +1,178 @@
+/*
+* JBoss, Home of Professional Open Source
+* Copyright 2011, Red Hat, Inc. and/or its affiliates, and individual contributors
+* by the @authors tag. See the copyright.txt in the distribution for a
+* full listing of individual contributors.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+* http://www.apache.org/licenses/LICENSE-2.0
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.hibernate.validator.test.engine.proxy;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Set;
+import javax.validation.ConstraintViolation;
+import javax.validation.ValidationException;
+import javax.validation.Validator;
+import javax.validation.constraints.NotNull;
+
+import org.testng.annotations.Test;
+
+import org.hibernate.validator.BeanClassNormalizer;
+import org.hibernate.validator.HibernateValidator;
+import org.hibernate.validator.HibernateValidatorConfiguration;
+import org.hibernate.validator.engine.DefaultBeanClassNormalizer;
+import org.hibernate.validator.metadata.BeanMetaDataCache;
+import org.hibernate.validator.metadata.ConstraintHelper;
+import org.hibernate.validator.test.util.TestUtil;
+
+import static org.hibernate.validator.test.util.TestUtil.assertCorrectPropertyPaths;
+import static org.hibernate.validator.test.util.TestUtil.assertNumberOfViolations;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertSame;
+
+/**
+ * Tests for {@link BeanClassNormalizer}.
+ */
+public class BeanClassNormalizerTest {
+
+	@Test
+	public void testProxyClassesAreNormalizedToUserClass() {
+		BeanClassNormalizer normalizer = new DefaultBeanClassNormalizer();
+
+		assertEquals( normalizer.normalize( Order$$EnhancerByCGLIB$$1a2b3c.class ), Order.class );
+		assertEquals( normalizer.normalize( Order_$$_javassist_12.class ), Order.class );
+		assertEquals( normalizer.normalize( Order.class ), Order.class );
+	}
+
+	@Test
+	public void testClassesWithDoubleDollarInNameAreNotNormalized() {
+		BeanClassNormalizer normalizer = new DefaultBeanClassNormalizer();
+
+		assertEquals( normalizer.normalize( Order$$anon$1.class ), Order$$anon$1.class );
+	}
+
+	@Test
+	public void testJdkProxyClassesAreNotNormalized() {
+		A a = ( A ) Proxy.newProxyInstance(
+				getClass().getClassLoader(), new Class<?>[] { A.class }, new NoOpInvocationHandler()
+		);
+
+		assertEquals( new DefaultBeanClassNormalizer().normalize( a.getClass() ), a.getClass() );
+	}
+
+	@Test
+	public void testProxyClassesShareMetaDataOfUserClass() {
+		BeanMetaDataCache cache = new BeanMetaDataCache();
+		ConstraintHelper constraintHelper = new ConstraintHelper();
+
+		assertSame(
+				cache.getOrCreateBeanMetaData( Order$$EnhancerByCGLIB$$1a2b3c.class, constraintHelper ),
+				cache.getOrCreateBeanMetaData( Order.class, constraintHelper )
+		);
+		assertSame(
+				cache.getOrCreateBeanMetaData( Order_$$_javassist_12.class, constraintHelper ),
+				cache.getOrCreateBeanMetaData( Order.class, constraintHelper )
+		);
+		assertEquals( cache.getAllBeanMetaData().size(), 1 );
+	}
+
+	@Test
+	public void testValidateProxy() {
+		Validator validator = TestUtil.getValidator();
+
+		Set<ConstraintViolation<Order>> violations = validator.validate( new Order$$EnhancerByCGLIB$$1a2b3c() );
+		assertNumberOfViolations( violations, 1 );
+		assertCorrectPropertyPaths( violations, "customer" );
+	}
+
+	@Test
+	public void testCustomNormalizer() {
+		HibernateValidatorConfiguration configuration = TestUtil.getConfiguration( HibernateValidator.class );
+		configuration.beanClassNormalizer(
+				new BeanClassNormalizer() {
+					public Class<?> normalize(Class<?> beanClass) {
+						return beanClass == SpecialOrder.class ? Order.class : beanClass;
+					}
+				}
+		);
+		Validator validator = configuration.buildValidatorFactory().getValidator();
+
+		// the constraints of SpecialOrder are ignored
+		Set<ConstraintViolation<SpecialOrder>> violations = validator.validate( new SpecialOrder() );
+		assertNumberOfViolations( violations, 1 );
+		assertCorrectPropertyPaths( violations, "customer" );
+	}
+
+	@Test
+	public void testNormalizerConfiguredViaProperty() {
+		HibernateValidatorConfiguration configuration = TestUtil.getConfiguration( HibernateValidator.class );
+		configuration.addProperty(
+				HibernateValidatorConfiguration.BEAN_CLASS_NORMALIZER, SpecialOrderNormalizer.class.getName()
+		);
+		Validator validator = configuration.buildValidatorFactory().getValidator();
+
+		Set<ConstraintViolation<SpecialOrder>> violations = validator.validate( new SpecialOrder() );
+		assertNumberOfViolations( violations, 1 );
+	}
+
+	@Test(expectedExceptions = ValidationException.class)
+	public void testInvalidNormalizerConfiguredViaProperty() {
+		HibernateValidatorConfiguration configuration = TestUtil.getConfiguration( HibernateValidator.class );
+		configuration.addProperty( HibernateValidatorConfiguration.BEAN_CLASS_NORMALIZER, Order.class.getName() );
+		configuration.buildValidatorFactory();
+	}
+
+	@Test(expectedExceptions = ValidationException.class)
+	public void testNormalizationToUnrelatedClassFails() {
+		HibernateValidatorConfiguration configuration = TestUtil.getConfiguration( HibernateValidator.class );
+		configuration.beanClassNormalizer(
+				new BeanClassNormalizer() {
+					public Class<?> normalize(Class<?> beanClass) {
+						return beanClass == SpecialOrder.class ? String.class : beanClass;
+					}
+				}
+		);
+		configuration.buildValidatorFactory().getValidator().validate( new SpecialOrder() );
+	}
+
+	public static class Order {
+		@NotNull
+		private String customer;
+	}
+
+	public static class Order$$EnhancerByCGLIB$$1a2b3c extends Order {
+	}
+
+	public static class Order_$$_javassist_12 extends Order {
+	}
+
+	public static class Order$$anon$1 extends Order {
+	}
+
+	public static class SpecialOrder extends Order {
+		@NotNull
+		private String discount;
+	}
+
+	public static class SpecialOrderNormalizer implements BeanClassNormalizer {
+		public Class<?> normalize(Class<?> beanClass) {
+			return beanClass == SpecialOrder.class ? Order.class : beanClass;
+		}
+	}
+
+	private static class NoOpInvocationHandler implements InvocationHandler {
+		public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+			return null;
+		}
+	}
+}
@@ -22,15 +22,26 @@ import java.io.ObjectInputStream;
 import java.io.ObjectOutput;
 import java.io.ObjectOutputStream;
 import java.io.NotSerializableException;
+import java.util.HashSet;
 import java.util.Set;
 import javax.validation.ConstraintViolation;
+import javax.validation.Path;
 import javax.validation.Validator;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Pattern;
+import javax.validation.metadata.ConstraintDescriptor;
 
 import org.testng.annotations.Test;
 
+import org.hibernate.validator.engine.PathImpl;
+import org.hibernate.validator.serialization.ConstraintDescriptorRegistry;
 import org.hibernate.validator.test.util.TestUtil;
 
 import static org.hibernate.validator.test.util.TestUtil.assertNumberOfViolations;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
 
 /**
  * @author Hardy Ferentschik
@@ -63,6 +74,98 @@ public class ConstraintViolationSerializationTest {
 		serialize( constraintViolations );
 	}
 
+	@Test
+	public void testPathSerialization() throws Exception {
+		assertPathSurvivesSerialization( PathImpl.createPathFromString( "orders[3].deliveryAddress.addressline[1]" ) );
+		assertPathSurvivesSerialization( PathImpl.createPathFromString( "addresses[home].street" ) );
+		assertPathSurvivesSerialization( PathImpl.createRootPath() );
+		assertPathSurvivesSerialization(
+				PathImpl.createPathForMethodParameter( Object.class.getMethod( "equals", Object.class ), "arg0" )
+		);
+		assertPathSurvivesSerialization(
+				PathImpl.createPathForMethodReturnValue( Object.class.getMethod( "toString" ) )
+		);
+	}
+
+	@Test
+	public void testSerializationWithDescriptorRegistry() throws Exception {
+		Validator validator = TestUtil.getValidator();
+		ConstraintDescriptorRegistry registry = new ConstraintDescriptorRegistry( validator );
+		registry.register( SerializableClass.class );
+
+		Set<ConstraintViolation<SerializableClass>> constraintViolations = validator.validate( new SerializableClass() );
+		ConstraintDescriptor<?> descriptor = constraintViolations.iterator().next().getConstraintDescriptor();
+		String key = registry.getKey( descriptor );
+		assertNotNull( key );
+
+		ByteArrayOutputStream stream = new ByteArrayOutputStream();
+		ObjectOutput out = registry.createObjectOutputStream( stream );
+		out.writeObject( constraintViolations );
+		out.close();
+		byte[] bytes = stream.toByteArray();
+		assertTrue( bytes.length < serialize( constraintViolations ).length );
+
+		// a registry created on the receiving end resolves the reference to its own descriptor
+		ConstraintDescriptorRegistry receivingRegistry = new ConstraintDescriptorRegistry( TestUtil.getValidator() );
+		receivingRegistry.register( SerializableClass.class );
+		ObjectInputStream in = receivingRegistry.createObjectInputStream( new ByteArrayInputStream( bytes ) );
+		@SuppressWarnings("unchecked")
+		Set<ConstraintViolation<?>> deserializedViolations = (Set<ConstraintViolation<?>>) in.readObject();
+		in.close();
+
+		assertNumberOfViolations( deserializedViolations, 1 );
+		ConstraintViolation<?> deserializedViolation = deserializedViolations.iterator().next();
+		assertSame( deserializedViolation.getConstraintDescriptor(), receivingRegistry.getDescriptor( key ) );
+		assertEquals( deserializedViolation.getPropertyPath().toString(), "foo" );
+	}
+
+	@Test
+	public void testDescriptorKeyContainsImplicitGroup() {
+		Validator validator = TestUtil.getValidator();
+		ConstraintDescriptorRegistry registry = new ConstraintDescriptorRegistry( validator );
+		registry.register( Person.class );
+
+		Set<ConstraintDescriptor<?>> descriptors = validator.getConstraintsForClass( Person.class )
+				.getConstraintsForProperty( "name" )
+				.getConstraintDescriptors();
+		assertEquals( descriptors.size(), 2 );
+
+		Set<String> keys = new HashSet<String>();
+		for ( ConstraintDescriptor<?> descriptor : descriptors ) {
+			String key = registry.getKey( descriptor );
+			keys.add( key );
+			assertEquals( registry.getDescriptor( key ).getGroups(), descriptor.getGroups() );
+		}
+		assertEquals( keys.size(), 2, "The constraint on the interface has an additional implicit group" );
+	}
+
+	@Test
+	public void testDescriptorKeysOfAttributesContainingSeparatorsDontCollide() {
+		Validator validator = TestUtil.getValidator();
+		ConstraintDescriptorRegistry registry = new ConstraintDescriptorRegistry( validator );
+		registry.register( FirstPattern.class, SecondPattern.class );
+
+		ConstraintDescriptor<?> first = validator.getConstraintsForClass( FirstPattern.class )
+				.getConstraintsForProperty( "value" )
+				.getConstraintDescriptors()
+				.iterator()
+				.next();
+		ConstraintDescriptor<?> second = validator.getConstraintsForClass( SecondPattern.class )
+				.getConstraintsForProperty( "value" )
+				.getConstraintDescriptors()
+				.iterator()
+				.next();
+		assertTrue( !registry.getKey( first ).equals( registry.getKey( second ) ) );
+		assertSame( registry.getDescriptor( registry.getKey( second ) ), second );
+	}
+
+	private void assertPathSurvivesSerialization(PathImpl path) throws Exception {
+		Path deserializedPath = (Path) deserializeObject( serialize( path ) );
+		assertEquals( deserializedPath, path );
+		assertEquals( deserializedPath.hashCode(), path.hashCode() );
+		assertEquals( deserializedPath.toString(), path.toString() );
+	}
+
 	private byte[] serialize(Object o) throws Exception {
 		ByteArrayOutputStream stream = new ByteArrayOutputStream();
 		ObjectOutput out = new ObjectOutputStream( stream );
@@ -74,6 +177,15 @@ public class ConstraintViolationSerializationTest {
 
 	}
 
+	private Object deserializeObject(byte[] byteData) throws Exception {
+		ByteArrayInputStream byteIn = new ByteArrayInputStream( byteData );
+		ObjectInputStream in = new ObjectInputStream( byteIn );
+		Object deserialized = in.readObject();
+		in.close();
+		byteIn.close();
+		return deserialized;
+	}
+
 	private Set<ConstraintViolation<?>> deserialize(byte[] byteData) throws Exception {
 		ByteArrayInputStream byteIn = new ByteArrayInputStream( byteData );
 		ObjectInputStream in = new ObjectInputStream( byteIn );
@@ -82,4 +194,29 @@ public class ConstraintViolationSerializationTest {
 		byteIn.close();
 		return deserializedViolations;
 	}
+
+	public interface Named {
+		@NotNull
+		String getName();
+	}
+
+	public static class NamedEntity {
+		@NotNull
+		public String getName() {
+			return null;
+		}
+	}
+
+	public static class Person extends NamedEntity implements Named {
+	}
+
+	public static class FirstPattern {
+		@Pattern(message = "m,payload=[],regexp=r", regexp = "s")
+		String value;
+	}
+
+	public static class SecondPattern {
+		@Pattern(message = "m", regexp = "r,payload=[],regexp=s")
+		String value;
+	}
 }
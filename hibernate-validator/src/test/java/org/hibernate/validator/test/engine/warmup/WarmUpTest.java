@@ -0,0 +1,183 @@
+/*
+* JBoss, Home of Professional Open Source
+* Copyright 2011, Red Hat, Inc. and/or its affiliates, and individual contributors
+* by the @authors tag. See the copyright.txt in the distribution for a
+* full listing of individual contributors.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+* http://www.apache.org/licenses/LICENSE-2.0
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.hibernate.validator.test.engine.warmup;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.validation.Constraint;
+import javax.validation.ConstraintValidator;
+import javax.validation.ConstraintValidatorContext;
+import javax.validation.Payload;
+import javax.validation.UnexpectedTypeException;
+import javax.validation.ValidationException;
+import javax.validation.Valid;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Past;
+
+import org.testng.annotations.Test;
+
+import org.hibernate.validator.HibernateValidator;
+import org.hibernate.validator.HibernateValidatorConfiguration;
+import org.hibernate.validator.HibernateValidatorFactory;
+import org.hibernate.validator.cfg.ConstraintMapping;
+import org.hibernate.validator.cfg.defs.SizeDef;
+import org.hibernate.validator.test.util.TestUtil;
+
+import static java.lang.annotation.ElementType.FIELD;
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+import static org.hibernate.validator.test.util.TestUtil.assertNumberOfViolations;
+import static org.testng.Assert.assertEquals;
+
+/**
+ * Tests for {@link HibernateValidatorFactory#warmUp(java.util.Collection)}.
+ */
+public class WarmUpTest {
+
+	@Test
+	public void testWarmUpIncludesCascadedTypes() {
+		HibernateValidatorFactory factory = createValidatorFactory();
+
+		int warmedUpTypes = factory.warmUp( Collections.<Class<?>>singletonList( Order.class ) );
+
+		// Order, Customer (via List<Customer>) and Address (via Customer)
+		assertEquals( warmedUpTypes, 3 );
+	}
+
+	@Test
+	public void testWarmUpInitializesValidators() {
+		HibernateValidatorFactory factory = createValidatorFactory();
+		int initializationsBefore = CountingValidator.initializations.get();
+
+		factory.warmUp( Arrays.<Class<?>>asList( Order.class, Customer.class ) );
+		assertEquals( CountingValidator.initializations.get() - initializationsBefore, 1 );
+
+		Order order = new Order();
+		order.customers = Arrays.asList( new Customer() );
+		assertNumberOfViolations( factory.getValidator().validate( order ), 2 );
+		assertEquals(
+				CountingValidator.initializations.get() - initializationsBefore,
+				1,
+				"The validator initialized during warm up should have been used"
+		);
+	}
+
+	@Test(expectedExceptions = UnexpectedTypeException.class)
+	public void testWarmUpDetectsInvalidConstraint() {
+		createValidatorFactory().warmUp( Collections.<Class<?>>singletonList( InvalidBean.class ) );
+	}
+
+	@Test(expectedExceptions = IllegalArgumentException.class)
+	public void testWarmUpWithNullCollection() {
+		createValidatorFactory().warmUp( null );
+	}
+
+	@Test
+	public void testWarmUpWithSingleThread() {
+		HibernateValidatorConfiguration configuration = TestUtil.getConfiguration( HibernateValidator.class );
+		configuration.addProperty( HibernateValidatorConfiguration.METADATA_BUILD_THREADS, "1" );
+		HibernateValidatorFactory factory = configuration.buildValidatorFactory()
+				.unwrap( HibernateValidatorFactory.class );
+
+		assertEquals( factory.warmUp( Arrays.<Class<?>>asList( Order.class, Customer.class ) ), 3 );
+	}
+
+	@Test(expectedExceptions = ValidationException.class)
+	public void testInvalidNumberOfThreads() {
+		HibernateValidatorConfiguration configuration = TestUtil.getConfiguration( HibernateValidator.class );
+		configuration.addProperty( HibernateValidatorConfiguration.METADATA_BUILD_THREADS, "0" );
+		configuration.buildValidatorFactory();
+	}
+
+	@Test
+	public void testConfiguredTypesAreWarmedUpUponFactoryCreation() {
+		ConstraintMapping mapping = new ConstraintMapping();
+		mapping.type( Order.class )
+				.property( "orderNumber", FIELD )
+				.constraint( SizeDef.class ).min( 3 );
+		HibernateValidatorConfiguration configuration = TestUtil.getConfiguration( HibernateValidator.class );
+		configuration.addMapping( mapping );
+		configuration.addProperty( HibernateValidatorConfiguration.EAGER_CONFIGURED_METADATA, "true" );
+		HibernateValidatorFactory factory = configuration.buildValidatorFactory()
+				.unwrap( HibernateValidatorFactory.class );
+
+		// Order and the types reachable from it
+		assertEquals( factory.getMetaDataCacheStatistics().getSize(), 3 );
+	}
+
+	private HibernateValidatorFactory createValidatorFactory() {
+		return TestUtil.getConfiguration( HibernateValidator.class )
+				.buildValidatorFactory()
+				.unwrap( HibernateValidatorFactory.class );
+	}
+
+	public static class Order {
+		@NotNull
+		String orderNumber;
+
+		@Valid
+		List<Customer> customers;
+	}
+
+	public static class Customer {
+		@Counting
+		String name;
+
+		@Valid
+		Address address = new Address();
+	}
+
+	public static class Address {
+		@NotNull
+		String city;
+	}
+
+	public static class InvalidBean {
+		@Past
+		String date;
+	}
+
+	@Target({ METHOD, FIELD })
+	@Retention(RUNTIME)
+	@Documented
+	@Constraint(validatedBy = CountingValidator.class)
+	public @interface Counting {
+		String message() default "counting";
+
+		Class<?>[] groups() default { };
+
+		Class<? extends Payload>[] payload() default { };
+	}
+
+	public static class CountingValidator implements ConstraintValidator<Counting, String> {
+
+		static final AtomicInteger initializations = new AtomicInteger();
+
+		public void initialize(Counting constraintAnnotation) {
+			initializations.incrementAndGet();
+		}
+
+		public boolean isValid(String value, ConstraintValidatorContext context) {
+			return true;
+		}
+	}
+}
@@ -0,0 +1,386 @@
+/*
+* JBoss, Home of Professional Open Source
+* Copyright 2011, Red Hat, Inc. and/or its affiliates, and individual contributors
+* by the @authors tag. See the copyright.txt in the distribution for a
+* full listing of individual contributors.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+* http://www.apache.org/licenses/LICENSE-2.0
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.hibernate.validator.test.metadata;
+
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.validation.ValidationException;
+import javax.validation.Validator;
+import javax.validation.constraints.NotNull;
+
+import org.testng.annotations.Test;
+
+import org.hibernate.validator.HibernateValidator;
+import org.hibernate.validator.HibernateValidatorConfiguration;
+import org.hibernate.validator.HibernateValidatorFactory;
+import org.hibernate.validator.MetaDataCacheStatistics;
+import org.hibernate.validator.cfg.ConstraintMapping;
+import org.hibernate.validator.cfg.defs.SizeDef;
+import org.hibernate.validator.group.DefaultGroupSequenceProvider;
+import org.hibernate.validator.group.GroupSequenceProvider;
+import org.hibernate.validator.metadata.BeanMetaDataCache;
+import org.hibernate.validator.metadata.BeanMetaDataImpl;
+import org.hibernate.validator.metadata.ConstraintHelper;
+import org.hibernate.validator.test.engine.serialization.SerializableClass;
+import org.hibernate.validator.test.util.TestUtil;
+
+import static java.lang.annotation.ElementType.FIELD;
+import static org.hibernate.validator.test.util.TestUtil.assertNumberOfViolations;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+/**
+ * Tests for {@link BeanMetaDataCache}.
+ */
+public class BeanMetaDataCacheTest {
+
+	@Test
+	public void testMetaDataIsCreatedOnlyOnceForConcurrentRequests() throws Exception {
+		final BeanMetaDataCache cache = new BeanMetaDataCache();
+		final ConstraintHelper constraintHelper = new ConstraintHelper();
+		final CountDownLatch startSignal = new CountDownLatch( 1 );
+		int numberOfThreads = 8;
+
+		ExecutorService executor = Executors.newFixedThreadPool( numberOfThreads );
+		try {
+			List<Future<BeanMetaDataImpl<Car>>> results = new ArrayList<Future<BeanMetaDataImpl<Car>>>();
+			for ( int i = 0; i < numberOfThreads; i++ ) {
+				results.add(
+						executor.submit(
+								new Callable<BeanMetaDataImpl<Car>>() {
+									public BeanMetaDataImpl<Car> call() throws Exception {
+										startSignal.await();
+										return cache.getOrCreateBeanMetaData( Car.class, constraintHelper );
+									}
+								}
+						)
+				);
+			}
+			startSignal.countDown();
+
+			BeanMetaDataImpl<Car> metaData = results.get( 0 ).get();
+			assertNotNull( metaData );
+			for ( Future<BeanMetaDataImpl<Car>> result : results ) {
+				assertSame( result.get(), metaData );
+			}
+			assertSame( cache.getBeanMetaData( Car.class ), metaData );
+			assertEquals( SlowCarSequenceProvider.instanceCount.get(), 1 );
+		}
+		finally {
+			executor.shutdown();
+		}
+	}
+
+	@Test
+	public void testFailedCreationIsRepeatedOnNextRequest() {
+		BeanMetaDataCache cache = new BeanMetaDataCache();
+		ConstraintHelper constraintHelper = new ConstraintHelper();
+
+		FailingTruckSequenceProvider.fail = true;
+		try {
+			cache.getOrCreateBeanMetaData( Truck.class, constraintHelper );
+			fail( "Creation of the meta data should have failed" );
+		}
+		catch ( ValidationException e ) {
+			// success
+		}
+
+		FailingTruckSequenceProvider.fail = false;
+		assertNotNull( cache.getOrCreateBeanMetaData( Truck.class, constraintHelper ) );
+	}
+
+	@Test
+	public void testStatistics() {
+		BeanMetaDataCache cache = new BeanMetaDataCache();
+		ConstraintHelper constraintHelper = new ConstraintHelper();
+
+		cache.getOrCreateBeanMetaData( Bike.class, constraintHelper );
+		cache.getOrCreateBeanMetaData( Bike.class, constraintHelper );
+		cache.getOrCreateBeanMetaData( Bus.class, constraintHelper );
+
+		MetaDataCacheStatistics statistics = cache.getStatistics();
+		assertEquals( statistics.getHitCount(), 1L );
+		assertEquals( statistics.getMissCount(), 2L );
+		assertEquals( statistics.getEvictionCount(), 0L );
+		assertEquals( statistics.getSize(), 2 );
+
+		cache.clear();
+		statistics = cache.getStatistics();
+		assertEquals( statistics.getEvictionCount(), 2L );
+		assertEquals( statistics.getSize(), 0 );
+	}
+
+	@Test
+	public void testHitsOfConcurrentLookupsAreCounted() throws Exception {
+		final BeanMetaDataCache cache = new BeanMetaDataCache();
+		final ConstraintHelper constraintHelper = new ConstraintHelper();
+		cache.getOrCreateBeanMetaData( Bike.class, constraintHelper );
+
+		final int numberOfLookups = 1000;
+		int numberOfThreads = 8;
+		ExecutorService executor = Executors.newFixedThreadPool( numberOfThreads );
+		try {
+			List<Future<Object>> results = new ArrayList<Future<Object>>();
+			for ( int i = 0; i < numberOfThreads; i++ ) {
+				results.add(
+						executor.submit(
+								new Callable<Object>() {
+									public Object call() {
+										for ( int j = 0; j < numberOfLookups; j++ ) {
+											cache.getOrCreateBeanMetaData( Bike.class, constraintHelper );
+										}
+										return null;
+									}
+								}
+						)
+				);
+			}
+			for ( Future<Object> result : results ) {
+				result.get();
+			}
+		}
+		finally {
+			executor.shutdown();
+		}
+
+		MetaDataCacheStatistics statistics = cache.getStatistics();
+		assertEquals( statistics.getHitCount(), 8000L );
+		assertEquals( statistics.getMissCount(), 1L );
+	}
+
+	@Test
+	public void testLeastRecentlyUsedEntryIsEvictedWhenSizeBoundIsExceeded() {
+		BeanMetaDataCache cache = new BeanMetaDataCache( null, 2 );
+		ConstraintHelper constraintHelper = new ConstraintHelper();
+
+		BeanMetaDataImpl<Bike> bikeMetaData = cache.getOrCreateBeanMetaData( Bike.class, constraintHelper );
+		cache.getOrCreateBeanMetaData( Bus.class, constraintHelper );
+		assertSame( cache.getOrCreateBeanMetaData( Bike.class, constraintHelper ), bikeMetaData );
+		cache.getOrCreateBeanMetaData( Boat.class, constraintHelper );
+
+		assertNotNull( cache.getBeanMetaData( Bike.class ) );
+		assertNull( cache.getBeanMetaData( Bus.class ) );
+		assertNotNull( cache.getBeanMetaData( Boat.class ) );
+
+		MetaDataCacheStatistics statistics = cache.getStatistics();
+		assertEquals( statistics.getEvictionCount(), 1L );
+		assertEquals( statistics.getSize(), 2 );
+
+		// evicted meta data is re-created on demand
+		assertNotNull( cache.getOrCreateBeanMetaData( Bus.class, constraintHelper ) );
+	}
+
+	@Test
+	public void testEvictByClassLoader() {
+		BeanMetaDataCache cache = new BeanMetaDataCache();
+		ConstraintHelper constraintHelper = new ConstraintHelper();
+		cache.getOrCreateBeanMetaData( Bike.class, constraintHelper );
+
+		assertEquals( cache.evict( new URLClassLoader( new URL[0], null ) ), 0 );
+		assertNotNull( cache.getBeanMetaData( Bike.class ) );
+
+		assertEquals( cache.evict( Bike.class.getClassLoader() ), 1 );
+		assertNull( cache.getBeanMetaData( Bike.class ) );
+	}
+
+	@Test
+	public void testMaxSizeConfiguredViaProperty() {
+		HibernateValidatorConfiguration configuration = TestUtil.getConfiguration( HibernateValidator.class );
+		configuration.addProperty( HibernateValidatorConfiguration.METADATA_CACHE_MAX_SIZE, "1" );
+		HibernateValidatorFactory factory = configuration.buildValidatorFactory()
+				.unwrap( HibernateValidatorFactory.class );
+
+		factory.getValidator().validate( new Bike() );
+		factory.getValidator().validate( new Bus() );
+
+		MetaDataCacheStatistics statistics = factory.getMetaDataCacheStatistics();
+		assertEquals( statistics.getSize(), 1 );
+		assertEquals( statistics.getEvictionCount(), 1L );
+
+		assertEquals( factory.evictMetaData( Bus.class.getClassLoader() ), 1 );
+		assertEquals( factory.getMetaDataCacheStatistics().getSize(), 0 );
+	}
+
+	@Test(expectedExceptions = ValidationException.class)
+	public void testInvalidMaxSize() {
+		HibernateValidatorConfiguration configuration = TestUtil.getConfiguration( HibernateValidator.class );
+		configuration.addProperty( HibernateValidatorConfiguration.METADATA_CACHE_MAX_SIZE, "-1" );
+		configuration.buildValidatorFactory();
+	}
+
+	@Test
+	public void testJdkTypesAreUnconstrained() {
+		BeanMetaDataCache cache = new BeanMetaDataCache();
+
+		assertTrue( cache.isUnconstrainedType( String.class ) );
+		assertTrue( cache.isUnconstrainedType( java.util.Date.class ) );
+		assertTrue( cache.isUnconstrainedType( int[].class ) );
+		assertFalse( cache.isUnconstrainedType( Bike.class ) );
+	}
+
+	@Test
+	public void testConfiguredPackagesAreUnconstrained() {
+		BeanMetaDataCache cache = new BeanMetaDataCache(
+				null, 0, Collections.singletonList( "org.hibernate.validator.test" )
+		);
+		assertTrue( cache.isUnconstrainedType( Bike.class ) );
+
+		cache = new BeanMetaDataCache( null, 0, Collections.singletonList( "org.hibernate.validator.test.meta" ) );
+		assertFalse( cache.isUnconstrainedType( Bike.class ) );
+	}
+
+	@Test
+	public void testPropertiesOfUnconstrainedTypesCanBeValidated() {
+		Validator validator = TestUtil.getValidator();
+
+		assertTrue( validator.validateProperty( "foo", "bytes" ).isEmpty() );
+		assertTrue( validator.validate( "foo" ).isEmpty() );
+
+		try {
+			validator.validateProperty( "foo", "foo" );
+			fail( "Validation of a non-existing property should have failed" );
+		}
+		catch ( IllegalArgumentException e ) {
+			// success
+		}
+	}
+
+	@Test
+	public void testUnconstrainedPackagesConfiguredViaProperty() {
+		HibernateValidatorConfiguration configuration = TestUtil.getConfiguration( HibernateValidator.class );
+		configuration.addProperty(
+				HibernateValidatorConfiguration.UNCONSTRAINED_PACKAGES, "com.acme, org.hibernate.validator.test.metadata"
+		);
+		Validator validator = configuration.buildValidatorFactory().getValidator();
+
+		assertTrue( validator.validate( new Bike() ).isEmpty() );
+	}
+
+	@Test
+	public void testInheritedConstraintsOfUnconstrainedPackagesAreValidated() {
+		HibernateValidatorConfiguration configuration = TestUtil.getConfiguration( HibernateValidator.class );
+		configuration.addProperty(
+				HibernateValidatorConfiguration.UNCONSTRAINED_PACKAGES, "org.hibernate.validator.test.metadata"
+		);
+		Validator validator = configuration.buildValidatorFactory().getValidator();
+
+		// the super-type is located in another package and thus inspected
+		assertNumberOfViolations( validator.validate( new SerializableBike() ), 1 );
+		assertTrue( validator.validate( new Bike() ).isEmpty() );
+	}
+
+	@Test
+	public void testConfiguredMetaDataIsCreatedOnFirstUse() {
+		ConstraintMapping mapping = new ConstraintMapping();
+		mapping.type( Bike.class )
+				.property( "brand", FIELD )
+				.constraint( SizeDef.class ).min( 3 )
+				.type( Bus.class )
+				.property( "line", FIELD )
+				.constraint( SizeDef.class ).min( 3 );
+		HibernateValidatorConfiguration configuration = TestUtil.getConfiguration( HibernateValidator.class );
+		configuration.addMapping( mapping );
+		HibernateValidatorFactory factory = configuration.buildValidatorFactory()
+				.unwrap( HibernateValidatorFactory.class );
+		assertEquals( factory.getMetaDataCacheStatistics().getSize(), 0 );
+
+		Bike bike = new Bike();
+		bike.brand = "A";
+		assertEquals( factory.getValidator().validate( bike ).size(), 1 );
+		assertEquals( factory.getMetaDataCacheStatistics().getSize(), 1 );
+
+		// configured meta data is kept when clearing the cache
+		factory.clearMetaDataCache();
+		assertEquals( factory.getMetaDataCacheStatistics().getSize(), 1 );
+	}
+
+	public static class Bike {
+		@NotNull
+		private String brand;
+	}
+
+	public static class SerializableBike extends SerializableClass {
+	}
+
+	public static class Bus {
+		@NotNull
+		private String line;
+	}
+
+	public static class Boat {
+		@NotNull
+		private String name;
+	}
+
+	@GroupSequenceProvider(SlowCarSequenceProvider.class)
+	public static class Car {
+		@NotNull
+		private String model;
+	}
+
+	public static class SlowCarSequenceProvider implements DefaultGroupSequenceProvider<Car> {
+		static final AtomicInteger instanceCount = new AtomicInteger();
+
+		public SlowCarSequenceProvider() throws InterruptedException {
+			instanceCount.incrementAndGet();
+			// widen the window in which concurrent requests for the meta data can arrive
+			Thread.sleep( 100 );
+		}
+
+		public List<Class<?>> getValidationGroups(Car object) {
+			List<Class<?>> groups = new ArrayList<Class<?>>();
+			groups.add( Car.class );
+			return groups;
+		}
+	}
+
+	@GroupSequenceProvider(FailingTruckSequenceProvider.class)
+	public static class Truck {
+		@NotNull
+		private String model;
+	}
+
+	public static class FailingTruckSequenceProvider implements DefaultGroupSequenceProvider<Truck> {
+		static volatile boolean fail;
+
+		public FailingTruckSequenceProvider() {
+			if ( fail ) {
+				throw new IllegalStateException( "Creation of the provider failed" );
+			}
+		}
+
+		public List<Class<?>> getValidationGroups(Truck object) {
+			List<Class<?>> groups = new ArrayList<Class<?>>();
+			groups.add( Truck.class );
+			return groups;
+		}
+	}
+}
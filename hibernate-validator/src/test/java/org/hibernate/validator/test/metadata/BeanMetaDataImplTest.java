@@ -18,7 +18,10 @@ package org.hibernate.validator.test.metadata;
 
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Method;
+import java.util.Collections;
 import javax.validation.constraints.Min;
+import javax.validation.constraints.NotNull;
+import javax.validation.groups.Default;
 
 import org.testng.annotations.Test;
 
@@ -28,12 +31,15 @@ import org.hibernate.validator.metadata.BeanMetaDataCache;
 import org.hibernate.validator.metadata.BeanMetaDataImpl;
 import org.hibernate.validator.metadata.ConstraintDescriptorImpl;
 import org.hibernate.validator.metadata.ConstraintHelper;
+import org.hibernate.validator.metadata.ConstraintOrigin;
 import org.hibernate.validator.test.engine.methodlevel.service.CustomerRepository;
 import org.hibernate.validator.test.engine.methodlevel.service.CustomerRepositoryImpl;
 
 import static org.hibernate.validator.test.util.TestUtil.assertIterableSize;
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
 import static org.testng.Assert.assertTrue;
 
 /**
@@ -95,8 +101,132 @@ public class BeanMetaDataImplTest {
 		assertIterableSize( methodMetaData, 0 );
 	}
 
+	@Test
+	public void metaConstraintsForGroup() {
+
+		BeanMetaData<Sub> metaData = setupBeanMetaData( Sub.class );
+
+		assertEquals( metaData.getMetaConstraintsForGroup( First.class ).size(), 2 );
+		assertEquals( metaData.getMetaConstraintsForGroup( Second.class ).size(), 1 );
+		assertEquals( metaData.getMetaConstraintsForGroup( Default.class ).size(), 1 );
+		assertTrue( metaData.getMetaConstraintsForGroup( Third.class ).isEmpty() );
+
+		assertEquals( metaData.getMetaConstraintsForGroup( Base.class, First.class ).size(), 1 );
+		assertEquals( metaData.getMetaConstraintsForGroup( Sub.class, First.class ).size(), 1 );
+		assertEquals( metaData.getMetaConstraintsForGroup( Base.class, Default.class ).size(), 1 );
+		assertTrue( metaData.getMetaConstraintsForGroup( Sub.class, Default.class ).isEmpty() );
+		assertTrue( metaData.getMetaConstraintsForGroup( Base.class, Second.class ).isEmpty() );
+	}
+
+	@Test
+	public void constraintsOfCommonSuperTypeAreShared() {
+		BeanMetaDataCache cache = new BeanMetaDataCache();
+		ConstraintHelper constraintHelper = new ConstraintHelper();
+
+		BeanMetaDataImpl<Sub> subMetaData = cache.getOrCreateBeanMetaData( Sub.class, constraintHelper );
+		BeanMetaDataImpl<OtherSub> otherSubMetaData = cache.getOrCreateBeanMetaData( OtherSub.class, constraintHelper );
+		BeanMetaDataImpl<Base> baseMetaData = cache.getOrCreateBeanMetaData( Base.class, constraintHelper );
+
+		ConstraintDescriptorImpl<?> descriptor = subMetaData.getMetaConstraintsForGroup( Base.class, Default.class )
+				.get( 0 )
+				.getDescriptor();
+		assertSame(
+				otherSubMetaData.getMetaConstraintsForGroup( Base.class, Default.class ).get( 0 ).getDescriptor(),
+				descriptor
+		);
+		assertEquals( descriptor.getDefinedOn(), ConstraintOrigin.DEFINED_IN_HIERARCHY );
+
+		// the constraints of a type are local to the type itself
+		ConstraintDescriptorImpl<?> baseDescriptor = baseMetaData.getMetaConstraintsForGroup( Base.class, Default.class )
+				.get( 0 )
+				.getDescriptor();
+		assertEquals( baseDescriptor.getDefinedOn(), ConstraintOrigin.DEFINED_LOCALLY );
+	}
+
+	@Test
+	public void constraintsOfInterfaceKeepImplicitGroup() {
+		BeanMetaDataCache cache = new BeanMetaDataCache();
+		ConstraintHelper constraintHelper = new ConstraintHelper();
+
+		BeanMetaDataImpl<Named> namedMetaData = cache.getOrCreateBeanMetaData( Named.class, constraintHelper );
+		BeanMetaDataImpl<Person> personMetaData = cache.getOrCreateBeanMetaData( Person.class, constraintHelper );
+
+		assertEquals(
+				namedMetaData.getMetaConstraintsForGroup( Default.class ).get( 0 ).getDescriptor().getGroups(),
+				Collections.<Class<?>>singleton( Default.class )
+		);
+		assertEquals( personMetaData.getMetaConstraintsForGroup( Named.class ).size(), 1 );
+	}
+
+	@Test
+	public void metaConstraintsForProperty() {
+		BeanMetaData<Sub> metaData = setupBeanMetaData( Sub.class );
+
+		assertEquals( metaData.getMetaConstraintsForProperty( "first" ).get( Base.class ).size(), 1 );
+		assertNull( metaData.getMetaConstraintsForProperty( "first" ).get( Sub.class ) );
+		assertEquals( metaData.getMetaConstraintsForProperty( "third" ).get( Sub.class ).size(), 1 );
+		assertTrue( metaData.getMetaConstraintsForProperty( "fourth" ).isEmpty() );
+		assertSame( metaData.getMetaConstraintsForProperty( "first" ), metaData.getMetaConstraintsForProperty( "first" ) );
+	}
+
+	@Test
+	public void methodMetaDataIsBuiltOnce() throws Exception {
+		BeanMetaData<CustomerRepositoryImpl> metaData = setupBeanMetaData( CustomerRepositoryImpl.class );
+
+		Method method = CustomerRepositoryImpl.class.getMethod( "baz" );
+		AggregatedMethodMetaData methodMetaData = metaData.getMetaDataFor( method );
+
+		assertSame( metaData.getMetaDataFor( method ), methodMetaData );
+		assertTrue( metaData.getAllMethodMetaData().contains( methodMetaData ) );
+	}
+
+	@Test
+	public void toStringDoesNotBuildMethodMetaData() {
+		BeanMetaData<CustomerRepositoryImpl> metaData = setupBeanMetaData( CustomerRepositoryImpl.class );
+		assertTrue( metaData.toString().contains( "methodMetaData=<not built>" ) );
+
+		metaData.getAllMethodMetaData();
+		assertFalse( metaData.toString().contains( "methodMetaData=<not built>" ) );
+	}
+
 	private <T> BeanMetaDataImpl<T> setupBeanMetaData(Class<T> clazz) {
 		return new BeanMetaDataImpl<T>( clazz, new ConstraintHelper(), new BeanMetaDataCache() );
 	}
 
+	public interface First {
+	}
+
+	public interface Second {
+	}
+
+	public interface Third {
+	}
+
+	public static class Base {
+		@NotNull(groups = First.class)
+		private String first;
+
+		@NotNull
+		private String second;
+	}
+
+	public static class Sub extends Base {
+		@NotNull(groups = { First.class, Second.class })
+		private String third;
+	}
+
+	public static class OtherSub extends Base {
+	}
+
+	public interface Named {
+		@NotNull
+		String getName();
+	}
+
+	public static class Person implements Named {
+		public String getName() {
+			return null;
+		}
+	}
+
 }
@@ -0,0 +1,165 @@
+/*
+* JBoss, Home of Professional Open Source
+* Copyright 2011, Red Hat, Inc. and/or its affiliates, and individual contributors
+* by the @authors tag. See the copyright.txt in the distribution for a
+* full listing of individual contributors.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+* http://www.apache.org/licenses/LICENSE-2.0
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.hibernate.validator.test.metadata;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.util.Set;
+import javax.validation.ConstraintViolation;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Size;
+
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import org.hibernate.validator.metadata.BeanValueAccessor;
+import org.hibernate.validator.metadata.BeanValueAccessorResolver;
+import org.hibernate.validator.metadata.MetaDataIndex;
+import org.hibernate.validator.test.util.IndexedClassLoader;
+
+import static org.hibernate.validator.test.util.TestUtil.assertCorrectPropertyPaths;
+import static org.hibernate.validator.test.util.TestUtil.assertNumberOfViolations;
+import static org.hibernate.validator.test.util.TestUtil.getValidator;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+
+/**
+ * Tests for the usage of generated {@link BeanValueAccessor}s. Accessors are only used for types marked in the meta
+ * data index, so the types of this test are loaded through an {@link IndexedClassLoader}.
+ */
+public class BeanValueAccessorTest {
+
+	private Class<?> beanClass;
+
+	private Class<?> accessorClass;
+
+	@BeforeClass
+	public void setUpIndexedClassLoader() throws Exception {
+		IndexedClassLoader classLoader = IndexedClassLoader.create(
+				new String[] {
+						Bean.class.getName() + "=hash:" + MetaDataIndex.getMemberHash( Bean.class )
+								+ " field:name field:code method:getDescription accessor"
+				},
+				Bean.class, Bean_ValueAccessor.class
+		);
+		beanClass = classLoader.loadIndexed( Bean.class );
+		accessorClass = classLoader.loadIndexed( Bean_ValueAccessor.class );
+	}
+
+	@Test
+	public void testAccessorIsResolved() {
+		BeanValueAccessor accessor = BeanValueAccessorResolver.getAccessor( beanClass );
+		assertSame( accessor.getClass(), accessorClass );
+		assertSame( BeanValueAccessorResolver.getAccessor( beanClass ), accessor );
+	}
+
+	@Test
+	public void testNoAccessorForTypeWithoutIndexEntry() {
+		// the accessor exists, but the type isn't marked in an index
+		assertNull( BeanValueAccessorResolver.getAccessor( Bean.class ) );
+		assertNull( BeanValueAccessorResolver.getAccessor( Person.class ) );
+		assertNull( BeanValueAccessorResolver.getAccessor( String.class ) );
+	}
+
+	@Test
+	public void testAccessorIsUsedForValidation() throws Exception {
+		int invocationsBefore = getInvocations();
+
+		Set<ConstraintViolation<Object>> constraintViolations = getValidator().validate( newBean( null, "abcde" ) );
+
+		assertNumberOfViolations( constraintViolations, 2 );
+		assertCorrectPropertyPaths( constraintViolations, "name", "description" );
+		assertEquals( getInvocations() - invocationsBefore, 2 );
+	}
+
+	@Test
+	public void testMemberNotKnownToAccessorIsAccessedReflectively() throws Exception {
+		int invocationsBefore = getInvocations();
+
+		Set<ConstraintViolation<Object>> constraintViolations = getValidator().validateProperty(
+				newBean( "foo", "bar" ), "code"
+		);
+
+		assertNumberOfViolations( constraintViolations, 1 );
+		assertCorrectPropertyPaths( constraintViolations, "code" );
+		assertEquals( getInvocations(), invocationsBefore );
+	}
+
+	private Object newBean(String name, String code) throws Exception {
+		return beanClass.getConstructor( String.class, String.class ).newInstance( name, code );
+	}
+
+	private int getInvocations() throws Exception {
+		return accessorClass.getDeclaredField( "invocations" ).getInt( null );
+	}
+
+	public static class Bean {
+
+		@NotNull
+		String name;
+
+		@Size(min = 5)
+		private String code;
+
+		public Bean(String name, String code) {
+			this.name = name;
+			this.code = code;
+		}
+
+		@Size(max = 3)
+		public String getDescription() {
+			return code;
+		}
+	}
+
+	/**
+	 * A hand-written equivalent of the accessor the annotation processor generates for {@link Bean}. The private
+	 * field {@code code} is not supported, just as with generated accessors.
+	 */
+	public static final class Bean_ValueAccessor implements BeanValueAccessor {
+
+		public static volatile int invocations;
+
+		public int indexOf(Member member) {
+			if ( member.getDeclaringClass() != Bean.class ) {
+				return -1;
+			}
+			if ( member instanceof Field && "name".equals( member.getName() ) ) {
+				return 0;
+			}
+			if ( member instanceof Method && "getDescription".equals( member.getName() ) ) {
+				return 1;
+			}
+			return -1;
+		}
+
+		public Object getValue(int index, Object bean) {
+			invocations++;
+			Bean typedBean = (Bean) bean;
+			switch ( index ) {
+				case 0:
+					return typedBean.name;
+				case 1:
+					return typedBean.getDescription();
+				default:
+					throw new IllegalArgumentException( "Unknown member index " + index );
+			}
+		}
+	}
+}
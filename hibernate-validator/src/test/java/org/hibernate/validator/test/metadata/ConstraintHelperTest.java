@@ -17,18 +17,34 @@
 package org.hibernate.validator.test.metadata;
 
 import java.lang.annotation.Annotation;
+import java.lang.annotation.ElementType;
 import java.lang.reflect.Field;
 import java.util.List;
+import java.util.Set;
+import javax.validation.ConstraintValidator;
+import javax.validation.ConstraintValidatorFactory;
+import javax.validation.Validator;
 import javax.validation.constraints.NotNull;
 import javax.validation.constraints.Pattern;
+import javax.validation.constraints.Size;
+import javax.validation.metadata.ConstraintDescriptor;
 
 import org.testng.annotations.BeforeClass;
 import org.testng.annotations.Test;
 
+import org.hibernate.validator.ReusableConstraintValidatorFactory;
+import org.hibernate.validator.constraints.NotEmpty;
+import org.hibernate.validator.engine.ConstraintValidatorFactoryImpl;
+import org.hibernate.validator.metadata.ConstraintDescriptorImpl;
 import org.hibernate.validator.metadata.ConstraintHelper;
+import org.hibernate.validator.metadata.ConstraintOrigin;
+import org.hibernate.validator.test.util.TestUtil;
 import org.hibernate.validator.util.ReflectionHelper;
 
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
 import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertSame;
 import static org.testng.Assert.assertTrue;
 
 /**
@@ -70,4 +86,140 @@ public class ConstraintHelperTest {
 		multiValueConstraintAnnotations = constraintHelper.getMultiValueConstraints( annotation );
 		assertTrue( multiValueConstraintAnnotations.size() == 0, "There should be no constraint annotations" );
 	}
+
+	@Test
+	public void testIdenticalConstraintsShareValidators() throws Exception {
+		Size firstName = Names.class.getDeclaredField( "firstName" ).getAnnotation( Size.class );
+		Size lastName = Names.class.getDeclaredField( "lastName" ).getAnnotation( Size.class );
+		Size nickName = Names.class.getDeclaredField( "nickName" ).getAnnotation( Size.class );
+
+		ConstraintDescriptorImpl<Size> firstNameDescriptor = new ConstraintDescriptorImpl<Size>(
+				firstName, constraintHelper, Names.class, ElementType.FIELD, ConstraintOrigin.DEFINED_LOCALLY
+		);
+		ConstraintDescriptorImpl<Size> lastNameDescriptor = new ConstraintDescriptorImpl<Size>(
+				lastName, constraintHelper, Names.class, ElementType.FIELD, ConstraintOrigin.DEFINED_LOCALLY
+		);
+		ConstraintDescriptorImpl<Size> nickNameDescriptor = new ConstraintDescriptorImpl<Size>(
+				nickName, constraintHelper, Names.class, ElementType.FIELD, ConstraintOrigin.DEFINED_LOCALLY
+		);
+		ConstraintDescriptorImpl<Size> methodDescriptor = new ConstraintDescriptorImpl<Size>(
+				firstName, constraintHelper, Names.class, ElementType.METHOD, ConstraintOrigin.DEFINED_LOCALLY
+		);
+
+		// each tree reports its own descriptor
+		assertSame( firstNameDescriptor.getConstraintTree().getDescriptor(), firstNameDescriptor );
+		assertSame( lastNameDescriptor.getConstraintTree().getDescriptor(), lastNameDescriptor );
+
+		CountingConstraintValidatorFactory factory = new CountingConstraintValidatorFactory();
+		firstNameDescriptor.getConstraintTree().initializeValidators( String.class, factory );
+		assertEquals( factory.getInstanceCount(), 1 );
+
+		lastNameDescriptor.getConstraintTree().initializeValidators( String.class, factory );
+		assertEquals( factory.getInstanceCount(), 1, "Identical constraints should share their validators" );
+
+		nickNameDescriptor.getConstraintTree().initializeValidators( String.class, factory );
+		assertEquals( factory.getInstanceCount(), 2, "Different attributes require different validators" );
+
+		methodDescriptor.getConstraintTree().initializeValidators( String.class, factory );
+		assertEquals( factory.getInstanceCount(), 3, "Different element types require different validators" );
+	}
+
+	@Test
+	public void testIdenticalConstraintsShareImmutableParts() throws Exception {
+		NotEmpty street = Address.class.getDeclaredField( "street" ).getAnnotation( NotEmpty.class );
+		NotEmpty city = Address.class.getDeclaredField( "city" ).getAnnotation( NotEmpty.class );
+
+		ConstraintDescriptorImpl<NotEmpty> streetDescriptor = new ConstraintDescriptorImpl<NotEmpty>(
+				street, constraintHelper, Address.class, ElementType.FIELD, ConstraintOrigin.DEFINED_LOCALLY
+		);
+		ConstraintDescriptorImpl<NotEmpty> cityDescriptor = new ConstraintDescriptorImpl<NotEmpty>(
+				city, constraintHelper, Address.class, ElementType.FIELD, ConstraintOrigin.DEFINED_LOCALLY
+		);
+
+		assertFalse( streetDescriptor == cityDescriptor );
+		assertSame( cityDescriptor.getAnnotation(), city );
+		assertSame( cityDescriptor.getAttributes(), streetDescriptor.getAttributes() );
+		assertSame( cityDescriptor.getGroups(), streetDescriptor.getGroups() );
+		assertSame( cityDescriptor.getPayload(), streetDescriptor.getPayload() );
+		assertSame( cityDescriptor.getComposingConstraints(), streetDescriptor.getComposingConstraints() );
+		assertEquals( cityDescriptor.getComposingConstraints().size(), 2 );
+
+		ConstraintDescriptorImpl<NotEmpty> methodDescriptor = new ConstraintDescriptorImpl<NotEmpty>(
+				street, constraintHelper, Address.class, ElementType.METHOD, ConstraintOrigin.DEFINED_LOCALLY
+		);
+		assertFalse( methodDescriptor.getComposingConstraints() == streetDescriptor.getComposingConstraints() );
+	}
+
+	@Test
+	public void testIdenticalConstraintsAreReportedAsDistinctDescriptors() {
+		Validator validator = TestUtil.getValidator();
+
+		Set<ConstraintDescriptor<?>> descriptors = validator.getConstraintsForClass( Employee.class )
+				.getConstraintsForProperty( "name" )
+				.getConstraintDescriptors();
+		assertEquals( descriptors.size(), 2, "Identical constraints declared in the hierarchy should be kept" );
+
+		descriptors = validator.getConstraintsForClass( Employee.class )
+				.getConstraintsForProperty( "nickName" )
+				.getConstraintDescriptors();
+		assertEquals( descriptors.size(), 2, "Identical constraints declared on the same field should be kept" );
+	}
+
+	private static class CountingConstraintValidatorFactory implements ReusableConstraintValidatorFactory {
+		private final ConstraintValidatorFactory delegate = new ConstraintValidatorFactoryImpl();
+		private int instanceCount;
+
+		public <T extends ConstraintValidator<?, ?>> T getInstance(Class<T> key) {
+			instanceCount++;
+			return delegate.getInstance( key );
+		}
+
+		public int getInstanceCount() {
+			return instanceCount;
+		}
+	}
+
+	private static class Names {
+		@Size(max = 255)
+		private String firstName;
+
+		@Size(max = 255)
+		private String lastName;
+
+		@Size(max = 20)
+		private String nickName;
+	}
+
+	private static class Address {
+		@NotEmpty
+		private String street;
+
+		@NotEmpty
+		private String city;
+	}
+
+	private static class Person {
+		@NotNull
+		public String getName() {
+			return null;
+		}
+	}
+
+	private static class Customer extends Person {
+		@NotNull
+		@Override
+		public String getName() {
+			return null;
+		}
+	}
+
+	private static class Employee extends Customer {
+		@Size.List({ @Size(max = 20), @Size(max = 20) })
+		private String nickName;
+
+		@Override
+		public String getName() {
+			return null;
+		}
+	}
 }
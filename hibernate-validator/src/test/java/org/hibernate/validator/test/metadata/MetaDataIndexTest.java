@@ -0,0 +1,224 @@
+/*
+* JBoss, Home of Professional Open Source
+* Copyright 2011, Red Hat, Inc. and/or its affiliates, and individual contributors
+* by the @authors tag. See the copyright.txt in the distribution for a
+* full listing of individual contributors.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+* http://www.apache.org/licenses/LICENSE-2.0
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.hibernate.validator.test.metadata;
+
+import java.lang.reflect.Field;
+import java.util.Set;
+import javax.validation.ConstraintViolation;
+import javax.validation.Valid;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Size;
+
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import org.hibernate.validator.metadata.MetaDataIndex;
+import org.hibernate.validator.test.util.IndexedClassLoader;
+
+import static org.hibernate.validator.test.util.TestUtil.assertCorrectPropertyPaths;
+import static org.hibernate.validator.test.util.TestUtil.assertNumberOfViolations;
+import static org.hibernate.validator.test.util.TestUtil.getValidator;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Tests for the usage of the constraint meta data index. The types of this test are loaded through an
+ * {@link IndexedClassLoader}, so their index doesn't affect any other tests.
+ */
+public class MetaDataIndexTest {
+
+	private IndexedClassLoader indexedClassLoader;
+
+	@BeforeClass
+	public void setUpIndexedClassLoader() throws Exception {
+		// the constraints of Order#comment and Order#getDiscount are deliberately not listed; the entry for Invoice is
+		// outdated and thus must be ignored, as is the entry for Shipment which has been written before a constraint was
+		// added to one of its members
+		indexedClassLoader = IndexedClassLoader.create(
+				new String[] {
+						Order.class.getName() + "=hash:" + MetaDataIndex.getMemberHash( Order.class )
+								+ " field:orderNumber field:customer method:getTotal",
+						Customer.class.getName() + "=hash:" + MetaDataIndex.getMemberHash( Customer.class ),
+						Invoice.class.getName() + "=hash:0 field:invoiceNumber",
+						Shipment.class.getName() + "=hash:" + MetaDataIndex.getMemberHash( UnconstrainedShipment.class )
+				},
+				Order.class, Customer.class, Invoice.class, Shipment.class
+		);
+	}
+
+	@Test
+	public void testIndexEntries() throws Exception {
+		MetaDataIndex.TypeEntry entry = MetaDataIndex.getEntry( loadIndexed( Order.class ) );
+		assertNotNull( entry );
+		assertTrue( entry.isFieldConstrained( "orderNumber" ) );
+		assertTrue( entry.isFieldConstrained( "customer" ) );
+		assertFalse( entry.isFieldConstrained( "comment" ) );
+		assertTrue( entry.isMethodConstrained( "getTotal" ) );
+		assertFalse( entry.isMethodConstrained( "getDiscount" ) );
+
+		entry = MetaDataIndex.getEntry( loadIndexed( Customer.class ) );
+		assertNotNull( entry );
+		assertFalse( entry.isFieldConstrained( "name" ) );
+
+		assertNull( MetaDataIndex.getEntry( Person.class ) );
+		assertNull( MetaDataIndex.getEntry( String.class ) );
+	}
+
+	@Test
+	public void testIndexIsScopedToItsCodeSource() {
+		// the same types loaded from the test class path are not affected by the index
+		assertNull( MetaDataIndex.getEntry( Order.class ) );
+
+		Set<ConstraintViolation<Order>> constraintViolations = getValidator().validate( new Order() );
+		assertNumberOfViolations( constraintViolations, 4 );
+	}
+
+	@Test
+	public void testOutdatedIndexEntryIsIgnored() throws Exception {
+		Class<?> invoiceClass = loadIndexed( Invoice.class );
+		assertNull( MetaDataIndex.getEntry( invoiceClass ) );
+
+		Set<ConstraintViolation<Object>> constraintViolations = getValidator().validate( invoiceClass.newInstance() );
+		assertNumberOfViolations( constraintViolations, 2 );
+		assertCorrectPropertyPaths( constraintViolations, "invoiceNumber", "amount" );
+	}
+
+	@Test
+	public void testIndexEntryIsIgnoredAfterConstraintWasAddedToMember() throws Exception {
+		assertFalse(
+				MetaDataIndex.getMemberHash( Shipment.class )
+						.equals( MetaDataIndex.getMemberHash( UnconstrainedShipment.class ) )
+		);
+
+		Class<?> shipmentClass = loadIndexed( Shipment.class );
+		assertNull( MetaDataIndex.getEntry( shipmentClass ) );
+
+		Set<ConstraintViolation<Object>> constraintViolations = getValidator().validate( shipmentClass.newInstance() );
+		assertNumberOfViolations( constraintViolations, 2 );
+		assertCorrectPropertyPaths( constraintViolations, "trackingNumber", "weight" );
+	}
+
+	@Test
+	public void testOnlyIndexedMembersAreInspected() throws Exception {
+		Object order = loadIndexed( Order.class ).newInstance();
+		Set<ConstraintViolation<Object>> constraintViolations = getValidator().validate( order );
+
+		// the constraints at comment and getDiscount() are not contained in the index
+		assertNumberOfViolations( constraintViolations, 2 );
+		assertCorrectPropertyPaths( constraintViolations, "orderNumber", "total" );
+	}
+
+	@Test
+	public void testCascadedMemberFromIndex() throws Exception {
+		Class<?> orderClass = loadIndexed( Order.class );
+		Object order = orderClass.newInstance();
+		setField( order, "orderNumber", "123" );
+		setField( order, "customer", loadIndexed( Customer.class ).newInstance() );
+
+		Set<ConstraintViolation<Object>> constraintViolations = getValidator().validate( order );
+
+		// Customer#name is not contained in the index
+		assertNumberOfViolations( constraintViolations, 1 );
+		assertCorrectPropertyPaths( constraintViolations, "total" );
+		assertTrue(
+				getValidator().getConstraintsForClass( orderClass )
+						.getConstraintsForProperty( "customer" )
+						.isCascaded()
+		);
+	}
+
+	private Class<?> loadIndexed(Class<?> clazz) throws ClassNotFoundException {
+		Class<?> indexedClass = indexedClassLoader.loadIndexed( clazz );
+		assertFalse( indexedClass == clazz );
+		return indexedClass;
+	}
+
+	private void setField(Object object, String name, Object value) throws Exception {
+		Field field = object.getClass().getDeclaredField( name );
+		field.setAccessible( true );
+		field.set( object, value );
+	}
+
+	public static class Order {
+
+		@NotNull
+		String orderNumber;
+
+		@Valid
+		Customer customer;
+
+		@Size(min = 10)
+		String comment = "foo";
+
+		@Min(1)
+		public int getTotal() {
+			return 0;
+		}
+
+		@Min(1)
+		public int getDiscount() {
+			return 0;
+		}
+	}
+
+	public static class Customer {
+
+		@NotNull
+		String name;
+	}
+
+	public static class Invoice {
+
+		@NotNull
+		String invoiceNumber;
+
+		@Min(1)
+		int amount;
+	}
+
+	public static class Shipment {
+
+		@NotNull
+		String trackingNumber;
+
+		@Min(1)
+		public int getWeight() {
+			return 0;
+		}
+
+		public void setWeight(@Min(1) int weight) {
+		}
+	}
+
+	/**
+	 * Has the same members as {@link Shipment}, but without constraints.
+	 */
+	public static class UnconstrainedShipment {
+
+		String trackingNumber;
+
+		public int getWeight() {
+			return 0;
+		}
+
+		public void setWeight(int weight) {
+		}
+	}
+}
@@ -0,0 +1,270 @@
+/*
+* JBoss, Home of Professional Open Source
+* Copyright 2011, Red Hat, Inc. and/or its affiliates, and individual contributors
+* by the @authors tag. See the copyright.txt in the distribution for a
+* full listing of individual contributors.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+* http://www.apache.org/licenses/LICENSE-2.0
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.hibernate.validator.test.metadata;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Set;
+import javax.validation.ConstraintViolation;
+import javax.validation.Valid;
+import javax.validation.Validator;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotNull;
+
+import org.testng.annotations.Test;
+
+import org.hibernate.validator.HibernateValidator;
+import org.hibernate.validator.HibernateValidatorConfiguration;
+import org.hibernate.validator.HibernateValidatorFactory;
+import org.hibernate.validator.metadata.MetaDataIndex;
+import org.hibernate.validator.metadata.MetaDataSnapshot;
+import org.hibernate.validator.test.util.IndexedClassLoader;
+import org.hibernate.validator.test.util.TestUtil;
+
+import static org.hibernate.validator.test.util.TestUtil.assertCorrectPropertyPaths;
+import static org.hibernate.validator.test.util.TestUtil.assertNumberOfViolations;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Tests for {@link MetaDataSnapshot}.
+ */
+public class MetaDataSnapshotTest {
+
+	@Test
+	public void testWriteAndReadSnapshot() throws Exception {
+		HibernateValidatorFactory factory = createValidatorFactory( null );
+		factory.getValidator().validate( new Order() );
+
+		MetaDataSnapshot snapshot = MetaDataSnapshot.read( new ByteArrayInputStream( writeSnapshot( factory ) ) );
+
+		MetaDataIndex.TypeEntry entry = snapshot.getEntry( Order.class );
+		assertNotNull( entry );
+		assertTrue( entry.isFieldConstrained( "orderNumber" ) );
+		assertTrue( entry.isFieldConstrained( "customer" ) );
+		assertFalse( entry.isFieldConstrained( "comment" ) );
+		assertTrue( entry.isMethodConstrained( "getTotal" ) );
+		assertTrue( entry.isMethodConstrained( "applyDiscount" ) );
+		assertFalse( entry.isMethodConstrained( "getComment" ) );
+
+		entry = snapshot.getEntry( BaseOrder.class );
+		assertNotNull( entry );
+		assertTrue( entry.isFieldConstrained( "id" ) );
+
+		// cascaded types are only contained once they have been validated
+		assertNull( snapshot.getEntry( Customer.class ) );
+	}
+
+	@Test
+	public void testSnapshotIsUsedByValidatorFactory() throws Exception {
+		HibernateValidatorFactory factory = createValidatorFactory( null );
+		factory.getValidator().validate( new Order() );
+
+		File snapshotFile = File.createTempFile( "metadata", ".snapshot" );
+		snapshotFile.deleteOnExit();
+		FileOutputStream out = new FileOutputStream( snapshotFile );
+		try {
+			factory.writeMetaDataSnapshot( out );
+		}
+		finally {
+			out.close();
+		}
+
+		Validator validator = createValidatorFactory( snapshotFile.getPath() ).getValidator();
+		Order order = new Order();
+		order.customer = new Customer();
+		Set<ConstraintViolation<Order>> constraintViolations = validator.validate( order );
+
+		assertNumberOfViolations( constraintViolations, 4 );
+		assertCorrectPropertyPaths( constraintViolations, "id", "orderNumber", "total", "customer.name" );
+	}
+
+	@Test
+	public void testOutdatedEntryIsIgnored() throws Exception {
+		File classFile = new File(
+				new File( Order.class.getProtectionDomain().getCodeSource().getLocation().toURI() ),
+				Order.class.getName().replace( '.', '/' ) + ".class"
+		);
+
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		DataOutputStream dataOut = new DataOutputStream( out );
+		dataOut.writeInt( 0x48564d53 );
+		dataOut.writeInt( 2 );
+		dataOut.writeLong( 0L );
+		dataOut.writeInt( 1 );
+		dataOut.writeUTF( classFile.getPath() );
+		dataOut.writeLong( 0L );
+		dataOut.writeInt( 1 );
+		dataOut.writeUTF( Order.class.getName() );
+		dataOut.writeInt( 1 );
+		dataOut.writeInt( 0 );
+		dataOut.writeInt( 1 );
+		dataOut.writeUTF( MetaDataIndex.FIELD_PREFIX + "orderNumber" );
+		dataOut.flush();
+
+		MetaDataSnapshot snapshot = MetaDataSnapshot.read( new ByteArrayInputStream( out.toByteArray() ) );
+
+		assertEquals( snapshot.size(), 1 );
+		assertNull( snapshot.getEntry( Order.class ), "Entry with wrong fingerprint must not be used" );
+	}
+
+	@Test
+	public void testVerificationDoesNotReadClassFiles() throws Exception {
+		IndexedClassLoader classLoader = IndexedClassLoader.create( new String[0], Order.class, BaseOrder.class );
+		Class<?> orderClass = classLoader.loadIndexed( Order.class );
+
+		HibernateValidatorFactory factory = createValidatorFactory( null );
+		factory.getValidator().validate( orderClass.newInstance() );
+		byte[] snapshotBytes = writeSnapshot( factory );
+
+		int resourceRequestsBefore = classLoader.getResourceRequestCount();
+		MetaDataSnapshot snapshot = MetaDataSnapshot.read( new ByteArrayInputStream( snapshotBytes ) );
+		assertNotNull( snapshot.getEntry( orderClass ) );
+		assertNotNull( snapshot.getEntry( classLoader.loadIndexed( BaseOrder.class ) ) );
+
+		// the entries are verified without reading the class files
+		assertEquals( classLoader.getResourceRequestCount(), resourceRequestsBefore );
+	}
+
+	@Test
+	public void testChangedClassFileIsDetected() throws Exception {
+		IndexedClassLoader classLoader = IndexedClassLoader.create( new String[0], Order.class, BaseOrder.class );
+		Class<?> orderClass = classLoader.loadIndexed( Order.class );
+
+		HibernateValidatorFactory factory = createValidatorFactory( null );
+		factory.getValidator().validate( orderClass.newInstance() );
+		byte[] snapshotBytes = writeSnapshot( factory );
+
+		File classFile = new File(
+				new File( classLoader.getLocation().toURI() ), Order.class.getName().replace( '.', '/' ) + ".class"
+		);
+		assertTrue( classFile.setLastModified( classFile.lastModified() - 60000 ) );
+
+		MetaDataSnapshot snapshot = MetaDataSnapshot.read( new ByteArrayInputStream( snapshotBytes ) );
+		assertNull( snapshot.getEntry( orderClass ) );
+		assertNotNull( snapshot.getEntry( classLoader.loadIndexed( BaseOrder.class ) ) );
+	}
+
+	@Test
+	public void testSnapshotTakenWithOtherXmlConfigurationIsIgnored() throws Exception {
+		// the annotations of Product#name are ignored via XML, so the snapshot records the field as unconstrained
+		HibernateValidatorConfiguration configuration = TestUtil.getConfiguration( HibernateValidator.class );
+		configuration.addMapping( MetaDataSnapshotTest.class.getResourceAsStream( "snapshot-mapping.xml" ) );
+		HibernateValidatorFactory factory = configuration.buildValidatorFactory()
+				.unwrap( HibernateValidatorFactory.class );
+		assertNumberOfViolations( factory.getValidator().validate( new Product() ), 0 );
+
+		File snapshotFile = File.createTempFile( "metadata", ".snapshot" );
+		snapshotFile.deleteOnExit();
+		FileOutputStream out = new FileOutputStream( snapshotFile );
+		try {
+			factory.writeMetaDataSnapshot( out );
+		}
+		finally {
+			out.close();
+		}
+
+		Validator validator = createValidatorFactory( snapshotFile.getPath() ).getValidator();
+		Set<ConstraintViolation<Product>> constraintViolations = validator.validate( new Product() );
+
+		assertNumberOfViolations( constraintViolations, 1 );
+		assertCorrectPropertyPaths( constraintViolations, "name" );
+	}
+
+	@Test(expectedExceptions = IOException.class)
+	public void testReadInvalidSnapshot() throws Exception {
+		MetaDataSnapshot.read( new ByteArrayInputStream( new byte[] { 1, 2, 3, 4, 5, 6, 7, 8 } ) );
+	}
+
+	@Test
+	public void testInvalidSnapshotFileIsIgnored() throws Exception {
+		File snapshotFile = File.createTempFile( "metadata", ".snapshot" );
+		snapshotFile.deleteOnExit();
+		FileOutputStream out = new FileOutputStream( snapshotFile );
+		try {
+			out.write( new byte[] { 1, 2, 3 } );
+		}
+		finally {
+			out.close();
+		}
+
+		Validator validator = createValidatorFactory( snapshotFile.getPath() ).getValidator();
+		assertNumberOfViolations( validator.validate( new Order() ), 3 );
+
+		validator = createValidatorFactory( new File( snapshotFile.getPath() + ".missing" ).getPath() ).getValidator();
+		assertNumberOfViolations( validator.validate( new Order() ), 3 );
+	}
+
+	private HibernateValidatorFactory createValidatorFactory(String snapshotPath) {
+		HibernateValidatorConfiguration configuration = TestUtil.getConfiguration( HibernateValidator.class );
+		if ( snapshotPath != null ) {
+			configuration.addProperty( HibernateValidatorConfiguration.METADATA_SNAPSHOT, snapshotPath );
+		}
+		return configuration.buildValidatorFactory().unwrap( HibernateValidatorFactory.class );
+	}
+
+	private byte[] writeSnapshot(HibernateValidatorFactory factory) throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		factory.writeMetaDataSnapshot( out );
+		return out.toByteArray();
+	}
+
+	public static class BaseOrder {
+		@NotNull
+		Long id;
+	}
+
+	public static class Order extends BaseOrder {
+
+		@NotNull
+		String orderNumber;
+
+		@Valid
+		Customer customer;
+
+		String comment;
+
+		@Min(1)
+		public int getTotal() {
+			return 0;
+		}
+
+		public void applyDiscount(@Min(0) int discount) {
+		}
+
+		public String getComment() {
+			return comment;
+		}
+	}
+
+	public static class Customer {
+		@NotNull
+		String name;
+	}
+
+	public static class Product {
+		@NotNull
+		String name;
+	}
+}
@@ -0,0 +1,149 @@
+/*
+* JBoss, Home of Professional Open Source
+* Copyright 2011, Red Hat, Inc. and/or its affiliates, and individual contributors
+* by the @authors tag. See the copyright.txt in the distribution for a
+* full listing of individual contributors.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+* http://www.apache.org/licenses/LICENSE-2.0
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.hibernate.validator.test.serialization;
+
+import java.io.ByteArrayOutputStream;
+import java.io.StringWriter;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import javax.validation.ConstraintViolation;
+import javax.validation.Valid;
+import javax.validation.Validator;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Size;
+
+import org.testng.annotations.Test;
+
+import org.hibernate.validator.engine.DetachedConstraintViolation;
+import org.hibernate.validator.serialization.JsonConstraintViolationWriter;
+import org.hibernate.validator.test.util.TestUtil;
+
+import static org.hibernate.validator.test.util.TestUtil.assertNumberOfViolations;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+public class JsonConstraintViolationWriterTest {
+
+	@Test
+	public void testWriteSingleViolation() throws Exception {
+		Validator validator = TestUtil.getValidator();
+		Set<ConstraintViolation<Item>> constraintViolations = validator.validate( new Item( "abcdef" ) );
+		assertNumberOfViolations( constraintViolations, 1 );
+
+		String json = write( constraintViolations );
+		assertTrue( json.startsWith( "[{\"path\":\"name\",\"nodes\":[{\"name\":\"name\"}]," ), json );
+		assertTrue( json.contains( "\"messageTemplate\":\"{javax.validation.constraints.Size.message}\"" ), json );
+		assertTrue( json.contains( "\"constraint\":{\"type\":\"javax.validation.constraints.Size\"" ), json );
+		assertTrue( json.contains( "\"max\":3" ), json );
+		assertTrue( json.contains( "\"groups\":[]" ), json );
+		assertTrue( json.endsWith( "}}]" ), json );
+	}
+
+	@Test
+	public void testWriteIndexedAndKeyedNodes() throws Exception {
+		Validator validator = TestUtil.getValidator();
+		Order order = new Order( Collections.singletonMap( "first", new Item( "abcdef" ) ) );
+		Set<ConstraintViolation<Order>> constraintViolations = validator.validate( order );
+		assertNumberOfViolations( constraintViolations, 1 );
+
+		String json = write( constraintViolations );
+		assertTrue( json.contains( "\"path\":\"items[first].name\"" ), json );
+		assertTrue(
+				json.contains( "\"nodes\":[{\"name\":\"items\"},{\"name\":\"name\",\"inIterable\":true,\"key\":\"first\"}]" ),
+				json
+		);
+	}
+
+	@Test
+	public void testSpecialCharactersAreEscaped() throws Exception {
+		Validator validator = TestUtil.getValidator();
+		Set<ConstraintViolation<Quoted>> constraintViolations = validator.validate( new Quoted() );
+		assertNumberOfViolations( constraintViolations, 1 );
+
+		String json = write( constraintViolations );
+		assertTrue( json.contains( "\"message\":\"say \\\"hello\\\"\\n\\\\ \\u0001\"" ), json );
+	}
+
+	@Test
+	public void testOutputIsStableAndMatchesDetachedViolations() throws Exception {
+		Validator validator = TestUtil.getValidator();
+		Set<ConstraintViolation<Item>> constraintViolations = validator.validate( new Item( "abcdef" ) );
+
+		JsonConstraintViolationWriter jsonWriter = new JsonConstraintViolationWriter();
+		String first = write( jsonWriter, constraintViolations );
+		String second = write( jsonWriter, constraintViolations );
+		assertEquals( first, second );
+
+		String detached = write(
+				jsonWriter,
+				DetachedConstraintViolation.detachAll(
+						constraintViolations, DetachedConstraintViolation.NO_INVALID_VALUE
+				)
+		);
+		assertEquals( detached, first );
+	}
+
+	@Test
+	public void testWriteToOutputStream() throws Exception {
+		Validator validator = TestUtil.getValidator();
+		Set<ConstraintViolation<Item>> constraintViolations = validator.validate( new Item( "abcdef" ) );
+
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		new JsonConstraintViolationWriter().write( constraintViolations, out );
+		assertEquals( new String( out.toByteArray(), "UTF-8" ), write( constraintViolations ) );
+	}
+
+	@Test
+	public void testWriteEmptySet() throws Exception {
+		assertEquals( write( Collections.<ConstraintViolation<Item>>emptySet() ), "[]" );
+	}
+
+	private String write(Set<? extends ConstraintViolation<?>> violations) throws Exception {
+		return write( new JsonConstraintViolationWriter(), violations );
+	}
+
+	private String write(JsonConstraintViolationWriter jsonWriter, Set<? extends ConstraintViolation<?>> violations)
+			throws Exception {
+		StringWriter writer = new StringWriter();
+		jsonWriter.write( violations, writer );
+		return writer.toString();
+	}
+
+	public class Item {
+		@Size(max = 3)
+		private final String name;
+
+		public Item(String name) {
+			this.name = name;
+		}
+	}
+
+	public class Order {
+		@Valid
+		private final Map<String, Item> items;
+
+		public Order(Map<String, Item> items) {
+			this.items = items;
+		}
+	}
+
+	public class Quoted {
+		@NotNull(message = "say \"hello\"\n\\ \u0001")
+		private String value;
+	}
+}
@@ -0,0 +1,159 @@
+/*
+* JBoss, Home of Professional Open Source
+* Copyright 2011, Red Hat, Inc. and/or its affiliates, and individual contributors
+* by the @authors tag. See the copyright.txt in the distribution for a
+* full listing of individual contributors.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+* http://www.apache.org/licenses/LICENSE-2.0
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.hibernate.validator.test.util;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PrintWriter;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.hibernate.validator.metadata.MetaDataIndex;
+
+/**
+ * A class loader which loads a given set of types from a temporary directory containing a copy of their class files
+ * and a constraint meta data index for them. All other types are loaded by the test class loader. Allows to test the
+ * usage of the index without placing an index onto the test class path. The resources requested from this class loader
+ * are counted.
+ */
+public class IndexedClassLoader extends URLClassLoader {
+
+	private final Set<String> indexedTypeNames = new HashSet<String>();
+
+	private final AtomicInteger resourceRequestCount = new AtomicInteger();
+
+	/**
+	 * @param indexEntries The lines of the meta data index.
+	 * @param indexedTypes The types to be loaded by the new class loader.
+	 *
+	 * @return A new class loader for the given types.
+	 *
+	 * @throws IOException In case the class files or the index can't be written.
+	 */
+	public static IndexedClassLoader create(String[] indexEntries, Class<?>... indexedTypes) throws IOException {
+		File directory = File.createTempFile( "metadata", "index" );
+		directory.delete();
+		directory.mkdir();
+		directory.deleteOnExit();
+
+		for ( Class<?> type : indexedTypes ) {
+			copyClassFile( type, directory );
+		}
+
+		PrintWriter writer = new PrintWriter( createFile( directory, MetaDataIndex.INDEX_RESOURCE_NAME ), "ISO-8859-1" );
+		try {
+			for ( String entry : indexEntries ) {
+				writer.println( entry );
+			}
+		}
+		finally {
+			writer.close();
+		}
+
+		return new IndexedClassLoader( directory.toURI().toURL(), indexedTypes );
+	}
+
+	private IndexedClassLoader(URL location, Class<?>... indexedTypes) {
+		super( new URL[] { location }, IndexedClassLoader.class.getClassLoader() );
+		for ( Class<?> type : indexedTypes ) {
+			indexedTypeNames.add( type.getName() );
+		}
+	}
+
+	/**
+	 * @param type One of the indexed types.
+	 *
+	 * @return The copy of the given type loaded by this class loader.
+	 *
+	 * @throws ClassNotFoundException In case the type can't be loaded.
+	 */
+	public Class<?> loadIndexed(Class<?> type) throws ClassNotFoundException {
+		if ( !indexedTypeNames.contains( type.getName() ) ) {
+			throw new IllegalArgumentException( type + " is not an indexed type." );
+		}
+		return loadClass( type.getName() );
+	}
+
+	/**
+	 * @return The location the indexed types are loaded from.
+	 */
+	public URL getLocation() {
+		return getURLs()[0];
+	}
+
+	/**
+	 * @return The number of resources requested from this class loader so far.
+	 */
+	public int getResourceRequestCount() {
+		return resourceRequestCount.get();
+	}
+
+	@Override
+	public URL getResource(String name) {
+		resourceRequestCount.incrementAndGet();
+		return super.getResource( name );
+	}
+
+	@Override
+	protected synchronized Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+		if ( !indexedTypeNames.contains( name ) ) {
+			return super.loadClass( name, resolve );
+		}
+
+		Class<?> clazz = findLoadedClass( name );
+		if ( clazz == null ) {
+			clazz = findClass( name );
+		}
+		if ( resolve ) {
+			resolveClass( clazz );
+		}
+		return clazz;
+	}
+
+	private static void copyClassFile(Class<?> type, File directory) throws IOException {
+		String resourceName = type.getName().replace( '.', '/' ) + ".class";
+		InputStream in = IndexedClassLoader.class.getClassLoader().getResourceAsStream( resourceName );
+		OutputStream out = new FileOutputStream( createFile( directory, resourceName ) );
+		try {
+			byte[] buffer = new byte[4096];
+			int length;
+			while ( ( length = in.read( buffer ) ) != -1 ) {
+				out.write( buffer, 0, length );
+			}
+		}
+		finally {
+			in.close();
+			out.close();
+		}
+	}
+
+	private static File createFile(File directory, String name) {
+		File file = directory;
+		for ( String part : name.split( "/" ) ) {
+			file = new File( file, part );
+			file.deleteOnExit();
+		}
+		file.getParentFile().mkdirs();
+		return file;
+	}
+}
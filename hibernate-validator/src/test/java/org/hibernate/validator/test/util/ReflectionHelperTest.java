@@ -17,6 +17,8 @@
 package org.hibernate.validator.test.util;
 
 import java.lang.annotation.Annotation;
+import java.lang.reflect.Field;
+import java.lang.reflect.Member;
 import java.lang.reflect.Type;
 import java.util.ArrayList;
 import java.util.Collection;
@@ -190,6 +192,23 @@ public class ReflectionHelperTest {
 		}
 	}
 
+	@Test
+	public void testGetValue() throws Exception {
+		Foo foo = new Foo();
+		foo.foo = "foo";
+		Field field = Foo.class.getDeclaredField( "foo" );
+		ReflectionHelper.setAccessibility( field );
+		assertEquals( ReflectionHelper.getValue( field, foo ), "foo" );
+		assertEquals( ReflectionHelper.getValue( Foo.class.getMethod( "getBar" ), foo ), "bar" );
+		assertEquals( ReflectionHelper.getValue( (Member) field, foo ), "foo" );
+		assertEquals( ReflectionHelper.getValue( (Member) Foo.class.getMethod( "getBar" ), foo ), "bar" );
+	}
+
+	@Test(expectedExceptions = ValidationException.class)
+	public void testGetValueWrapsExceptionOfGetter() throws Exception {
+		ReflectionHelper.getValue( Foo.class.getMethod( "getFailing" ), new Foo() );
+	}
+
 	public class TestTypes {
 		public List<String> stringList;
 		public Map<String, Object> objectMap;
@@ -202,5 +221,9 @@ public class ReflectionHelperTest {
 		public String getBar() {
 			return "bar";
 		}
+
+		public String getFailing() {
+			throw new IllegalStateException();
+		}
 	}
 }